@@ -19,17 +19,20 @@ import codes.biscuit.skyblockaddons.gui.SkyblockAddonsGui;
 import codes.biscuit.skyblockaddons.listeners.*;
 import codes.biscuit.skyblockaddons.misc.SkyblockKeyBinding;
 import codes.biscuit.skyblockaddons.misc.Updater;
+import codes.biscuit.skyblockaddons.misc.scheduler.AsyncExecutor;
+import codes.biscuit.skyblockaddons.misc.scheduler.AsyncTask;
+import codes.biscuit.skyblockaddons.misc.scheduler.ExecutorLane;
 import codes.biscuit.skyblockaddons.misc.scheduler.NewScheduler;
 import codes.biscuit.skyblockaddons.misc.scheduler.Scheduler;
 import codes.biscuit.skyblockaddons.newgui.GuiManager;
 import codes.biscuit.skyblockaddons.utils.EnumUtils;
 import codes.biscuit.skyblockaddons.utils.InventoryUtils;
 import codes.biscuit.skyblockaddons.utils.SkyblockAddonsMessageFactory;
+import codes.biscuit.skyblockaddons.utils.StartupProfiler;
 import codes.biscuit.skyblockaddons.utils.Utils;
 import codes.biscuit.skyblockaddons.utils.data.DataUtils;
 import codes.biscuit.skyblockaddons.utils.gson.GsonInitializableTypeAdapter;
 import codes.biscuit.skyblockaddons.utils.gson.PatternAdapter;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.InstanceCreator;
@@ -49,12 +52,10 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.lwjgl.input.Keyboard;
 
+import java.io.File;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 @Getter
@@ -85,8 +86,10 @@ public class SkyblockAddons {
 
     private static final Logger LOGGER = LogManager.getLogger(new SkyblockAddonsMessageFactory(MOD_NAME));
 
-    private static final ThreadPoolExecutor THREAD_EXECUTOR = new ThreadPoolExecutor(0, 1, 60L, TimeUnit.SECONDS,
-            new LinkedBlockingQueue<>(), new ThreadFactoryBuilder().setNameFormat(SkyblockAddons.MOD_NAME + " - #%d").build());
+    /** Runs background work on separate lanes for I/O, network and CPU work, see {@link ExecutorLane} */
+    @Getter private static final AsyncExecutor executor = new AsyncExecutor(MOD_NAME,
+            (lane, ex) -> LOGGER.error("A task on the " + lane + " lane threw an exception.", ex),
+            lane -> LOGGER.warn("A task was rejected because the " + lane.getDisplayName() + " lane is full."));
 
     private ConfigValues configValues;
     private PersistentValuesManager persistentValuesManager;
@@ -97,7 +100,6 @@ public class SkyblockAddons {
     private final InventoryUtils inventoryUtils;
     private final Utils utils;
     private final Updater updater;
-    @Setter
     private OnlineData onlineData;
     private final DiscordRPCManager discordRPCManager;
     private final Scheduler scheduler;
@@ -106,6 +108,8 @@ public class SkyblockAddons {
     private final GuiManager guiManager;
     private final SkillXpManager skillXpManager;
 
+    /** The mod configuration directory, set in pre-init */
+    private File configDirectory;
     private boolean usingLabymod;
     private boolean usingOofModv1;
     private boolean usingPatcher;
@@ -136,19 +140,46 @@ public class SkyblockAddons {
 
     @Mod.EventHandler
     public void preInit(FMLPreInitializationEvent e) {
-        configValues = new ConfigValues(e.getSuggestedConfigurationFile());
-        persistentValuesManager = new PersistentValuesManager(e.getModConfigurationDirectory());
-        configValues.loadValues();
-        DataUtils.readLocalAndFetchOnline();
-        persistentValuesManager.loadValues();
+        try (StartupProfiler.Section ignored = StartupProfiler.section("preInit")) {
+            configDirectory = e.getModConfigurationDirectory();
+            configValues = new ConfigValues(e.getSuggestedConfigurationFile(), this::getOnlineData);
+            persistentValuesManager = new PersistentValuesManager(e.getModConfigurationDirectory());
+            try (StartupProfiler.Section ignored1 = StartupProfiler.section("preInit/config")) {
+                configValues.loadValues();
+            }
+            try (StartupProfiler.Section ignored1 = StartupProfiler.section("preInit/data")) {
+                DataUtils.readLocalAndFetchOnline();
+            }
+            try (StartupProfiler.Section ignored1 = StartupProfiler.section("preInit/persistentValues")) {
+                persistentValuesManager.loadValues();
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flushSaves, MOD_NAME + " - Shutdown Save"));
+        }
     }
 
     @Mod.EventHandler
     public void init(FMLInitializationEvent e) {
-        if (DataUtils.USE_ONLINE_DATA) {
-            DataUtils.loadOnlineData();
+        try (StartupProfiler.Section ignored = StartupProfiler.section("init")) {
+            if (DataUtils.USE_ONLINE_DATA) {
+                try (StartupProfiler.Section ignored1 = StartupProfiler.section("init/onlineData")) {
+                    DataUtils.loadOnlineData();
+                }
+            }
+
+            try (StartupProfiler.Section ignored1 = StartupProfiler.section("init/listeners")) {
+                registerListeners();
+            }
+            try (StartupProfiler.Section ignored1 = StartupProfiler.section("init/keyBindings")) {
+                registerCommandAndKeyBindings();
+            }
+
+            usingLabymod = utils.isModLoaded("labymod");
+            usingOofModv1 = utils.isModLoaded("refractionoof", "1.0");
+            usingPatcher = utils.isModLoaded("patcher");
         }
+    }
 
+    private void registerListeners() {
         MinecraftForge.EVENT_BUS.register(new NetworkListener());
         MinecraftForge.EVENT_BUS.register(playerListener);
         MinecraftForge.EVENT_BUS.register(guiScreenListener);
@@ -160,7 +191,9 @@ public class SkyblockAddons {
         MinecraftForge.EVENT_BUS.register(new EntityOutlineRenderer());
         MinecraftForge.EVENT_BUS.register(new FeatureTrackerQuest());
         ((SimpleReloadableResourceManager) Minecraft.getMinecraft().getResourceManager()).registerReloadListener(resourceManagerReloadListener);
+    }
 
+    private void registerCommandAndKeyBindings() {
         ClientCommandHandler.instance.registerCommand(new SkyblockAddonsCommand());
 
         // Macs do not have a right control key.
@@ -187,38 +220,49 @@ public class SkyblockAddons {
         if (!this.getConfigValues().isEnabled(Feature.DEVELOPER_MODE)) {
             getDeveloperCopyNBTKey().deRegister();
         }
-
-        usingLabymod = utils.isModLoaded("labymod");
-        usingOofModv1 = utils.isModLoaded("refractionoof", "1.0");
-        usingPatcher = utils.isModLoaded("patcher");
     }
 
     @Mod.EventHandler
     public void postInit(FMLPostInitializationEvent e) {
-        for (Feature feature : Feature.values()) {
-            if (feature.isGuiFeature()) feature.getSettings().add(EnumUtils.FeatureSetting.GUI_SCALE);
-            if (feature.isColorFeature()) feature.getSettings().add(EnumUtils.FeatureSetting.COLOR);
-            if (feature.getGuiFeatureData() != null && feature.getGuiFeatureData().getDrawType() == EnumUtils.DrawType.BAR) {
-                feature.getSettings().add(EnumUtils.FeatureSetting.GUI_SCALE_X);
-                feature.getSettings().add(EnumUtils.FeatureSetting.GUI_SCALE_Y);
+        try (StartupProfiler.Section ignored = StartupProfiler.section("postInit")) {
+            for (Feature feature : Feature.values()) {
+                if (feature.isGuiFeature()) feature.getSettings().add(EnumUtils.FeatureSetting.GUI_SCALE);
+                if (feature.isColorFeature()) feature.getSettings().add(EnumUtils.FeatureSetting.COLOR);
+                if (feature.getGuiFeatureData() != null && feature.getGuiFeatureData().getDrawType() == EnumUtils.DrawType.BAR) {
+                    feature.getSettings().add(EnumUtils.FeatureSetting.GUI_SCALE_X);
+                    feature.getSettings().add(EnumUtils.FeatureSetting.GUI_SCALE_Y);
+                }
             }
-        }
 
-        if (configValues.isEnabled(Feature.FANCY_WARP_MENU)) {
-            // Load in these textures so they don't lag the user loading them in later...
-            for (IslandWarpGui.Island island : IslandWarpGui.Island.values()) {
-                Minecraft.getMinecraft().getTextureManager().bindTexture(island.getResourceLocation());
+            try (StartupProfiler.Section ignored1 = StartupProfiler.section("postInit/textures")) {
+                if (configValues.isEnabled(Feature.FANCY_WARP_MENU)) {
+                    // Load in these textures so they don't lag the user loading them in later...
+                    for (IslandWarpGui.Island island : IslandWarpGui.Island.values()) {
+                        Minecraft.getMinecraft().getTextureManager().bindTexture(island.getResourceLocation());
+                    }
+                }
+                Minecraft.getMinecraft().getTextureManager().bindTexture(SkyblockAddonsGui.LOGO);
+                Minecraft.getMinecraft().getTextureManager().bindTexture(SkyblockAddonsGui.LOGO_GLOW);
             }
+            fullyInitialized = true;
+            FontRendererHook.onModInitialized();
         }
-        Minecraft.getMinecraft().getTextureManager().bindTexture(SkyblockAddonsGui.LOGO);
-        Minecraft.getMinecraft().getTextureManager().bindTexture(SkyblockAddonsGui.LOGO_GLOW);
-        fullyInitialized = true;
-        FontRendererHook.onModInitialized();
+
+        StartupProfiler.finish(configDirectory);
     }
 
     @Mod.EventHandler
     public void stop(FMLModDisabledEvent e) {
         discordRPCManager.stop();
+        flushSaves();
+    }
+
+    /**
+     * Writes any config and persistent value changes that are still waiting to be saved.
+     */
+    private void flushSaves() {
+        configValues.flushConfig();
+        persistentValuesManager.flushValues();
     }
 
     public KeyBinding getOpenSettingsKey() {
@@ -263,6 +307,13 @@ public class SkyblockAddons {
         }
     }
 
+    public void setOnlineData(OnlineData onlineData) {
+        this.onlineData = onlineData;
+        if (configValues != null) {
+            configValues.invalidateFeatureState();
+        }
+    }
+
     public static Gson getGson() {
         return GSON;
     }
@@ -297,8 +348,35 @@ public class SkyblockAddons {
         }
     }
 
+    /**
+     * Runs a task on the serial lane of the {@link #getExecutor() executor}, so tasks run one at a time in the order
+     * they were submitted.
+     *
+     * @param runnable the task
+     */
     public static void runAsync(Runnable runnable) {
-        THREAD_EXECUTOR.execute(runnable);
+        executor.execute(ExecutorLane.SERIAL, runnable);
+    }
+
+    /**
+     * Runs a task on the given lane of the {@link #getExecutor() executor}.
+     *
+     * @param lane the lane to run the task on
+     * @param runnable the task
+     * @return the submitted task
+     */
+    public static AsyncTask<Void> runAsync(ExecutorLane lane, Runnable runnable) {
+        return executor.execute(lane, runnable);
+    }
+
+    /**
+     * Queues a task to run on the client thread at the start of the next tick. Use this to hand results from a
+     * background thread back to the game.
+     *
+     * @param runnable the task
+     */
+    public static void runOnMainThread(Runnable runnable) {
+        executor.runOnMainThread(runnable);
     }
 
     // This replaces the version placeholder if the mod is built using IntelliJ instead of Gradle.
@@ -6,6 +6,8 @@ import codes.biscuit.skyblockaddons.tweaker.transformer.ITransformer;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.*;
 
+import java.util.Iterator;
+
 public class GuiScreenTransformer implements ITransformer {
 
     /**
@@ -29,6 +31,23 @@ public class GuiScreenTransformer implements ITransformer {
                     //           }
 
                     methodNode.instructions.insertBefore(methodNode.instructions.getFirst(), onRenderTooltip());
+
+                    // Objective:
+                    // Find: stack.getTooltip(this.mc.thePlayer, this.mc.gameSettings.advancedItemTooltips);
+                    // Replace With: GuiScreenHook.getTooltip(stack, this.mc.thePlayer, this.mc.gameSettings.advancedItemTooltips);
+
+                    Iterator<AbstractInsnNode> iterator = methodNode.instructions.iterator();
+                    while (iterator.hasNext()) {
+                        AbstractInsnNode abstractNode = iterator.next();
+                        if (abstractNode instanceof MethodInsnNode && abstractNode.getOpcode() == Opcodes.INVOKEVIRTUAL) {
+                            MethodInsnNode methodInsnNode = (MethodInsnNode) abstractNode;
+                            if (methodInsnNode.owner.equals(TransformerClass.ItemStack.getNameRaw()) && TransformerMethod.getTooltip.matches(methodInsnNode)) {
+                                methodNode.instructions.set(methodInsnNode, new MethodInsnNode(Opcodes.INVOKESTATIC, "codes/biscuit/skyblockaddons/asm/hooks/GuiScreenHook",
+                                        "getTooltip", "("+TransformerClass.ItemStack.getName()+TransformerClass.EntityPlayer.getName()+"Z)Ljava/util/List;", false));
+                                break;
+                            }
+                        }
+                    }
                 }
                 if (TransformerMethod.handleComponentClick.matches(methodNode)) {
 
@@ -0,0 +1,58 @@
+package codes.biscuit.skyblockaddons.asm;
+
+import codes.biscuit.skyblockaddons.asm.utils.TransformerClass;
+import codes.biscuit.skyblockaddons.asm.utils.TransformerMethod;
+import codes.biscuit.skyblockaddons.tweaker.transformer.ITransformer;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.*;
+
+import java.util.Iterator;
+
+public class NetHandlerPlayClientTransformer implements ITransformer {
+
+    /**
+     * {@link net.minecraft.client.network.NetHandlerPlayClient}
+     */
+    @Override
+    public String[] getClassName() {
+        return new String[]{TransformerClass.NetHandlerPlayClient.getTransformerName()};
+    }
+
+    @Override
+    public void transform(ClassNode classNode, String name) {
+        for (MethodNode methodNode : classNode.methods) {
+            if (TransformerMethod.handleSetSlot.matches(methodNode)) {
+
+                // Objective:
+                // Find: Return statements.
+                // Insert: NetHandlerPlayClientHook.onSetSlot(packetIn);
+
+                insertBeforeReturns(methodNode, "onSetSlot", TransformerClass.S2FPacketSetSlot);
+            } else if (TransformerMethod.handleWindowItems.matches(methodNode)) {
+
+                // Objective:
+                // Find: Return statements.
+                // Insert: NetHandlerPlayClientHook.onWindowItems(packetIn);
+
+                insertBeforeReturns(methodNode, "onWindowItems", TransformerClass.S30PacketWindowItems);
+            }
+        }
+    }
+
+    /**
+     * The packet is only applied on the client thread, so the hook only runs there after the slots were set.
+     */
+    private void insertBeforeReturns(MethodNode methodNode, String hookName, TransformerClass packetClass) {
+        Iterator<AbstractInsnNode> iterator = methodNode.instructions.iterator();
+        while (iterator.hasNext()) {
+            AbstractInsnNode abstractNode = iterator.next();
+            if (abstractNode instanceof InsnNode && abstractNode.getOpcode() == Opcodes.RETURN) {
+                InsnList list = new InsnList();
+                list.add(new VarInsnNode(Opcodes.ALOAD, 1)); // packetIn
+                list.add(new MethodInsnNode(Opcodes.INVOKESTATIC, "codes/biscuit/skyblockaddons/asm/hooks/NetHandlerPlayClientHook",
+                        hookName, "(" + packetClass.getName() + ")V", false)); // NetHandlerPlayClientHook.hookName(packetIn);
+                methodNode.instructions.insertBefore(abstractNode, list);
+            }
+        }
+    }
+}
@@ -6,12 +6,25 @@ import codes.biscuit.skyblockaddons.core.InventoryType;
 import codes.biscuit.skyblockaddons.features.backpacks.ContainerPreviewManager;
 import codes.biscuit.skyblockaddons.features.cooldowns.CooldownManager;
 import codes.biscuit.skyblockaddons.utils.InventoryUtils;
+import codes.biscuit.skyblockaddons.utils.TooltipCache;
+import lombok.Getter;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiScreen;
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.IChatComponent;
 
+import java.util.List;
+
 public class GuiScreenHook {
 
     private static final int MADDOX_BATPHONE_COOLDOWN = 20 * 1000;
+    private static final int TOOLTIP_CACHE_SIZE = 64;
+    /** Tooltips are built again after this long, for tooltip handlers of other mods that add lines that change */
+    private static final long TOOLTIP_MAX_AGE = 1000;
+
+    @Getter
+    private static final TooltipCache tooltipCache = new TooltipCache(TOOLTIP_CACHE_SIZE, TOOLTIP_MAX_AGE);
 
     public static boolean onRenderTooltip(ItemStack itemStack, int x, int y) {
         SkyblockAddons main = SkyblockAddons.getInstance();
@@ -27,6 +40,24 @@ public class GuiScreenHook {
         return ContainerPreviewManager.onRenderTooltip(itemStack, x, y);
     }
 
+    /**
+     * Replaces the call to {@link ItemStack#getTooltip(EntityPlayer, boolean)} in
+     * {@link GuiScreen#renderToolTip(ItemStack, int, int)}, so tooltips in Skyblock are built once instead of on every
+     * frame they're shown.
+     */
+    public static List<String> getTooltip(ItemStack itemStack, EntityPlayer player, boolean advanced) {
+        SkyblockAddons main = SkyblockAddons.getInstance();
+        if (!main.getUtils().isOnSkyblock()) {
+            return itemStack.getTooltip(player, advanced);
+        }
+
+        TooltipCache.Key key = new TooltipCache.Key(itemStack.getItem(), itemStack.getMetadata(), itemStack.stackSize,
+                itemStack.getTagCompound(), advanced, GuiScreen.isShiftKeyDown(), GuiScreen.isCtrlKeyDown(),
+                main.getInventoryUtils().getInventoryType());
+        return tooltipCache.get(key, main.getConfigValues().getConfigVersion(), Minecraft.getSystemTime(),
+                () -> itemStack.getTooltip(player, advanced));
+    }
+
     //TODO: Fix for Hypixel localization
     public static void handleComponentClick(IChatComponent component) {
         SkyblockAddons main = SkyblockAddons.getInstance();
@@ -62,6 +62,7 @@ public class MinecraftHook {
 
     public static void rightClickMouse(ReturnValue<?> returnValue) {
         SkyblockAddons main = SkyblockAddons.getInstance();
+        main.getInventoryUtils().onItemUsed(Minecraft.getMinecraft().thePlayer.inventory);
         if (main.getUtils().isOnSkyblock()) {
             Minecraft mc = Minecraft.getMinecraft();
             if (mc.objectMouseOver != null && mc.objectMouseOver.typeOfHit == MovingObjectPosition.MovingObjectType.ENTITY) {
@@ -0,0 +1,16 @@
+package codes.biscuit.skyblockaddons.asm.hooks;
+
+import codes.biscuit.skyblockaddons.SkyblockAddons;
+import net.minecraft.network.play.server.S2FPacketSetSlot;
+import net.minecraft.network.play.server.S30PacketWindowItems;
+
+public class NetHandlerPlayClientHook {
+
+    public static void onSetSlot(S2FPacketSetSlot packet) {
+        SkyblockAddons.getInstance().getInventoryUtils().onSetSlot(packet.func_149175_c(), packet.func_149173_d()); // windowId, slot
+    }
+
+    public static void onWindowItems(S30PacketWindowItems packet) {
+        SkyblockAddons.getInstance().getInventoryUtils().onWindowItems(packet.func_148911_c()); // windowId
+    }
+}
@@ -116,6 +116,10 @@ public class PlayerControllerMPHook {
         int slotId = slotNum;
         ItemStack itemStack = player.inventory.getItemStack();
 
+        // The client moves the items of a click by itself and the server doesn't send them back. A click can move items
+        // to any slot, like shift-clicks, so everything is recomputed.
+        main.getInventoryUtils().getInventoryObserver().markAllChanged();
+
         if (main.getUtils().isOnSkyblock()) {
             // Prevent dropping rare items
             if (main.getConfigValues().isEnabled(Feature.STOP_DROPPING_SELLING_RARE_ITEMS) && !main.getUtils().isInDungeon()) {
@@ -56,6 +56,7 @@ public enum TransformerMethod {
 
     // ItemStack
     isItemDamaged("isItemDamaged", "func_77951_h", "g", "()Z"),
+    getTooltip("getTooltip", "func_82840_a", "a", "(Lnet/minecraft/entity/player/EntityPlayer;Z)Ljava/util/List;", "("+TransformerClass.EntityPlayer.getName()+"Z)Ljava/util/List;"),
 
     // SoundManager
     getNormalizedVolume("getNormalizedVolume", "func_148594_a", "a", "(Lnet/minecraft/client/audio/ISound;Lnet/minecraft/client/audio/SoundPoolEntry;Lnet/minecraft/client/audio/SoundCategory;)F", "("+TransformerClass.ISound.getName()+TransformerClass.SoundPoolEntry.getName()+TransformerClass.SoundCategory.getName()+")F"),
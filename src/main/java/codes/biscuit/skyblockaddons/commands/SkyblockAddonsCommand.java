@@ -10,6 +10,7 @@ import codes.biscuit.skyblockaddons.misc.SkyblockKeyBinding;
 import codes.biscuit.skyblockaddons.utils.ColorCode;
 import codes.biscuit.skyblockaddons.utils.DevUtils;
 import codes.biscuit.skyblockaddons.utils.EnumUtils;
+import codes.biscuit.skyblockaddons.utils.StartupProfiler;
 import codes.biscuit.skyblockaddons.utils.Utils;
 import com.google.common.base.CaseFormat;
 import lombok.Getter;
@@ -34,7 +35,7 @@ public class SkyblockAddonsCommand extends CommandBase {
 
     private static final String HEADER = "§7§m----------------§7[ §b§lSkyblockAddons §7]§7§m----------------";
     private static final String FOOTER = "§7§m-----------------------------------------------------";
-    private static final String[] SUBCOMMANDS = {"help", "edit", "folder", "resetZealotCounter", "set", "slayer", "version", "dev", "brand", "copyBlock",
+    private static final String[] SUBCOMMANDS = {"help", "edit", "folder", "resetZealotCounter", "set", "slayer", "version", "startupReport", "dev", "brand", "copyBlock",
             "copyEntity", "copySidebar", "copyTabList", "pd", "reload", "reloadConfig", "reloadRes", "toggleActionBarLogging"};
 
     private final SkyblockAddons main = SkyblockAddons.getInstance();
@@ -75,6 +76,7 @@ public class SkyblockAddonsCommand extends CommandBase {
                 "§b● " + CommandSyntax.FOLDER + " §7-§r " + Translations.getMessage("commands.usage.sba.folder.help") + "\n" +
                 "§b● " + CommandSyntax.SLAYER + " §7-§r " + Translations.getMessage("commands.usage.sba.slayer.help") + "\n" +
                 "§b● " + CommandSyntax.VERSION + " §7-§r " + Translations.getMessage("commands.usage.sba.version.help") + "\n" +
+                "§b● " + CommandSyntax.STARTUP_REPORT + " §7-§r " + Translations.getMessage("commands.usage.sba.startupReport.help") + "\n" +
                 "§b● " + CommandSyntax.DEV + " §7-§r " + Translations.getMessage("commands.usage.sba.dev.help");
 
         if (main.getConfigValues().isEnabled(Feature.DEVELOPER_MODE)) {
@@ -271,6 +273,8 @@ public class SkyblockAddonsCommand extends CommandBase {
                      the user chooses to copy for diagnostic purposes.
                      */
                     main.getUtils().sendMessage(versionChatComponent, true);
+                } else if (args[0].equalsIgnoreCase("startupReport")) {
+                    sendStartupReport();
                 } else if (args[0].equalsIgnoreCase("internal")) {
                     if (args.length > 2) {
                         if (args[1].equalsIgnoreCase("copy")) {
@@ -372,6 +376,45 @@ public class SkyblockAddonsCommand extends CommandBase {
         }
     }
 
+    /**
+     * Shows the time taken by each startup phase and the slowest transformers in chat.
+     *
+     * @see StartupProfiler
+     */
+    private void sendStartupReport() {
+        StringBuilder reportBuilder = new StringBuilder(HEADER).append("\n");
+        reportBuilder.append("§b§l").append(Translations.getMessage("commands.responses.sba.startupReport.header",
+                StartupProfiler.toMillis(StartupProfiler.getTotalNanos()))).append("\n");
+
+        reportBuilder.append("§l").append(Translations.getMessage("commands.responses.sba.startupReport.phases")).append(":");
+        for (StartupProfiler.Phase phase : StartupProfiler.getPhases()) {
+            int nameStart = phase.getName().lastIndexOf('/') + 1;
+            reportBuilder.append("\n").append(nameStart == 0 ? "§b● " : "  §7- ").append(phase.getName().substring(nameStart))
+                    .append(" §7").append(StartupProfiler.toMillis(phase.getNanos())).append(" ms")
+                    .append(formatAllocatedBytes(phase.getAllocatedBytes()));
+        }
+
+        List<StartupProfiler.TransformerTiming> transformerTimings = StartupProfiler.getTransformerTimings();
+        if (!transformerTimings.isEmpty()) {
+            reportBuilder.append("\n§l").append(Translations.getMessage("commands.responses.sba.startupReport.transformers")).append(":");
+            for (StartupProfiler.TransformerTiming timing : transformerTimings.subList(0, Math.min(5, transformerTimings.size()))) {
+                reportBuilder.append("\n§b● ").append(timing.getName()).append(" §7").append(StartupProfiler.toMillis(timing.getNanos()))
+                        .append(" ms, ").append(timing.getClasses()).append(" classes").append(formatAllocatedBytes(timing.getAllocatedBytes()));
+            }
+        }
+
+        reportBuilder.append("\n§7").append(Translations.getMessage("commands.responses.sba.startupReport.reportSaved",
+                StartupProfiler.REPORT_FILE_NAME)).append("\n").append(FOOTER);
+        main.getUtils().sendMessage(reportBuilder.toString(), false);
+    }
+
+    private static String formatAllocatedBytes(long allocatedBytes) {
+        if (allocatedBytes < 0) {
+            return "";
+        }
+        return String.format(Locale.US, " (%.1f MB)", allocatedBytes / (1024D * 1024D));
+    }
+
     /*
     Returns the Dev prefix in brackets and with formatting codes.
     This simplifies the string for localization to just "Dev".
@@ -388,7 +431,7 @@ public class SkyblockAddonsCommand extends CommandBase {
         if (main.getConfigValues().isEnabled(Feature.DEVELOPER_MODE)) {
             return getListOfStringsMatchingLastWord(args, SUBCOMMANDS);
         } else {
-            return getListOfStringsMatchingLastWord(args, Arrays.copyOf(SUBCOMMANDS, 7));
+            return getListOfStringsMatchingLastWord(args, Arrays.copyOf(SUBCOMMANDS, 8));
         }
     }
 
@@ -449,6 +492,7 @@ public class SkyblockAddonsCommand extends CommandBase {
         RELOAD_RES("/sba reloadRes"),
         RESET_ZEALOT_COUNTER("/sba resetZealotCounter"),
         PD("/sba pd"),
+        STARTUP_REPORT("/sba startupReport"),
         VERSION("/sba version")
         ;
 
@@ -484,6 +528,7 @@ public class SkyblockAddonsCommand extends CommandBase {
         RELOAD_CONFIG(CommandSyntax.RELOAD_CONFIG, "commands.usage.sba.reloadConfig.help", null),
         RELOAD_RES(CommandSyntax.RELOAD_RES, "commands.usage.sba.reloadRes.help", null),
         PD(CommandSyntax.PD, "commands.usage.sba.printDeaths.help", null),
+        STARTUP_REPORT(CommandSyntax.STARTUP_REPORT, "commands.usage.sba.startupReport.help", null),
         VERSION(CommandSyntax.VERSION, "commands.usage.sba.version.help", null)
         ;
 
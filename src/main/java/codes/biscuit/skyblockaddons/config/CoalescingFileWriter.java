@@ -0,0 +1,198 @@
+package codes.biscuit.skyblockaddons.config;
+
+import codes.biscuit.skyblockaddons.SkyblockAddons;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Getter;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A write-behind writer for a single file. Calls to {@link #markDirty()} are coalesced so that the file is written at
+ * most once per interval no matter how often it is requested, and a request made while a write is in progress is never
+ * dropped. Files are written to a temporary file first and then moved over the target, so a crash in the middle of a
+ * write leaves the previous version intact.
+ * <p>
+ * Content is serialized on the writer thread when the write actually happens, so the newest state is always the one
+ * written. Call {@link #flush()} on shutdown to write any pending changes immediately.
+ * <p>
+ * A failed write is tried again after twice as long each time. After {@link #MAX_ATTEMPTS} failed writes in a row, the
+ * error is logged and the changes are left pending until the file is marked dirty again or flushed.
+ */
+public class CoalescingFileWriter {
+
+    private static final Logger logger = SkyblockAddons.getLogger();
+
+    /** The number of failed writes in a row after which the writer stops trying again on its own */
+    static final int MAX_ATTEMPTS = 5;
+    private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final ScheduledExecutorService WRITE_EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat(SkyblockAddons.MOD_NAME + " - File Writer #%d").setDaemon(true).build());
+
+    private final String name;
+    private final File file;
+    private final File tempFile;
+    private final ContentWriter contentWriter;
+    private final long intervalMillis;
+    private final ScheduledExecutorService executor;
+
+    private final Object writeLock = new Object();
+    /** The number of writes that failed since the last one that succeeded, guarded by {@link #writeLock} */
+    private int failedAttempts;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    /** The number of times the file has been written, for diagnostics and tests */
+    @Getter private final AtomicInteger writeCount = new AtomicInteger();
+
+    /**
+     * Creates a new writer. Use {@link #textContent(TextContentWriter)} for text files.
+     *
+     * @param name the name used for this file in log messages
+     * @param file the file to write to
+     * @param contentWriter writes the file's content, called on the writer thread
+     * @param intervalMillis the minimum time between two writes in milliseconds
+     */
+    public CoalescingFileWriter(String name, File file, ContentWriter contentWriter, long intervalMillis) {
+        this(name, file, contentWriter, intervalMillis, WRITE_EXECUTOR);
+    }
+
+    /**
+     * Creates a new writer that schedules its writes on the given executor instead of the shared writer thread.
+     *
+     * @see #CoalescingFileWriter(String, File, ContentWriter, long)
+     */
+    public CoalescingFileWriter(String name, File file, ContentWriter contentWriter, long intervalMillis,
+                                ScheduledExecutorService executor) {
+        this.name = name;
+        this.file = file;
+        this.tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        this.contentWriter = contentWriter;
+        this.intervalMillis = intervalMillis;
+        this.executor = executor;
+    }
+
+    /**
+     * Adapts a writer for text content, which is written as UTF-8.
+     *
+     * @param textContentWriter writes the file's text content
+     * @return a content writer that writes the text content
+     */
+    public static ContentWriter textContent(TextContentWriter textContentWriter) {
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            textContentWriter.write(writer);
+            writer.flush();
+        };
+    }
+
+    /**
+     * Marks the file's content as changed. The file will be written once the current interval is over.
+     */
+    public void markDirty() {
+        dirty.set(true);
+        scheduleWrite(intervalMillis);
+    }
+
+    /**
+     * Writes any pending changes on the calling thread, waiting for a write in progress to finish first.
+     *
+     * @return {@code true} if the pending changes were written or there weren't any, {@code false} if the write failed
+     */
+    public boolean flush() {
+        return writeIfDirty();
+    }
+
+    /**
+     * @return {@code true} if there are changes that haven't been written yet
+     */
+    public boolean isDirty() {
+        return dirty.get();
+    }
+
+    private void scheduleWrite(long delayMillis) {
+        if (writeScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::runScheduledWrite, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void runScheduledWrite() {
+        // Cleared before writing so a change made during the write schedules another one.
+        writeScheduled.set(false);
+        writeIfDirty();
+    }
+
+    private boolean writeIfDirty() {
+        synchronized (writeLock) {
+            if (!dirty.getAndSet(false)) {
+                return true;
+            }
+
+            logger.info("Saving " + name);
+
+            try {
+                writeAtomically();
+                writeCount.incrementAndGet();
+                failedAttempts = 0;
+                logger.info(name + " saved");
+                return true;
+            } catch (Exception ex) {
+                dirty.set(true);
+                failedAttempts++;
+
+                if (failedAttempts < MAX_ATTEMPTS) {
+                    long retryDelayMillis = Math.min(intervalMillis << failedAttempts, MAX_RETRY_DELAY_MILLIS);
+                    logger.debug("Error saving " + name + ", trying again in " + retryDelayMillis + " ms: " + ex);
+                    scheduleWrite(retryDelayMillis);
+                } else {
+                    logger.error("Error saving " + name + ", giving up after " + failedAttempts + " attempts.", ex);
+                    // The next change or flush starts over
+                    failedAttempts = 0;
+                }
+                return false;
+            }
+        }
+    }
+
+    private void writeAtomically() throws IOException {
+        try (FileOutputStream outputStream = new FileOutputStream(tempFile)) {
+            BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(outputStream);
+            contentWriter.write(bufferedOutputStream);
+            bufferedOutputStream.flush();
+            outputStream.getFD().sync();
+        }
+
+        try {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes the binary content of a file.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+
+        void write(OutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * Writes the text content of a file.
+     */
+    @FunctionalInterface
+    public interface TextContentWriter {
+
+        void write(Writer writer) throws IOException;
+    }
+}
@@ -3,11 +3,13 @@ package codes.biscuit.skyblockaddons.config;
 import codes.biscuit.skyblockaddons.SkyblockAddons;
 import codes.biscuit.skyblockaddons.core.Feature;
 import codes.biscuit.skyblockaddons.core.Language;
+import codes.biscuit.skyblockaddons.core.OnlineData;
 import codes.biscuit.skyblockaddons.core.chroma.ManualChromaManager;
 import codes.biscuit.skyblockaddons.features.discordrpc.DiscordStatus;
 import codes.biscuit.skyblockaddons.features.enchants.EnchantListLayout;
 import codes.biscuit.skyblockaddons.features.enchants.EnchantManager;
 import codes.biscuit.skyblockaddons.utils.*;
+import codes.biscuit.skyblockaddons.utils.data.CompiledStringTable;
 import codes.biscuit.skyblockaddons.utils.objects.FloatPair;
 import com.google.gson.*;
 import lombok.Getter;
@@ -30,7 +32,8 @@ import java.io.*;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 public class ConfigValues {
 
@@ -40,7 +43,7 @@ public class ConfigValues {
     private final static float GUI_SCALE_MINIMUM = 0.5F;
     private final static float GUI_SCALE_MAXIMUM = 5;
 
-    private static final ReentrantLock SAVE_LOCK = new ReentrantLock();
+    private static final long SAVE_INTERVAL_MILLIS = 1000;
 
     private static final SkyblockAddons main = SkyblockAddons.getInstance();
     private static final Logger logger = SkyblockAddons.getLogger();
@@ -51,13 +54,22 @@ public class ConfigValues {
     private final Map<Feature, FloatPair> defaultBarSizes = new EnumMap<>(Feature.class);
 
     private final File settingsConfigFile;
+    /** The latest online data, which may not have been loaded yet */
+    private final Supplier<OnlineData> onlineData;
+    private final CoalescingFileWriter configWriter;
     private JsonObject loadedConfig = new JsonObject();
+    /** The strings of the current language, keyed by their dotted path */
     @Getter
     @Setter
-    private JsonObject languageConfig = new JsonObject();
+    private CompiledStringTable languageStrings = CompiledStringTable.EMPTY;
 
     @Getter
     private final Set<Feature> disabledFeatures = EnumSet.noneOf(Feature.class);
+    /** Incremented every time {@link #disabledFeatures} or the online data changes */
+    private final AtomicInteger featureStateGeneration = new AtomicInteger();
+    /** Incremented every time the config is saved */
+    private final AtomicInteger configChanges = new AtomicInteger();
+    private volatile FeatureStateSnapshot featureState;
     private final Map<Feature, Integer> colors = new HashMap<>();
     private Map<Feature, Float> guiScales = new EnumMap<>(Feature.class);
     private final Map<Feature, FloatPair> barSizes = new EnumMap<>(Feature.class);
@@ -95,8 +107,11 @@ public class ConfigValues {
     private final MutableFloat chromaBrightness = new MutableFloat(0.9F);
     private final MutableObject<EnchantListLayout> enchantLayout = new MutableObject<>(EnchantListLayout.NORMAL);
 
-    public ConfigValues(File settingsConfigFile) {
+    public ConfigValues(File settingsConfigFile, Supplier<OnlineData> onlineData) {
         this.settingsConfigFile = settingsConfigFile;
+        this.onlineData = onlineData;
+        this.configWriter = new CoalescingFileWriter("config", settingsConfigFile,
+                CoalescingFileWriter.textContent(this::writeConfig), SAVE_INTERVAL_MILLIS);
     }
 
     public void loadValues() {
@@ -115,7 +130,7 @@ public class ConfigValues {
         }
 
         if (settingsConfigFile.exists()) {
-            try (FileReader reader = new FileReader(settingsConfigFile)) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(settingsConfigFile), StandardCharsets.UTF_8)) {
                 JsonElement fileElement = new JsonParser().parse(reader);
 
                 if (fileElement == null || fileElement.isJsonNull()) {
@@ -264,6 +279,7 @@ public class ConfigValues {
                     this.getDisabledFeatures().add(feature);
                 }
             }
+            invalidateFeatureState();
         } else {
             addDefaultsAndSave();
         }
@@ -300,141 +316,136 @@ public class ConfigValues {
             }
         }
 
+        invalidateFeatureState();
         setAllCoordinatesToDefault();
         putDefaultBarSizes();
         saveConfig();
     }
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
+    /**
+     * Marks the config as changed. It will be written to disk shortly, with rapid changes being coalesced into a
+     * single write.
+     */
     public void saveConfig() {
+        configChanges.incrementAndGet();
         EnchantManager.markCacheDirty();
-        SkyblockAddons.runAsync(() -> {
-            if (!SAVE_LOCK.tryLock()) {
-                return;
-            }
-
-            logger.info("Saving config");
-
-            try {
-                settingsConfigFile.createNewFile();
-
-                JsonObject saveConfig = new JsonObject();
+        configWriter.markDirty();
+    }
 
-                JsonArray jsonArray = new JsonArray();
-                for (Feature element : disabledFeatures) {
-                    jsonArray.add(new GsonBuilder().create().toJsonTree(element.getId()));
-                }
-                saveConfig.add("disabledFeatures", jsonArray);
+    /**
+     * Immediately writes any config changes that haven't been saved yet. This is called on shutdown.
+     */
+    public void flushConfig() {
+        configWriter.flush();
+    }
 
-                JsonObject profileSlotsObject = new JsonObject();
-                for (Map.Entry<String, Set<Integer>> entry : profileLockedSlots.entrySet()) {
-                    JsonArray lockedSlots = new JsonArray();
-                    for (int slot : entry.getValue()) {
-                        lockedSlots.add(new GsonBuilder().create().toJsonTree(slot));
-                    }
-                    profileSlotsObject.add(entry.getKey(), lockedSlots);
-                }
-                saveConfig.add("profileLockedSlots", profileSlotsObject);
+    private void writeConfig(Writer writer) {
+        JsonObject saveConfig = new JsonObject();
 
-                JsonObject anchorObject = new JsonObject();
-                for (Feature feature : Feature.getGuiFeatures()) {
-                    anchorObject.addProperty(String.valueOf(feature.getId()), getAnchorPoint(feature).getId());
-                }
-                saveConfig.add("anchorPoints", anchorObject);
+        JsonArray jsonArray = new JsonArray();
+        for (Feature element : disabledFeatures) {
+            jsonArray.add(new GsonBuilder().create().toJsonTree(element.getId()));
+        }
+        saveConfig.add("disabledFeatures", jsonArray);
 
-                JsonObject scalesObject = new JsonObject();
-                for (Feature feature : guiScales.keySet()) {
-                    scalesObject.addProperty(String.valueOf(feature.getId()), guiScales.get(feature));
-                }
-                saveConfig.add("guiScales", scalesObject);
+        JsonObject profileSlotsObject = new JsonObject();
+        for (Map.Entry<String, Set<Integer>> entry : profileLockedSlots.entrySet()) {
+            JsonArray lockedSlots = new JsonArray();
+            for (int slot : entry.getValue()) {
+                lockedSlots.add(new GsonBuilder().create().toJsonTree(slot));
+            }
+            profileSlotsObject.add(entry.getKey(), lockedSlots);
+        }
+        saveConfig.add("profileLockedSlots", profileSlotsObject);
 
-                JsonObject colorsObject = new JsonObject();
-                for (Feature feature : colors.keySet()) {
-                    int featureColor = colors.get(feature);
-                    if (featureColor != ColorCode.RED.getColor()) { // Red is default, no need to save it!
-                        colorsObject.addProperty(String.valueOf(feature.getId()), colors.get(feature));
-                    }
-                }
-                saveConfig.add("colors", colorsObject);
-
-                // Old gui coordinates, for backwards compatibility...
-                JsonObject coordinatesObject = new JsonObject();
-                for (Feature feature : coordinates.keySet()) {
-                    JsonArray coordinatesArray = new JsonArray();
-                    coordinatesArray.add(new GsonBuilder().create().toJsonTree(Math.round(coordinates.get(feature).getX())));
-                    coordinatesArray.add(new GsonBuilder().create().toJsonTree(Math.round(coordinates.get(feature).getY())));
-                    coordinatesObject.add(String.valueOf(feature.getId()), coordinatesArray);
-                }
-                saveConfig.add("guiPositions", coordinatesObject);
-                // New gui coordinates
-                coordinatesObject = new JsonObject();
-                for (Feature feature : coordinates.keySet()) {
-                    JsonArray coordinatesArray = new JsonArray();
-                    coordinatesArray.add(new GsonBuilder().create().toJsonTree(coordinates.get(feature).getX()));
-                    coordinatesArray.add(new GsonBuilder().create().toJsonTree(coordinates.get(feature).getY()));
-                    coordinatesObject.add(String.valueOf(feature.getId()), coordinatesArray);
-                }
-                saveConfig.add("coordinates", coordinatesObject);
-
-                JsonObject barSizesObject = new JsonObject();
-                for (Feature feature : barSizes.keySet()) {
-                    JsonArray sizesArray = new JsonArray();
-                    sizesArray.add(new GsonBuilder().create().toJsonTree(barSizes.get(feature).getX()));
-                    sizesArray.add(new GsonBuilder().create().toJsonTree(barSizes.get(feature).getY()));
-                    barSizesObject.add(String.valueOf(feature.getId()), sizesArray);
-                }
-                saveConfig.add("barSizes", barSizesObject);
+        JsonObject anchorObject = new JsonObject();
+        for (Feature feature : Feature.getGuiFeatures()) {
+            anchorObject.addProperty(String.valueOf(feature.getId()), getAnchorPoint(feature).getId());
+        }
+        saveConfig.add("anchorPoints", anchorObject);
 
-                saveConfig.addProperty("warningSeconds", warningSeconds);
+        JsonObject scalesObject = new JsonObject();
+        for (Feature feature : guiScales.keySet()) {
+            scalesObject.addProperty(String.valueOf(feature.getId()), guiScales.get(feature));
+        }
+        saveConfig.add("guiScales", scalesObject);
 
-                saveConfig.addProperty("textStyle", textStyle.getValue().ordinal());
-                saveConfig.addProperty("language", language.getValue().getPath());
-                saveConfig.addProperty("backpackStyle", backpackStyle.getValue().ordinal());
-                saveConfig.addProperty("powerOrbStyle", powerOrbDisplayStyle.getValue().ordinal());
+        JsonObject colorsObject = new JsonObject();
+        for (Feature feature : colors.keySet()) {
+            int featureColor = colors.get(feature);
+            if (featureColor != ColorCode.RED.getColor()) { // Red is default, no need to save it!
+                colorsObject.addProperty(String.valueOf(feature.getId()), colors.get(feature));
+            }
+        }
+        saveConfig.add("colors", colorsObject);
+
+        // Old gui coordinates, for backwards compatibility...
+        JsonObject coordinatesObject = new JsonObject();
+        for (Feature feature : coordinates.keySet()) {
+            JsonArray coordinatesArray = new JsonArray();
+            coordinatesArray.add(new GsonBuilder().create().toJsonTree(Math.round(coordinates.get(feature).getX())));
+            coordinatesArray.add(new GsonBuilder().create().toJsonTree(Math.round(coordinates.get(feature).getY())));
+            coordinatesObject.add(String.valueOf(feature.getId()), coordinatesArray);
+        }
+        saveConfig.add("guiPositions", coordinatesObject);
+        // New gui coordinates
+        coordinatesObject = new JsonObject();
+        for (Feature feature : coordinates.keySet()) {
+            JsonArray coordinatesArray = new JsonArray();
+            coordinatesArray.add(new GsonBuilder().create().toJsonTree(coordinates.get(feature).getX()));
+            coordinatesArray.add(new GsonBuilder().create().toJsonTree(coordinates.get(feature).getY()));
+            coordinatesObject.add(String.valueOf(feature.getId()), coordinatesArray);
+        }
+        saveConfig.add("coordinates", coordinatesObject);
+
+        JsonObject barSizesObject = new JsonObject();
+        for (Feature feature : barSizes.keySet()) {
+            JsonArray sizesArray = new JsonArray();
+            sizesArray.add(new GsonBuilder().create().toJsonTree(barSizes.get(feature).getX()));
+            sizesArray.add(new GsonBuilder().create().toJsonTree(barSizes.get(feature).getY()));
+            barSizesObject.add(String.valueOf(feature.getId()), sizesArray);
+        }
+        saveConfig.add("barSizes", barSizesObject);
 
-                JsonArray chromaFeaturesArray = new JsonArray();
-                for (Feature feature : chromaFeatures) {
-                    chromaFeaturesArray.add(new GsonBuilder().create().toJsonTree(feature.getId()));
-                }
-                saveConfig.add("chromaFeatures", chromaFeaturesArray);
-                saveConfig.addProperty("chromaSpeed", chromaSpeed);
-                saveConfig.addProperty("chromaMode", chromaMode.getValue().ordinal());
-                saveConfig.addProperty("chromaSize", chromaSize);
-
-                saveConfig.addProperty("discordStatus", discordStatus.getValue().ordinal());
-                saveConfig.addProperty("discordDetails", discordDetails.getValue().ordinal());
-                saveConfig.addProperty("discordAutoDefault", discordAutoDefault.getValue().ordinal());
-                saveConfig.addProperty("enchantLayout", enchantLayout.getValue().ordinal());
-
-                JsonArray discordCustomStatusesArray = new JsonArray();
-                for (String string : discordCustomStatuses) {
-                    discordCustomStatusesArray.add(new GsonBuilder().create().toJsonTree(string));
-                }
-                saveConfig.add("discordCustomStatuses", discordCustomStatusesArray);
+        saveConfig.addProperty("warningSeconds", warningSeconds);
 
-                saveConfig.addProperty("mapZoom", mapZoom);
-                saveConfig.addProperty("chromaSaturation", chromaSaturation);
-                saveConfig.addProperty("chromaBrightness", chromaBrightness);
+        saveConfig.addProperty("textStyle", textStyle.getValue().ordinal());
+        saveConfig.addProperty("language", language.getValue().getPath());
+        saveConfig.addProperty("backpackStyle", backpackStyle.getValue().ordinal());
+        saveConfig.addProperty("powerOrbStyle", powerOrbDisplayStyle.getValue().ordinal());
 
-                saveConfig.addProperty("configVersion", CONFIG_VERSION);
-                int largestFeatureID = 0;
-                for (Feature feature : Feature.values()) {
-                    if (feature.getId() > largestFeatureID) largestFeatureID = feature.getId();
-                }
-                saveConfig.addProperty("lastFeatureID", largestFeatureID);
+        JsonArray chromaFeaturesArray = new JsonArray();
+        for (Feature feature : chromaFeatures) {
+            chromaFeaturesArray.add(new GsonBuilder().create().toJsonTree(feature.getId()));
+        }
+        saveConfig.add("chromaFeatures", chromaFeaturesArray);
+        saveConfig.addProperty("chromaSpeed", chromaSpeed);
+        saveConfig.addProperty("chromaMode", chromaMode.getValue().ordinal());
+        saveConfig.addProperty("chromaSize", chromaSize);
+
+        saveConfig.addProperty("discordStatus", discordStatus.getValue().ordinal());
+        saveConfig.addProperty("discordDetails", discordDetails.getValue().ordinal());
+        saveConfig.addProperty("discordAutoDefault", discordAutoDefault.getValue().ordinal());
+        saveConfig.addProperty("enchantLayout", enchantLayout.getValue().ordinal());
+
+        JsonArray discordCustomStatusesArray = new JsonArray();
+        for (String string : discordCustomStatuses) {
+            discordCustomStatusesArray.add(new GsonBuilder().create().toJsonTree(string));
+        }
+        saveConfig.add("discordCustomStatuses", discordCustomStatusesArray);
 
-                try (FileWriter writer = new FileWriter(settingsConfigFile)) {
-                    SkyblockAddons.getGson().toJson(saveConfig, writer);
-                }
-            } catch (Exception ex) {
-                logger.error("An error occurred while attempting to save the config!");
-                logger.catching(ex);
-            }
+        saveConfig.addProperty("mapZoom", mapZoom);
+        saveConfig.addProperty("chromaSaturation", chromaSaturation);
+        saveConfig.addProperty("chromaBrightness", chromaBrightness);
 
-            SAVE_LOCK.unlock();
+        saveConfig.addProperty("configVersion", CONFIG_VERSION);
+        int largestFeatureID = 0;
+        for (Feature feature : Feature.values()) {
+            if (feature.getId() > largestFeatureID) largestFeatureID = feature.getId();
+        }
+        saveConfig.addProperty("lastFeatureID", largestFeatureID);
 
-            logger.info("Config saved");
-        });
+        SkyblockAddons.getGson().toJson(saveConfig, writer);
     }
 
 
@@ -679,7 +690,7 @@ public class ConfigValues {
     public boolean isRemoteDisabled(Feature feature) {
         if (feature == null) return false;
 
-        HashMap<String, List<Integer>> disabledFeatures = main.getOnlineData().getDisabledFeatures();
+        HashMap<String, List<Integer>> disabledFeatures = onlineData.get().getDisabledFeatures();
 
         if (disabledFeatures.containsKey("all")) {
             if (disabledFeatures.get("all") != null) {
@@ -716,7 +727,45 @@ public class ConfigValues {
      * @return Whether the feature is disabled.
      */
     public boolean isDisabled(Feature feature) {
-        return disabledFeatures.contains(feature) || isRemoteDisabled(feature);
+        return getFeatureState().isDisabled(feature);
+    }
+
+    /**
+     * Marks the current {@link FeatureStateSnapshot} as stale. This must be called whenever {@link #disabledFeatures}
+     * or the online data is changed. The next feature check will build a new snapshot.
+     */
+    public void invalidateFeatureState() {
+        featureStateGeneration.incrementAndGet();
+    }
+
+    /**
+     * Returns a number that changes whenever a feature is toggled, the online data changes or the config is saved.
+     * Caches of things that depend on the config, like tooltips, are cleared when it changes.
+     *
+     * @return the current config version
+     */
+    public int getConfigVersion() {
+        return featureStateGeneration.get() + configChanges.get();
+    }
+
+    /**
+     * Returns the current effective feature state, building a new snapshot first if the config or the online data
+     * has changed since the last one was built.
+     *
+     * @return the current effective feature state
+     */
+    public FeatureStateSnapshot getFeatureState() {
+        FeatureStateSnapshot snapshot = featureState;
+        int generation = featureStateGeneration.get();
+
+        if (snapshot == null || snapshot.getGeneration() != generation) {
+            OnlineData currentOnlineData = onlineData.get();
+            snapshot = FeatureStateSnapshot.build(generation, EnumSet.copyOf(disabledFeatures),
+                    currentOnlineData != null ? currentOnlineData.getDisabledFeatures() : null, SkyblockAddons.VERSION);
+            featureState = snapshot;
+        }
+
+        return snapshot;
     }
 
     /**
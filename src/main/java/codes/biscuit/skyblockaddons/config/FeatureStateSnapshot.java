@@ -0,0 +1,112 @@
+package codes.biscuit.skyblockaddons.config;
+
+import codes.biscuit.skyblockaddons.SkyblockAddons;
+import codes.biscuit.skyblockaddons.core.Feature;
+import lombok.Getter;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable view of which features are effectively disabled, merging the local toggles from the config with the
+ * remote kill-switches from {@link codes.biscuit.skyblockaddons.core.OnlineData} and the version gating that goes with
+ * them. Lookups are a single bit test by {@link Feature#ordinal()}, which makes {@link ConfigValues#isEnabled(Feature)}
+ * cheap enough for the render path.
+ * <p>
+ * Snapshots are never modified. When the config or the online data changes, {@link ConfigValues} builds a new one.
+ */
+public final class FeatureStateSnapshot {
+
+    private static final Logger logger = SkyblockAddons.getLogger();
+
+    /** The {@code OnlineData} disabled features key that applies to every version of the mod. */
+    private static final String ALL_VERSIONS_KEY = "all";
+
+    /** The config generation this snapshot was built from */
+    @Getter private final int generation;
+    private final long[] disabledBits;
+
+    private FeatureStateSnapshot(int generation, long[] disabledBits) {
+        this.generation = generation;
+        this.disabledBits = disabledBits;
+    }
+
+    /**
+     * Builds a new snapshot.
+     *
+     * @param generation the config generation the inputs were read at
+     * @param localDisabledFeatures the features the user has disabled in the config
+     * @param remoteDisabledFeatures the disabled features map from the online data, may be {@code null}
+     * @param version the mod version, pre-release versions follow the list of their release version
+     * @return the new snapshot
+     */
+    public static FeatureStateSnapshot build(int generation, Collection<Feature> localDisabledFeatures,
+                                             Map<String, List<Integer>> remoteDisabledFeatures, String version) {
+        Feature[] features = Feature.values();
+        long[] disabledBits = new long[(features.length + 63) >>> 6];
+
+        for (Feature feature : localDisabledFeatures) {
+            if (feature != null) {
+                setBit(disabledBits, feature.ordinal());
+            }
+        }
+
+        if (remoteDisabledFeatures != null) {
+            List<Integer> allVersionsList = getRemoteList(remoteDisabledFeatures, ALL_VERSIONS_KEY);
+            List<Integer> versionList = getRemoteList(remoteDisabledFeatures, getReleaseVersion(version));
+
+            if (allVersionsList != null || versionList != null) {
+                for (Feature feature : features) {
+                    if (allVersionsList != null && allVersionsList.contains(feature.getId()) ||
+                            versionList != null && versionList.contains(feature.getId())) {
+                        setBit(disabledBits, feature.ordinal());
+                    }
+                }
+            }
+        }
+
+        return new FeatureStateSnapshot(generation, disabledBits);
+    }
+
+    /**
+     * @param feature the feature to check
+     * @return {@code true} if the feature is disabled locally or remotely, {@code false} otherwise
+     */
+    public boolean isDisabled(Feature feature) {
+        if (feature == null) {
+            return false;
+        }
+
+        int ordinal = feature.ordinal();
+        return (disabledBits[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    /**
+     * Returns the release version for the given version. For example, {@code 1.6.0-beta.10} becomes {@code 1.6.0}.
+     *
+     * @param version the full version string
+     * @return the version without its pre-release suffix
+     */
+    static String getReleaseVersion(String version) {
+        int dashIndex = version.indexOf('-');
+        return dashIndex == -1 ? version : version.substring(0, dashIndex);
+    }
+
+    private static List<Integer> getRemoteList(Map<String, List<Integer>> remoteDisabledFeatures, String key) {
+        if (!remoteDisabledFeatures.containsKey(key)) {
+            return null;
+        }
+
+        List<Integer> list = remoteDisabledFeatures.get(key);
+        if (list == null) {
+            logger.error("\"" + key + "\" key in disabled features map has value of null. Please fix online data.");
+        }
+        return list;
+    }
+
+    private static void setBit(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+}
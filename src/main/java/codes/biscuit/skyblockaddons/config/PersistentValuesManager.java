@@ -4,6 +4,7 @@ import codes.biscuit.hypixellocalizationlib.HypixelLanguage;
 import codes.biscuit.skyblockaddons.SkyblockAddons;
 import codes.biscuit.skyblockaddons.features.FetchurManager;
 import codes.biscuit.skyblockaddons.features.backpacks.CompressedStorage;
+import codes.biscuit.skyblockaddons.features.backpacks.StoragePreviewStore;
 import codes.biscuit.skyblockaddons.features.craftingpatterns.CraftingPattern;
 import codes.biscuit.skyblockaddons.features.dragontracker.DragonTrackerData;
 import codes.biscuit.skyblockaddons.features.slayertracker.SlayerTrackerData;
@@ -12,20 +13,23 @@ import lombok.Setter;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.locks.ReentrantLock;
 
 @Setter @Getter
 public class PersistentValuesManager {
 
     private static final Logger logger = SkyblockAddons.getLogger();
 
-    private static final ReentrantLock SAVE_LOCK = new ReentrantLock();
+    private static final long SAVE_INTERVAL_MILLIS = 1000;
 
     private final File persistentValuesFile;
+    private final CoalescingFileWriter valuesWriter;
+    private final StoragePreviewStore storagePreviewStore;
 
     private PersistentValues persistentValues = new PersistentValues();
 
@@ -38,6 +42,11 @@ public class PersistentValuesManager {
 
         private SlayerTrackerData slayerTracker = new SlayerTrackerData();
         private DragonTrackerData dragonTracker = new DragonTrackerData();
+        /**
+         * Storage previews used to be saved here. They are now kept in the {@link StoragePreviewStore}, this is only
+         * read to migrate old configs.
+         */
+        @Deprecated
         private Map<String, CompressedStorage> storageCache = new HashMap<>();
 
         private boolean blockCraftingIncompletePatterns = true; // unused after crafting pattern removal
@@ -53,6 +62,9 @@ public class PersistentValuesManager {
 
     public PersistentValuesManager(File configDir) {
         this.persistentValuesFile = new File(configDir.getAbsolutePath() + "/skyblockaddons_persistent.cfg");
+        this.valuesWriter = new CoalescingFileWriter("persistent values", persistentValuesFile, CoalescingFileWriter.textContent(
+                writer -> SkyblockAddons.getGson().toJson(persistentValues, writer)), SAVE_INTERVAL_MILLIS);
+        this.storagePreviewStore = new StoragePreviewStore(new File(configDir, "skyblockaddons_storage"));
     }
 
     /**
@@ -61,7 +73,7 @@ public class PersistentValuesManager {
     public void loadValues() {
         if (persistentValuesFile.exists()) {
 
-            try (FileReader reader = new FileReader(persistentValuesFile)) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(persistentValuesFile), StandardCharsets.UTF_8)) {
                 persistentValues = SkyblockAddons.getGson().fromJson(reader, PersistentValues.class);
 
             } catch (Exception ex) {
@@ -71,36 +83,38 @@ public class PersistentValuesManager {
         } else {
             saveValues();
         }
+
+        storagePreviewStore.load();
+        migrateStorageCache();
         FetchurManager.getInstance().postPersistentConfigLoad();
     }
 
     /**
-     * Saves the persistent values to {@code config/skyblockaddons_persistent.cfg} in the user's Minecraft folder.
+     * Marks the persistent values as changed. They will be written to {@code config/skyblockaddons_persistent.cfg}
+     * in the user's Minecraft folder shortly, with rapid changes being coalesced into a single write.
      */
     public void saveValues() {
-        // TODO: Better error handling that tries again/tells the player if it fails
-        SkyblockAddons.runAsync(() -> {
-            if (!SAVE_LOCK.tryLock()) {
-                return;
-            }
-
-            logger.info("Saving persistent values");
-
-            try {
-                //noinspection ResultOfMethodCallIgnored
-                persistentValuesFile.createNewFile();
-
-                try (FileWriter writer = new FileWriter(persistentValuesFile)) {
-                    SkyblockAddons.getGson().toJson(persistentValues, writer);
-                }
-            } catch (Exception ex) {
-                logger.error("Error saving persistent values.", ex);
-            }
+        valuesWriter.markDirty();
+    }
 
-            logger.info("Persistent Values Saved");
+    /**
+     * Immediately writes any persistent value changes that haven't been saved yet. This is called on shutdown.
+     */
+    public void flushValues() {
+        valuesWriter.flush();
+        storagePreviewStore.flush();
+    }
 
-            SAVE_LOCK.unlock();
-        });
+    /**
+     * Moves storage previews from the old {@code storageCache} JSON field into the {@link StoragePreviewStore} and
+     * removes them from the persistent values file once they have been written to the store.
+     */
+    @SuppressWarnings("deprecation")
+    private void migrateStorageCache() {
+        if (persistentValues.storageCache != null && storagePreviewStore.migrate(persistentValues.storageCache)) {
+            persistentValues.storageCache.clear();
+            saveValues();
+        }
     }
 
     /**
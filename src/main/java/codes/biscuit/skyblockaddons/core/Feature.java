@@ -334,11 +334,13 @@ public enum Feature {
      * @param enabled {@code true} to enable the feature, {@code false} to disable it
      */
     public void setEnabled(boolean enabled) {
+        ConfigValues configValues = SkyblockAddons.getInstance().getConfigValues();
         if (enabled) {
-            SkyblockAddons.getInstance().getConfigValues().getDisabledFeatures().remove(this);
+            configValues.getDisabledFeatures().remove(this);
         } else {
-            SkyblockAddons.getInstance().getConfigValues().getDisabledFeatures().add(this);
+            configValues.getDisabledFeatures().add(this);
         }
+        configValues.invalidateFeatureState();
         onToggle();
     }
 
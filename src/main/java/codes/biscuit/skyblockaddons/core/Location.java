@@ -1,5 +1,6 @@
 package codes.biscuit.skyblockaddons.core;
 
+import codes.biscuit.skyblockaddons.utils.CharTrieNode;
 import com.google.common.collect.Sets;
 import lombok.Getter;
 
@@ -187,6 +188,21 @@ public enum Location {
     // This is used when the mod is unable to retrieve the player's location from the sidebar.
     UNKNOWN("Unknown");
 
+    /**
+     * The names of all locations stored back to front, so the location a sidebar line ends with can be found by
+     * walking the line from its last character.
+     */
+    private static final SuffixNode SUFFIX_TRIE = new SuffixNode();
+
+    static {
+        for (Location location : values()) {
+            // Catacombs lines end with the floor number, so they're matched separately.
+            if (location != THE_CATACOMBS) {
+                SUFFIX_TRIE.add(location);
+            }
+        }
+    }
+
     /**
      * The name of this location as shown on the in-game scoreboard.
      */
@@ -219,4 +235,55 @@ public enum Location {
             discordIconKey = name().toLowerCase().replace("_", "-");
         }
     }
+
+    /**
+     * Returns the location shown on the given sidebar line. The line matches the location with the longest name it
+     * ends with, so "Dwarven Village" and "Dragontail Bank" aren't mistaken for "Village" and "Bank". Catacombs lines
+     * match {@link #THE_CATACOMBS} no matter which floor they show.
+     *
+     * @param strippedLine the sidebar line without formatting codes
+     * @return the location on the line, or {@code null} if the line doesn't end with a location name
+     */
+    public static Location fromSidebarLine(String strippedLine) {
+        if (strippedLine.contains(THE_CATACOMBS.scoreboardName)) {
+            return THE_CATACOMBS;
+        }
+
+        Location match = null;
+        SuffixNode node = SUFFIX_TRIE;
+        for (int i = strippedLine.length() - 1; i >= 0; i--) {
+            node = node.getChild(strippedLine.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.location != null) {
+                match = node.location;
+            }
+        }
+        return match;
+    }
+
+    /**
+     * A node in the trie of reversed location names
+     */
+    private static class SuffixNode extends CharTrieNode<SuffixNode> {
+        private Location location;
+
+        @Override
+        protected SuffixNode newChild() {
+            return new SuffixNode();
+        }
+
+        private void add(Location location) {
+            SuffixNode node = this;
+            String name = location.scoreboardName;
+            for (int i = name.length() - 1; i >= 0; i--) {
+                node = node.getOrAddChild(name.charAt(i));
+            }
+            // Keep the first location if two have the same name, like the loop over values() this replaced did.
+            if (node.location == null) {
+                node.location = location;
+            }
+        }
+    }
 }
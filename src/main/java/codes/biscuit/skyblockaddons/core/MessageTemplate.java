@@ -0,0 +1,104 @@
+package codes.biscuit.skyblockaddons.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A translated message split into literal text and {@code %variable%} placeholders once, so formatting it is a single
+ * pass over the segments instead of a regex replacement per variable.
+ * <p>
+ * Variables fill the placeholders in order, regardless of the placeholder names. Placeholders left over when there are
+ * fewer variables than placeholders stay in the message as they were written, and extra variables are ignored.
+ */
+public class MessageTemplate {
+
+    /** The literal text between placeholders, there is always one more literal than there are placeholders */
+    private final String[] literals;
+    /** The placeholders including their {@code %} signs, used when there is no variable for them */
+    private final String[] placeholders;
+    /** The sum of the literal lengths */
+    private final int literalLength;
+
+    private MessageTemplate(String[] literals, String[] placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Splits a message into its literals and placeholders. A placeholder is a {@code %} followed by one or more
+     * letters or {@code -} and a closing {@code %}.
+     *
+     * @param message the message to compile
+     * @return the compiled template
+     */
+    public static MessageTemplate compile(String message) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+
+        int literalStart = 0;
+        int index = message.indexOf('%');
+        while (index != -1) {
+            int end = findPlaceholderEnd(message, index);
+            if (end == -1) {
+                index = message.indexOf('%', index + 1);
+            } else {
+                literals.add(message.substring(literalStart, index));
+                placeholders.add(message.substring(index, end + 1));
+                literalStart = end + 1;
+                index = message.indexOf('%', literalStart);
+            }
+        }
+        literals.add(message.substring(literalStart));
+
+        return new MessageTemplate(literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    /**
+     * Fills the placeholders with the given variables in order.
+     *
+     * @param variables the variables, converted to strings with {@link String#valueOf(Object)}
+     * @return the formatted message
+     */
+    public String format(Object... variables) {
+        if (placeholders.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder builder = new StringBuilder(literalLength + placeholders.length * 8);
+        builder.append(literals[0]);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(i < variables.length ? String.valueOf(variables[i]) : placeholders[i]);
+            builder.append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    public int getPlaceholderCount() {
+        return placeholders.length;
+    }
+
+    /**
+     * @param message the message
+     * @param start the index of the opening {@code %}
+     * @return the index of the closing {@code %}, or {@code -1} if there isn't a placeholder at {@code start}
+     */
+    private static int findPlaceholderEnd(String message, int start) {
+        int index = start + 1;
+        while (index < message.length()) {
+            char c = message.charAt(index);
+            if (c == '%') {
+                return index > start + 1 ? index : -1;
+            } else if (!(c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c == '-')) {
+                return -1;
+            }
+            index++;
+        }
+        return -1;
+    }
+}
@@ -1,58 +1,41 @@
 package codes.biscuit.skyblockaddons.core;
 
 import codes.biscuit.skyblockaddons.SkyblockAddons;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import codes.biscuit.skyblockaddons.utils.data.CompiledStringTable;
 import com.ibm.icu.text.ArabicShaping;
 import com.ibm.icu.text.ArabicShapingException;
 import com.ibm.icu.text.Bidi;
 import net.minecraft.client.Minecraft;
 
-import java.util.ArrayDeque;
-import java.util.Arrays;
-import java.util.Deque;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class Translations {
 
-    private static final Pattern VARIABLE_PATTERN = Pattern.compile("%[A-Za-z-]+%");
+    /** The number of reordered right-to-left messages to keep */
+    private static final int BIDI_CACHE_SIZE = 512;
+
+    /** The compiled messages of the current language, rebuilt when the language's strings are replaced */
+    private static volatile Index index = new Index(CompiledStringTable.EMPTY);
 
     public static String getMessage(String path, Object... variables) {
-        String text = "";
+        String text;
         try {
             SkyblockAddons main = SkyblockAddons.getInstance();
 
-            // Get the string.
-            String[] pathSplit = path.split(Pattern.quote("."));
-            JsonObject jsonObject = main.getConfigValues().getLanguageConfig();
-            for (String pathPart : pathSplit) {
-                if (!pathPart.equals("")) {
-                    JsonElement jsonElement = jsonObject.get(pathPart);
-
-                    if (jsonElement.isJsonObject()) {
-                        jsonObject = jsonObject.getAsJsonObject(pathPart);
-                    } else {
-                        text = jsonObject.get(path.substring(path.lastIndexOf(pathPart))).getAsString();
-                        break;
-                    }
-                }
-            }
-
-            // Iterate through the string and replace any variables.
-            Matcher matcher = VARIABLE_PATTERN.matcher(text);
-            Deque<Object> variablesDeque = new ArrayDeque<>(Arrays.asList(variables));
-
-            while (matcher.find() && !variablesDeque.isEmpty()) {
-                // Replace a variable and re-make the matcher.
-                text = matcher.replaceFirst(Matcher.quoteReplacement(variablesDeque.pollFirst().toString()));
-                matcher = VARIABLE_PATTERN.matcher(text);
+            // Get the compiled message and fill in the variables.
+            Index currentIndex = getIndex(main.getConfigValues().getLanguageStrings());
+            MessageTemplate template = currentIndex.templates.get(path);
+            if (template == null) {
+                return path;
             }
+            text = template.format(variables);
 
             // Handle RTL text...
             if ((main.getConfigValues().getLanguage() == Language.HEBREW || main.getConfigValues().getLanguage() == Language.ARABIC) &&
                     !Minecraft.getMinecraft().fontRendererObj.getBidiFlag()) {
-                text = bidiReorder(text);
+                text = currentIndex.getReordered(text);
             }
         } catch (Exception ex) {
             text = path; // In case of fire...
@@ -60,6 +43,18 @@ public class Translations {
         return text;
     }
 
+    /**
+     * Returns the index for the given strings, compiling a new one if the strings were replaced since the last call.
+     */
+    private static Index getIndex(CompiledStringTable strings) {
+        Index currentIndex = index;
+        if (currentIndex.strings != strings) {
+            currentIndex = new Index(strings);
+            index = currentIndex;
+        }
+        return currentIndex;
+    }
+
     private static String bidiReorder(String text) {
         try {
             Bidi bidi = new Bidi((new ArabicShaping(ArabicShaping.LETTERS_SHAPE)).shape(text), Bidi.DIRECTION_DEFAULT_RIGHT_TO_LEFT);
@@ -69,4 +64,39 @@ public class Translations {
             return text;
         }
     }
+
+    /**
+     * The compiled messages of one set of language strings, along with the reordered right-to-left messages made from
+     * them.
+     */
+    private static class Index {
+        private final CompiledStringTable strings;
+        private final Map<String, MessageTemplate> templates;
+        private final Map<String, String> reorderedMessages = new LinkedHashMap<String, String>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > BIDI_CACHE_SIZE;
+            }
+        };
+
+        private Index(CompiledStringTable strings) {
+            this.strings = strings;
+
+            templates = new HashMap<>(strings.size() * 4 / 3 + 1);
+            for (Map.Entry<String, String> entry : strings.toMap().entrySet()) {
+                templates.put(entry.getKey(), MessageTemplate.compile(entry.getValue()));
+            }
+        }
+
+        private String getReordered(String text) {
+            synchronized (reorderedMessages) {
+                String reordered = reorderedMessages.get(text);
+                if (reordered == null) {
+                    reordered = bidiReorder(text);
+                    reorderedMessages.put(text, reordered);
+                }
+                return reordered;
+            }
+        }
+    }
 }
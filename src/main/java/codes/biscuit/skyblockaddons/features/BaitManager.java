@@ -1,15 +1,20 @@
 package codes.biscuit.skyblockaddons.features;
 
 import codes.biscuit.skyblockaddons.core.ItemType;
+import codes.biscuit.skyblockaddons.utils.InventoryUtils;
 import codes.biscuit.skyblockaddons.utils.ItemUtils;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraft.init.Items;
 import net.minecraft.item.ItemStack;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.IntFunction;
 
 /**
  * Keeps track of bait in the Player's Inventory.
@@ -32,9 +37,10 @@ public class BaitManager {
     }
 
     /**
-     * A map of all baits in the inventory and their count
+     * A map of all baits in the inventory and their count, which is kept up to date by
+     * {@link InventoryUtils#getInventoryObserver()}
      */
-    @Getter private final Map<BaitType, Integer> baitsInInventory = new HashMap<>();
+    @Getter @Setter private Map<BaitType, Integer> baitsInInventory = Collections.emptyMap();
 
     /**
      * Check if our Player is holding a Fishing Rod, and filters out the Grapple Hook and Soul Whip and other items
@@ -56,13 +62,16 @@ public class BaitManager {
     }
 
     /**
-     * Re-count all baits in the inventory
+     * Counts all baits in the inventory
+     *
+     * @param inventory gets the item in a slot of the player's inventory
+     * @return a map of all baits in the inventory and their count
      */
-    public void refreshBaits() {
-        baitsInInventory.clear();
+    public static Map<BaitType, Integer> countBaits(IntFunction<ItemStack> inventory) {
+        Map<BaitType, Integer> baitsInInventory = new HashMap<>();
 
-        EntityPlayerSP player = Minecraft.getMinecraft().thePlayer;
-        for (ItemStack itemStack : player.inventory.mainInventory) {
+        for (int i = 0; i < InventoryUtils.MAIN_INVENTORY_SIZE; i++) {
+            ItemStack itemStack = inventory.apply(i);
             String skyblockID = ItemUtils.getSkyblockItemID(itemStack);
             if (skyblockID == null) {
                 continue;
@@ -75,7 +84,7 @@ public class BaitManager {
 
             baitsInInventory.put(bait, baitsInInventory.getOrDefault(bait, 0) + itemStack.stackSize);
         }
-
+        return baitsInInventory;
     }
 
     @Getter
@@ -94,11 +103,29 @@ public class BaitManager {
         ;
 
         private final String itemID;
-        private final ItemStack itemStack;
+        @Getter(AccessLevel.NONE) private final String name;
+        @Getter(AccessLevel.NONE) private final String skullID;
+        @Getter(AccessLevel.NONE) private final String textureURL;
+        @Getter(AccessLevel.NONE) private ItemStack itemStack;
 
         BaitType(String name, String itemID, String skullID, String textureURL) {
             this.itemID = itemID;
-            this.itemStack = ItemUtils.createSkullItemStack(name, itemID, skullID, textureURL);
+            this.name = name;
+            this.skullID = skullID;
+            this.textureURL = textureURL;
+        }
+
+        /**
+         * Returns the skull shown for this bait in the bait list. It's created on first use so baits can be counted
+         * before the game's items are registered.
+         *
+         * @return the skull item of this bait
+         */
+        public ItemStack getItemStack() {
+            if (itemStack == null) {
+                itemStack = ItemUtils.createSkullItemStack(name, itemID, skullID, textureURL);
+            }
+            return itemStack;
         }
 
         /**
@@ -1,7 +1,7 @@
 package codes.biscuit.skyblockaddons.features.backpacks;
 
 import codes.biscuit.skyblockaddons.SkyblockAddons;
-import codes.biscuit.skyblockaddons.config.PersistentValuesManager;
+import codes.biscuit.skyblockaddons.asm.hooks.GuiScreenHook;
 import codes.biscuit.skyblockaddons.core.Feature;
 import codes.biscuit.skyblockaddons.core.InventoryType;
 import codes.biscuit.skyblockaddons.utils.ColorCode;
@@ -48,6 +48,12 @@ public class ContainerPreviewManager {
     private static final Pattern BACKPACK_STORAGE_PATTERN = Pattern.compile("Backpack Slot (?<slot>\\d+)");
     private static final Pattern ENDERCHEST_STORAGE_PATTERN = Pattern.compile("Ender Chest Page (?<page>\\d+)");
 
+    /**
+     * Decoded container contents, so hovering over a container doesn't decompress its contents every frame
+     */
+    @Getter
+    private static final DecodedPreviewCache decodedPreviewCache = new DecodedPreviewCache(64);
+
     /**
      * The container preview to render
      */
@@ -104,7 +110,8 @@ public class ContainerPreviewManager {
             if (compressedDataTag != null) {
                 if (extraAttributes.hasKey(compressedDataTag, Constants.NBT.TAG_BYTE_ARRAY)) {
                     byte[] bytes = extraAttributes.getByteArray(compressedDataTag);
-                    items = decompressItems(bytes);
+                    String cacheKey = extraAttributes.hasKey("uuid") ? extraAttributes.getString("uuid") : skyblockID;
+                    items = decodedPreviewCache.get(cacheKey, bytes, ContainerPreviewManager::decompressItems);
                 }
             } else if (itemStackDataTags != null) {
                 items = new ArrayList<>(containerSize);
@@ -329,7 +336,7 @@ public class ContainerPreviewManager {
                 GlStateManager.pushMatrix();
                 GlStateManager.translate(0,0, 302);
                 drawingFrozenItemTooltip = true;
-                guiContainer.drawHoveringText(tooltipItem.getTooltip(mc.thePlayer, mc.gameSettings.advancedItemTooltips), mouseX, mouseY);
+                guiContainer.drawHoveringText(GuiScreenHook.getTooltip(tooltipItem, mc.thePlayer, mc.gameSettings.advancedItemTooltips), mouseX, mouseY);
                 drawingFrozenItemTooltip = false;
                 GlStateManager.popMatrix();
             }
@@ -451,13 +458,14 @@ public class ContainerPreviewManager {
                     storageKey = InventoryType.ENDER_CHEST.getInventoryName() + pageNum;
                 }
                 if (storageKey != null) {
-                    Map<String, CompressedStorage> cache = SkyblockAddons.getInstance().getPersistentValuesManager().getPersistentValues().getStorageCache();
-                    if (cache.get(storageKey) != null) {
-                        byte[] bytes = cache.get(storageKey).getStorage();
-                        List<ItemStack> items = decompressItems(bytes);
-                        // Clip out the top
-                        items = items.subList(9, items.size());
-                        containerPreview = getFromStorageBackpack(itemStack, items);
+                    byte[] bytes = main.getPersistentValuesManager().getStoragePreviewStore().get(storageKey);
+                    if (bytes != null) {
+                        List<ItemStack> items = decodedPreviewCache.get(storageKey, bytes, ContainerPreviewManager::decompressItems);
+                        if (items != null) {
+                            // Clip out the top
+                            items = items.subList(9, items.size());
+                            containerPreview = getFromStorageBackpack(itemStack, items);
+                        }
                     }
                 }
             }
@@ -535,7 +543,7 @@ public class ContainerPreviewManager {
 
     /**
      * Saves the currently opened menu inventory to the backpack cache.
-     * Triggers {@link PersistentValuesManager#saveValues()} if the inventory has changed from the cached version.
+     * Writes the container's record in the {@link StoragePreviewStore} if the inventory has changed from the cached version.
      *
      * @param inventory the inventory to save the contents of
      * @param storageKey the key in which to store the data
@@ -556,10 +564,9 @@ public class ContainerPreviewManager {
             ContainerPreviewManager.storageKey = storageKey;
         } else {
             // Get the cached storage containers
-            Map<String, CompressedStorage> cache = SkyblockAddons.getInstance().getPersistentValuesManager().getPersistentValues().getStorageCache();
+            StoragePreviewStore cache = SkyblockAddons.getInstance().getPersistentValuesManager().getStoragePreviewStore();
             // Get the cached container stored at this key
-            CompressedStorage cachedContainer = cache.get(storageKey);
-            byte[] previousCache = cachedContainer == null ? null : cachedContainer.getStorage();
+            byte[] previousCache = cache.get(storageKey);
 
             // Compute the compressed inventory of the current open inventory
             byte[] inventoryContents = getCompressedInventoryContents(inventory).getByteArray();
@@ -568,15 +575,14 @@ public class ContainerPreviewManager {
             boolean dirty = previousCache == null || !Arrays.equals(previousCache, inventoryContents);
 
             if (dirty) {
-                if (cachedContainer == null) {
-                    cache.put(storageKey, new CompressedStorage(inventoryContents));
+                // Only this container's record is written, the rest of the persistent values are untouched.
+                cache.put(storageKey, inventoryContents);
+                decodedPreviewCache.invalidate(storageKey);
+                if (previousCache == null) {
                     logger.info("Cached new container " + storageKey + ".");
                 } else {
-                    cachedContainer.setStorage(inventoryContents);
                     logger.info("Refreshed cache for container " + storageKey + ".");
                 }
-
-                SkyblockAddons.getInstance().getPersistentValuesManager().saveValues();
             }
 
             resetCurrentContainer();
@@ -585,7 +591,7 @@ public class ContainerPreviewManager {
 
     /**
      * Saves the currently opened menu inventory to the backpack cache.
-     * Triggers {@link PersistentValuesManager#saveValues()} if the inventory has changed from the cached version.
+     * Writes the container's record in the {@link StoragePreviewStore} if the inventory has changed from the cached version.
      *
      * @throws NullPointerException if {@link ContainerPreviewManager#containerInventory} or
      * {@link ContainerPreviewManager#storageKey} are {@code null}
@@ -0,0 +1,99 @@
+package codes.biscuit.skyblockaddons.features.backpacks;
+
+import codes.biscuit.skyblockaddons.utils.CacheStats;
+import lombok.Getter;
+import net.minecraft.item.ItemStack;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded least-recently-used cache of decompressed container previews. Entries are keyed by a storage key and keep
+ * the compressed byte array they were decoded from, so hovering the same container again is a map lookup and a
+ * reference check instead of a gzip inflate and NBT parse.
+ * <p>
+ * The bytes are only compared when a key gets a different array, like when the server sends a new copy of a backpack.
+ * If they're equal, the entry keeps the new array so the next lookups are reference checks again. The arrays are
+ * never changed once they're stored in a tag or the preview store, so they aren't copied.
+ * <p>
+ * This is only accessed from the client thread.
+ */
+public class DecodedPreviewCache {
+
+    private final Map<String, Entry> entries;
+
+    @Getter private final CacheStats stats = new CacheStats();
+
+    public DecodedPreviewCache(int maxSize) {
+        entries = new LinkedHashMap<String, Entry>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the decoded items for the given compressed bytes, decoding them and caching the result on a miss.
+     * Failed decodes return {@code null} and are not cached.
+     *
+     * @param key the storage key, or another key identifying where the bytes came from
+     * @param compressedBytes the compressed container contents
+     * @param decoder decodes the compressed bytes into a list of items
+     * @return the decoded items, or {@code null} if they couldn't be decoded
+     */
+    public List<ItemStack> get(String key, byte[] compressedBytes, Function<byte[], List<ItemStack>> decoder) {
+        Entry entry = entries.get(key);
+
+        if (entry != null) {
+            if (entry.compressedBytes == compressedBytes) {
+                stats.hit();
+                return entry.items;
+            } else if (Arrays.equals(entry.compressedBytes, compressedBytes)) {
+                entry.compressedBytes = compressedBytes;
+                stats.hit();
+                return entry.items;
+            }
+        }
+
+        stats.miss();
+        List<ItemStack> items = decoder.apply(compressedBytes);
+        if (items != null) {
+            entries.put(key, new Entry(compressedBytes, items));
+        }
+        return items;
+    }
+
+    /**
+     * @return the number of cached previews
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes the cached preview for the given key. Called when the key's contents are saved.
+     *
+     * @param key the storage key
+     */
+    public void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private static class Entry {
+        private byte[] compressedBytes;
+        private final List<ItemStack> items;
+
+        private Entry(byte[] compressedBytes, List<ItemStack> items) {
+            this.compressedBytes = compressedBytes;
+            this.items = items;
+        }
+    }
+}
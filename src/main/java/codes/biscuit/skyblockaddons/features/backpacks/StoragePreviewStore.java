@@ -0,0 +1,247 @@
+package codes.biscuit.skyblockaddons.features.backpacks;
+
+import codes.biscuit.skyblockaddons.SkyblockAddons;
+import codes.biscuit.skyblockaddons.config.CoalescingFileWriter;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A binary store for the cached contents of storage backpacks and ender chest pages. Each storage key is kept in its
+ * own record file, so saving one page only rewrites that page's record. On startup only the directory is listed; a
+ * record is read from disk the first time its key is requested.
+ * <p>
+ * Record format: the magic number, the format version, the storage key as modified UTF-8, and the length-prefixed
+ * gzip compressed NBT bytes of the container's contents.
+ */
+public class StoragePreviewStore {
+
+    private static final Logger logger = SkyblockAddons.getLogger();
+
+    private static final int MAGIC = 0x53424153; // "SBAS"
+    private static final byte FORMAT_VERSION = 1;
+    private static final String RECORD_EXTENSION = ".bin";
+    private static final long SAVE_INTERVAL_MILLIS = 1000;
+    /** Records larger than this are treated as corrupt, a full double chest compresses to far less */
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+
+    private final File directory;
+
+    /** Records that have been read from disk or put in this session */
+    private final Map<String, byte[]> records = new ConcurrentHashMap<>();
+    /** Keys that have a record on disk that hasn't been read yet */
+    private final Set<String> unloadedKeys = ConcurrentHashMap.newKeySet();
+    private final Map<String, CoalescingFileWriter> recordWriters = new ConcurrentHashMap<>();
+
+    public StoragePreviewStore(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Lists the records in the store's directory without reading them.
+     */
+    public void load() {
+        records.clear();
+        unloadedKeys.clear();
+
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(RECORD_EXTENSION));
+        if (files == null) {
+            return;
+        }
+
+        for (File file : files) {
+            String fileName = file.getName();
+            String key = decodeKey(fileName.substring(0, fileName.length() - RECORD_EXTENSION.length()));
+            if (key != null) {
+                unloadedKeys.add(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the compressed contents stored for the given key, reading its record from disk if this is the first
+     * time it is requested.
+     *
+     * @param storageKey the storage key
+     * @return the gzip compressed NBT bytes, or {@code null} if nothing is stored for this key
+     */
+    public byte[] get(String storageKey) {
+        byte[] storage = records.get(storageKey);
+
+        if (storage == null && unloadedKeys.remove(storageKey)) {
+            storage = readRecord(storageKey);
+            if (storage != null) {
+                records.putIfAbsent(storageKey, storage);
+            }
+        }
+
+        return storage;
+    }
+
+    /**
+     * @param storageKey the storage key
+     * @return {@code true} if there are contents stored for this key
+     */
+    public boolean contains(String storageKey) {
+        return records.containsKey(storageKey) || unloadedKeys.contains(storageKey);
+    }
+
+    /**
+     * Stores the compressed contents for the given key. Only this key's record is written to disk.
+     *
+     * @param storageKey the storage key
+     * @param storage the gzip compressed NBT bytes
+     */
+    public void put(String storageKey, byte[] storage) {
+        unloadedKeys.remove(storageKey);
+        records.put(storageKey, storage);
+        recordWriters.computeIfAbsent(storageKey, this::createRecordWriter).markDirty();
+    }
+
+    /**
+     * Moves storage previews saved in the old {@code storageCache} persistent value into this store. The legacy cache
+     * should only be cleared if this returns {@code true}, otherwise the previews that couldn't be written are migrated
+     * again on the next start.
+     *
+     * @param legacyCache the old storage cache
+     * @return {@code true} if the previews were migrated and written to disk
+     */
+    public boolean migrate(Map<String, CompressedStorage> legacyCache) {
+        if (legacyCache == null || legacyCache.isEmpty()) {
+            return false;
+        }
+
+        int migrated = 0;
+        for (Map.Entry<String, CompressedStorage> entry : legacyCache.entrySet()) {
+            if (entry.getValue() != null && entry.getValue().getStorage().length > 0 && !contains(entry.getKey())) {
+                put(entry.getKey(), entry.getValue().getStorage());
+                migrated++;
+            }
+        }
+        if (!flush()) {
+            logger.error("Could not write the migrated storage previews, they will be migrated again next time.");
+            return false;
+        }
+
+        logger.info("Migrated " + migrated + " storage previews to the storage preview store.");
+        return true;
+    }
+
+    /**
+     * Immediately writes any records that haven't been saved yet.
+     *
+     * @return {@code true} if every record was written
+     */
+    public boolean flush() {
+        boolean written = true;
+        for (CoalescingFileWriter writer : recordWriters.values()) {
+            written &= writer.flush();
+        }
+        return written;
+    }
+
+    private CoalescingFileWriter createRecordWriter(String storageKey) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            logger.error("Could not create the storage preview directory " + directory);
+        }
+
+        return new CoalescingFileWriter("storage preview " + storageKey, getRecordFile(storageKey),
+                outputStream -> writeRecord(storageKey, outputStream), SAVE_INTERVAL_MILLIS);
+    }
+
+    private void writeRecord(String storageKey, OutputStream outputStream) throws IOException {
+        byte[] storage = records.get(storageKey);
+        DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.writeInt(MAGIC);
+        dataOutputStream.writeByte(FORMAT_VERSION);
+        dataOutputStream.writeUTF(storageKey);
+        dataOutputStream.writeInt(storage.length);
+        dataOutputStream.write(storage);
+        dataOutputStream.flush();
+    }
+
+    private byte[] readRecord(String storageKey) {
+        File recordFile = getRecordFile(storageKey);
+
+        try (DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(recordFile)))) {
+            if (dataInputStream.readInt() != MAGIC) {
+                throw new IOException("Bad magic number");
+            }
+            byte formatVersion = dataInputStream.readByte();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported format version " + formatVersion);
+            }
+            String recordKey = dataInputStream.readUTF();
+            if (!storageKey.equals(recordKey)) {
+                throw new IOException("Record belongs to key " + recordKey);
+            }
+            int length = dataInputStream.readInt();
+            if (length < 0 || length > MAX_RECORD_SIZE) {
+                throw new IOException("Bad record length " + length);
+            }
+
+            byte[] storage = new byte[length];
+            dataInputStream.readFully(storage);
+            return storage;
+        } catch (IOException ex) {
+            logger.error("Error reading storage preview record " + recordFile.getName(), ex);
+            return null;
+        }
+    }
+
+    private File getRecordFile(String storageKey) {
+        return new File(directory, encodeKey(storageKey) + RECORD_EXTENSION);
+    }
+
+    /**
+     * Encodes a storage key into a file name that is valid on all platforms. Letters, digits, {@code _} and {@code -}
+     * are kept, every other byte of the key's UTF-8 form is written as {@code %XX}.
+     *
+     * @param storageKey the storage key
+     * @return the file name for the key's record, without the extension
+     */
+    static String encodeKey(String storageKey) {
+        StringBuilder builder = new StringBuilder();
+        for (byte b : storageKey.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '-') {
+                builder.append(c);
+            } else {
+                builder.append('%').append(Character.toUpperCase(Character.forDigit(c >> 4, 16)))
+                        .append(Character.toUpperCase(Character.forDigit(c & 0xF, 16)));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Reverses {@link #encodeKey(String)}.
+     *
+     * @param fileName the file name without the extension
+     * @return the storage key, or {@code null} if the file name isn't a valid encoded key
+     */
+    static String decodeKey(String fileName) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(fileName.length());
+        for (int i = 0; i < fileName.length(); i++) {
+            char c = fileName.charAt(i);
+            if (c == '%') {
+                if (i + 2 >= fileName.length()) {
+                    return null;
+                }
+                int high = Character.digit(fileName.charAt(i + 1), 16);
+                int low = Character.digit(fileName.charAt(i + 2), 16);
+                if (high == -1 || low == -1) {
+                    return null;
+                }
+                bytes.write(high << 4 | low);
+                i += 2;
+            } else {
+                bytes.write(c);
+            }
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -3,6 +3,7 @@ package codes.biscuit.skyblockaddons.features.discordrpc;
 import codes.biscuit.skyblockaddons.SkyblockAddons;
 import codes.biscuit.skyblockaddons.core.Location;
 import codes.biscuit.skyblockaddons.core.SkyblockDate;
+import codes.biscuit.skyblockaddons.misc.scheduler.ExecutorLane;
 import codes.biscuit.skyblockaddons.utils.EnumUtils;
 import com.google.gson.JsonObject;
 import com.jagrosh.discordipc.IPCClient;
@@ -34,7 +35,7 @@ public class DiscordRPCManager implements IPCListener {
     private boolean connected;
 
     public void start() {
-        SkyblockAddons.runAsync(() -> {
+        SkyblockAddons.runAsync(ExecutorLane.IO, () -> {
             try {
                 logger.info("Starting Discord RPC...");
                 if (isActive()) {
@@ -60,7 +61,7 @@ public class DiscordRPCManager implements IPCListener {
     }
 
     public void stop() {
-        SkyblockAddons.runAsync(() -> {
+        SkyblockAddons.runAsync(ExecutorLane.IO, () -> {
             if (isActive()) {
                 connected = false;
                 client.close();
@@ -21,7 +21,10 @@ public class EnchantedItemLists {
      * to place on their island.
      *  */
     List<String> whitelistedIDs;
-    /** This is the minimum rarity to block for enchanted items that aren't yet on one of the lists. */
+    /**
+     * This is the minimum rarity to block for enchanted items that aren't yet on one of the lists, or {@code null} to not
+     * block items by rarity.
+     */
     ItemRarity rarityLimit;
 
     /**
@@ -6,7 +6,6 @@ import codes.biscuit.skyblockaddons.core.Location;
 import codes.biscuit.skyblockaddons.utils.ItemUtils;
 import com.google.common.collect.Lists;
 import lombok.NonNull;
-import lombok.Setter;
 import net.minecraft.block.Block;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.player.EntityPlayer;
@@ -18,6 +17,7 @@ import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.fml.common.eventhandler.Event;
 
 import java.util.ArrayList;
+import java.util.function.Supplier;
 
 /**
  * This class is the main class of the "Avoid Placing Enchanted Items" feature. Whenever a player tries to place an item
@@ -36,7 +36,8 @@ public class EnchantedItemPlacementBlocker {
     private static final ArrayList<Class<?>> CLASSES_OF_ITEMS_THAT_CAN_BE_PLACED = Lists.newArrayList(ItemBucket.class, ItemRedstone.class,
             ItemReed.class, ItemSeedFood.class, ItemSeeds.class, ItemSkull.class);
 
-    @Setter private static EnchantedItemLists itemLists;
+    /** The item lists are only needed on the private island, so they aren't parsed until the first time they're used. */
+    private static Supplier<EnchantedItemLists> itemLists = () -> null;
     /*
      This is the item stack from the last PlayerInteractEvent with the RIGHT_CLICK_BLOCK action that was processed.
      This is used to check for and block the PlayerInteractEvent with the RIGHT_CLICK_AIR action that always follows
@@ -81,6 +82,7 @@ public class EnchantedItemPlacementBlocker {
                 }
             }
 
+            EnchantedItemLists itemLists = EnchantedItemPlacementBlocker.itemLists.get();
             if (itemLists.whitelistedIDs.contains(heldItemId)) {
                 return false;
             }
@@ -92,7 +94,7 @@ public class EnchantedItemPlacementBlocker {
             ItemRarity rarity = ItemUtils.getRarity(itemStack);
 
             // If this item isn't found in the blacklist, check if it's rarity is above the rarity limit.
-            if (rarity != null && itemLists.rarityLimit.compareTo(rarity) <= 0) {
+            if (rarity != null && itemLists.rarityLimit != null && itemLists.rarityLimit.compareTo(rarity) <= 0) {
                 return willBePlaced(event, itemStack);
             }
         }
@@ -100,6 +102,19 @@ public class EnchantedItemPlacementBlocker {
         return false;
     }
 
+    public static void setItemLists(EnchantedItemLists itemLists) {
+        EnchantedItemPlacementBlocker.itemLists = () -> itemLists;
+    }
+
+    /**
+     * Sets a supplier for the item lists that is only called once they are needed.
+     *
+     * @param itemListsSupplier the supplier of the item lists
+     */
+    public static void setItemListsSupplier(Supplier<EnchantedItemLists> itemListsSupplier) {
+        EnchantedItemPlacementBlocker.itemLists = itemListsSupplier;
+    }
+
     /*
     Checks if the given event is the corresponding PlayerInteractEvent with an Action of RIGHT_CLICK_AIR that comes after
     a PlayerInteractEvent with an Action of RIGHT_CLICK_BLOCK.
@@ -5,12 +5,14 @@ import codes.biscuit.skyblockaddons.config.ConfigValues;
 import codes.biscuit.skyblockaddons.core.Feature;
 import codes.biscuit.skyblockaddons.core.InventoryType;
 import codes.biscuit.skyblockaddons.core.Translations;
+import codes.biscuit.skyblockaddons.utils.CacheStats;
+import codes.biscuit.skyblockaddons.utils.CaseInsensitiveTrie;
 import codes.biscuit.skyblockaddons.utils.ColorCode;
 import codes.biscuit.skyblockaddons.utils.ItemUtils;
 import codes.biscuit.skyblockaddons.utils.RomanNumeralParser;
 import codes.biscuit.skyblockaddons.utils.TextUtils;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.Setter;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.FontRenderer;
 import net.minecraft.client.gui.ScaledResolution;
@@ -20,6 +22,8 @@ import net.minecraftforge.common.util.Constants;
 import org.lwjgl.input.Mouse;
 
 import java.util.*;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -31,31 +35,53 @@ public class EnchantManager {
     private static final Pattern ENCHANTMENT_PATTERN = Pattern.compile("(?<enchant>[A-Za-z][A-Za-z -]+) (?<levelNumeral>[IVXLCDM]+)(?=, |$| [\\d,]+$)");
     private static final Pattern GREY_ENCHANT_PATTERN = Pattern.compile("^(Respiration|Aqua Affinity|Depth Strider|Efficiency).*");
     private static final String COMMA = ", ";
-    @Setter
+    /** The number of tooltips whose reformatted lore is kept, enough for a full inventory of enchanted items */
+    public static final int LORE_CACHE_SIZE = 64;
     private static Enchants enchants = new Enchants();
 
-    private static final Cache loreCache = new Cache();
+    @Getter
+    private static final LoreCache loreCache = new LoreCache(LORE_CACHE_SIZE);
 
     public static class Enchants {
         HashMap<String, Enchant.Normal> NORMAL = new HashMap<>();
         HashMap<String, Enchant.Ultimate> ULTIMATE = new HashMap<>();
         HashMap<String, Enchant.Stacking> STACKING = new HashMap<>();
 
+        /** All of the enchants above by lore name, built the first time an enchant is looked up */
+        private transient CaseInsensitiveTrie<Enchant> dictionary;
+
         public Enchant getFromLore(String loreName) {
-            loreName = loreName.toLowerCase(Locale.US);
-            Enchant enchant = NORMAL.get(loreName);
-            if (enchant == null) {
-                enchant = ULTIMATE.get(loreName);
-            }
-            if (enchant == null) {
-                enchant = STACKING.get(loreName);
+            return getFromLore(loreName, 0, loreName.length());
+        }
+
+        /**
+         * Looks up the enchant whose lore name is between {@code start} (inclusive) and {@code end} (exclusive) of a
+         * line of lore, ignoring case. Normal enchants take precedence over ultimate enchants, and those over
+         * stacking enchants.
+         *
+         * @return the enchant, or a {@link Enchant.Dummy} if there's no enchant with that name
+         */
+        public Enchant getFromLore(CharSequence lore, int start, int end) {
+            if (dictionary == null) {
+                dictionary = buildDictionary();
             }
+            Enchant enchant = dictionary.get(lore, start, end);
             if (enchant == null) {
-                enchant = new Enchant.Dummy(loreName);
+                enchant = new Enchant.Dummy(lore.subSequence(start, end).toString().toLowerCase(Locale.US));
             }
             return enchant;
         }
 
+        private CaseInsensitiveTrie<Enchant> buildDictionary() {
+            CaseInsensitiveTrie<Enchant> dictionary = new CaseInsensitiveTrie<>();
+            for (Map<String, ? extends Enchant> enchantsOfType : Arrays.asList(NORMAL, ULTIMATE, STACKING)) {
+                for (Map.Entry<String, ? extends Enchant> enchant : enchantsOfType.entrySet()) {
+                    dictionary.putIfAbsent(enchant.getKey(), enchant.getValue());
+                }
+            }
+            return dictionary;
+        }
+
         public String toString() {
             return "NORMAL:\n" + NORMAL.toString() + "\nULTIMATE:\n" + ULTIMATE.toString() + "\nSTACKING:\n" + STACKING.toString();
         }
@@ -69,25 +95,45 @@ public class EnchantManager {
      * @param item
      */
     public static void parseEnchants(List<String> loreList, ItemStack item) {
-        NBTTagCompound extraAttributes = ItemUtils.getExtraAttributes(item);
-        NBTTagCompound enchantNBT = extraAttributes == null ? null : extraAttributes.getCompoundTag("enchantments");
+        NBTTagCompound enchantNBT = ItemUtils.getEnchantments(item);
         if (enchantNBT == null && SkyblockAddons.getInstance().getInventoryUtils().getInventoryType() != InventoryType.SUPERPAIRS) {
             return;
         }
         // Add caching tooltip so continuous hover isn't so much of a problem
-        if (loreCache.isCached(loreList)) {
+        List<String> cachedLore = loreCache.get(loreList);
+        if (cachedLore != null) {
             loreList.clear();
-            loreList.addAll(loreCache.getCachedAfter());
+            loreList.addAll(cachedLore);
             return;
         }
-        // Update the cache so we have something to which to compare later
-        loreCache.updateBefore(loreList);
-        ConfigValues config = SkyblockAddons.getInstance().getConfigValues();
+        // Keep the lore before it's changed to cache the result under it
+        List<String> loreBefore = new ArrayList<>(loreList);
 
         FontRenderer fontRenderer = Minecraft.getMinecraft().fontRendererObj;
-        int startEnchant = -1, endEnchant = -1, maxTooltipWidth = 0;
         int indexOfLastGreyEnchant = accountForAndRemoveGreyEnchants(loreList, item);
-        for (int i = indexOfLastGreyEnchant == -1 ? 0 : indexOfLastGreyEnchant + 1; i < loreList.size(); i++) {
+        formatEnchants(loreList, enchantNBT, indexOfLastGreyEnchant + 1,
+                FormatSettings.fromConfig(SkyblockAddons.getInstance().getConfigValues()), fontRenderer::getStringWidth,
+                EnchantManager::correctTooltipWidth);
+        // Cache the result so we can use it again
+        loreCache.put(loreBefore, loreList);
+    }
+
+    /**
+     * Finds the enchants in the lore and replaces them with the enchants ordered and formatted in the configured layout.
+     * Nothing here uses the game, so this can run on its own.
+     *
+     * @param loreList     the tooltip being built, changed in place
+     * @param enchantNBT   the enchantments tag of the item, or {@code null} to format every enchant that is found
+     * @param firstLine    the index of the first line that may contain enchants
+     * @param settings     how the enchants are formatted
+     * @param stringWidth  the width of a string as the font renderer would draw it
+     * @param tooltipWidth corrects the width of the tooltip if it's going to wrap on the screen
+     */
+    public static void formatEnchants(List<String> loreList, NBTTagCompound enchantNBT, int firstLine,
+                                      FormatSettings settings, ToIntFunction<String> stringWidth,
+                                      IntUnaryOperator tooltipWidth) {
+        int startEnchant = -1, endEnchant = -1, maxTooltipWidth = 0;
+        for (int i = firstLine; i < loreList.size(); i++) {
             String u = loreList.get(i);
             String s = TextUtils.stripColor(u);
             if (startEnchant == -1) {
@@ -101,95 +147,60 @@ public class EnchantManager {
             }
             // Get max tooltip size, disregarding the enchants section
             if (startEnchant == -1 || endEnchant != -1) {
-                maxTooltipWidth = Math.max(fontRenderer.getStringWidth(loreList.get(i)), maxTooltipWidth);
+                maxTooltipWidth = Math.max(stringWidth.applyAsInt(loreList.get(i)), maxTooltipWidth);
             }
         }
         if (enchantNBT == null && endEnchant == -1) {
             endEnchant = startEnchant;
         }
         if (endEnchant == -1) {
-            loreCache.updateAfter(loreList);
             return;
         }
         // Figure out whether the item tooltip is gonna wrap, and if so, try to make our enchantments wrap
-        maxTooltipWidth = correctTooltipWidth(maxTooltipWidth);
+        maxTooltipWidth = tooltipWidth.applyAsInt(maxTooltipWidth);
 
-        boolean hasLore = false;
-        TreeSet<FormattedEnchant> orderedEnchants = new TreeSet<>();
-        FormattedEnchant lastEnchant = null;
-        // Order all enchants
-        for (int i = startEnchant; i <= endEnchant; i++) {
-            String unformattedLine = TextUtils.stripColor(loreList.get(i));
-            Matcher m = ENCHANTMENT_PATTERN.matcher(unformattedLine);
-            boolean containsEnchant = false;
-            while (m.find()) {
-                // Pull out the enchantment and the enchantment level from lore
-                Enchant enchant = enchants.getFromLore(m.group("enchant"));
-                int level = RomanNumeralParser.parseNumeral(m.group("levelNumeral"));
-                if (enchant != null) {
-                    // Get the original (input) formatting code of the enchantment, which may have been affected by other mods
-                    String inputFormatEnchant = "null";
-                    if (config.isDisabled(Feature.ENCHANTMENTS_HIGHLIGHT)) {
-                        inputFormatEnchant = getInputEnchantFormat(loreList.get(i), m.group());
-                    }
-                    lastEnchant = new FormattedEnchant(enchant, level, inputFormatEnchant);
-                    // Try to add the enchant to the list, otherwise find the same enchant that was already present in the list
-                    if (!orderedEnchants.add(lastEnchant)) {
-                        for (FormattedEnchant e : orderedEnchants) {
-                            if (e.compareTo(lastEnchant) == 0) {
-                                lastEnchant = e;
-                                break;
-                            }
-                        }
-                    }
-                    containsEnchant = true;
-                }
-            }
-            // Add any enchantment lore that might follow an enchant to the lore description
-            if (!containsEnchant && lastEnchant != null) {
-                lastEnchant.addLore(loreList.get(i));
-                hasLore = true;
-            }
-        }
+        TreeSet<FormattedEnchant> orderedEnchants = orderEnchants(loreList, startEnchant, endEnchant, !settings.highlight);
         int numEnchants = orderedEnchants.size();
 
+        boolean hasLore = false;
         for (FormattedEnchant enchant : orderedEnchants) {
-
-            maxTooltipWidth = Math.max(enchant.getRenderLength(), maxTooltipWidth);
+            maxTooltipWidth = Math.max(enchant.getRenderLength(settings, stringWidth), maxTooltipWidth);
+            if (!enchant.getLore().isEmpty()) {
+                hasLore = true;
+            }
         }
 
 
         if (orderedEnchants.size() == 0) {
-            loreCache.updateAfter(loreList);
             return;
         }
         // Remove enchantment lines
         loreList.subList(startEnchant, endEnchant + 1).clear();
 
         List<String> insertEnchants;
-        EnchantListLayout layout = config.getEnchantLayout();
+        EnchantListLayout layout = settings.layout;
         // Pack as many enchantments as we can into one line (while not overstuffing it)
         if (layout == EnchantListLayout.COMPRESS && numEnchants != 1) {
             insertEnchants = new ArrayList<>();
 
             // Get format for comma
-            String comma = SkyblockAddons.getInstance().getConfigValues().getRestrictedColor(Feature.ENCHANTMENT_COMMA_COLOR) + COMMA;
-            int commaLength = fontRenderer.getStringWidth(comma);
+            String comma = settings.commaColor + COMMA;
+            int commaLength = stringWidth.applyAsInt(comma);
 
             // Process each line of enchants
             int sum = 0;
             StringBuilder builder = new StringBuilder(maxTooltipWidth);
             for (FormattedEnchant enchant : orderedEnchants) {
                 // Check if there will be overflow on this line. This will never happen for a single enchant on a line
-                if (sum + enchant.getRenderLength() > maxTooltipWidth) {
+                if (sum + enchant.getRenderLength(settings, stringWidth) > maxTooltipWidth) {
                     builder.delete(builder.length() - comma.length(), builder.length());
                     insertEnchants.add(builder.toString());
                     builder = new StringBuilder(maxTooltipWidth);
                     sum = 0;
                 }
                 // Add the enchant followed by a comma
-                builder.append(enchant.getFormattedString()).append(comma);
-                sum += enchant.getRenderLength() + commaLength;
+                builder.append(enchant.getFormattedString(settings)).append(comma);
+                sum += enchant.getRenderLength(settings, stringWidth) + commaLength;
             }
             // Flush any remaining enchants
             if (builder.length() >= comma.length()) {
@@ -200,68 +211,40 @@ public class EnchantManager {
         // Print 2 enchants per line, separated by a comma, with no enchant lore (typical hypixel behavior)
         else if (layout == EnchantListLayout.NORMAL && !hasLore) {
             insertEnchants = new ArrayList<>();
-            if (config.isEnabled(Feature.ENCHANTMENTS_HIGHLIGHT)) {
-                // Get format for comma
-                String comma = SkyblockAddons.getInstance().getConfigValues().getRestrictedColor(Feature.ENCHANTMENT_COMMA_COLOR) + COMMA;
-
-                // Process each line of enchants
-                int i = 0;
-                StringBuilder builder = new StringBuilder(maxTooltipWidth);
-                for (FormattedEnchant enchant : orderedEnchants) {
-                    // Add the enchant
-                    builder.append(enchant.getFormattedString());
-                    // Add a comma for the first on the row, followed by a comma
-                    if (i % 2 == 0) {
-                        builder.append(comma);
-                    }
-                    // Create a new line
-                    else {
-                        insertEnchants.add(builder.toString());
-                        builder = new StringBuilder(maxTooltipWidth);
-                    }
-                    i++;
-                }
-                // Flush any remaining enchants
-                if (builder.length() >= comma.length()) {
-                    builder.delete(builder.length() - comma.length(), builder.length());
-                    insertEnchants.add(builder.toString());
-                }
-            } else if (config.isDisabled(Feature.ENCHANTMENTS_HIGHLIGHT)) {
-                // Get format for comma
-                String comma = COMMA;
+            // Get format for comma
+            String comma = settings.highlight ? settings.commaColor + COMMA : COMMA;
 
-                // Process each line of enchants
-                int i = 0;
-                StringBuilder builder = new StringBuilder(maxTooltipWidth);
-                for (FormattedEnchant enchant : orderedEnchants) {
-                    // Add the enchant
-                    builder.append(enchant.getFormattedString());
-                    // Add a comma for the first on the row, followed by a comma
-                    if (i % 2 == 0) {
-                        builder.append(comma);
-                    }
-                    // Create a new line
-                    else {
-                        insertEnchants.add(builder.toString());
-                        builder = new StringBuilder(maxTooltipWidth);
-                    }
-                    i++;
+            // Process each line of enchants
+            int i = 0;
+            StringBuilder builder = new StringBuilder(maxTooltipWidth);
+            for (FormattedEnchant enchant : orderedEnchants) {
+                // Add the enchant
+                builder.append(enchant.getFormattedString(settings));
+                // Add a comma for the first on the row, followed by a comma
+                if (i % 2 == 0) {
+                    builder.append(comma);
                 }
-                // Flush any remaining enchants
-                if (builder.length() >= comma.length()) {
-                    builder.delete(builder.length() - comma.length(), builder.length());
+                // Create a new line
+                else {
                     insertEnchants.add(builder.toString());
+                    builder = new StringBuilder(maxTooltipWidth);
                 }
+                i++;
+            }
+            // Flush any remaining enchants
+            if (builder.length() >= comma.length()) {
+                builder.delete(builder.length() - comma.length(), builder.length());
+                insertEnchants.add(builder.toString());
             }
         }
         // Prints each enchantment out on a separate line. Also adds the lore if need be
         else {
             // Add each enchantment (one per line) + add enchant lore (if available)
-            if (config.isDisabled(Feature.HIDE_ENCHANT_DESCRIPTION)) {
+            if (!settings.hideDescription) {
                 insertEnchants = new ArrayList<>((hasLore ? 3 : 1) * numEnchants);
                 for (FormattedEnchant enchant : orderedEnchants) {
                     // Add the enchant
-                    insertEnchants.add(enchant.getFormattedString());
+                    insertEnchants.add(enchant.getFormattedString(settings));
                     // Add the enchant lore (if any)
                     insertEnchants.addAll(enchant.getLore());
                 }
@@ -270,15 +253,64 @@ public class EnchantManager {
                 insertEnchants = new ArrayList<>(numEnchants);
                 for (FormattedEnchant enchant : orderedEnchants) {
                     // Add the enchant
-                    insertEnchants.add(enchant.getFormattedString());
+                    insertEnchants.add(enchant.getFormattedString(settings));
                 }
             }
         }
 
         // Add all of the enchants to the lore
         loreList.addAll(startEnchant, insertEnchants);
-        // Cache the result so we can use it again
-        loreCache.updateAfter(loreList);
+    }
+
+    /**
+     * Finds the enchants on the lines of lore between {@code startEnchant} and {@code endEnchant} (both inclusive) and
+     * orders them, see {@link Enchant#compareTo(Enchant)}. Lines without enchants are added to the lore of the enchant
+     * before them. Nothing is measured with the font renderer here.
+     *
+     * @param loreList        the tooltip being built
+     * @param startEnchant    the index of the first line of enchants
+     * @param endEnchant      the index of the last line of enchants
+     * @param keepInputFormat whether to keep the formatting each enchant had in the lore, used when they aren't highlighted
+     * @return the enchants in the order they should be shown, with the same enchant only once
+     */
+    public static TreeSet<FormattedEnchant> orderEnchants(List<String> loreList, int startEnchant, int endEnchant,
+                                                          boolean keepInputFormat) {
+        TreeSet<FormattedEnchant> orderedEnchants = new TreeSet<>();
+        FormattedEnchant lastEnchant = null;
+        // Order all enchants
+        for (int i = startEnchant; i <= endEnchant; i++) {
+            String unformattedLine = TextUtils.stripColor(loreList.get(i));
+            Matcher m = ENCHANTMENT_PATTERN.matcher(unformattedLine);
+            boolean containsEnchant = false;
+            while (m.find()) {
+                // Pull out the enchantment and the enchantment level from lore
+                Enchant enchant = enchants.getFromLore(unformattedLine, m.start("enchant"), m.end("enchant"));
+                int level = RomanNumeralParser.parseNumeral(m.group("levelNumeral"));
+                if (enchant != null) {
+                    // Get the original (input) formatting code of the enchantment, which may have been affected by other mods
+                    String inputFormatEnchant = "null";
+                    if (keepInputFormat) {
+                        inputFormatEnchant = TextUtils.getFormattedString(loreList.get(i), m.group());
+                    }
+                    lastEnchant = new FormattedEnchant(enchant, level, inputFormatEnchant);
+                    // Try to add the enchant to the list, otherwise find the same enchant that was already present in the list
+                    if (!orderedEnchants.add(lastEnchant)) {
+                        for (FormattedEnchant e : orderedEnchants) {
+                            if (e.compareTo(lastEnchant) == 0) {
+                                lastEnchant = e;
+                                break;
+                            }
+                        }
+                    }
+                    containsEnchant = true;
+                }
+            }
+            // Add any enchantment lore that might follow an enchant to the lore description
+            if (!containsEnchant && lastEnchant != null) {
+                lastEnchant.addLore(loreList.get(i));
+            }
+        }
+        return orderedEnchants;
     }
 
     /**
@@ -326,7 +358,7 @@ public class EnchantManager {
     public static boolean containsEnchantment(NBTTagCompound enchantNBT, String s) {
         Matcher m = ENCHANTMENT_PATTERN.matcher(s);
         while (m.find()) {
-            Enchant enchant = enchants.getFromLore(m.group("enchant"));
+            Enchant enchant = enchants.getFromLore(s, m.start("enchant"), m.end("enchant"));
             if (enchantNBT == null || enchantNBT.hasKey(enchant.nbtName)) {
                 return true;
             }
@@ -334,122 +366,6 @@ public class EnchantManager {
         return false;
     }
 
-    /**
-     * Calculates and returns the format of the unformatted enchant in the formatted enchants line
-     * <p>
-     * Used for color/style compatibility mode.
-     *
-     * @param formattedEnchants  the colored/styled line of lore with enchants
-     * @param unformattedEnchant the uncolored/unstyled enchant name
-     * @return {@code null} if {@param unformattedEnchant} is not found in {@param formattedEnchants}, or the colored/styled enchant substring.
-     */
-    private static String getInputEnchantFormat(String formattedEnchants, String unformattedEnchant) {
-        if (unformattedEnchant.length() == 0) {
-            return "";
-        }
-        String styles = "kKlLmMnNoO";
-        StringBuilder preEnchantFormat = new StringBuilder();
-        StringBuilder formattedEnchant = new StringBuilder();
-
-        int i = -2;
-        int len = formattedEnchants.length();
-        int unformattedEnchantIdx = 0;
-        int k = 0;
-        while (true) {
-            i = formattedEnchants.indexOf('§', i + 2);
-            // No more formatting codes were found in the string
-            if (i == -1) {
-                // Test if there is an instance of the formatted enchant in the rest of the string
-                for (; k < len; k++) {
-                    // Enchant string matches at position k
-                    if (formattedEnchants.charAt(k) == unformattedEnchant.charAt(unformattedEnchantIdx)) {
-                        formattedEnchant.append(formattedEnchants.charAt(k));
-                        unformattedEnchantIdx++;
-                        // We have matched the entire enchant. Return the current format + the formatted enchant
-                        if (unformattedEnchantIdx == unformattedEnchant.length()) {
-                            return preEnchantFormat.append(formattedEnchant).toString();
-                        }
-                    }
-                    // Enchant string doesn't match at position k
-                    else {
-                        unformattedEnchantIdx = 0;
-                        // Transfer formats from formatted enchant to format
-                        preEnchantFormat = new StringBuilder(mergeFormats(preEnchantFormat.toString(), formattedEnchant.toString()));
-                        formattedEnchant = new StringBuilder();
-                    }
-                }
-                // No matching enchant found
-                return null;
-            } else {
-                for (; k < i; k++) {
-                    if (formattedEnchants.charAt(k) == unformattedEnchant.charAt(unformattedEnchantIdx)) {
-                        formattedEnchant.append(formattedEnchants.charAt(k));
-                        unformattedEnchantIdx++;
-                        // We have matched the entire enchant. Return the current format + the formatted enchant
-                        if (unformattedEnchantIdx == unformattedEnchant.length()) {
-                            return preEnchantFormat.append(formattedEnchant).toString();
-                        }
-                    } else {
-                        unformattedEnchantIdx = 0;
-                        // Transfer formats from formatted enchant to format
-                        preEnchantFormat = new StringBuilder(mergeFormats(preEnchantFormat.toString(), formattedEnchant.toString()));
-                        formattedEnchant = new StringBuilder();
-                    }
-                }
-                // Add the format code if present
-                if (i + 1 < len) {
-                    char formatChar = formattedEnchants.charAt(i + 1);
-                    // If not parsing an enchant, alter the pre enchant format
-                    if (unformattedEnchantIdx == 0) {
-                        // Restart format at a new color
-                        if (styles.indexOf(formatChar) == -1) {
-                            preEnchantFormat = new StringBuilder();
-                        }
-                        // Append the new format code to the formatter
-                        preEnchantFormat.append("§").append(formatChar);
-                    }
-                    // If parsing an enchant, alter the current enchant format and the formatted enchant
-                    else {
-                        // Restart format at a new color
-                        formattedEnchant.append("§").append(formatChar);
-                    }
-                    // Skip the formatting code "§[0-9a-zA-Z]" on the next round
-                    k = i + 2;
-                }
-            }
-        }
-    }
-
-    /**
-     * Calculate the color/style formatting after first and second format strings
-     * <p>
-     * Used for: Given the color/style formatting before an enchantment. as well as the enchantment itself,
-     * Calculate the color/style formatting after the enchantment
-     *
-     * @param firstFormat  the color/style formatting before the string
-     * @param secondFormat the string that may have formatting codes within it
-     * @return the relevant formatting codes in effect after {@param secondFormat}
-     */
-    private static String mergeFormats(String firstFormat, String secondFormat) {
-        if (secondFormat == null || secondFormat.length() == 0) {
-            return firstFormat;
-        }
-        String styles = "kKlLmMnNoO";
-        StringBuilder builder = new StringBuilder(firstFormat);
-        int i = -2;
-        while ((i = secondFormat.indexOf('§', i + 2)) != -1) {
-            if (i + 1 < secondFormat.length()) {
-                char c = secondFormat.charAt(i + 1);
-                // If it's not a style then it's a color code
-                if (styles.indexOf(c) == -1) {
-                    builder = new StringBuilder();
-                }
-                builder.append("§").append(c);
-            }
-        }
-        return builder.toString();
-    }
-
     /**
      * Counts (and optionally removes) vanilla grey enchants that are added on the first 1-2 lines of lore.
      * Removal of the grey enchants is specified by the {@link Feature#HIDE_GREY_ENCHANTS} feature.
@@ -524,26 +440,25 @@ public class EnchantManager {
             return this instanceof Stacking;
         }
 
-        public String getFormattedName(int level) {
-            return getFormat(level) + loreName;
+        public String getFormattedName(int level, FormatSettings settings) {
+            return getFormat(level, settings) + loreName;
         }
 
         public String getUnformattedName() {
             return loreName;
         }
 
-        public String getFormat(int level) {
-            ConfigValues config = SkyblockAddons.getInstance().getConfigValues();
+        public String getFormat(int level, FormatSettings settings) {
             if (level >= maxLevel) {
-                return config.getRestrictedColor(Feature.ENCHANTMENT_PERFECT_COLOR).toString();
+                return settings.perfectColor.toString();
             }
             if (level > goodLevel) {
-                return config.getRestrictedColor(Feature.ENCHANTMENT_GREAT_COLOR).toString();
+                return settings.greatColor.toString();
             }
             if (level == goodLevel) {
-                return config.getRestrictedColor(Feature.ENCHANTMENT_GOOD_COLOR).toString();
+                return settings.goodColor.toString();
             }
-            return config.getRestrictedColor(Feature.ENCHANTMENT_POOR_COLOR).toString();
+            return settings.poorColor.toString();
         }
 
         public String toString() {
@@ -574,7 +489,7 @@ public class EnchantManager {
 
         static class Ultimate extends Enchant {
             @Override
-            public String getFormat(int level) {
+            public String getFormat(int level, FormatSettings settings) {
                 return "§d§l";
             }
         }
@@ -597,51 +512,111 @@ public class EnchantManager {
             }
 
             @Override
-            public String getFormat(int level) {
+            public String getFormat(int level, FormatSettings settings) {
                 return ColorCode.DARK_RED.toString();
             }
         }
     }
 
 
+    public static void setEnchants(Enchants enchants) {
+        EnchantManager.enchants = enchants;
+        // Enchants that weren't known before are formatted differently now
+        loreCache.configChanged();
+    }
+
     public static void markCacheDirty() {
-        loreCache.configChanged = true;
+        loreCache.configChanged();
     }
 
-    static class Cache {
-        @Getter
-        List<String> cachedAfter = new ArrayList<>();
-        boolean configChanged;
-        @Getter
-        private List<String> cachedBefore = new ArrayList<>();
+    /**
+     * A bounded least-recently-used cache of reformatted lore, keyed by the lore before it was reformatted. Each entry
+     * remembers the config version it was made with, and entries made before the config last changed are misses.
+     * <p>
+     * The reformatted lore also depends on where the mouse is if it has to wrap, which isn't part of the key, the same
+     * as when only the last tooltip was cached.
+     */
+    public static class LoreCache {
+        private final Map<List<String>, Entry> entries;
+        private volatile int configVersion;
+
+        @Getter private final CacheStats stats = new CacheStats();
 
-        public Cache() {
+        public LoreCache(int maxSize) {
+            entries = new LinkedHashMap<List<String>, Entry>(16, 0.75F, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<String>, Entry> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
 
+        /**
+         * @param loreBefore the lore before it's reformatted
+         * @return the reformatted lore, or {@code null} if it isn't cached
+         */
+        public List<String> get(List<String> loreBefore) {
+            Entry entry = entries.get(loreBefore);
+            if (entry != null && entry.configVersion == configVersion) {
+                stats.hit();
+                return entry.loreAfter;
+            }
+            stats.miss();
+            return null;
         }
 
-        public void updateBefore(List<String> loreBeforeModifications) {
-            cachedBefore = new ArrayList<>(loreBeforeModifications);
+        public void put(List<String> loreBefore, List<String> loreAfter) {
+            entries.put(loreBefore, new Entry(configVersion, new ArrayList<>(loreAfter)));
         }
 
-        public void updateAfter(List<String> loreAfterModifications) {
-            cachedAfter = new ArrayList<>(loreAfterModifications);
-            configChanged = false;
+        /**
+         * Makes the entries that are already cached misses, since the config could change how enchants are formatted.
+         * This can be called from any thread.
+         */
+        public void configChanged() {
+            configVersion++;
         }
 
-        public boolean isCached(List<String> loreBeforeModifications) {
-            if (configChanged || loreBeforeModifications.size() != cachedBefore.size()) {
-                return false;
-            }
-            for (int i = 0; i < loreBeforeModifications.size(); i++) {
-                if (!loreBeforeModifications.get(i).equals(cachedBefore.get(i))) {
-                    return false;
-                }
+        private static class Entry {
+            private final int configVersion;
+            private final List<String> loreAfter;
+
+            private Entry(int configVersion, List<String> loreAfter) {
+                this.configVersion = configVersion;
+                this.loreAfter = loreAfter;
             }
-            return true;
         }
     }
 
-    static class FormattedEnchant implements Comparable<FormattedEnchant> {
+    /**
+     * The config values that change how enchants are formatted, read once per tooltip.
+     */
+    @AllArgsConstructor
+    public static class FormatSettings {
+        private final EnchantListLayout layout;
+        /** Whether enchants are recolored by level, instead of keeping the formatting they had in the lore */
+        private final boolean highlight;
+        private final boolean replaceRomanNumerals;
+        private final boolean hideDescription;
+        private final ColorCode commaColor;
+        private final ColorCode perfectColor;
+        private final ColorCode greatColor;
+        private final ColorCode goodColor;
+        private final ColorCode poorColor;
+
+        public static FormatSettings fromConfig(ConfigValues config) {
+            return new FormatSettings(config.getEnchantLayout(), config.isEnabled(Feature.ENCHANTMENTS_HIGHLIGHT),
+                    config.isEnabled(Feature.REPLACE_ROMAN_NUMERALS_WITH_NUMBERS),
+                    config.isEnabled(Feature.HIDE_ENCHANT_DESCRIPTION),
+                    config.getRestrictedColor(Feature.ENCHANTMENT_COMMA_COLOR),
+                    config.getRestrictedColor(Feature.ENCHANTMENT_PERFECT_COLOR),
+                    config.getRestrictedColor(Feature.ENCHANTMENT_GREAT_COLOR),
+                    config.getRestrictedColor(Feature.ENCHANTMENT_GOOD_COLOR),
+                    config.getRestrictedColor(Feature.ENCHANTMENT_POOR_COLOR));
+        }
+    }
+
+    public static class FormattedEnchant implements Comparable<FormattedEnchant> {
         Enchant enchant;
         int level;
         List<String> loreDescription;
@@ -663,26 +638,33 @@ public class EnchantManager {
             return loreDescription;
         }
 
+        public String getUnformattedName() {
+            return enchant.getUnformattedName();
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
         @Override
         public int compareTo(FormattedEnchant o) {
             return this.enchant.compareTo(o.enchant);
         }
 
 
-        public int getRenderLength() {
-            return Minecraft.getMinecraft().fontRendererObj.getStringWidth(getFormattedString());
+        public int getRenderLength(FormatSettings settings, ToIntFunction<String> stringWidth) {
+            return stringWidth.applyAsInt(getFormattedString(settings));
         }
 
-        public String getFormattedString() {
-            ConfigValues config = SkyblockAddons.getInstance().getConfigValues();
+        public String getFormattedString(FormatSettings settings) {
             StringBuilder b = new StringBuilder();
-            if (config.isEnabled(Feature.ENCHANTMENTS_HIGHLIGHT)) {
-                b.append(enchant.getFormattedName(level));
+            if (settings.highlight) {
+                b.append(enchant.getFormattedName(level, settings));
             } else {
                 return inputFormattedString;
             }
             b.append(" ");
-            if (config.isEnabled(Feature.REPLACE_ROMAN_NUMERALS_WITH_NUMBERS)) {
+            if (settings.replaceRomanNumerals) {
                 b.append(level);
             } else {
                 b.append(RomanNumeralParser.integerToRoman(level));
@@ -14,18 +14,6 @@ public class TabLine {
     }
 
     public int getWidth() {
-        Minecraft mc = Minecraft.getMinecraft();
-
-        int width = mc.fontRendererObj.getStringWidth(text);
-
-        if (type == TabStringType.PLAYER) {
-            width += 8 + 2; // Player head
-        }
-
-        if (type == TabStringType.TEXT) {
-            width += 4; // Space is 4
-        }
-
-        return width;
+        return TabListLayout.getLineWidth(this, Minecraft.getMinecraft().fontRendererObj::getStringWidth);
     }
 }
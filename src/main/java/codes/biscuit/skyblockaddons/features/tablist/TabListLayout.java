@@ -0,0 +1,224 @@
+package codes.biscuit.skyblockaddons.features.tablist;
+
+import codes.biscuit.skyblockaddons.utils.TextUtils;
+import lombok.Data;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Where everything in the compact tab list is drawn: the background rectangles, the player heads and every string with
+ * its position. A layout measures every string once when it's made, so {@link TabListRenderer} only has to make the
+ * draw calls while the tab key is held.
+ */
+@Getter
+public class TabListLayout {
+
+    private static final int LINE_HEIGHT = 8 + 1;
+    private static final int PADDING = 3;
+    private static final int COLUMN_SPACING = 6;
+    private static final int PLAYER_HEAD_WIDTH = 8 + 2;
+    private static final int TOP = 10;
+
+    private final Rectangle background;
+    private final List<Rectangle> columnBackgrounds = new ArrayList<>();
+    private final List<PlayerHead> playerHeads = new ArrayList<>();
+    private final List<Text> texts = new ArrayList<>();
+
+    /**
+     * Lays out the compact tab list.
+     *
+     * @param columns the columns from {@link TabListParser#getRenderColumns()}
+     * @param header the tab list's header or {@code null} if there isn't one
+     * @param footer the tab list's footer or {@code null} if there isn't one
+     * @param scaledWidth the width of the screen using the player's GUI scale
+     * @param stringWidth measures the width of a string with the font renderer
+     */
+    public TabListLayout(List<RenderColumn> columns, String header, String footer, int scaledWidth, ToIntFunction<String> stringWidth) {
+        // Measure every line once
+        int[][] lineWidths = new int[columns.size()][];
+        int[] columnWidths = new int[columns.size()];
+        int maxLines = 0;
+        int totalWidth = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            List<TabLine> lines = columns.get(i).getLines();
+            lineWidths[i] = new int[lines.size()];
+
+            int line = 0;
+            for (TabLine tabLine : lines) {
+                int width = getLineWidth(tabLine, stringWidth);
+                lineWidths[i][line++] = width;
+                columnWidths[i] = Math.max(columnWidths[i], width);
+            }
+            maxLines = Math.max(maxLines, lines.size());
+            totalWidth += columnWidths[i] + COLUMN_SPACING;
+        }
+        totalWidth -= COLUMN_SPACING;
+        int totalHeight = maxLines * LINE_HEIGHT;
+
+        // Filter header and footer to only show hypixel advertisements...
+        List<String> headerLines = filterAdvertisements(header);
+        if (headerLines != null) {
+            totalHeight += headerLines.size() * LINE_HEIGHT + PADDING;
+        }
+        List<String> footerLines = filterAdvertisements(footer);
+        if (footerLines != null) {
+            totalHeight += footerLines.size() * LINE_HEIGHT + PADDING;
+        }
+
+        // Starting x & y, using the player's GUI scale
+        int screenWidth = scaledWidth / 2;
+        int x = screenWidth - totalWidth / 2;
+        int y = TOP;
+
+        // Large background
+        background = new Rectangle(x - COLUMN_SPACING, y - PADDING, screenWidth + totalWidth / 2 + COLUMN_SPACING,
+                TOP + totalHeight + PADDING);
+
+        // Header
+        int headerY = y;
+        if (headerLines != null) {
+            for (String line : headerLines) {
+                texts.add(new Text(line, x + totalWidth / 2F - stringWidth.applyAsInt(line) / 2F, headerY));
+                headerY += LINE_HEIGHT;
+            }
+            headerY += PADDING;
+        }
+
+        // The middle lines
+        int middleX = x;
+        for (int i = 0; i < columns.size(); i++) {
+            List<TabLine> lines = columns.get(i).getLines();
+            int columnWidth = columnWidths[i];
+            int middleY = headerY;
+
+            columnBackgrounds.add(new Rectangle(middleX - PADDING + 1, middleY - PADDING + 1, middleX + columnWidth + PADDING - 2,
+                    middleY + lines.size() * LINE_HEIGHT + PADDING - 2));
+
+            int line = 0;
+            for (TabLine tabLine : lines) {
+                int lineX = middleX;
+
+                if (tabLine.getType() == TabStringType.PLAYER) {
+                    playerHeads.add(new PlayerHead(TextUtils.stripUsername(tabLine.getText()), lineX, middleY));
+                    lineX += PLAYER_HEAD_WIDTH;
+                }
+
+                if (tabLine.getType() == TabStringType.TITLE) {
+                    texts.add(new Text(tabLine.getText(), lineX + columnWidth / 2F - lineWidths[i][line] / 2F, middleY));
+                } else {
+                    texts.add(new Text(tabLine.getText(), lineX, middleY));
+                }
+                middleY += LINE_HEIGHT;
+                line++;
+            }
+
+            middleX += columnWidth + COLUMN_SPACING;
+        }
+
+        // Footer
+        if (footerLines != null) {
+            int footerY = y + totalHeight - footerLines.size() * LINE_HEIGHT;
+            for (String line : footerLines) {
+                texts.add(new Text(line, x + totalWidth / 2F - stringWidth.applyAsInt(line) / 2F, footerY));
+                footerY += LINE_HEIGHT;
+            }
+        }
+    }
+
+    /**
+     * @return the width of a line like {@link TabLine#getWidth()}, including the space for the player head or indent
+     */
+    static int getLineWidth(TabLine tabLine, ToIntFunction<String> stringWidth) {
+        int width = stringWidth.applyAsInt(tabLine.getText());
+
+        if (tabLine.getType() == TabStringType.PLAYER) {
+            width += PLAYER_HEAD_WIDTH;
+        }
+
+        if (tabLine.getType() == TabStringType.TEXT) {
+            width += 4; // Space is 4
+        }
+
+        return width;
+    }
+
+    private static List<String> filterAdvertisements(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            if (line.contains(TabListParser.HYPIXEL_ADVERTISEMENT_CONTAINS)) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Keeps the last layout and makes a new one only when the render columns, the header and footer or the screen
+     * width changed.
+     */
+    public static class Cache {
+
+        private TabListLayout layout;
+        private List<RenderColumn> columns;
+        private int headerFooterVersion;
+        private int scaledWidth;
+        private boolean unicodeFont;
+
+        /**
+         * Returns the cached layout if it was made from the same tab list at the same screen width, or makes a new one.
+         * The render columns are compared by identity because {@link TabListParser} makes new ones whenever the tab
+         * list changes.
+         *
+         * @param columns the columns from {@link TabListParser#getRenderColumns()}
+         * @param headerFooterVersion the {@link TabListModel#getHeaderFooterVersion()} of the header and footer
+         * @param header the tab list's header or {@code null} if there isn't one
+         * @param footer the tab list's footer or {@code null} if there isn't one
+         * @param scaledWidth the width of the screen using the player's GUI scale
+         * @param unicodeFont whether the font renderer uses the unicode font, which changes every string's width
+         * @param stringWidth measures the width of a string with the font renderer
+         * @return the layout
+         */
+        public TabListLayout get(List<RenderColumn> columns, int headerFooterVersion, String header, String footer,
+                                 int scaledWidth, boolean unicodeFont, ToIntFunction<String> stringWidth) {
+            if (layout == null || columns != this.columns || headerFooterVersion != this.headerFooterVersion ||
+                    scaledWidth != this.scaledWidth || unicodeFont != this.unicodeFont) {
+                layout = new TabListLayout(columns, header, footer, scaledWidth, stringWidth);
+                this.columns = columns;
+                this.headerFooterVersion = headerFooterVersion;
+                this.scaledWidth = scaledWidth;
+                this.unicodeFont = unicodeFont;
+            }
+            return layout;
+        }
+    }
+
+    @Data
+    public static class Rectangle {
+        private final int left;
+        private final int top;
+        private final int right;
+        private final int bottom;
+    }
+
+    @Data
+    public static class PlayerHead {
+        /** The player's name, used to find their skin when drawing */
+        private final String username;
+        private final int x;
+        private final int y;
+    }
+
+    @Data
+    public static class Text {
+        private final String text;
+        private final float x;
+        private final int y;
+    }
+}
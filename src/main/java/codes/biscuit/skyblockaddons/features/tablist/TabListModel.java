@@ -0,0 +1,335 @@
+package codes.biscuit.skyblockaddons.features.tablist;
+
+import codes.biscuit.skyblockaddons.utils.TextUtils;
+import lombok.Getter;
+import net.minecraft.network.play.server.S38PacketPlayerListItem;
+import net.minecraft.network.play.server.S3EPacketTeams;
+import net.minecraft.network.play.server.S47PacketPlayerListHeaderFooter;
+import net.minecraft.util.IChatComponent;
+import net.minecraft.world.WorldSettings;
+
+import java.util.*;
+
+/**
+ * A copy of the tab list that is kept up to date from the player list, team and header/footer packets instead of being
+ * sorted and formatted again every time it's read.
+ * <p>
+ * Entries are kept in the same order as the vanilla tab list: spectators last, then by the name of the player's team,
+ * then by the player's name. When a packet changes an entry, only that entry's text is formatted again and only that
+ * entry is moved to its new position. Latency updates, which Hypixel sends for every entry, don't change anything that
+ * is shown and are ignored.
+ * <p>
+ * The model must only be used from the client thread. {@link TabListPacketHandler} hands it the packets.
+ */
+public class TabListModel {
+
+    /** The main TabListModel instance. */
+    @Getter private static final TabListModel instance = new TabListModel();
+
+    private static final Comparator<Entry> TAB_LIST_ORDER = (first, second) -> {
+        if (first.spectator != second.spectator) {
+            return first.spectator ? 1 : -1;
+        }
+        int result = first.teamName.compareTo(second.teamName);
+        return result != 0 ? result : first.profileName.compareTo(second.profileName);
+    };
+
+    private final Map<UUID, Entry> entriesById = new HashMap<>();
+    private final Map<String, Entry> entriesByName = new HashMap<>();
+    /** The entries in tab list order */
+    private final List<Entry> sortedEntries = new ArrayList<>();
+    private final List<Entry> unmodifiableSortedEntries = Collections.unmodifiableList(sortedEntries);
+
+    private final Map<String, Team> teams = new HashMap<>();
+    private final Map<String, Team> teamsByPlayer = new HashMap<>();
+
+    /** Changed whenever an entry is added, removed, moved, or its text changes */
+    @Getter private int entryVersion;
+    /** Changed whenever the header or footer changes */
+    @Getter private int headerFooterVersion;
+
+    /** The header and footer with formatting codes, or {@code null} if there isn't one */
+    @Getter private String header;
+    @Getter private String footer;
+    /** The footer's text as sent by the server, which can still contain formatting codes */
+    @Getter private String unformattedFooter;
+    /** The footer without formatting codes */
+    @Getter private String strippedFooter;
+
+    /**
+     * @return the entries in tab list order, which can't be modified
+     */
+    public List<Entry> getEntries() {
+        return unmodifiableSortedEntries;
+    }
+
+    /**
+     * Applies a player list packet the same way {@code NetHandlerPlayClient} does.
+     *
+     * @param packet the packet
+     */
+    public void handlePlayerListItem(S38PacketPlayerListItem packet) {
+        S38PacketPlayerListItem.Action action = packet.getAction();
+
+        for (S38PacketPlayerListItem.AddPlayerData data : packet.getEntries()) {
+            UUID id = data.getProfile().getId();
+
+            switch (action) {
+                case ADD_PLAYER:
+                    removeEntry(entriesById.get(id));
+                    addEntry(new Entry(id, data.getProfile().getName(),
+                            data.getGameMode() == WorldSettings.GameType.SPECTATOR, data.getDisplayName()));
+                    break;
+                case UPDATE_GAME_MODE:
+                    Entry entry = entriesById.get(id);
+                    boolean spectator = data.getGameMode() == WorldSettings.GameType.SPECTATOR;
+                    if (entry != null && entry.spectator != spectator) {
+                        sortedEntries.remove(indexOf(entry));
+                        entry.spectator = spectator;
+                        insert(entry);
+                    }
+                    break;
+                case UPDATE_DISPLAY_NAME:
+                    entry = entriesById.get(id);
+                    if (entry != null) {
+                        entry.displayName = data.getDisplayName();
+                        updateText(entry);
+                    }
+                    break;
+                case REMOVE_PLAYER:
+                    removeEntry(entriesById.get(id));
+                    break;
+                default:
+                    // Latency isn't shown in the compact tab list.
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Applies a team packet the same way {@code NetHandlerPlayClient} does, and updates the entries of the players whose
+     * team or team prefix and suffix changed.
+     *
+     * @param packet the packet
+     */
+    public void handleTeams(S3EPacketTeams packet) {
+        int action = packet.getAction();
+        Team team = teams.get(packet.getName());
+
+        if (action == 0) {
+            // Creating a team that already exists replaces it, along with its players.
+            if (team != null) {
+                removeTeam(team);
+            }
+            team = new Team(packet.getName());
+            teams.put(team.name, team);
+        } else if (team == null) {
+            return;
+        }
+
+        if (action == 0 || action == 2) {
+            team.prefix = packet.getPrefix();
+            team.suffix = packet.getSuffix();
+            if (action == 2) {
+                for (String player : team.players) {
+                    Entry entry = entriesByName.get(player);
+                    if (entry != null) {
+                        updateText(entry);
+                    }
+                }
+            }
+        }
+
+        if (action == 0 || action == 3) {
+            for (String player : packet.getPlayers()) {
+                Team previousTeam = teamsByPlayer.put(player, team);
+                if (previousTeam != null && previousTeam != team) {
+                    previousTeam.players.remove(player);
+                }
+                team.players.add(player);
+                updateTeam(player);
+            }
+        } else if (action == 4) {
+            for (String player : packet.getPlayers()) {
+                if (teamsByPlayer.get(player) == team) {
+                    teamsByPlayer.remove(player);
+                    team.players.remove(player);
+                    updateTeam(player);
+                }
+            }
+        } else if (action == 1) {
+            removeTeam(team);
+        }
+    }
+
+    /**
+     * Removes every team, for when the player joins a game or respawns. The vanilla client gets a new scoreboard then,
+     * which can happen when Hypixel moves the player to another server without a new connection. The entries are kept
+     * and sorted again without their teams.
+     */
+    public void clearTeams() {
+        if (teams.isEmpty() && teamsByPlayer.isEmpty()) {
+            return;
+        }
+
+        teams.clear();
+        teamsByPlayer.clear();
+        for (Entry entry : sortedEntries) {
+            entry.teamName = "";
+            entry.text = formatText(entry, null);
+        }
+        sortedEntries.sort(TAB_LIST_ORDER);
+        entryVersion++;
+    }
+
+    /**
+     * Applies a header and footer packet. Empty headers and footers are removed, like in the vanilla tab list.
+     *
+     * @param packet the packet
+     */
+    public void handlePlayerListHeaderFooter(S47PacketPlayerListHeaderFooter packet) {
+        String newHeader = packet.getHeader().getFormattedText();
+        String newFooter = packet.getFooter().getFormattedText();
+        header = newHeader.isEmpty() ? null : newHeader;
+
+        if (newFooter.isEmpty()) {
+            footer = null;
+            unformattedFooter = null;
+            strippedFooter = null;
+        } else {
+            footer = newFooter;
+            unformattedFooter = packet.getFooter().getUnformattedText();
+            strippedFooter = TextUtils.stripColor(newFooter);
+        }
+        headerFooterVersion++;
+    }
+
+    /**
+     * Removes everything, for when the player connects to a new server.
+     */
+    public void clear() {
+        entriesById.clear();
+        entriesByName.clear();
+        sortedEntries.clear();
+        teams.clear();
+        teamsByPlayer.clear();
+        header = null;
+        footer = null;
+        unformattedFooter = null;
+        strippedFooter = null;
+        entryVersion++;
+        headerFooterVersion++;
+    }
+
+    private void removeTeam(Team team) {
+        teams.remove(team.name);
+        for (String player : team.players) {
+            teamsByPlayer.remove(player, team);
+            updateTeam(player);
+        }
+        team.players.clear();
+    }
+
+    private void addEntry(Entry entry) {
+        entriesById.put(entry.id, entry);
+        entriesByName.put(entry.profileName, entry);
+        Team team = teamsByPlayer.get(entry.profileName);
+        entry.teamName = team == null ? "" : team.name;
+        entry.text = formatText(entry, team);
+        insert(entry);
+    }
+
+    private void removeEntry(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+
+        entriesById.remove(entry.id);
+        entriesByName.remove(entry.profileName, entry);
+        sortedEntries.remove(indexOf(entry));
+        entryVersion++;
+    }
+
+    /**
+     * Moves a player's entry to its new position and formats its text again after their team changed.
+     */
+    private void updateTeam(String player) {
+        Entry entry = entriesByName.get(player);
+        if (entry == null) {
+            return;
+        }
+
+        Team team = teamsByPlayer.get(player);
+        String teamName = team == null ? "" : team.name;
+        if (!teamName.equals(entry.teamName)) {
+            sortedEntries.remove(indexOf(entry));
+            entry.teamName = teamName;
+            insert(entry);
+        }
+        updateText(entry);
+    }
+
+    private void updateText(Entry entry) {
+        String text = formatText(entry, teamsByPlayer.get(entry.profileName));
+        if (!text.equals(entry.text)) {
+            entry.text = text;
+            entryVersion++;
+        }
+    }
+
+    /**
+     * Formats an entry's text like {@code GuiPlayerTabOverlay#getPlayerName(NetworkPlayerInfo)}.
+     */
+    private static String formatText(Entry entry, Team team) {
+        if (entry.displayName != null) {
+            return entry.displayName.getFormattedText();
+        }
+        return team == null ? entry.profileName : team.prefix + entry.profileName + team.suffix;
+    }
+
+    private void insert(Entry entry) {
+        int index = Collections.binarySearch(sortedEntries, entry, TAB_LIST_ORDER);
+        sortedEntries.add(index < 0 ? -index - 1 : index, entry);
+        entryVersion++;
+    }
+
+    private int indexOf(Entry entry) {
+        int index = Collections.binarySearch(sortedEntries, entry, TAB_LIST_ORDER);
+        if (index >= 0 && sortedEntries.get(index) == entry) {
+            return index;
+        }
+        // Entries with the same team and name sort the same, so look for this one among them.
+        return sortedEntries.indexOf(entry);
+    }
+
+    /**
+     * An entry in the tab list
+     */
+    public static class Entry {
+        @Getter private final UUID id;
+        @Getter private final String profileName;
+        private boolean spectator;
+        private IChatComponent displayName;
+        private String teamName;
+        /** The entry's text as shown in the tab list, with formatting codes */
+        @Getter private String text;
+
+        private Entry(UUID id, String profileName, boolean spectator, IChatComponent displayName) {
+            this.id = id;
+            this.profileName = profileName;
+            this.spectator = spectator;
+            this.displayName = displayName;
+        }
+    }
+
+    private static class Team {
+        private final String name;
+        private String prefix = "";
+        private String suffix = "";
+        private final Set<String> players = new HashSet<>();
+
+        private Team(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package codes.biscuit.skyblockaddons.features.tablist;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.play.server.*;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Sits in the connection's pipeline in front of the vanilla packet handler and hands the tab list packets to the
+ * {@link TabListModel}. The packets are applied on the client thread through the same queue the vanilla handler uses,
+ * so the model sees them in the order they arrived. Every packet is passed on unchanged.
+ */
+public class TabListPacketHandler extends ChannelInboundHandlerAdapter {
+
+    /** The name of this handler in the pipeline */
+    public static final String NAME = "skyblockaddons_tab_list";
+    /** The name of the vanilla packet handler this handler is added in front of */
+    public static final String VANILLA_HANDLER_NAME = "packet_handler";
+
+    private final TabListModel model;
+    /** Runs the model updates on the client thread */
+    private final Executor clientThread;
+
+    public TabListPacketHandler(TabListModel model) {
+        this(model, task -> Minecraft.getMinecraft().addScheduledTask(task));
+    }
+
+    public TabListPacketHandler(TabListModel model, Executor clientThread) {
+        this.model = model;
+        this.clientThread = clientThread;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof S38PacketPlayerListItem) {
+            S38PacketPlayerListItem packet = (S38PacketPlayerListItem) msg;
+            clientThread.execute(() -> model.handlePlayerListItem(packet));
+        } else if (msg instanceof S3EPacketTeams) {
+            S3EPacketTeams packet = (S3EPacketTeams) msg;
+            clientThread.execute(() -> model.handleTeams(packet));
+        } else if (msg instanceof S47PacketPlayerListHeaderFooter) {
+            S47PacketPlayerListHeaderFooter packet = (S47PacketPlayerListHeaderFooter) msg;
+            clientThread.execute(() -> model.handlePlayerListHeaderFooter(packet));
+        } else if (msg instanceof S01PacketJoinGame || msg instanceof S07PacketRespawn) {
+            // The vanilla client starts over with a new scoreboard, so the teams sent before don't apply anymore.
+            clientThread.execute(model::clearTeams);
+        }
+
+        super.channelRead(ctx, msg);
+    }
+}
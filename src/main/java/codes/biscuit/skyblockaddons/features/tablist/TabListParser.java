@@ -9,9 +9,6 @@ import codes.biscuit.skyblockaddons.features.tabtimers.TabEffectManager;
 import codes.biscuit.skyblockaddons.utils.TextUtils;
 import lombok.Getter;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.gui.GuiPlayerTabOverlay;
-import net.minecraft.client.network.NetHandlerPlayClient;
-import net.minecraft.client.network.NetworkPlayerInfo;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -39,6 +36,11 @@ public class TabListParser {
     @Getter
     private static String parsedRainTime = null;
 
+    // The versions of the tab list the render columns were made from
+    private static int parsedEntryVersion;
+    private static int parsedHeaderFooterVersion;
+    private static int parsedEffectCount;
+
     public static void parse() {
         Minecraft mc = Minecraft.getMinecraft();
 
@@ -54,12 +56,22 @@ public class TabListParser {
             return;
         }
 
-        NetHandlerPlayClient netHandler = mc.thePlayer.sendQueue;
-        List<NetworkPlayerInfo> fullList = GuiPlayerTabOverlay.field_175252_a.sortedCopy(netHandler.getPlayerInfoMap());
+        TabListModel tabList = TabListModel.getInstance();
+        List<TabListModel.Entry> fullList = tabList.getEntries();
         if (fullList.size() < 80) {
             renderColumns = null;
             return;
         }
+
+        // Nothing has to be parsed again if the tab list and the effect count shown in the footer didn't change.
+        int effectCount = TabEffectManager.getInstance().getEffectCount();
+        if (renderColumns != null && tabList.getEntryVersion() == parsedEntryVersion &&
+                tabList.getHeaderFooterVersion() == parsedHeaderFooterVersion && effectCount == parsedEffectCount) {
+            return;
+        }
+        parsedEntryVersion = tabList.getEntryVersion();
+        parsedHeaderFooterVersion = tabList.getHeaderFooterVersion();
+        parsedEffectCount = effectCount;
         fullList = fullList.subList(0, 80);
 
 
@@ -91,12 +103,10 @@ public class TabListParser {
         return null;
     }
 
-    private static List<ParsedTabColumn> parseColumns(List<NetworkPlayerInfo> fullList) {
-        GuiPlayerTabOverlay tabList = Minecraft.getMinecraft().ingameGUI.getTabList();
-
+    private static List<ParsedTabColumn> parseColumns(List<TabListModel.Entry> fullList) {
         List<ParsedTabColumn> columns = new LinkedList<>();
         for (int entry = 0; entry < fullList.size(); entry += 20) {
-            String title = TextUtils.trimWhitespaceAndResets(tabList.getPlayerName(fullList.get(entry)));
+            String title = TextUtils.trimWhitespaceAndResets(fullList.get(entry).getText());
             ParsedTabColumn column = getColumnFromName(columns, title);
             if (column == null) {
                 column = new ParsedTabColumn(title);
@@ -104,7 +114,7 @@ public class TabListParser {
             }
 
             for (int columnEntry = entry + 1; columnEntry < fullList.size() && columnEntry < entry + 20; columnEntry++) {
-                column.addLine(tabList.getPlayerName(fullList.get(columnEntry)));
+                column.addLine(fullList.get(columnEntry).getText());
             }
         }
 
@@ -112,19 +122,19 @@ public class TabListParser {
     }
 
     public static ParsedTabColumn parseFooterAsColumn() {
-        GuiPlayerTabOverlay tabList = Minecraft.getMinecraft().ingameGUI.getTabList();
+        TabListModel tabList = TabListModel.getInstance();
 
-        if (tabList.footer == null) {
+        if (tabList.getFooter() == null) {
             return null;
         }
 
         ParsedTabColumn column = new ParsedTabColumn("§2§lOther");
 
-        String footer = tabList.footer.getFormattedText();
+        String footer = tabList.getFooter();
         //System.out.println(footer);
 
         // Make active effects/booster cookie status compact...
-        Matcher m = GOD_POTION_PATTERN.matcher(tabList.footer.getUnformattedText());
+        Matcher m = GOD_POTION_PATTERN.matcher(tabList.getUnformattedFooter());
         if (m.find()) {
             footer = ACTIVE_EFFECTS_PATTERN.matcher(footer).replaceAll("Active Effects: §r§e" + TabEffectManager.getInstance().getEffectCount() + "\n§cGod Potion§r: " + m.group("timer"));
         } else {
@@ -1,25 +1,21 @@
 package codes.biscuit.skyblockaddons.features.tablist;
 
-import codes.biscuit.skyblockaddons.utils.TextUtils;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.FontRenderer;
 import net.minecraft.client.gui.Gui;
-import net.minecraft.client.gui.GuiPlayerTabOverlay;
 import net.minecraft.client.gui.ScaledResolution;
 import net.minecraft.client.network.NetworkPlayerInfo;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EnumPlayerModelParts;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 public class TabListRenderer {
 
     public static final int MAX_LINES = 22;
-    private static final int LINE_HEIGHT = 8 + 1;
-    private static final int PADDING = 3;
-    private static final int COLUMN_SPACING = 6;
+
+    private static final TabListLayout.Cache layoutCache = new TabListLayout.Cache();
 
     public static void render() {
         Minecraft mc = Minecraft.getMinecraft();
@@ -29,100 +25,40 @@ public class TabListRenderer {
             return;
         }
 
-        // Calculate maximums...
-        int maxLines = 0;
-        for (RenderColumn column : columns) {
-            maxLines = Math.max(maxLines, column.getLines().size());
-        }
-        int totalWidth = 0;
-        for (RenderColumn renderColumn : columns) {
-            totalWidth += renderColumn.getMaxWidth() + COLUMN_SPACING;
-        }
-        totalWidth -= COLUMN_SPACING;
-        int totalHeight = maxLines * LINE_HEIGHT;
-
-        // Filter header and footer to only show hypixel advertisements...
-        GuiPlayerTabOverlay tabList = mc.ingameGUI.getTabList();
-        List<String> header = null;
-        if (tabList.header != null) {
-            header = new ArrayList<>(Arrays.asList(tabList.header.getFormattedText().split("\n")));
-            header.removeIf((line) -> !line.contains(TabListParser.HYPIXEL_ADVERTISEMENT_CONTAINS));
-
-            totalHeight += header.size() * LINE_HEIGHT + PADDING;
-        }
-        List<String> footer = null;
-        if (tabList.footer != null) {
-            footer = new ArrayList<>(Arrays.asList(tabList.footer.getFormattedText().split("\n")));
-            footer.removeIf((line) -> !line.contains(TabListParser.HYPIXEL_ADVERTISEMENT_CONTAINS));
-
-            totalHeight += footer.size() * LINE_HEIGHT + PADDING;
-        }
-
-        // Starting x & y, using the player's GUI scale
+        // The layout is only measured again when the tab list or the screen size changes
+        TabListModel tabList = TabListModel.getInstance();
+        FontRenderer fontRenderer = mc.fontRendererObj;
         ScaledResolution scaledResolution = new ScaledResolution(mc);
-        int screenWidth = scaledResolution.getScaledWidth() / 2;
-        int x = screenWidth - totalWidth/2;
-        int y = 10;
+        TabListLayout layout = layoutCache.get(columns, tabList.getHeaderFooterVersion(), tabList.getHeader(), tabList.getFooter(),
+                scaledResolution.getScaledWidth(), fontRenderer.getUnicodeFlag(), fontRenderer::getStringWidth);
 
         // Large background
-        Gui.drawRect(x - COLUMN_SPACING, y - PADDING, screenWidth + totalWidth/2 + COLUMN_SPACING, 10 + totalHeight + PADDING, 0x80000000);
+        TabListLayout.Rectangle background = layout.getBackground();
+        Gui.drawRect(background.getLeft(), background.getTop(), background.getRight(), background.getBottom(), 0x80000000);
 
-        // Draw header
-        int headerY = y;
-        if (header != null) {
-            for (String line : header) {
-                mc.fontRendererObj.drawStringWithShadow(line, x + totalWidth / 2F - mc.fontRendererObj.getStringWidth(line) / 2F, headerY, 0xFFFFFFFF);
-                headerY += 8 + 1;
-            }
-            headerY += PADDING;
+        // Column backgrounds
+        for (TabListLayout.Rectangle columnBackground : layout.getColumnBackgrounds()) {
+            Gui.drawRect(columnBackground.getLeft(), columnBackground.getTop(), columnBackground.getRight(), columnBackground.getBottom(), 0x20AAAAAA);
         }
 
-        // Draw the middle lines
-        int middleX = x;
-        for (RenderColumn renderColumn : columns) {
-            int middleY = headerY;
-
-            // Column background
-            Gui.drawRect(middleX - PADDING + 1, middleY - PADDING + 1, middleX + renderColumn.getMaxWidth() + PADDING - 2,
-                    middleY + renderColumn.getLines().size() * LINE_HEIGHT + PADDING - 2, 0x20AAAAAA);
-
-            for (TabLine tabLine : renderColumn.getLines()) {
-                int savedX = middleX;
-
-                if (tabLine.getType() == TabStringType.PLAYER) {
-                    NetworkPlayerInfo networkPlayerInfo = mc.getNetHandler().getPlayerInfo(TextUtils.stripUsername(tabLine.getText()));
-                    if (networkPlayerInfo != null) {
-                        EntityPlayer entityPlayer = mc.theWorld.getPlayerEntityByUUID(networkPlayerInfo.getGameProfile().getId());
-
-                        mc.getTextureManager().bindTexture(networkPlayerInfo.getLocationSkin());
-                        GlStateManager.color(1, 1, 1, 1);
-                        Gui.drawScaledCustomSizeModalRect(middleX, middleY, 8, 8, 8, 8, 8, 8, 64.0F, 64.0F);
-                        if (entityPlayer != null && entityPlayer.isWearing(EnumPlayerModelParts.HAT)) {
-                            Gui.drawScaledCustomSizeModalRect(middleX, middleY, 40.0F, 8, 8, 8, 8, 8, 64.0F, 64.0F);
-                        }
-                    }
-                    middleX += 8 + 2;
+        // Player heads, the skins can load while the tab list is open so they're looked up every frame
+        for (TabListLayout.PlayerHead playerHead : layout.getPlayerHeads()) {
+            NetworkPlayerInfo networkPlayerInfo = mc.getNetHandler().getPlayerInfo(playerHead.getUsername());
+            if (networkPlayerInfo != null) {
+                EntityPlayer entityPlayer = mc.theWorld.getPlayerEntityByUUID(networkPlayerInfo.getGameProfile().getId());
+
+                mc.getTextureManager().bindTexture(networkPlayerInfo.getLocationSkin());
+                GlStateManager.color(1, 1, 1, 1);
+                Gui.drawScaledCustomSizeModalRect(playerHead.getX(), playerHead.getY(), 8, 8, 8, 8, 8, 8, 64.0F, 64.0F);
+                if (entityPlayer != null && entityPlayer.isWearing(EnumPlayerModelParts.HAT)) {
+                    Gui.drawScaledCustomSizeModalRect(playerHead.getX(), playerHead.getY(), 40.0F, 8, 8, 8, 8, 8, 64.0F, 64.0F);
                 }
-
-                if (tabLine.getType() == TabStringType.TITLE) {
-                    mc.fontRendererObj.drawStringWithShadow(tabLine.getText(), (middleX + renderColumn.getMaxWidth() / 2F - tabLine.getWidth() / 2F), middleY, 0xFFFFFFFF);
-                } else {
-                    mc.fontRendererObj.drawStringWithShadow(tabLine.getText(), middleX, middleY, 0xFFFFFFFF);
-                }
-                middleY += LINE_HEIGHT;
-                middleX = savedX;
             }
-
-            middleX += renderColumn.getMaxWidth() + COLUMN_SPACING;
         }
 
-        // Draw the footer
-        if (footer != null) {
-            int footerY = y + totalHeight - footer.size() * LINE_HEIGHT;
-            for (String line : footer) {
-                mc.fontRendererObj.drawStringWithShadow(line, x + totalWidth / 2F - mc.fontRendererObj.getStringWidth(line) / 2F, footerY, 0xFFFFFFFF);
-                footerY += LINE_HEIGHT;
-            }
+        // Header, the middle lines and footer
+        for (TabListLayout.Text text : layout.getTexts()) {
+            fontRenderer.drawStringWithShadow(text.getText(), text.getX(), text.getY(), 0xFFFFFFFF);
         }
     }
 }
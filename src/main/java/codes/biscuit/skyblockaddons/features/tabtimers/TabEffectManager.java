@@ -2,10 +2,10 @@ package codes.biscuit.skyblockaddons.features.tabtimers;
 
 import codes.biscuit.skyblockaddons.SkyblockAddons;
 import codes.biscuit.skyblockaddons.core.Feature;
+import codes.biscuit.skyblockaddons.features.tablist.TabListModel;
 import codes.biscuit.skyblockaddons.gui.buttons.ButtonLocation;
 import codes.biscuit.skyblockaddons.utils.RomanNumeralParser;
 import lombok.Getter;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -42,6 +42,9 @@ public class TabEffectManager {
     @Getter
     private int effectCount;
 
+    /** The version of the tab list footer the timers were parsed from */
+    private int parsedFooterVersion = -1;
+
     /**
      * The following two fields are accessed by
      * {@link codes.biscuit.skyblockaddons.listeners.RenderListener#drawPotionEffectTimers(float, ButtonLocation)}
@@ -87,8 +90,25 @@ public class TabEffectManager {
     }
 
     /**
-     * Called by {@link codes.biscuit.skyblockaddons.listeners.PlayerListener#onTick(TickEvent.ClientTickEvent)} every second
-     * to update the list of current effect timers.
+     * Called by {@link codes.biscuit.skyblockaddons.listeners.PlayerListener#parseTabList()} every second to update the
+     * list of current effect timers. The footer is only parsed again when it changed.
+     *
+     * @param tabList the tab list to read the footer from
+     */
+    public void update(TabListModel tabList) {
+        if (tabList.getHeaderFooterVersion() == parsedFooterVersion) {
+            return;
+        }
+        parsedFooterVersion = tabList.getHeaderFooterVersion();
+
+        update(tabList.getFooter(), tabList.getStrippedFooter());
+    }
+
+    /**
+     * Updates the list of current effect timers from the tab list footer.
+     *
+     * @param tabFooterString the footer with formatting codes, or {@code null} if there isn't one
+     * @param strippedTabFooterString the footer without formatting codes
      */
     public void update(String tabFooterString, String strippedTabFooterString) {
         potionTimers.clear();
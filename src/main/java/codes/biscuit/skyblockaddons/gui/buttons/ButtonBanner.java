@@ -2,6 +2,7 @@ package codes.biscuit.skyblockaddons.gui.buttons;
 
 import codes.biscuit.skyblockaddons.SkyblockAddons;
 import codes.biscuit.skyblockaddons.core.Feature;
+import codes.biscuit.skyblockaddons.misc.scheduler.ExecutorLane;
 import codes.biscuit.skyblockaddons.utils.Utils;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiButton;
@@ -42,7 +43,7 @@ public class ButtonBanner extends GuiButton {
             bannerImage = null;
             banner = null;
 
-            SkyblockAddons.runAsync(() -> {
+            SkyblockAddons.runAsync(ExecutorLane.NETWORK, () -> {
                 try {
                     URL url = new URL(main.getOnlineData().getBannerImageURL());
                     HttpURLConnection connection = (HttpURLConnection)url.openConnection();
@@ -4,9 +4,13 @@ import codes.biscuit.skyblockaddons.SkyblockAddons;
 import codes.biscuit.skyblockaddons.core.Feature;
 import codes.biscuit.skyblockaddons.events.SkyblockJoinedEvent;
 import codes.biscuit.skyblockaddons.events.SkyblockLeftEvent;
+import codes.biscuit.skyblockaddons.features.tablist.TabListModel;
+import codes.biscuit.skyblockaddons.features.tablist.TabListPacketHandler;
 import codes.biscuit.skyblockaddons.misc.scheduler.ScheduledTask;
 import codes.biscuit.skyblockaddons.misc.scheduler.SkyblockRunnable;
 import codes.biscuit.skyblockaddons.utils.data.DataUtils;
+import io.netty.channel.ChannelPipeline;
+import net.minecraft.client.Minecraft;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.network.FMLNetworkEvent;
 import org.apache.logging.log4j.Logger;
@@ -24,6 +28,21 @@ public class NetworkListener {
         main = SkyblockAddons.getInstance();
     }
 
+    @SubscribeEvent
+    public void onConnect(FMLNetworkEvent.ClientConnectedToServerEvent event) {
+        if (event.isLocal) {
+            return;
+        }
+
+        // This is called on the network thread, so the model is cleared through the same queue its packets go through.
+        Minecraft.getMinecraft().addScheduledTask(() -> TabListModel.getInstance().clear());
+        ChannelPipeline pipeline = event.manager.channel().pipeline();
+        if (pipeline.get(TabListPacketHandler.NAME) == null) {
+            pipeline.addBefore(TabListPacketHandler.VANILLA_HANDLER_NAME, TabListPacketHandler.NAME,
+                    new TabListPacketHandler(TabListModel.getInstance()));
+        }
+    }
+
     @SubscribeEvent
     public void onDisconnect(FMLNetworkEvent.ClientDisconnectionFromServerEvent event) {
         // Leave Skyblock when the player disconnects
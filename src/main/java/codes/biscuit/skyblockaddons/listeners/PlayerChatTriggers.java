@@ -0,0 +1,106 @@
+package codes.biscuit.skyblockaddons.listeners;
+
+import codes.biscuit.skyblockaddons.core.seacreatures.SeaCreatureManager;
+import codes.biscuit.skyblockaddons.utils.chat.ChatDispatcher;
+import codes.biscuit.skyblockaddons.utils.chat.ChatTrigger;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * The triggers of the chat handlers of {@link PlayerListener}, and the chains they're in. What each handler does is
+ * registered by the listener and looked up by the handler's name, so the same triggers can be replayed in tests
+ * without a game.
+ */
+public class PlayerChatTriggers {
+
+    private static final String NO_ARROWS_LEFT_MESSAGE = "§cYou don't have any more Arrows left in your Quiver!§r";
+    private static final Pattern NO_ARROWS_LEFT_PATTERN = Pattern.compile("(?:§r)?" + Pattern.quote(NO_ARROWS_LEFT_MESSAGE));
+    private static final Pattern ONLY_HAVE_ARROWS_LEFT_PATTERN = Pattern.compile("(?:§r)?§cYou only have (?<arrows>[0-9]+) Arrows left in your Quiver!§r");
+    private static final Pattern OUTBID_PATTERN = Pattern.compile("§6\\[Auction] §..*§eoutbid you .*");
+    private static final Pattern ABILITY_CHAT_PATTERN = Pattern.compile("§r§aUsed §r§6[A-Za-z ]+§r§a! §r§b\\([0-9]+ Mana\\)§r");
+    private static final Pattern PROFILE_CHAT_PATTERN = Pattern.compile("You are playing on profile: ([A-Za-z]+).*");
+    private static final Pattern SWITCH_PROFILE_CHAT_PATTERN = Pattern.compile("Your profile was changed to: ([A-Za-z]+).*");
+    private static final Pattern DRAGON_KILLED_PATTERN = Pattern.compile(" *[A-Z]* DRAGON DOWN!");
+    private static final Pattern DRAGON_SPAWNED_PATTERN = Pattern.compile("☬ The (?<dragonType>[A-Za-z ]+) Dragon has spawned!");
+    private static final Pattern SLAYER_COMPLETED_PATTERN = Pattern.compile(" {3}» Talk to Maddox to claim your (?<slayerType>[A-Za-z]+) Slayer XP!");
+    private static final Pattern SLAYER_COMPLETED_PATTERN_AUTO1 = Pattern.compile(" *(?<slayerType>[A-Za-z]+) Slayer LVL \\d+ - Next LVL in [\\d,]+ XP!");
+    private static final Pattern SLAYER_COMPLETED_PATTERN_AUTO2 = Pattern.compile(" *SLAYER QUEST STARTED!");
+    private static final Pattern DEATH_MESSAGE_PATTERN = Pattern.compile(" ☠ (?<username>\\w+) (?<causeOfDeath>.+)\\.");
+    private static final Pattern REVIVE_MESSAGE_PATTERN = Pattern.compile(" ❣ (?<revivedPlayer>\\w+) was revived(?: by (?<reviver>\\w+))*!");
+
+    private static final Set<String> SOUP_RANDOM_MESSAGES = new HashSet<>(Arrays.asList("I feel like I can fly!", "What was in that soup?",
+            "Hmm… tasty!", "Hmm... tasty!", "You can now fly for 2 minutes.", "Your flight has been extended for 2 extra minutes.",
+            "You can now fly for 200 minutes.", "Your flight has been extended for 200 extra minutes."));
+
+    /**
+     * Registers the triggers of the chat handlers on a dispatcher. Each chain works like an else-if chain, so the order
+     * of the handlers in a chain matters, and the chains run in the order the else-if chains they replaced did.
+     *
+     * @param dispatcher the dispatcher to register the triggers on
+     * @param onSkyblock whether the player is on Skyblock
+     * @param inDungeon whether the player is in a dungeon
+     * @param handlers the handler of each trigger, by the name of the trigger
+     */
+    public static <T> void register(ChatDispatcher<T> dispatcher, BooleanSupplier onSkyblock, BooleanSupplier inDungeon,
+                                    Function<String, ChatDispatcher.Handler<T>> handlers) {
+        Function<String, ChatDispatcher.Handler<T>> handler = name -> Objects.requireNonNull(handlers.apply(name),
+                "No chat handler named " + name);
+
+        dispatcher.chain("Auction")
+                .on("Outbid Alert", ChatTrigger.matchesStartingWith(ChatTrigger.Source.FORMATTED, "§6[Auction] §", OUTBID_PATTERN), handler.apply("Outbid Alert"));
+
+        dispatcher.chain("Skyblock", onSkyblock)
+                .on("Mana Used", ChatTrigger.startsWith(ChatTrigger.Source.UNFORMATTED, "Used "), handler.apply("Mana Used"))
+                .on("Death", ChatTrigger.matchesStartingWith(ChatTrigger.Source.UNFORMATTED, " ☠ ", DEATH_MESSAGE_PATTERN), handler.apply("Death"))
+                .on("Summoning Eye Drop", ChatTrigger.exactly(ChatTrigger.Source.FORMATTED, "§r§6§lRARE DROP! §r§5Summoning Eye§r"), handler.apply("Summoning Eye Drop"))
+                .on("Special Zealot", ChatTrigger.exactly(ChatTrigger.Source.FORMATTED, "§r§aA special §r§5Zealot §r§ahas spawned nearby!§r"), handler.apply("Special Zealot"))
+                .on("Sea Creature", ChatTrigger.test(ChatTrigger.Source.UNFORMATTED,
+                        text -> SeaCreatureManager.getInstance().getAllSeaCreatureSpawnMessages().contains(text)), handler.apply("Sea Creature"))
+                .on("Magical Soup", ChatTrigger.exactly(ChatTrigger.Source.UNFORMATTED, SOUP_RANDOM_MESSAGES.toArray(new String[0])), handler.apply("Magical Soup"))
+                .on("Teleport Pad", ChatTrigger.startsWith(ChatTrigger.Source.FORMATTED, "§r§aWarped from ")
+                                .or(ChatTrigger.exactly(ChatTrigger.Source.FORMATTED, "§r§cThis Teleport Pad does not have a destination set!§r")), handler.apply("Teleport Pad"))
+                .on("Mort", ChatTrigger.startsWith(ChatTrigger.Source.STRIPPED, "[NPC] Mort:"), handler.apply("Mort"))
+                .on("Boss", ChatTrigger.startsWith(ChatTrigger.Source.STRIPPED, "[BOSS] "), handler.apply("Boss"))
+                .on("Spirit Sceptre", ChatTrigger.startsWith(ChatTrigger.Source.STRIPPED, "Your Implosion hit", "Your Spirit Sceptre hit"), handler.apply("Spirit Sceptre"))
+                // §r   §r§5§l» §r§7Talk to Maddox to claim your Wolf Slayer XP!§r
+                .on("Slayer Completed", ChatTrigger.matchesStartingWith(ChatTrigger.Source.STRIPPED, "   » Talk to Maddox to claim your ", SLAYER_COMPLETED_PATTERN), handler.apply("Slayer Completed"))
+                // Spider Slayer LVL 7 - Next LVL in 181,000 XP!
+                .on("Slayer Level", ChatTrigger.matchesContaining(ChatTrigger.Source.STRIPPED, " Slayer LVL ", SLAYER_COMPLETED_PATTERN_AUTO1), handler.apply("Slayer Level"))
+                .on("Slayer Quest Started", ChatTrigger.matchesContaining(ChatTrigger.Source.STRIPPED, "SLAYER QUEST STARTED!", SLAYER_COMPLETED_PATTERN_AUTO2), handler.apply("Slayer Quest Started"))
+                // §r§5☬ §r§dYou placed a Summoning Eye! §r§7(§r§e5§r§7/§r§a8§r§7)§r
+                .on("Summoning Eye Placed", ChatTrigger.startsWith(ChatTrigger.Source.STRIPPED, "☬ You placed a Summoning Eye!"), handler.apply("Summoning Eye Placed"))
+                .on("Summoning Eye Recovered", ChatTrigger.exactly(ChatTrigger.Source.STRIPPED, "You recovered a Summoning Eye!"), handler.apply("Summoning Eye Recovered"))
+                .on("Dragon Spawned", ChatTrigger.matchesStartingWith(ChatTrigger.Source.STRIPPED, "☬ The ", DRAGON_SPAWNED_PATTERN), handler.apply("Dragon Spawned"))
+                .on("Dragon Killed", ChatTrigger.matchesContaining(ChatTrigger.Source.STRIPPED, "DRAGON DOWN!", DRAGON_KILLED_PATTERN), handler.apply("Dragon Killed"))
+                .on("Egg Laid", ChatTrigger.exactly(ChatTrigger.Source.UNFORMATTED, "You laid an egg!"), handler.apply("Egg Laid"))
+                .on("Rainmaker", ChatTrigger.startsWith(ChatTrigger.Source.FORMATTED, "§r§eYou added a minute of rain!"), handler.apply("Rainmaker"))
+                .on("Fetchur", ChatTrigger.startsWith(ChatTrigger.Source.FORMATTED, "§e[NPC] Fetchur§f:"), handler.apply("Fetchur"))
+                .on("Player Symbols", ChatTrigger.contains(ChatTrigger.Source.UNFORMATTED, ":"), handler.apply("Player Symbols"));
+
+        dispatcher.chain("Arrows", onSkyblock)
+                .on("No Arrows Left", ChatTrigger.matchesContaining(ChatTrigger.Source.FORMATTED, NO_ARROWS_LEFT_MESSAGE, NO_ARROWS_LEFT_PATTERN), handler.apply("No Arrows Left"))
+                .on("Only Have Arrows Left", ChatTrigger.matchesContaining(ChatTrigger.Source.FORMATTED, "§cYou only have ", ONLY_HAVE_ARROWS_LEFT_PATTERN), handler.apply("Only Have Arrows Left"));
+
+        // These look at every message, and the dungeon ones run whether or not a revive was handled.
+        BooleanSupplier inSkyblockDungeon = () -> onSkyblock.getAsBoolean() && inDungeon.getAsBoolean();
+        dispatcher.chain("Salvaging", onSkyblock)
+                .on("Salvaged Essences", ChatTrigger.any(), handler.apply("Salvaged Essences"));
+        dispatcher.chain("Dungeon Revive", inSkyblockDungeon)
+                .on("Revive", ChatTrigger.matchesStartingWith(ChatTrigger.Source.UNFORMATTED, " ❣ ", REVIVE_MESSAGE_PATTERN), handler.apply("Revive"));
+        dispatcher.chain("Dungeon Milestone", inSkyblockDungeon)
+                .on("Dungeon Milestone", ChatTrigger.any(), handler.apply("Dungeon Milestone"));
+        dispatcher.chain("Bonus Essence", inSkyblockDungeon)
+                .on("Bonus Essence", ChatTrigger.any(), handler.apply("Bonus Essence"));
+
+        dispatcher.chain("Profile", onSkyblock)
+                .on("Ability Used", ChatTrigger.matchesStartingWith(ChatTrigger.Source.FORMATTED, "§r§aUsed §r§6", ABILITY_CHAT_PATTERN), handler.apply("Ability Used"))
+                .on("Profile", ChatTrigger.matchesStartingWith(ChatTrigger.Source.STRIPPED, "You are playing on profile: ", PROFILE_CHAT_PATTERN), handler.apply("Profile"))
+                .on("Profile Switched", ChatTrigger.matchesStartingWith(ChatTrigger.Source.STRIPPED, "Your profile was changed to: ", SWITCH_PROFILE_CHAT_PATTERN), handler.apply("Profile Switched"));
+    }
+}
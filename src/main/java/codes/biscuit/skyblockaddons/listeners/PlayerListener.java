@@ -23,12 +23,17 @@ import codes.biscuit.skyblockaddons.features.enchants.EnchantManager;
 import codes.biscuit.skyblockaddons.features.fishParticles.FishParticleManager;
 import codes.biscuit.skyblockaddons.features.powerorbs.PowerOrbManager;
 import codes.biscuit.skyblockaddons.features.slayertracker.SlayerTracker;
+import codes.biscuit.skyblockaddons.features.tablist.TabListModel;
 import codes.biscuit.skyblockaddons.features.tablist.TabListParser;
 import codes.biscuit.skyblockaddons.features.tabtimers.TabEffectManager;
 import codes.biscuit.skyblockaddons.gui.IslandWarpGui;
 import codes.biscuit.skyblockaddons.misc.scheduler.Scheduler;
 import codes.biscuit.skyblockaddons.misc.scheduler.SkyblockRunnable;
+import codes.biscuit.skyblockaddons.misc.scheduler.TickTask;
+import codes.biscuit.skyblockaddons.misc.scheduler.TickTaskRegistry;
 import codes.biscuit.skyblockaddons.utils.*;
+import codes.biscuit.skyblockaddons.utils.chat.ChatDispatcher;
+import codes.biscuit.skyblockaddons.utils.chat.ChatMessage;
 import com.google.common.collect.Sets;
 import com.google.common.math.DoubleMath;
 import lombok.Getter;
@@ -81,6 +86,7 @@ import org.lwjgl.input.Keyboard;
 
 import java.math.RoundingMode;
 import java.util.*;
+import java.util.function.BooleanSupplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -89,30 +95,14 @@ public class PlayerListener {
 
     private static final Logger logger = SkyblockAddons.getLogger();
 
-    private static final Pattern NO_ARROWS_LEFT_PATTERN = Pattern.compile("(?:§r)?§cYou don't have any more Arrows left in your Quiver!§r");
-    private static final Pattern ONLY_HAVE_ARROWS_LEFT_PATTERN = Pattern.compile("(?:§r)?§cYou only have (?<arrows>[0-9]+) Arrows left in your Quiver!§r");
     private static final String ENCHANT_LINE_STARTS_WITH = "§5§o§9";
-    private static final Pattern ABILITY_CHAT_PATTERN = Pattern.compile("§r§aUsed §r§6[A-Za-z ]+§r§a! §r§b\\([0-9]+ Mana\\)§r");
-    private static final Pattern PROFILE_CHAT_PATTERN = Pattern.compile("You are playing on profile: ([A-Za-z]+).*");
-    private static final Pattern SWITCH_PROFILE_CHAT_PATTERN = Pattern.compile("Your profile was changed to: ([A-Za-z]+).*");
     private static final Pattern MINION_CANT_REACH_PATTERN = Pattern.compile("§cI can't reach any (?<mobName>[A-Za-z]*)s");
-    private static final Pattern DRAGON_KILLED_PATTERN = Pattern.compile(" *[A-Z]* DRAGON DOWN!");
-    private static final Pattern DRAGON_SPAWNED_PATTERN = Pattern.compile("☬ The (?<dragonType>[A-Za-z ]+) Dragon has spawned!");
-    private static final Pattern SLAYER_COMPLETED_PATTERN = Pattern.compile(" {3}» Talk to Maddox to claim your (?<slayerType>[A-Za-z]+) Slayer XP!");
-    private static final Pattern SLAYER_COMPLETED_PATTERN_AUTO1 = Pattern.compile(" *(?<slayerType>[A-Za-z]+) Slayer LVL \\d+ - Next LVL in [\\d,]+ XP!");
-    private static final Pattern SLAYER_COMPLETED_PATTERN_AUTO2 = Pattern.compile(" *SLAYER QUEST STARTED!");
-    private static final Pattern DEATH_MESSAGE_PATTERN = Pattern.compile(" ☠ (?<username>\\w+) (?<causeOfDeath>.+)\\.");
-    private static final Pattern REVIVE_MESSAGE_PATTERN = Pattern.compile(" ❣ (?<revivedPlayer>\\w+) was revived(?: by (?<reviver>\\w+))*!");
     private static final Pattern NEXT_TIER_PET_PROGRESS = Pattern.compile("Next tier: (?<total>[0-9,]+)/.*");
     private static final Pattern MAXED_TIER_PET_PROGRESS = Pattern.compile(".*: (?<total>[0-9,]+)");
     private static final Pattern SPIRIT_SCEPTRE_MESSAGE_PATTERN = Pattern.compile("Your (?:Implosion|Spirit Sceptre) hit (?<hitEnemies>[0-9]+) enem(?:y|ies) for (?<dealtDamage>[0-9]{1,3}(?:,[0-9]{3})*(?:\\.[0-9]+)*) damage\\.");
     private static final Pattern PROFILE_TYPE_SYMBOL = Pattern.compile("(?i)§[0-9A-FK-ORZ][♲Ⓑ]");
     private static final Pattern NETHER_FACTION_SYMBOL = Pattern.compile("(?i)§[0-9A-FK-ORZ][⚒ቾ]");
 
-    private static final Set<String> SOUP_RANDOM_MESSAGES = new HashSet<>(Arrays.asList("I feel like I can fly!", "What was in that soup?",
-            "Hmm… tasty!", "Hmm... tasty!", "You can now fly for 2 minutes.", "Your flight has been extended for 2 extra minutes.",
-            "You can now fly for 200 minutes.", "Your flight has been extended for 200 extra minutes."));
-
     private static final Set<String> BONZO_STAFF_SOUNDS = new HashSet<>(Arrays.asList("fireworks.blast", "fireworks.blast_far",
             "fireworks.twinkle", "fireworks.twinkle_far", "mob.ghast.moan"));
 
@@ -137,7 +127,6 @@ public class PlayerListener {
     private long lastBal = -1;
     private long lastBroodmother = -1;
     private int balTick = -1;
-    private int timerTick = 1;
     private long lastMinionSound = -1;
     private long lastFishingAlert = 0;
     private long lastBobberEnteredWater = Long.MAX_VALUE;
@@ -166,6 +155,12 @@ public class PlayerListener {
 
     private final SkyblockAddons main = SkyblockAddons.getInstance();
     private final ActionBarParser actionBarParser = new ActionBarParser();
+    /** The periodic jobs run on the client tick, exposed for their timings */
+    @Getter
+    private final TickTaskRegistry tickTasks = new TickTaskRegistry(2000);
+    /** The handlers of chat messages, exposed for their counters */
+    @Getter
+    private final ChatDispatcher<ClientChatReceivedEvent> chatDispatcher = new ChatDispatcher<>();
 
     // For caching for the PROFILE_TYPE_IN_CHAT feature, saves the last MAX_SIZE names.
     private final LinkedHashMap<String, String> namesWithSymbols = new LinkedHashMap<String, String>(){
@@ -177,6 +172,11 @@ public class PlayerListener {
         }
     };
 
+    public PlayerListener() {
+        registerTickTasks();
+        registerChatHandlers();
+    }
+
     /**
      * Reset all the timers and stuff when joining a new world.
      */
@@ -187,7 +187,6 @@ public class PlayerListener {
         if (entity == Minecraft.getMinecraft().thePlayer) {
             lastWorldJoin = Minecraft.getSystemTime();
             lastBoss = -1;
-            timerTick = 1;
             main.getInventoryUtils().resetPreviousInventory();
             countedEndermen.clear();
             EndstoneProtectorManager.reset();
@@ -224,14 +223,9 @@ public class PlayerListener {
             return;
         }
 
-        if (main.getConfigValues().isEnabled(Feature.OUTBID_ALERT_SOUND) && formattedText.matches("§6\\[Auction] §..*§eoutbid you .*")
-                && (main.getConfigValues().isEnabled(Feature.OUTBID_ALERT_SOUND_IN_OTHER_GAMES) || main.getUtils().isOnSkyblock())) {
-            main.getUtils().playLoudSound("random.orb", 0.5);
-        }
-
-        if (main.getUtils().isOnSkyblock()) {
+        if (e.type == 2) {
             // Type 2 means it's an action bar message.
-            if (e.type == 2) {
+            if (main.getUtils().isOnSkyblock()) {
                 // Log the message to the game log if action bar message logging is enabled.
                 if (main.getConfigValues().isEnabled(Feature.DEVELOPER_MODE) && DevUtils.isLoggingActionBarMessages()) {
                     logger.info("[ACTION BAR] " + unformattedText);
@@ -254,215 +248,308 @@ public class PlayerListener {
                     }
                 }
                 // Mark the message for change
-            } else {
-                Matcher matcher;
-
-                if (main.getRenderListener().isPredictMana() && unformattedText.startsWith("Used ") && unformattedText.endsWith("Mana)")) {
-                    int manaLost = Integer.parseInt(unformattedText.split(Pattern.quote("! ("))[1].split(Pattern.quote(" Mana)"))[0]);
-                    changeMana(-manaLost);
-                } else if ((matcher = DEATH_MESSAGE_PATTERN.matcher(unformattedText)).matches()) {
-                    // Hypixel's dungeon reconnect messages look exactly like death messages.
-                    String causeOfDeath = matcher.group("causeOfDeath");
-                    if (!causeOfDeath.equals("reconnected")) {
-                        String username = matcher.group("username");
-
-                        EntityPlayer deadPlayer;
-                        if (username.equals("You")) {
-                            deadPlayer = Minecraft.getMinecraft().thePlayer;
-                        } else {
-                            deadPlayer = Minecraft.getMinecraft().theWorld.getPlayerEntityByName(username);
-                        }
-
-                        MinecraftForge.EVENT_BUS.post(new SkyblockPlayerDeathEvent(deadPlayer, username, causeOfDeath));
-                    }
-
-                } else if (main.getConfigValues().isEnabled(Feature.SUMMONING_EYE_ALERT) && formattedText.equals("§r§6§lRARE DROP! §r§5Summoning Eye§r")) {
-                    main.getUtils().playLoudSound("random.orb", 0.5); // credits to tomotomo, thanks lol
-                    main.getRenderListener().setTitleFeature(Feature.SUMMONING_EYE_ALERT);
-                    main.getScheduler().schedule(Scheduler.CommandType.RESET_TITLE_FEATURE, main.getConfigValues().getWarningSeconds());
-
-                } else if (formattedText.equals("§r§aA special §r§5Zealot §r§ahas spawned nearby!§r")) {
-                    if (main.getConfigValues().isEnabled(Feature.SPECIAL_ZEALOT_ALERT)) {
-                        main.getUtils().playLoudSound("random.orb", 0.5);
-                        main.getRenderListener().setTitleFeature(Feature.SUMMONING_EYE_ALERT);
-                        main.getRenderListener().setTitleFeature(Feature.SPECIAL_ZEALOT_ALERT);
-                        main.getScheduler().schedule(Scheduler.CommandType.RESET_TITLE_FEATURE, main.getConfigValues().getWarningSeconds());
-                    }
-                    if (main.getConfigValues().isEnabled(Feature.ZEALOT_COUNTER)) {
-                        // Edit the message to include counter.
-                        e.message = new ChatComponentText(formattedText + ColorCode.GRAY + " (" + main.getPersistentValuesManager().getPersistentValues().getKills() + ")");
-                    }
-                    main.getPersistentValuesManager().addEyeResetKills();
-                    // TODO: Seems like leg warning and num sc killed should be separate features
-                } else if (main.getConfigValues().isEnabled(Feature.LEGENDARY_SEA_CREATURE_WARNING) && SeaCreatureManager.getInstance().getAllSeaCreatureSpawnMessages().contains(unformattedText)) {
-                    main.getPersistentValuesManager().getPersistentValues().setSeaCreaturesKilled(main.getPersistentValuesManager().getPersistentValues().getSeaCreaturesKilled() + 1);
-                    if (SeaCreatureManager.getInstance().getLegendarySeaCreatureSpawnMessages().contains(unformattedText)) {
-                        main.getUtils().playLoudSound("random.orb", 0.5);
-                        main.getRenderListener().setTitleFeature(Feature.LEGENDARY_SEA_CREATURE_WARNING);
-                        main.getScheduler().schedule(Scheduler.CommandType.RESET_TITLE_FEATURE, main.getConfigValues().getWarningSeconds());
-                    }
+            }
+            return;
+        }
 
-                } else if (main.getConfigValues().isEnabled(Feature.DISABLE_MAGICAL_SOUP_MESSAGES) && SOUP_RANDOM_MESSAGES.contains(unformattedText)) {
-                    e.setCanceled(true);
+        chatDispatcher.dispatch(e, new ChatMessage(formattedText, unformattedText, strippedText));
+    }
 
-                } else if (main.getConfigValues().isEnabled(Feature.DISABLE_TELEPORT_PAD_MESSAGES) && (formattedText.startsWith("§r§aWarped from ") || formattedText.equals("§r§cThis Teleport Pad does not have a destination set!§r"))) {
-                    e.setCanceled(true);
+    /**
+     * Registers what each chat handler does. When each one runs is decided by {@link PlayerChatTriggers}.
+     */
+    private void registerChatHandlers() {
+        Map<String, ChatDispatcher.Handler<ClientChatReceivedEvent>> handlers = new HashMap<>();
+        handlers.put("Outbid Alert", (e, message) -> {
+            if (main.getConfigValues().isEnabled(Feature.OUTBID_ALERT_SOUND) &&
+                    (main.getConfigValues().isEnabled(Feature.OUTBID_ALERT_SOUND_IN_OTHER_GAMES) || main.getUtils().isOnSkyblock())) {
+                main.getUtils().playLoudSound("random.orb", 0.5);
+            }
+            return true;
+        });
+        handlers.put("Mana Used", (e, message) -> {
+            String unformattedText = message.getUnformattedText();
+            if (!main.getRenderListener().isPredictMana() || !unformattedText.endsWith("Mana)")) {
+                return false;
+            }
+            int manaLost = Integer.parseInt(unformattedText.split(Pattern.quote("! ("))[1].split(Pattern.quote(" Mana)"))[0]);
+            changeMana(-manaLost);
+            return true;
+        });
+        handlers.put("Death", (e, message) -> {
+            Matcher matcher = message.getMatcher();
+            // Hypixel's dungeon reconnect messages look exactly like death messages.
+            String causeOfDeath = matcher.group("causeOfDeath");
+            if (!causeOfDeath.equals("reconnected")) {
+                String username = matcher.group("username");
+
+                EntityPlayer deadPlayer;
+                if (username.equals("You")) {
+                    deadPlayer = Minecraft.getMinecraft().thePlayer;
+                } else {
+                    deadPlayer = Minecraft.getMinecraft().theWorld.getPlayerEntityByName(username);
+                }
 
-                } else if (main.getConfigValues().isEnabled(Feature.DISABLE_MORT_MESSAGES) && strippedText.startsWith("[NPC] Mort:")) {
-                    e.setCanceled(true);
+                MinecraftForge.EVENT_BUS.post(new SkyblockPlayerDeathEvent(deadPlayer, username, causeOfDeath));
+            }
+            return true;
+        });
+        handlers.put("Summoning Eye Drop", (e, message) -> {
+            if (!main.getConfigValues().isEnabled(Feature.SUMMONING_EYE_ALERT)) {
+                return false;
+            }
+            main.getUtils().playLoudSound("random.orb", 0.5); // credits to tomotomo, thanks lol
+            main.getRenderListener().setTitleFeature(Feature.SUMMONING_EYE_ALERT);
+            main.getScheduler().schedule(Scheduler.CommandType.RESET_TITLE_FEATURE, main.getConfigValues().getWarningSeconds());
+            return true;
+        });
+        handlers.put("Special Zealot", (e, message) -> {
+            if (main.getConfigValues().isEnabled(Feature.SPECIAL_ZEALOT_ALERT)) {
+                main.getUtils().playLoudSound("random.orb", 0.5);
+                main.getRenderListener().setTitleFeature(Feature.SUMMONING_EYE_ALERT);
+                main.getRenderListener().setTitleFeature(Feature.SPECIAL_ZEALOT_ALERT);
+                main.getScheduler().schedule(Scheduler.CommandType.RESET_TITLE_FEATURE, main.getConfigValues().getWarningSeconds());
+            }
+            if (main.getConfigValues().isEnabled(Feature.ZEALOT_COUNTER)) {
+                // Edit the message to include counter.
+                e.message = new ChatComponentText(message.getFormattedText() + ColorCode.GRAY + " (" + main.getPersistentValuesManager().getPersistentValues().getKills() + ")");
+            }
+            main.getPersistentValuesManager().addEyeResetKills();
+            return true;
+        });
+        // TODO: Seems like leg warning and num sc killed should be separate features
+        handlers.put("Sea Creature", (e, message) -> {
+            if (!main.getConfigValues().isEnabled(Feature.LEGENDARY_SEA_CREATURE_WARNING)) {
+                return false;
+            }
+            main.getPersistentValuesManager().getPersistentValues().setSeaCreaturesKilled(main.getPersistentValuesManager().getPersistentValues().getSeaCreaturesKilled() + 1);
+            if (SeaCreatureManager.getInstance().getLegendarySeaCreatureSpawnMessages().contains(message.getUnformattedText())) {
+                main.getUtils().playLoudSound("random.orb", 0.5);
+                main.getRenderListener().setTitleFeature(Feature.LEGENDARY_SEA_CREATURE_WARNING);
+                main.getScheduler().schedule(Scheduler.CommandType.RESET_TITLE_FEATURE, main.getConfigValues().getWarningSeconds());
+            }
+            return true;
+        });
+        handlers.put("Magical Soup", (e, message) -> cancelIfEnabled(e, Feature.DISABLE_MAGICAL_SOUP_MESSAGES));
+        handlers.put("Teleport Pad", (e, message) -> cancelIfEnabled(e, Feature.DISABLE_TELEPORT_PAD_MESSAGES));
+        handlers.put("Mort", (e, message) -> cancelIfEnabled(e, Feature.DISABLE_MORT_MESSAGES));
+        handlers.put("Boss", (e, message) -> cancelIfEnabled(e, Feature.DISABLE_BOSS_MESSAGES));
+        handlers.put("Spirit Sceptre", (e, message) -> {
+            // Spirit Sceptre hits are read even if the display is disabled
+            if (!main.getConfigValues().isEnabled(Feature.SPIRIT_SCEPTRE_DISPLAY) && !message.getStrippedText().startsWith("Your Spirit Sceptre hit")) {
+                return false;
+            }
+            Matcher matcher = SPIRIT_SCEPTRE_MESSAGE_PATTERN.matcher(message.getUnformattedText());
+            // Ensure matcher.group gets what it wants, we don't need the whole result
+            if (matcher.find()) {
+                this.spiritSceptreHitEnemies = Integer.parseInt(matcher.group("hitEnemies"));
+                this.spiritSceptreDealtDamage = Float.parseFloat(matcher.group("dealtDamage").replace(",", ""));
 
-                } else if (main.getConfigValues().isEnabled(Feature.DISABLE_BOSS_MESSAGES) && strippedText.startsWith("[BOSS] ")) {
+                if (main.getConfigValues().isEnabled(Feature.DISABLE_SPIRIT_SCEPTRE_MESSAGES)) {
                     e.setCanceled(true);
-
-                } else if (main.getConfigValues().isEnabled(Feature.SPIRIT_SCEPTRE_DISPLAY) && strippedText.startsWith("Your Implosion hit") || strippedText.startsWith("Your Spirit Sceptre hit")) {
-                    matcher = SPIRIT_SCEPTRE_MESSAGE_PATTERN.matcher(unformattedText);
-                    // Ensure matcher.group gets what it wants, we don't need the whole result
-                    if (matcher.find()) {
-                        this.spiritSceptreHitEnemies = Integer.parseInt(matcher.group("hitEnemies"));
-                        this.spiritSceptreDealtDamage = Float.parseFloat(matcher.group("dealtDamage").replace(",", ""));
-
-                        if (main.getConfigValues().isEnabled(Feature.DISABLE_SPIRIT_SCEPTRE_MESSAGES)) {
-                            e.setCanceled(true);
-                        }
-                    }
-                } else if (SlayerTracker.getInstance().isTrackerEnabled() &&
-                        (matcher = SLAYER_COMPLETED_PATTERN.matcher(strippedText)).matches()) { // §r   §r§5§l» §r§7Talk to Maddox to claim your Wolf Slayer XP!§r
-                    SlayerTracker.getInstance().completedSlayer(matcher.group("slayerType"));
-
-                } else if (SlayerTracker.getInstance().isTrackerEnabled() &&
-                        (matcher = SLAYER_COMPLETED_PATTERN_AUTO1.matcher(strippedText)).matches()) { // Spider Slayer LVL 7 - Next LVL in 181,000 XP!
-                    lastMaddoxLevelTime = System.currentTimeMillis();
-                    lastMaddoxSlayerType = matcher.group("slayerType");
-                } else if (SLAYER_COMPLETED_PATTERN_AUTO2.matcher(strippedText).matches() && System.currentTimeMillis() - lastMaddoxLevelTime < 100) {
-                    SlayerTracker.getInstance().completedSlayer(lastMaddoxSlayerType);
-
-                } else if (main.getConfigValues().isEnabled(Feature.DRAGON_STATS_TRACKER) &&
-                        strippedText.startsWith("☬ You placed a Summoning Eye!")) { // §r§5☬ §r§dYou placed a Summoning Eye! §r§7(§r§e5§r§7/§r§a8§r§7)§r
-                    DragonTracker.getInstance().addEye();
-
-                } else if (main.getConfigValues().isEnabled(Feature.DRAGON_STATS_TRACKER) &&
-                        strippedText.equals("You recovered a Summoning Eye!")) {
-                    DragonTracker.getInstance().removeEye();
-
-                } else if (main.getConfigValues().isEnabled(Feature.DRAGON_STATS_TRACKER) &&
-                        (matcher = DRAGON_SPAWNED_PATTERN.matcher(strippedText)).matches()) {
-                    DragonTracker.getInstance().dragonSpawned(matcher.group("dragonType"));
-
-                } else if (main.getConfigValues().isEnabled(Feature.DRAGON_STATS_TRACKER) &&
-                        DRAGON_KILLED_PATTERN.matcher(strippedText).matches()) {
-                    DragonTracker.getInstance().dragonKilled();
-
-                } else if (main.getConfigValues().isEnabled(Feature.SHOW_ITEM_COOLDOWNS) &&
-                        unformattedText.equals("You laid an egg!")) { // Put the Chicken Head on cooldown for 20 seconds when the player lays an egg.
-                    CooldownManager.put(InventoryUtils.CHICKEN_HEAD_ID);
-
-                } else if (main.getConfigValues().isEnabled(Feature.BIRCH_PARK_RAINMAKER_TIMER) &&
-                        formattedText.startsWith("§r§eYou added a minute of rain!")) {
-                    if (this.rainmakerTimeEnd == -1 || this.rainmakerTimeEnd < System.currentTimeMillis()) {
-                        this.rainmakerTimeEnd = System.currentTimeMillis() + (1000 * 60); // Set the timer to a minute from now.
-                    } else {
-                        this.rainmakerTimeEnd += (1000 * 60); // Extend the timer one minute.
-                    }
-                } else if (main.getConfigValues().isEnabled(Feature.FETCHUR_TODAY) &&
-                        formattedText.startsWith("§e[NPC] Fetchur§f:")) {
-                    FetchurManager fetchur = FetchurManager.getInstance();
-                    // Triggered if player has just given the correct item to Fetchur, or if sba isn't in sync (already handed in quest)
-                    if (unformattedText.contains(fetchur.getFetchurTaskCompletedPhrase()) ||
-                            !fetchur.hasFetchedToday() && unformattedText.contains(fetchur.getFetchurAlreadyDidTaskPhrase())) {
-                        FetchurManager.getInstance().saveLastTimeFetched();
-                    }
-                    // Tries to check if a message is from a player to add the player profile icon
-                } else if (main.getConfigValues().isEnabled(Feature.PLAYER_SYMBOLS_IN_CHAT) &&
-                        unformattedText.contains(":")) {
-                    playerSymbolsDisplay(e, unformattedText);
                 }
-
-                if (main.getConfigValues().isEnabled(Feature.NO_ARROWS_LEFT_ALERT)) {
-                    if (NO_ARROWS_LEFT_PATTERN.matcher(formattedText).matches()) {
-                        main.getUtils().playLoudSound("random.orb", 0.5);
-                        main.getRenderListener().setSubtitleFeature(Feature.NO_ARROWS_LEFT_ALERT);
-                        main.getRenderListener().setArrowsLeft(-1);
-                        main.getScheduler().schedule(Scheduler.CommandType.RESET_SUBTITLE_FEATURE, main.getConfigValues().getWarningSeconds());
-
-                    } else if ((matcher = ONLY_HAVE_ARROWS_LEFT_PATTERN.matcher(formattedText)).matches()) {
-                        int arrowsLeft = Integer.parseInt(matcher.group("arrows"));
-                        main.getUtils().playLoudSound("random.orb", 0.5);
-                        main.getRenderListener().setSubtitleFeature(Feature.NO_ARROWS_LEFT_ALERT);
-                        main.getRenderListener().setArrowsLeft(arrowsLeft);
-                        main.getScheduler().schedule(Scheduler.CommandType.RESET_SUBTITLE_FEATURE, main.getConfigValues().getWarningSeconds());
-                    }
+            }
+            return true;
+        });
+        handlers.put("Slayer Completed", (e, message) -> {
+            if (!SlayerTracker.getInstance().isTrackerEnabled()) {
+                return false;
+            }
+            SlayerTracker.getInstance().completedSlayer(message.getMatcher().group("slayerType"));
+            return true;
+        });
+        handlers.put("Slayer Level", (e, message) -> {
+            if (!SlayerTracker.getInstance().isTrackerEnabled()) {
+                return false;
+            }
+            lastMaddoxLevelTime = System.currentTimeMillis();
+            lastMaddoxSlayerType = message.getMatcher().group("slayerType");
+            return true;
+        });
+        handlers.put("Slayer Quest Started", (e, message) -> {
+            if (System.currentTimeMillis() - lastMaddoxLevelTime >= 100) {
+                return false;
+            }
+            SlayerTracker.getInstance().completedSlayer(lastMaddoxSlayerType);
+            return true;
+        });
+        handlers.put("Summoning Eye Placed", (e, message) -> {
+            if (!main.getConfigValues().isEnabled(Feature.DRAGON_STATS_TRACKER)) {
+                return false;
+            }
+            DragonTracker.getInstance().addEye();
+            return true;
+        });
+        handlers.put("Summoning Eye Recovered", (e, message) -> {
+            if (!main.getConfigValues().isEnabled(Feature.DRAGON_STATS_TRACKER)) {
+                return false;
+            }
+            DragonTracker.getInstance().removeEye();
+            return true;
+        });
+        handlers.put("Dragon Spawned", (e, message) -> {
+            if (!main.getConfigValues().isEnabled(Feature.DRAGON_STATS_TRACKER)) {
+                return false;
+            }
+            DragonTracker.getInstance().dragonSpawned(message.getMatcher().group("dragonType"));
+            return true;
+        });
+        handlers.put("Dragon Killed", (e, message) -> {
+            if (!main.getConfigValues().isEnabled(Feature.DRAGON_STATS_TRACKER)) {
+                return false;
+            }
+            DragonTracker.getInstance().dragonKilled();
+            return true;
+        });
+        handlers.put("Egg Laid", (e, message) -> {
+            if (!main.getConfigValues().isEnabled(Feature.SHOW_ITEM_COOLDOWNS)) {
+                return false;
+            }
+            // Put the Chicken Head on cooldown for 20 seconds when the player lays an egg.
+            CooldownManager.put(InventoryUtils.CHICKEN_HEAD_ID);
+            return true;
+        });
+        handlers.put("Rainmaker", (e, message) -> {
+            if (!main.getConfigValues().isEnabled(Feature.BIRCH_PARK_RAINMAKER_TIMER)) {
+                return false;
+            }
+            if (this.rainmakerTimeEnd == -1 || this.rainmakerTimeEnd < System.currentTimeMillis()) {
+                this.rainmakerTimeEnd = System.currentTimeMillis() + (1000 * 60); // Set the timer to a minute from now.
+            } else {
+                this.rainmakerTimeEnd += (1000 * 60); // Extend the timer one minute.
+            }
+            return true;
+        });
+        handlers.put("Fetchur", (e, message) -> {
+            if (!main.getConfigValues().isEnabled(Feature.FETCHUR_TODAY)) {
+                return false;
+            }
+            FetchurManager fetchur = FetchurManager.getInstance();
+            String unformattedText = message.getUnformattedText();
+            // Triggered if player has just given the correct item to Fetchur, or if sba isn't in sync (already handed in quest)
+            if (unformattedText.contains(fetchur.getFetchurTaskCompletedPhrase()) ||
+                    !fetchur.hasFetchedToday() && unformattedText.contains(fetchur.getFetchurAlreadyDidTaskPhrase())) {
+                FetchurManager.getInstance().saveLastTimeFetched();
+            }
+            return true;
+        });
+        // Tries to check if a message is from a player to add the player profile icon
+        handlers.put("Player Symbols", (e, message) -> {
+            if (!main.getConfigValues().isEnabled(Feature.PLAYER_SYMBOLS_IN_CHAT)) {
+                return false;
+            }
+            playerSymbolsDisplay(e, message.getUnformattedText());
+            return true;
+        });
+        handlers.put("No Arrows Left", (e, message) -> {
+            if (!main.getConfigValues().isEnabled(Feature.NO_ARROWS_LEFT_ALERT)) {
+                return false;
+            }
+            main.getUtils().playLoudSound("random.orb", 0.5);
+            main.getRenderListener().setSubtitleFeature(Feature.NO_ARROWS_LEFT_ALERT);
+            main.getRenderListener().setArrowsLeft(-1);
+            main.getScheduler().schedule(Scheduler.CommandType.RESET_SUBTITLE_FEATURE, main.getConfigValues().getWarningSeconds());
+            return true;
+        });
+        handlers.put("Only Have Arrows Left", (e, message) -> {
+            if (!main.getConfigValues().isEnabled(Feature.NO_ARROWS_LEFT_ALERT)) {
+                return false;
+            }
+            int arrowsLeft = Integer.parseInt(message.getMatcher().group("arrows"));
+            main.getUtils().playLoudSound("random.orb", 0.5);
+            main.getRenderListener().setSubtitleFeature(Feature.NO_ARROWS_LEFT_ALERT);
+            main.getRenderListener().setArrowsLeft(arrowsLeft);
+            main.getScheduler().schedule(Scheduler.CommandType.RESET_SUBTITLE_FEATURE, main.getConfigValues().getWarningSeconds());
+            return true;
+        });
+        handlers.put("Salvaged Essences", (e, message) -> {
+            if (main.getInventoryUtils().getInventoryType() != InventoryType.SALVAGING || !main.getConfigValues().isEnabled(Feature.SHOW_SALVAGE_ESSENCES_COUNTER)) {
+                return false;
+            }
+            main.getDungeonManager().addSalvagedEssences(message.getUnformattedText());
+            return true;
+        });
+        handlers.put("Revive", (e, message) -> {
+            Matcher reviveMessageMatcher = message.getMatcher();
+            List<EntityPlayer> players = Minecraft.getMinecraft().theWorld.playerEntities;
+
+            String revivedPlayerName = reviveMessageMatcher.group("revivedPlayer");
+            String reviverName = reviveMessageMatcher.group("reviver");
+            EntityPlayer revivedPlayer = null;
+            EntityPlayer revivingPlayer = null;
+
+            for (EntityPlayer player : players) {
+                if (revivedPlayer != null && revivingPlayer != null) {
+                    break;
                 }
 
-                if (main.getInventoryUtils().getInventoryType() == InventoryType.SALVAGING && main.getConfigValues().isEnabled(Feature.SHOW_SALVAGE_ESSENCES_COUNTER)) {
-                    main.getDungeonManager().addSalvagedEssences(unformattedText);
+                if (player.getName().equals(revivedPlayerName)) {
+                    revivedPlayer = player;
+                    lastRevive = Minecraft.getSystemTime();
                 }
 
-                if (main.getUtils().isInDungeon()) {
-                    Matcher reviveMessageMatcher = REVIVE_MESSAGE_PATTERN.matcher(unformattedText);
-
-                    if (reviveMessageMatcher.matches()) {
-                        List<EntityPlayer> players = Minecraft.getMinecraft().theWorld.playerEntities;
-
-                        String revivedPlayerName = reviveMessageMatcher.group("revivedPlayer");
-                        String reviverName = reviveMessageMatcher.group("reviver");
-                        EntityPlayer revivedPlayer = null;
-                        EntityPlayer revivingPlayer = null;
-
-                        for (EntityPlayer player : players) {
-                            if (revivedPlayer != null && revivingPlayer != null) {
-                                break;
-                            }
-
-                            if (player.getName().equals(revivedPlayerName)) {
-                                revivedPlayer = player;
-                                lastRevive = Minecraft.getSystemTime();
-                            }
-
-                            if (reviverName != null && player.getName().equals(reviverName)) {
-                                revivingPlayer = player;
-                            }
-                        }
-
-                        MinecraftForge.EVENT_BUS.post(new DungeonPlayerReviveEvent(revivedPlayer, revivingPlayer));
-                    }
-
-                    if (main.getConfigValues().isEnabled(Feature.SHOW_DUNGEON_MILESTONE)) {
-                        DungeonMilestone dungeonMilestone = main.getDungeonManager().parseMilestone(formattedText);
-                        if (dungeonMilestone != null) {
-                            main.getDungeonManager().setDungeonMilestone(dungeonMilestone);
-                        }
-                    }
-
-                    if (main.getConfigValues().isEnabled(Feature.DUNGEONS_COLLECTED_ESSENCES_DISPLAY)) {
-                        main.getDungeonManager().addBonusEssence(formattedText);
-                    }
+                if (reviverName != null && player.getName().equals(reviverName)) {
+                    revivingPlayer = player;
                 }
+            }
 
-
-                if (ABILITY_CHAT_PATTERN.matcher(formattedText).matches()) {
-                    CooldownManager.put(Minecraft.getMinecraft().thePlayer.getHeldItem());
-
-                } else if ((matcher = PROFILE_CHAT_PATTERN.matcher(strippedText)).matches()) {
-                    String profile = matcher.group(1);
-
-                    // TODO: Slothpixel can no longer handle our queries
-/*                    if (!profile.equals(main.getUtils().getProfileName())) {
-                        APIManager.getInstance().onProfileSwitch(profile);
-                    }*/
-
-                    main.getUtils().setProfileName(profile);
-
-                } else if ((matcher = SWITCH_PROFILE_CHAT_PATTERN.matcher(strippedText)).matches()) {
-                    String profile = matcher.group(1);
-
-/*                    if (!profile.equals(main.getUtils().getProfileName())) {
-                        APIManager.getInstance().onProfileSwitch(profile);
-                    }*/
-
-                    main.getUtils().setProfileName(profile);
-                }
+            MinecraftForge.EVENT_BUS.post(new DungeonPlayerReviveEvent(revivedPlayer, revivingPlayer));
+            return true;
+        });
+        handlers.put("Dungeon Milestone", (e, message) -> {
+            if (!main.getConfigValues().isEnabled(Feature.SHOW_DUNGEON_MILESTONE)) {
+                return false;
             }
+            DungeonMilestone dungeonMilestone = main.getDungeonManager().parseMilestone(message.getFormattedText());
+            if (dungeonMilestone == null) {
+                return false;
+            }
+            main.getDungeonManager().setDungeonMilestone(dungeonMilestone);
+            return true;
+        });
+        handlers.put("Bonus Essence", (e, message) -> {
+            if (!main.getConfigValues().isEnabled(Feature.DUNGEONS_COLLECTED_ESSENCES_DISPLAY)) {
+                return false;
+            }
+            main.getDungeonManager().addBonusEssence(message.getFormattedText());
+            return true;
+        });
+        handlers.put("Ability Used", (e, message) -> {
+            CooldownManager.put(Minecraft.getMinecraft().thePlayer.getHeldItem());
+            return true;
+        });
+        handlers.put("Profile", (e, message) -> {
+            String profile = message.getMatcher().group(1);
+
+            // TODO: Slothpixel can no longer handle our queries
+/*            if (!profile.equals(main.getUtils().getProfileName())) {
+                APIManager.getInstance().onProfileSwitch(profile);
+            }*/
+
+            main.getUtils().setProfileName(profile);
+            return true;
+        });
+        handlers.put("Profile Switched", (e, message) -> {
+            String profile = message.getMatcher().group(1);
+
+/*            if (!profile.equals(main.getUtils().getProfileName())) {
+                APIManager.getInstance().onProfileSwitch(profile);
+            }*/
+
+            main.getUtils().setProfileName(profile);
+            return true;
+        });
+
+        PlayerChatTriggers.register(chatDispatcher, () -> main.getUtils().isOnSkyblock(), () -> main.getUtils().isInDungeon(),
+                handlers::get);
+    }
+
+    private boolean cancelIfEnabled(ClientChatReceivedEvent e, Feature feature) {
+        if (!main.getConfigValues().isEnabled(feature)) {
+            return false;
         }
+        e.setCanceled(true);
+        return true;
     }
 
     private void playerSymbolsDisplay(ClientChatReceivedEvent e, String unformattedText) {
@@ -595,7 +682,6 @@ public class PlayerListener {
     public void onTick(TickEvent.ClientTickEvent e) {
         if (e.phase == TickEvent.Phase.START) {
             Minecraft mc = Minecraft.getMinecraft();
-            timerTick++;
 
             if (mc != null) { // Predict health every tick if needed.
                 ScoreboardManager.tick();
@@ -610,111 +696,107 @@ public class PlayerListener {
                     setAttribute(Attribute.HEALTH, newHealth);
                 }
 
-                if (timerTick == 20) {
-                    // Add natural mana every second (increase is based on your max mana).
-                    if (main.getRenderListener().isPredictMana()) {
-                        // If regen-ing, cap at the max mana
-                        if (getAttribute(Attribute.MANA) < getAttribute(Attribute.MAX_MANA)) {
-                            setAttribute(Attribute.MANA, Math.min(getAttribute(Attribute.MANA) + getAttribute(Attribute.MAX_MANA) / 50, getAttribute(Attribute.MAX_MANA)));
-                        }
-                        // If above mana cap, do nothing
-                    }
+                tickTasks.tick();
+            }
+        }
+    }
 
-                    this.parseTabList();
+    /**
+     * Registers the periodic jobs that run on the client tick. The 1/4 second jobs are spread over the ticks of their
+     * period by hand to keep their order, the others are spread by the registry. Jobs whose conditions aren't met are
+     * skipped.
+     */
+    private void registerTickTasks() {
+        BooleanSupplier hasPlayer = () -> Minecraft.getMinecraft().thePlayer != null;
+        BooleanSupplier onSkyblock = () -> hasPlayer.getAsBoolean() && main.getUtils().isOnSkyblock();
+
+        // Check inventory, location, and updates every 1/4 second. These are registered in the order they used to run
+        // in, and their offsets keep that order within each 1/4 second, so the sidebar is parsed before the jobs that
+        // check whether the player is on Skyblock.
+        tickTasks.register(TickTask.every(5, "endstoneProtector", EndstoneProtectorManager::checkGolemStatus)
+                .offset(0).when(hasPlayer));
+        tickTasks.register(TickTask.every(5, "tabListParser", TabListParser::parse)
+                .offset(0).when(hasPlayer).budgetMicros(500));
+        tickTasks.register(TickTask.every(5, "sidebar", () -> main.getUtils().parseSidebar())
+                .offset(1).when(hasPlayer).budgetMicros(500));
+        tickTasks.register(TickTask.every(5, "inventoryFull", () -> main.getInventoryUtils().checkIfInventoryIsFull(Minecraft.getMinecraft()))
+                .offset(1).when(hasPlayer));
+        // Recompute what's derived from the inventory, like the skeleton helmet or baits, when the slots it's derived
+        // from changed. This is cheap when nothing changed, so it runs every tick.
+        tickTasks.register(TickTask.every(1, "inventoryObserver",
+                () -> main.getInventoryUtils().updateObservedInventory(Minecraft.getMinecraft().thePlayer))
+                .when(hasPlayer));
+        tickTasks.register(TickTask.every(5, "fishingIndicator", () -> {
+            if (shouldTriggerFishingIndicator()) { // The logic fits better in its own function
+                main.getUtils().playLoudSound("random.successful_hit", 0.8);
+            }
+        }).offset(2).when(onSkyblock));
+        tickTasks.register(TickTask.every(5, "fetchur", () -> FetchurManager.getInstance().recalculateFetchurItem())
+                .offset(2).when(onSkyblock).when(() -> main.getConfigValues().isEnabled(Feature.FETCHUR_TODAY)));
+        // Update mining/fishing pet tracker numbers when the player opens the skill menu
+        tickTasks.register(TickTask.every(5, "petTrackerMilestone", this::updatePetTrackerMilestone)
+                .offset(2).when(onSkyblock).when(() -> main.getInventoryUtils().getInventoryType() == InventoryType.SKILL_TYPE_MENU));
+        tickTasks.register(TickTask.every(5, "inventoryDifference",
+                () -> main.getInventoryUtils().getInventoryDifference(Minecraft.getMinecraft().thePlayer.inventory.mainInventory))
+                .offset(3).when(hasPlayer).when(() -> Minecraft.getMinecraft().currentScreen == null && didntRecentlyJoinWorld() &&
+                        (!main.getUtils().isInDungeon() || Minecraft.getSystemTime() - lastDeath > 1000 &&
+                                Minecraft.getSystemTime() - lastRevive > 1000)).budgetMicros(500));
+        tickTasks.register(TickTask.every(5, "pickupLogCleanup", () -> main.getInventoryUtils().cleanUpPickupLog()).offset(4));
+
+        // Every second
+        // Add natural mana every second (increase is based on your max mana).
+        tickTasks.register(TickTask.every(20, "manaRegen", () -> {
+            // If regen-ing, cap at the max mana
+            if (getAttribute(Attribute.MANA) < getAttribute(Attribute.MAX_MANA)) {
+                setAttribute(Attribute.MANA, Math.min(getAttribute(Attribute.MANA) + getAttribute(Attribute.MAX_MANA) / 50, getAttribute(Attribute.MAX_MANA)));
+            }
+            // If above mana cap, do nothing
+        }).when(() -> main.getRenderListener().isPredictMana()));
+        tickTasks.register(TickTask.every(20, "tabList", this::parseTabList).budgetMicros(500));
+        tickTasks.register(TickTask.every(20, "dungeonDeathCounter", () -> main.getDungeonManager().updateDeathsFromPlayerListInfo())
+                .when(() -> main.getConfigValues().isEnabled(Feature.DUNGEON_DEATH_COUNTER) && main.getUtils().isInDungeon()
+                        && main.getDungeonManager().isPlayerListInfoEnabled()));
+    }
 
-                    if (main.getConfigValues().isEnabled(Feature.DUNGEON_DEATH_COUNTER) && main.getUtils().isInDungeon()
-                            && main.getDungeonManager().isPlayerListInfoEnabled()) {
-                        main.getDungeonManager().updateDeathsFromPlayerListInfo();
+    private void updatePetTrackerMilestone() {
+        SkillType skill = SkillType.getFromString(main.getInventoryUtils().getInventorySubtype());
+        if (skill == SkillType.MINING || skill == SkillType.FISHING) {
+            try {
+                IInventory cc = ((ContainerChest) ((GuiChest) Minecraft.getMinecraft().currentScreen).inventorySlots).getLowerChestInventory();
+                List<String> lore = ItemUtils.getItemLore(cc.getStackInSlot(51));
+                String milestoneProgress = TextUtils.stripColor(lore.get(lore.size() - 1));
+                Matcher m = NEXT_TIER_PET_PROGRESS.matcher(milestoneProgress);
+                int total = -1;
+                if (m.matches()) {
+                    total = Integer.parseInt(m.group("total").replaceAll(",", ""));
+                } else if ((m = MAXED_TIER_PET_PROGRESS.matcher(milestoneProgress)).matches()) {
+                    total = Integer.parseInt(m.group("total").replaceAll(",", ""));
+                }
+                if (total > 0) {
+                    PersistentValuesManager.PersistentValues persistentValues =
+                            main.getPersistentValuesManager().getPersistentValues();
+                    int original;
+                    if (skill == SkillType.FISHING) {
+                        original = persistentValues.getSeaCreaturesKilled();
+                        main.getPersistentValuesManager().getPersistentValues().setSeaCreaturesKilled(total);
+                    } else {
+                        original = persistentValues.getOresMined();
+                        main.getPersistentValuesManager().getPersistentValues().setOresMined(total);
                     }
-                } else if (timerTick % 5 == 0) { // Check inventory, location, updates, and skeleton helmet every 1/4 second.
-                    EntityPlayerSP player = mc.thePlayer;
-
-                    if (player != null) {
-                        EndstoneProtectorManager.checkGolemStatus();
-                        TabListParser.parse();
-                        main.getUtils().parseSidebar();
-                        main.getInventoryUtils().checkIfInventoryIsFull(mc, player);
-
-                        if (main.getUtils().isOnSkyblock()) {
-                            main.getInventoryUtils().checkIfWearingSkeletonHelmet(player);
-                            main.getInventoryUtils().checkIfUsingToxicArrowPoison(player);
-                            main.getInventoryUtils().checkIfWearingSlayerArmor(player);
-                            if (shouldTriggerFishingIndicator()) { // The logic fits better in its own function
-                                main.getUtils().playLoudSound("random.successful_hit", 0.8);
-                            }
-                            if (main.getConfigValues().isEnabled(Feature.FETCHUR_TODAY)) {
-                                FetchurManager.getInstance().recalculateFetchurItem();
-                            }
-
-                            // Update mining/fishing pet tracker numbers when the player opens the skill menu
-                            if (main.getInventoryUtils().getInventoryType() == InventoryType.SKILL_TYPE_MENU) {
-                                SkillType skill = SkillType.getFromString(main.getInventoryUtils().getInventorySubtype());
-                                if (skill == SkillType.MINING || skill == SkillType.FISHING) {
-                                    try {
-                                        IInventory cc = ((ContainerChest) ((GuiChest) Minecraft.getMinecraft().currentScreen).inventorySlots).getLowerChestInventory();
-                                        List<String> lore = ItemUtils.getItemLore(cc.getStackInSlot(51));
-                                        String milestoneProgress = TextUtils.stripColor(lore.get(lore.size() - 1));
-                                        Matcher m = NEXT_TIER_PET_PROGRESS.matcher(milestoneProgress);
-                                        int total = -1;
-                                        if (m.matches()) {
-                                            total = Integer.parseInt(m.group("total").replaceAll(",", ""));
-                                        } else if ((m = MAXED_TIER_PET_PROGRESS.matcher(milestoneProgress)).matches()) {
-                                            total = Integer.parseInt(m.group("total").replaceAll(",", ""));
-                                        }
-                                        if (total > 0) {
-                                            PersistentValuesManager.PersistentValues persistentValues =
-                                                    main.getPersistentValuesManager().getPersistentValues();
-                                            int original;
-                                            if (skill == SkillType.FISHING) {
-                                                original = persistentValues.getSeaCreaturesKilled();
-                                                main.getPersistentValuesManager().getPersistentValues().setSeaCreaturesKilled(total);
-                                            } else {
-                                                original = persistentValues.getOresMined();
-                                                main.getPersistentValuesManager().getPersistentValues().setOresMined(total);
-                                            }
-                                            if (original != total) {
-                                                main.getPersistentValuesManager().saveValues();
-                                            }
-                                        }
-                                    } catch (Exception ignored) {
-                                    }
-                                }
-                            }
-                        }
-
-                        if (mc.currentScreen == null && main.getPlayerListener().didntRecentlyJoinWorld() &&
-                                (!main.getUtils().isInDungeon() || Minecraft.getSystemTime() - lastDeath > 1000 &&
-                                        Minecraft.getSystemTime() - lastRevive > 1000)) {
-                            main.getInventoryUtils().getInventoryDifference(player.inventory.mainInventory);
-                        }
-
-                        if (main.getConfigValues().isEnabled(Feature.BAIT_LIST) && BaitManager.getInstance().isHoldingRod()) {
-                            BaitManager.getInstance().refreshBaits();
-                        }
+                    if (original != total) {
+                        main.getPersistentValuesManager().saveValues();
                     }
-                    main.getInventoryUtils().cleanUpPickupLog();
-
-                } else if (timerTick > 20) { // To keep the timer going from 1 to 21 only.
-                    timerTick = 1;
                 }
+            } catch (Exception ignored) {
             }
         }
     }
 
     // TODO Feature Rewrite
     public void parseTabList() {
-        IChatComponent tabFooterChatComponent = Minecraft.getMinecraft().ingameGUI.getTabList().footer;
-
-        String tabFooterString = null;
-        String strippedTabFooterString = null;
-        if (tabFooterChatComponent != null) {
-            tabFooterString = tabFooterChatComponent.getFormattedText();
-            strippedTabFooterString = TextUtils.stripColor(tabFooterString);
-        }
-
         if (main.getUtils().isOnSkyblock()) {
             if (main.getConfigValues().isEnabled(Feature.TAB_EFFECT_TIMERS)) {
-                TabEffectManager.getInstance().update(tabFooterString, strippedTabFooterString);
+                TabEffectManager.getInstance().update(TabListModel.getInstance());
             }
         }
     }
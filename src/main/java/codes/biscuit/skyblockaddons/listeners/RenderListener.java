@@ -2,6 +2,7 @@ package codes.biscuit.skyblockaddons.listeners;
 
 import codes.biscuit.skyblockaddons.SkyblockAddons;
 import codes.biscuit.skyblockaddons.asm.hooks.FontRendererHook;
+import codes.biscuit.skyblockaddons.asm.hooks.GuiScreenHook;
 import codes.biscuit.skyblockaddons.config.ConfigValues;
 import codes.biscuit.skyblockaddons.core.*;
 import codes.biscuit.skyblockaddons.core.dungeons.DungeonClass;
@@ -11,6 +12,7 @@ import codes.biscuit.skyblockaddons.features.*;
 import codes.biscuit.skyblockaddons.features.dragontracker.DragonTracker;
 import codes.biscuit.skyblockaddons.features.dragontracker.DragonType;
 import codes.biscuit.skyblockaddons.features.dragontracker.DragonsSince;
+import codes.biscuit.skyblockaddons.features.enchants.EnchantManager;
 import codes.biscuit.skyblockaddons.features.healingcircle.HealingCircleManager;
 import codes.biscuit.skyblockaddons.features.powerorbs.PowerOrb;
 import codes.biscuit.skyblockaddons.features.powerorbs.PowerOrbManager;
@@ -26,10 +28,13 @@ import codes.biscuit.skyblockaddons.features.tabtimers.TabEffectManager;
 import codes.biscuit.skyblockaddons.gui.*;
 import codes.biscuit.skyblockaddons.gui.buttons.ButtonLocation;
 import codes.biscuit.skyblockaddons.misc.Updater;
+import codes.biscuit.skyblockaddons.misc.scheduler.LaneMetrics;
 import codes.biscuit.skyblockaddons.misc.scheduler.Scheduler;
+import codes.biscuit.skyblockaddons.misc.scheduler.TickTask;
 import codes.biscuit.skyblockaddons.shader.ShaderManager;
 import codes.biscuit.skyblockaddons.shader.chroma.ChromaScreenTexturedShader;
 import codes.biscuit.skyblockaddons.utils.*;
+import codes.biscuit.skyblockaddons.utils.chat.ChatDispatcher;
 import lombok.Getter;
 import lombok.Setter;
 import net.minecraft.client.Minecraft;
@@ -55,6 +60,7 @@ import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.client.GuiIngameForge;
+import net.minecraftforge.client.event.ClientChatReceivedEvent;
 import net.minecraftforge.client.event.RenderGameOverlayEvent;
 import net.minecraftforge.client.event.RenderLivingEvent;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
@@ -65,13 +71,10 @@ import org.lwjgl.opengl.GL11;
 
 import javax.vecmath.Vector3d;
 import java.awt.*;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.util.List;
 import java.util.*;
 
-import static codes.biscuit.skyblockaddons.utils.TextUtils.NUMBER_FORMAT;
 import static net.minecraft.client.gui.Gui.icons;
 
 public class RenderListener {
@@ -141,6 +144,9 @@ public class RenderListener {
     private EnumUtils.GuiTab guiTabToOpen = EnumUtils.GuiTab.MAIN;
     private Feature guiFeatureToOpen;
 
+    /** Reused to build the numbers of text features every frame */
+    private final StringBuilder textBuilder = new StringBuilder();
+
     /**
      * Render overlays and warnings for clients without labymod.
      */
@@ -188,6 +194,46 @@ public class RenderListener {
         }
     }
 
+    /**
+     * Adds how well the tooltip caches are doing, the chat handlers, the async lanes and the tick task timings to the
+     * debug screen in developer mode.
+     */
+    @SubscribeEvent()
+    public void onRenderDebugText(RenderGameOverlayEvent.Text e) {
+        if (main.getConfigValues().isEnabled(Feature.DEVELOPER_MODE) && Minecraft.getMinecraft().gameSettings.showDebugInfo) {
+            TooltipCache tooltipCache = GuiScreenHook.getTooltipCache();
+            EnchantManager.LoreCache loreCache = EnchantManager.getLoreCache();
+
+            e.right.add("");
+            e.right.add(String.format("[SBA] Tooltip cache: %.1f%% hits, %d tooltips", tooltipCache.getStats().getHitRatio() * 100,
+                    tooltipCache.size()));
+            e.right.add(String.format("[SBA] Enchant lore cache: %.1f%% hits", loreCache.getStats().getHitRatio() * 100));
+
+            ChatDispatcher<ClientChatReceivedEvent> chatDispatcher = main.getPlayerListener().getChatDispatcher();
+            e.right.add(String.format("[SBA] Chat handlers: %d messages", chatDispatcher.getMessages()));
+            for (ChatDispatcher.RegisteredHandler<ClientChatReceivedEvent> handler : chatDispatcher.getHandlers()) {
+                // Only the handlers that were checked, there are too many to show them all
+                if (handler.getChecks() > 0) {
+                    e.right.add(String.format("%s: %d/%d hits", handler.getName(), handler.getHits(), handler.getChecks()));
+                }
+            }
+
+            e.right.add("[SBA] Async lanes:");
+            for (LaneMetrics lane : SkyblockAddons.getExecutor().getAllMetrics()) {
+                e.right.add(String.format("%s: %d queued, %d active, %d failed, %d rejected, wait %.1f ms", lane.getName(),
+                        lane.getQueueDepth(), lane.getActiveTasks(), lane.getFailed(), lane.getRejected(),
+                        lane.getAverageWaitNanos() / 1_000_000D));
+            }
+
+            e.right.add("[SBA] Tick tasks:");
+            for (TickTask task : main.getPlayerListener().getTickTasks().getTasks()) {
+                e.right.add(String.format("%s: %d runs, %d skipped, avg %.3f ms, max %.3f ms, %d over budget, %d deferred",
+                        task.getName(), task.getRuns(), task.getSkips(), task.getAverageNanos() / 1_000_000D,
+                        task.getMaxNanos() / 1_000_000D, task.getOverBudgetRuns(), task.getDeferrals()));
+            }
+        }
+    }
+
     @SubscribeEvent()
     public void onRenderLiving(RenderLivingEvent.Specials.Pre<EntityLivingBase> e) {
         Entity entity = e.entity;
@@ -673,7 +719,9 @@ public class RenderListener {
         String text;
         int color = main.getConfigValues().getColor(feature);
         if (feature == Feature.MANA_TEXT) {
-            text = NUMBER_FORMAT.format(getAttribute(Attribute.MANA)) + "/" + NUMBER_FORMAT.format(getAttribute(Attribute.MAX_MANA));
+            textBuilder.setLength(0);
+            NumberUtils.appendFormatted(textBuilder, getAttribute(Attribute.MANA)).append('/');
+            text = NumberUtils.appendFormatted(textBuilder, getAttribute(Attribute.MAX_MANA)).toString();
 
         } else if (feature == Feature.OVERFLOW_MANA) {
             if (getAttribute(Attribute.OVERFLOW_MANA) != 0 || buttonLocation != null) {
@@ -682,13 +730,16 @@ public class RenderListener {
                 return;
             }
         } else if (feature == Feature.HEALTH_TEXT) {
-            text = NUMBER_FORMAT.format(getAttribute(Attribute.HEALTH)) + "/" + NUMBER_FORMAT.format(getAttribute(Attribute.MAX_HEALTH));
+            textBuilder.setLength(0);
+            NumberUtils.appendFormatted(textBuilder, getAttribute(Attribute.HEALTH)).append('/');
+            text = NumberUtils.appendFormatted(textBuilder, getAttribute(Attribute.MAX_HEALTH)).toString();
         } else if (feature == Feature.CRIMSON_ARMOR_ABILITY_STACKS) {
             text = getCrimsonArmorAbilityStacks();
             if (text == null) return;
 
         } else if (feature == Feature.DEFENCE_TEXT) {
-            text = NUMBER_FORMAT.format(getAttribute(Attribute.DEFENCE));
+            textBuilder.setLength(0);
+            text = NumberUtils.appendFormatted(textBuilder, getAttribute(Attribute.DEFENCE)).toString();
 
         } else if (feature == Feature.OTHER_DEFENCE_STATS) {
             text = main.getPlayerListener().getActionBarParser().getOtherDefense();
@@ -700,7 +751,8 @@ public class RenderListener {
             }
 
         } else if (feature == Feature.EFFECTIVE_HEALTH_TEXT) {
-            text = NUMBER_FORMAT.format(Math.round(getAttribute(Attribute.HEALTH) * (1 + getAttribute(Attribute.DEFENCE) / 100F)));
+            textBuilder.setLength(0);
+            text = NumberUtils.appendFormatted(textBuilder, Math.round(getAttribute(Attribute.HEALTH) * (1 + getAttribute(Attribute.DEFENCE) / 100F))).toString();
 
         } else if (feature == Feature.DRILL_FUEL_TEXT) {
             if (!ItemUtils.isDrill(mc.thePlayer.getHeldItem())) {
@@ -710,23 +762,26 @@ public class RenderListener {
         } else if (feature == Feature.DEFENCE_PERCENTAGE) {
             double doubleDefence = getAttribute(Attribute.DEFENCE);
             double percentage = ((doubleDefence / 100) / ((doubleDefence / 100) + 1)) * 100; //Taken from https://hypixel.net/threads/how-armor-works-and-the-diminishing-return-of-higher-defence.2178928/
-            BigDecimal bigDecimal = new BigDecimal(percentage).setScale(1, RoundingMode.HALF_UP);
-            text = bigDecimal + "%";
+            textBuilder.setLength(0);
+            text = NumberUtils.appendFixed(textBuilder, percentage, 1).append('%').toString();
 
         } else if (feature == Feature.SPEED_PERCENTAGE) {
-            String walkSpeed = NUMBER_FORMAT.format(Minecraft.getMinecraft().thePlayer.capabilities.getWalkSpeed() * 1000);
-            text = walkSpeed.substring(0, Math.min(walkSpeed.length(), 3));
+            textBuilder.setLength(0);
+            NumberUtils.appendFormatted(textBuilder, Minecraft.getMinecraft().thePlayer.capabilities.getWalkSpeed() * 1000);
+            textBuilder.setLength(Math.min(textBuilder.length(), 3));
 
-            if (text.endsWith(".")) text = text.substring(0, text.indexOf('.')); //remove trailing periods
+            if (textBuilder.charAt(textBuilder.length() - 1) == '.') textBuilder.setLength(textBuilder.length() - 1); //remove trailing periods
 
-            text += "%";
+            text = textBuilder.append('%').toString();
 
         } else if (feature == Feature.HEALTH_UPDATES) {
             Float healthUpdate = main.getPlayerListener().getHealthUpdate();
             if (buttonLocation == null) {
                 if (healthUpdate != null) {
                     color = healthUpdate > 0 ? ColorCode.GREEN.getColor() : ColorCode.RED.getColor();
-                    text = (healthUpdate > 0 ? "+" : "-") + NUMBER_FORMAT.format(Math.abs(healthUpdate));
+                    textBuilder.setLength(0);
+                    textBuilder.append(healthUpdate > 0 ? '+' : '-');
+                    text = NumberUtils.appendFormatted(textBuilder, Math.abs(healthUpdate)).toString();
                 } else {
                     return;
                 }
@@ -1358,7 +1413,8 @@ public class RenderListener {
         } else if (feature == Feature.HEALTH_TEXT) {
             if (mc.thePlayer.isPotionActive(22/* Absorption */)
                     && getAttribute(Attribute.HEALTH) > getAttribute(Attribute.MAX_HEALTH)) {
-                String formattedHealth = NUMBER_FORMAT.format(getAttribute(Attribute.HEALTH));
+                textBuilder.setLength(0);
+                String formattedHealth = NumberUtils.appendFormatted(textBuilder, getAttribute(Attribute.HEALTH)).toString();
                 int formattedHealthWidth = mc.fontRendererObj.getStringWidth(formattedHealth);
 
                 color = ColorUtils.getDummySkyblockColor(ColorCode.GOLD.getColor(),
@@ -1366,7 +1422,9 @@ public class RenderListener {
                 FontRendererHook.setupFeatureFont(feature);
                 DrawUtils.drawText(formattedHealth, x, y, color);
                 color = main.getConfigValues().getColor(feature);
-                DrawUtils.drawText("/" + NUMBER_FORMAT.format(getAttribute(Attribute.MAX_HEALTH)),
+                textBuilder.setLength(0);
+                textBuilder.append('/');
+                DrawUtils.drawText(NumberUtils.appendFormatted(textBuilder, getAttribute(Attribute.MAX_HEALTH)).toString(),
                         x + formattedHealthWidth, y, color);
             } else {
                 FontRendererHook.setupFeatureFont(feature);
@@ -0,0 +1,168 @@
+package codes.biscuit.skyblockaddons.misc.scheduler;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Runs background work on named {@link ExecutorLane}s and hands results back to the client thread.
+ * <p>
+ * Each lane has its own threads and a bounded queue. When a lane's queue is full, new tasks are rejected instead of
+ * piling up. The rejection is reported through the task so the caller can back off, and to the rejection handler apart
+ * from the tasks that failed. Tasks can be cancelled, and their results can be handled on the client thread through the
+ * {@link MainThreadQueue}, which the tick loop drains.
+ * <p>
+ * This class doesn't use any Minecraft classes, so it can be tested on its own.
+ */
+public class AsyncExecutor {
+
+    private final Map<ExecutorLane, Lane> lanes = new EnumMap<>(ExecutorLane.class);
+    private final MainThreadQueue mainThreadQueue;
+    private final BiConsumer<String, Throwable> errorHandler;
+    private final Consumer<ExecutorLane> rejectionHandler;
+
+    /**
+     * @param threadNamePrefix the start of the lane threads' names
+     * @param errorHandler called with the name of the lane and the exception when a task throws one
+     * @param rejectionHandler called with the lane when a task is rejected because the lane's queue is full
+     */
+    public AsyncExecutor(String threadNamePrefix, BiConsumer<String, Throwable> errorHandler,
+                         Consumer<ExecutorLane> rejectionHandler) {
+        this.errorHandler = errorHandler;
+        this.rejectionHandler = rejectionHandler;
+        this.mainThreadQueue = new MainThreadQueue(ex -> errorHandler.accept("Main Thread", ex));
+
+        for (ExecutorLane lane : ExecutorLane.values()) {
+            lanes.put(lane, new Lane(lane, threadNamePrefix));
+        }
+    }
+
+    /**
+     * Submits a task to a lane.
+     *
+     * @param lane the lane to run the task on
+     * @param callable the task
+     * @param <T> the type of the result
+     * @return the submitted task, which has already failed with a {@link RejectedExecutionException} if the lane's
+     * queue was full
+     */
+    public <T> AsyncTask<T> submit(ExecutorLane lane, Callable<T> callable) {
+        Lane laneExecutor = lanes.get(lane);
+        AsyncTask<T> task = new AsyncTask<>(callable, this, lane, laneExecutor.threadPool, laneExecutor.counters);
+        try {
+            laneExecutor.threadPool.execute(task);
+            laneExecutor.counters.submitted.increment();
+        } catch (RejectedExecutionException ex) {
+            laneExecutor.counters.rejected.increment();
+            task.reject(ex);
+            rejectionHandler.accept(lane);
+        }
+        return task;
+    }
+
+    /**
+     * Submits a task without a result to a lane.
+     *
+     * @param lane the lane to run the task on
+     * @param runnable the task
+     * @return the submitted task
+     * @see #submit(ExecutorLane, Callable)
+     */
+    public AsyncTask<Void> execute(ExecutorLane lane, Runnable runnable) {
+        return submit(lane, Executors.callable(runnable, null));
+    }
+
+    /**
+     * Queues a task to run on the client thread the next time the main thread queue is drained.
+     *
+     * @param runnable the task
+     */
+    public void runOnMainThread(Runnable runnable) {
+        mainThreadQueue.post(runnable);
+    }
+
+    /**
+     * Runs the tasks that were handed to the client thread. Call this from the client thread's tick loop.
+     *
+     * @param budgetNanos the time the tasks may take before the rest are left for the next tick
+     * @return the number of tasks that ran
+     */
+    public int drainMainThreadQueue(long budgetNanos) {
+        return mainThreadQueue.drain(budgetNanos);
+    }
+
+    public MainThreadQueue getMainThreadQueue() {
+        return mainThreadQueue;
+    }
+
+    /**
+     * @param lane the lane
+     * @return the lane's current queue depth and its counters since startup
+     */
+    public LaneMetrics getMetrics(ExecutorLane lane) {
+        Lane laneExecutor = lanes.get(lane);
+        return laneExecutor.counters.snapshot(lane.getDisplayName(), laneExecutor.threadPool.getQueue().size());
+    }
+
+    /**
+     * @return the metrics of every lane followed by those of the main thread queue
+     */
+    public List<LaneMetrics> getAllMetrics() {
+        List<LaneMetrics> metrics = new ArrayList<>();
+        for (ExecutorLane lane : ExecutorLane.values()) {
+            metrics.add(getMetrics(lane));
+        }
+        metrics.add(mainThreadQueue.getMetrics());
+        return metrics;
+    }
+
+    /**
+     * Stops accepting tasks. Tasks that were already submitted still run.
+     */
+    public void shutdown() {
+        for (Lane lane : lanes.values()) {
+            lane.threadPool.shutdown();
+        }
+    }
+
+    /**
+     * Waits for the tasks of every lane to finish after {@link #shutdown()}.
+     *
+     * @param timeout the longest time to wait for all lanes together
+     * @param unit the unit of {@code timeout}
+     * @return {@code true} if every lane finished in time
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Lane lane : lanes.values()) {
+            if (!lane.threadPool.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void reportError(String laneName, Throwable throwable) {
+        errorHandler.accept(laneName, throwable);
+    }
+
+    private static class Lane {
+        private final ThreadPoolExecutor threadPool;
+        private final LaneMetrics.Counters counters = new LaneMetrics.Counters();
+
+        private Lane(ExecutorLane lane, String threadNamePrefix) {
+            threadPool = new ThreadPoolExecutor(lane.getThreads(), lane.getThreads(), 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(lane.getQueueCapacity()), new ThreadFactoryBuilder()
+                    .setNameFormat(threadNamePrefix + " - " + lane.getDisplayName() + " #%d").setDaemon(true).build());
+            // Idle lanes don't keep any threads around.
+            threadPool.allowCoreThreadTimeOut(true);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package codes.biscuit.skyblockaddons.misc.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+
+/**
+ * A task submitted to an {@link AsyncExecutor} lane. It can be cancelled like any {@link Future}, which also removes it
+ * from its lane's queue if it hasn't started yet. Use {@link #whenDone(BiConsumer)} to handle the result on the client
+ * thread.
+ *
+ * @param <T> the type of the result
+ */
+public class AsyncTask<T> extends FutureTask<T> {
+
+    private final AsyncExecutor executor;
+    private final ExecutorLane lane;
+    private final ThreadPoolExecutor threadPool;
+    private final LaneMetrics.Counters counters;
+    private final long submitNanos = System.nanoTime();
+
+    /** Set when the task threw an exception, so the run is counted as failed */
+    private volatile boolean failed;
+    /** Set when the lane's queue was full */
+    private volatile boolean rejected;
+
+    // Guarded by this
+    private List<BiConsumer<? super T, ? super Throwable>> callbacks = new ArrayList<>(1);
+    private boolean finished;
+    private T result;
+    private Throwable error;
+
+    AsyncTask(Callable<T> callable, AsyncExecutor executor, ExecutorLane lane, ThreadPoolExecutor threadPool,
+              LaneMetrics.Counters counters) {
+        super(callable);
+        this.executor = executor;
+        this.lane = lane;
+        this.threadPool = threadPool;
+        this.counters = counters;
+    }
+
+    /**
+     * Calls the given callback on the client thread once this task is done. The callback gets the result, or the
+     * exception if the task failed, was cancelled or was rejected. If the task is already done, the callback is queued
+     * right away.
+     *
+     * @param callback the callback, given either the result and {@code null} or {@code null} and the exception
+     * @return this task
+     */
+    public AsyncTask<T> whenDone(BiConsumer<? super T, ? super Throwable> callback) {
+        synchronized (this) {
+            if (!finished) {
+                callbacks.add(callback);
+                return this;
+            }
+        }
+        postCallback(callback);
+        return this;
+    }
+
+    public ExecutorLane getLane() {
+        return lane;
+    }
+
+    /**
+     * @return {@code true} if this task never ran because its lane's queue was full
+     */
+    public boolean isRejected() {
+        return rejected;
+    }
+
+    @Override
+    public void run() {
+        if (isDone()) {
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        counters.recordStart(startNanos - submitNanos);
+        super.run();
+        counters.recordFinish(System.nanoTime() - startNanos, !failed);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled) {
+            // Free up the queue slot instead of waiting for a worker to skip the task.
+            threadPool.remove(this);
+        }
+        return cancelled;
+    }
+
+    @Override
+    protected void setException(Throwable throwable) {
+        failed = true;
+        super.setException(throwable);
+    }
+
+    void reject(RejectedExecutionException exception) {
+        rejected = true;
+        super.setException(exception);
+    }
+
+    @Override
+    protected void done() {
+        T doneResult = null;
+        Throwable doneError = null;
+        if (isCancelled()) {
+            counters.cancelled.increment();
+            doneError = new CancellationException();
+        } else {
+            try {
+                doneResult = get();
+            } catch (ExecutionException ex) {
+                doneError = ex.getCause();
+                // Rejections were already reported by the executor, they aren't failures of the task.
+                if (!rejected) {
+                    executor.reportError(lane.getDisplayName(), doneError);
+                }
+            } catch (InterruptedException ex) {
+                // The task is done so this can't happen, but keep the flag for whoever called done().
+                Thread.currentThread().interrupt();
+                doneError = ex;
+            }
+        }
+
+        List<BiConsumer<? super T, ? super Throwable>> doneCallbacks;
+        synchronized (this) {
+            result = doneResult;
+            error = doneError;
+            finished = true;
+            doneCallbacks = callbacks;
+            callbacks = null;
+        }
+        for (BiConsumer<? super T, ? super Throwable> callback : doneCallbacks) {
+            postCallback(callback);
+        }
+    }
+
+    private void postCallback(BiConsumer<? super T, ? super Throwable> callback) {
+        T callbackResult;
+        Throwable callbackError;
+        synchronized (this) {
+            callbackResult = result;
+            callbackError = error;
+        }
+        executor.getMainThreadQueue().post(() -> callback.accept(callbackResult, callbackError));
+    }
+}
@@ -0,0 +1,39 @@
+package codes.biscuit.skyblockaddons.misc.scheduler;
+
+import lombok.Getter;
+
+/**
+ * The lanes of the {@link AsyncExecutor}. Each lane has its own threads and queue, so slow work in one lane doesn't
+ * hold up the others.
+ */
+@Getter
+public enum ExecutorLane {
+    /**
+     * File and IPC work. This lane has a single thread, so tasks run in the order they were submitted.
+     */
+    IO("I/O", 1, 256),
+    /**
+     * Requests to web APIs, which mostly wait on the network.
+     */
+    NETWORK("Network", 2, 64),
+    /**
+     * Computation that is too slow for the client thread.
+     */
+    CPU("CPU", Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1)), 128),
+    /**
+     * Tasks that have to run one at a time in the order they were submitted, like async scheduled tasks. This lane has
+     * a single thread and its queue has no limit, so tasks are never rejected.
+     */
+    SERIAL("Serial", 1, Integer.MAX_VALUE);
+
+    private final String displayName;
+    private final int threads;
+    /** The number of tasks that can wait in this lane before new ones are rejected, {@link Integer#MAX_VALUE} for no limit */
+    private final int queueCapacity;
+
+    ExecutorLane(String displayName, int threads, int queueCapacity) {
+        this.displayName = displayName;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+    }
+}
@@ -0,0 +1,96 @@
+package codes.biscuit.skyblockaddons.misc.scheduler;
+
+import lombok.Getter;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A snapshot of the counters of one {@link ExecutorLane} or of the {@link MainThreadQueue}.
+ */
+@Getter
+public class LaneMetrics {
+
+    private final String name;
+    /** The number of tasks waiting to run */
+    private final int queueDepth;
+    /** The number of tasks running right now */
+    private final int activeTasks;
+    private final long submitted;
+    private final long completed;
+    /** The number of tasks that threw an exception */
+    private final long failed;
+    private final long cancelled;
+    /** The number of tasks turned away because the queue was full */
+    private final long rejected;
+    /** The average time between a task being submitted and starting to run */
+    private final long averageWaitNanos;
+    private final long maxWaitNanos;
+    /** The average time a task took to run */
+    private final long averageRunNanos;
+
+    private LaneMetrics(String name, int queueDepth, int activeTasks, Counters counters) {
+        this.name = name;
+        this.queueDepth = queueDepth;
+        this.activeTasks = activeTasks;
+        this.submitted = counters.submitted.sum();
+        this.completed = counters.completed.sum();
+        this.failed = counters.failed.sum();
+        this.cancelled = counters.cancelled.sum();
+        this.rejected = counters.rejected.sum();
+
+        long started = counters.started.sum();
+        this.averageWaitNanos = started == 0 ? 0 : counters.totalWaitNanos.sum() / started;
+        this.maxWaitNanos = counters.maxWaitNanos.get();
+        long finished = this.completed + this.failed;
+        this.averageRunNanos = finished == 0 ? 0 : counters.totalRunNanos.sum() / finished;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%s: %d queued, %d active, %d submitted, %d completed, %d failed, %d cancelled, " +
+                        "%d rejected, wait avg %.2f ms max %.2f ms, run avg %.2f ms", name, queueDepth, activeTasks, submitted,
+                completed, failed, cancelled, rejected, averageWaitNanos / 1_000_000D, maxWaitNanos / 1_000_000D,
+                averageRunNanos / 1_000_000D);
+    }
+
+    /**
+     * The live counters behind the metrics, updated from any thread.
+     */
+    static class Counters {
+        final LongAdder submitted = new LongAdder();
+        final LongAdder started = new LongAdder();
+        final LongAdder completed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder cancelled = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder totalWaitNanos = new LongAdder();
+        final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+        final LongAdder totalRunNanos = new LongAdder();
+        /** The number of tasks running right now */
+        final AtomicLong active = new AtomicLong();
+
+        void recordStart(long waitNanos) {
+            started.increment();
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulate(waitNanos);
+            active.incrementAndGet();
+        }
+
+        void recordFinish(long runNanos, boolean success) {
+            active.decrementAndGet();
+            totalRunNanos.add(runNanos);
+            if (success) {
+                completed.increment();
+            } else {
+                failed.increment();
+            }
+        }
+
+        LaneMetrics snapshot(String name, int queueDepth) {
+            return new LaneMetrics(name, queueDepth, (int) active.get(), this);
+        }
+    }
+}
@@ -40,15 +40,16 @@ public class LimitedRepeatingScheduledTask extends ScheduledTask {
     }
 
     /**
-     * Starts the task. The run count is incremented every time the task runs until {@code RUN_LIMIT} is reached,
-     * at which point the task is cancelled.
+     * Starts the task. The run count is incremented every time the task runs. The task is cancelled as soon as its
+     * last run starts, so it doesn't stay scheduled for a run that won't happen.
      */
     @Override
     public void start() {
         if (runCount < RUN_LIMIT) {
             runCount++;
             super.start();
-        } else {
+        }
+        if (runCount >= RUN_LIMIT) {
             cancel();
         }
     }
@@ -0,0 +1,87 @@
+package codes.biscuit.skyblockaddons.misc.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hands work from background threads to the client thread. Any thread can {@link #post(Runnable)} a task, and the
+ * client thread runs the posted tasks in order when it calls {@link #drain(long)} from its tick loop.
+ */
+public class MainThreadQueue {
+
+    private final Queue<PostedTask> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final LaneMetrics.Counters counters = new LaneMetrics.Counters();
+    private final Consumer<Throwable> errorHandler;
+
+    /**
+     * @param errorHandler called with the exceptions thrown by posted tasks
+     */
+    public MainThreadQueue(Consumer<Throwable> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Queues a task to run on the client thread.
+     *
+     * @param task the task to run
+     */
+    public void post(Runnable task) {
+        counters.submitted.increment();
+        queue.add(new PostedTask(task, System.nanoTime()));
+        depth.incrementAndGet();
+    }
+
+    /**
+     * Runs the posted tasks in the order they were posted, until there are none left or the budget is used up. At
+     * least one task is run if there are any, so the queue always makes progress.
+     *
+     * @param budgetNanos the time the tasks may take before the rest are left for the next call
+     * @return the number of tasks that ran
+     */
+    public int drain(long budgetNanos) {
+        long startNanos = System.nanoTime();
+        int ran = 0;
+
+        PostedTask postedTask;
+        while ((ran == 0 || System.nanoTime() - startNanos < budgetNanos) && (postedTask = queue.poll()) != null) {
+            depth.decrementAndGet();
+
+            long taskStartNanos = System.nanoTime();
+            counters.recordStart(taskStartNanos - postedTask.postNanos);
+            boolean success = false;
+            try {
+                postedTask.task.run();
+                success = true;
+            } catch (Throwable ex) {
+                errorHandler.accept(ex);
+            }
+            counters.recordFinish(System.nanoTime() - taskStartNanos, success);
+            ran++;
+        }
+        return ran;
+    }
+
+    /**
+     * @return the number of tasks waiting to run
+     */
+    public int getDepth() {
+        return depth.get();
+    }
+
+    public LaneMetrics getMetrics() {
+        return counters.snapshot("Main Thread", depth.get());
+    }
+
+    private static class PostedTask {
+        private final Runnable task;
+        private final long postNanos;
+
+        private PostedTask(Runnable task, long postNanos) {
+            this.task = task;
+            this.postNanos = postNanos;
+        }
+    }
+}
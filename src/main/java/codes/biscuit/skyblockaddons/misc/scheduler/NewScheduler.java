@@ -1,62 +1,90 @@
 package codes.biscuit.skyblockaddons.misc.scheduler;
 
+import codes.biscuit.skyblockaddons.SkyblockAddons;
 import net.minecraft.client.Minecraft;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
+import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Runs {@link ScheduledTask}s after a delay in client ticks, optionally repeating them. Tasks are kept in a
+ * {@link TimingWheel}, so scheduling and cancelling a task doesn't depend on how many other tasks are scheduled, and a
+ * tick only looks at the tasks that could be due on it.
+ * <p>
+ * Tasks can be scheduled and cancelled from any thread. The tick counter is only written by the client thread and can
+ * be read without locking.
+ */
 public class NewScheduler {
 
-    private final List<ScheduledTask> queuedTasks = new ArrayList<>();
-    private final List<ScheduledTask> pendingTasks = new ArrayList<>();
-    private final Object anchor = new Object();
+    private static final Logger logger = SkyblockAddons.getLogger();
+
+    /** The number of slots in the wheel, tasks with longer delays wait for more than one turn of it */
+    private static final int WHEEL_SLOTS = 256;
+    /** The time the results handed back from background threads may take each tick */
+    private static final long MAIN_THREAD_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private final TimingWheel<ScheduledTask> wheel = new TimingWheel<>(WHEEL_SLOTS, 0);
+    /** The scheduled tasks by their id, for {@link #cancel(int)} */
+    private final Map<Integer, ScheduledTask> scheduledTasks = new HashMap<>();
+    /** The tasks that are due on the current tick, only used by the client thread */
+    private final List<ScheduledTask> dueTasks = new ArrayList<>();
     private volatile long totalTicks = 0;
 
-    public synchronized long getTotalTicks() {
+    public long getTotalTicks() {
         return this.totalTicks;
     }
 
     @SubscribeEvent
     public void ticker(TickEvent.ClientTickEvent event) {
         if (event.phase == TickEvent.Phase.START) {
-            synchronized (this.anchor) {
-                this.totalTicks++;
-            }
+            // Only the client thread writes the counter, so this doesn't need to be atomic.
+            this.totalTicks++;
 
             if (Minecraft.getMinecraft() != null) {
-                this.pendingTasks.removeIf(ScheduledTask::isCanceled);
-
-                this.pendingTasks.addAll(queuedTasks);
-                queuedTasks.clear();
-
-                try {
-                    for (ScheduledTask scheduledTask : this.pendingTasks) {
-                        if (this.getTotalTicks() >= (scheduledTask.getAddedTicks() + scheduledTask.getDelay())) {
-                            scheduledTask.start();
-
-                            if (scheduledTask.isRepeating()) {
-                                if (!scheduledTask.isCanceled()) {
-                                    scheduledTask.setDelay(scheduledTask.getPeriod());
-                                }
-                            } else {
-                                scheduledTask.cancel();
-                            }
-                        }
+                SkyblockAddons.getExecutor().drainMainThreadQueue(MAIN_THREAD_BUDGET_NANOS);
+
+                synchronized (this) {
+                    this.wheel.advance(this.totalTicks, this.dueTasks);
+                }
+
+                for (ScheduledTask scheduledTask : this.dueTasks) {
+                    // A task that ran earlier on this tick may have cancelled this one.
+                    if (scheduledTask.isCanceled()) {
+                        continue;
+                    }
+
+                    try {
+                        scheduledTask.start();
+                    } catch (Throwable ex) {
+                        logger.error("Scheduled task " + scheduledTask.getId() + " threw an exception.", ex);
+                    }
+
+                    if (scheduledTask.isRepeating() && !scheduledTask.isCanceled()) {
+                        scheduledTask.setDelay(scheduledTask.getPeriod());
+                        this.add(scheduledTask);
+                    } else {
+                        scheduledTask.cancel();
                     }
-                } catch (Throwable ex) {
-                    ex.printStackTrace();
                 }
+                this.dueTasks.clear();
             }
         }
     }
 
-    public synchronized void cancel(int id) {
-        pendingTasks.forEach(scheduledTask -> {
-            if (scheduledTask.getId() == id)
-                scheduledTask.cancel();
-        });
+    public void cancel(int id) {
+        ScheduledTask scheduledTask;
+        synchronized (this) {
+            scheduledTask = this.scheduledTasks.get(id);
+        }
+        if (scheduledTask != null) {
+            scheduledTask.cancel();
+        }
     }
 
     public void cancel(ScheduledTask task) {
@@ -114,7 +142,7 @@ public class NewScheduler {
      */
     public ScheduledTask runAsync(SkyblockRunnable task, int delay, int period) {
         ScheduledTask scheduledTask = new ScheduledTask(task, delay, period, true);
-        this.pendingTasks.add(scheduledTask);
+        this.add(scheduledTask);
         return scheduledTask;
     }
 
@@ -157,17 +185,13 @@ public class NewScheduler {
      * @param task The task to run.
      * @param delay The delay (in ticks) to wait before the task is run.
      * @param period The delay (in ticks) to wait before calling the task again.
-     * @param queued Whether to queue this task to be run next loop; to be used for scheduling tasks directly from a
-     *              synchronous task.
+     * @param queued Unused, tasks scheduled from a synchronous task always start on a later tick. Kept for
+     *              compatibility.
      * @return The scheduled task.
      */
     public ScheduledTask scheduleRepeatingTask(SkyblockRunnable task, int delay, int period, boolean queued) {
         ScheduledTask scheduledTask = new ScheduledTask(task, delay, period, false);
-        if (queued) {
-            this.queuedTasks.add(scheduledTask);
-        } else {
-            this.pendingTasks.add(scheduledTask);
-        }
+        this.add(scheduledTask);
         return scheduledTask;
     }
 
@@ -191,17 +215,13 @@ public class NewScheduler {
      * @param delay The delay (in ticks) to wait before the task is run.
      * @param period The delay (in ticks) to wait before calling the task again.
      * @param runLimit The maximum number of times the task should be run.
-     * @param queued Whether to queue this task to be run next loop; to be used for scheduling tasks directly from a
-     *              synchronous task.
+     * @param queued Unused, tasks scheduled from a synchronous task always start on a later tick. Kept for
+     *              compatibility.
      * @return The scheduled task.
      */
     public LimitedRepeatingScheduledTask scheduleLimitedRepeatingTask(SkyblockRunnable task, int delay, int period, int runLimit, boolean queued) {
         LimitedRepeatingScheduledTask limitedRepeatingScheduledTask = new LimitedRepeatingScheduledTask(task, delay, period, false, runLimit);
-        if (queued) {
-            this.queuedTasks.add(limitedRepeatingScheduledTask);
-        } else {
-            this.pendingTasks.add(limitedRepeatingScheduledTask);
-        }
+        this.add(limitedRepeatingScheduledTask);
         return limitedRepeatingScheduledTask;
     }
 
@@ -211,7 +231,42 @@ public class NewScheduler {
      * @param scheduledTask The ScheduledTask to run.
      */
     public void schedule(ScheduledTask scheduledTask) {
-        this.pendingTasks.add(scheduledTask);
+        this.add(scheduledTask);
+    }
+
+    /**
+     * Puts a task in the wheel, due {@link ScheduledTask#getDelay()} ticks after it was added. Tasks that are already
+     * due start on the next tick. A task that is already in the wheel is moved.
+     */
+    private synchronized void add(ScheduledTask scheduledTask) {
+        if (scheduledTask.isCanceled()) {
+            return;
+        }
+        if (scheduledTask.timeout != null) {
+            scheduledTask.timeout.cancel();
+        }
+
+        scheduledTask.scheduler = this;
+        scheduledTask.timeout = this.wheel.schedule(scheduledTask, scheduledTask.getAddedTicks() + scheduledTask.getDelay());
+        this.scheduledTasks.put(scheduledTask.getId(), scheduledTask);
+    }
+
+    /**
+     * Removes a cancelled task from the wheel.
+     */
+    synchronized void remove(ScheduledTask scheduledTask) {
+        if (scheduledTask.timeout != null) {
+            scheduledTask.timeout.cancel();
+            scheduledTask.timeout = null;
+        }
+        this.scheduledTasks.remove(scheduledTask.getId(), scheduledTask);
+    }
+
+    /**
+     * @return the number of tasks waiting to start
+     */
+    public synchronized int getScheduledTaskCount() {
+        return this.wheel.size();
     }
 
     /**
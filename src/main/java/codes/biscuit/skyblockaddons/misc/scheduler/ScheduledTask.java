@@ -17,6 +17,11 @@ public class ScheduledTask {
     private boolean repeating;
     private Runnable task;
 
+    /** The scheduler this task was scheduled in, set by the scheduler */
+    NewScheduler scheduler;
+    /** This task's place in the scheduler's wheel, or {@code null} while it isn't waiting to start */
+    TimingWheel.Timeout<ScheduledTask> timeout;
+
     /**
      * Creates a new Scheduled Task.
      *
@@ -69,6 +74,10 @@ public class ScheduledTask {
         this.repeating = false;
         this.running = false;
         this.canceled = true;
+
+        if (this.scheduler != null) {
+            this.scheduler.remove(this);
+        }
     }
 
     /**
@@ -14,7 +14,10 @@ public class Scheduler {
 
     private final SkyblockAddons main = SkyblockAddons.getInstance();
     private long totalTicks = 0;
-    private final Map<Long, Set<Command>> queue = new HashMap<>();
+    private final TimingWheel<Command> queue = new TimingWheel<>(512, 0);
+    /** The queued commands of each type by the tick they run on, used to merge commands and to remove them */
+    private final Map<CommandType, Map<Long, Command>> queuedCommands = new EnumMap<>(CommandType.class);
+    private final List<Command> dueCommands = new ArrayList<>();
 
     /**
      * This class is a little something I came up with in order to schedule things
@@ -30,48 +33,35 @@ public class Scheduler {
         }
 
         long ticks = totalTicks + (delaySeconds * 20L);
-        Set<Command> commands = queue.get(ticks);
-        if (commands != null) {
-            for (Command command : commands) {
-                if (command.getCommandType() == commandType) {
-                    command.addCount(data);
-                    return;
-                }
-            }
-            commands.add(new Command(commandType, data));
+        Map<Long, Command> commandsOfType = queuedCommands.computeIfAbsent(commandType, type -> new HashMap<>());
+        Command command = commandsOfType.get(ticks);
+        if (command != null) {
+            command.addCount(data);
         } else {
-            Set<Command> commandSet = new HashSet<>();
-            commandSet.add(new Command(commandType, data));
-            queue.put(ticks, commandSet);
+            command = new Command(commandType, ticks, data);
+            command.timeout = queue.schedule(command, ticks);
+            commandsOfType.put(ticks, command);
         }
     }
 
     /**
-     * Removes all queued full inventory warnings.
+     * Removes all queued full inventory warnings, along with the title resets that were scheduled with them.
      */
     public void removeQueuedFullInventoryWarnings() {
-        Iterator<Map.Entry<Long, Set<Command>>> queueIterator = queue.entrySet().iterator();
-        List<Long> resetTitleFeatureTicks = new LinkedList<>();
-
-        while (queueIterator.hasNext()) {
-            Map.Entry<Long, Set<Command>> entry = queueIterator.next();
+        Map<Long, Command> warnings = queuedCommands.get(CommandType.SHOW_FULL_INVENTORY_WARNING);
+        if (warnings == null || warnings.isEmpty()) {
+            return;
+        }
 
-            if (entry.getValue().removeIf(command -> CommandType.SHOW_FULL_INVENTORY_WARNING.equals(command.commandType))) {
-                resetTitleFeatureTicks.add(entry.getKey() + main.getConfigValues().getWarningSeconds() * 20L);
-            }
+        long warningTicks = main.getConfigValues().getWarningSeconds() * 20L;
+        for (Command warning : new ArrayList<>(warnings.values())) {
+            remove(warning);
 
             // Remove the corresponding reset title feature command.
-            if (resetTitleFeatureTicks.contains(entry.getKey())) {
-                Set<Command> commands = entry.getValue();
-                Iterator<Command> commandIterator = commands.iterator();
-
-                while (commandIterator.hasNext()) {
-                    Command command = commandIterator.next();
-                    if (command.commandType.equals(CommandType.RESET_TITLE_FEATURE)) {
-                        commandIterator.remove();
-                        break;
-                    }
-                }
+            Map<Long, Command> titleResets = queuedCommands.get(CommandType.RESET_TITLE_FEATURE);
+            Command titleReset = titleResets == null ? null : titleResets.get(warning.getTicks() + warningTicks);
+            if (titleReset != null) {
+                remove(titleReset);
             }
         }
     }
@@ -80,26 +70,37 @@ public class Scheduler {
     public void ticker(TickEvent.ClientTickEvent e) {
         if (e.phase == TickEvent.Phase.START) {
             totalTicks++;
-            Set<Command> commands = queue.get(totalTicks);
-            if (commands != null) {
-                for (Command command : commands) {
-                    for (int times = 0; times < command.getCount().getValue(); times++) {
-                        command.getCommandType().execute();
-                    }
+            queue.advance(totalTicks, dueCommands);
+            for (Command command : dueCommands) {
+                queuedCommands.get(command.getCommandType()).remove(command.getTicks());
+            }
+
+            for (Command command : dueCommands) {
+                for (int times = 0; times < command.getCount().getValue(); times++) {
+                    command.getCommandType().execute();
                 }
-                queue.remove(totalTicks);
             }
+            dueCommands.clear();
         }
     }
 
+    private void remove(Command command) {
+        command.timeout.cancel();
+        queuedCommands.get(command.getCommandType()).remove(command.getTicks());
+    }
+
     @Getter
     private static class Command {
         private final CommandType commandType;
+        /** The tick this command runs on */
+        private final long ticks;
         private final MutableInt count = new MutableInt(1);
         private final Map<Integer, Object[]> countData = new HashMap<>();
+        private TimingWheel.Timeout<Command> timeout;
 
-        private Command(CommandType commandType, Object... data) {
+        private Command(CommandType commandType, long ticks, Object... data) {
             this.commandType = commandType;
+            this.ticks = ticks;
             if (data.length > 0) {
                 countData.put(1, data);
             }
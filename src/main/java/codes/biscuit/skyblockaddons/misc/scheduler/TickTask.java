@@ -0,0 +1,151 @@
+package codes.biscuit.skyblockaddons.misc.scheduler;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A job that runs periodically on the client tick, registered in a {@link TickTaskRegistry}. A task declares how often
+ * it runs, optionally which tick of its period it runs on, the conditions it needs to run, and how long it's expected
+ * to take. Tasks whose conditions aren't met are skipped without running any of their code.
+ * <p>
+ * Each task keeps track of how often it ran and how long it took.
+ */
+@Getter
+public class TickTask {
+
+    /** The budget of a task that doesn't declare one */
+    private static final long DEFAULT_BUDGET_NANOS = TimeUnit.MICROSECONDS.toNanos(250);
+
+    private final String name;
+    /** The number of ticks between runs */
+    private final int period;
+    /** The tick of the period this runs on, or {@code -1} to let the registry pick the least busy one */
+    private int offset = -1;
+    /** The time this task is expected to take, used to spread tasks out and to count slow runs */
+    private long budgetNanos = DEFAULT_BUDGET_NANOS;
+
+    private long runs;
+    /** The number of times this was due but its conditions weren't met */
+    private long skips;
+    /** The number of times this was pushed to the next tick because the tick's budget was used up */
+    private long deferrals;
+    /** The number of runs that took longer than the budget */
+    private long overBudgetRuns;
+    private long failures;
+    private long totalNanos;
+    private long maxNanos;
+
+    @Getter(AccessLevel.NONE) private final Runnable job;
+    @Getter(AccessLevel.NONE) private BooleanSupplier precondition = () -> true;
+
+    private TickTask(int period, String name, Runnable job) {
+        if (period < 1) {
+            throw new IllegalArgumentException("The period of " + name + " must be at least 1 tick");
+        }
+        this.period = period;
+        this.name = name;
+        this.job = job;
+    }
+
+    /**
+     * Creates a task that runs every {@code period} ticks.
+     *
+     * @param period the number of ticks between runs
+     * @param name the name of the task, shown in its timings
+     * @param job the code to run
+     * @return the task, which can be further configured until it is registered
+     */
+    public static TickTask every(int period, String name, Runnable job) {
+        return new TickTask(period, name, job);
+    }
+
+    /**
+     * Runs this task on a specific tick of its period instead of the least busy one.
+     *
+     * @param offset the tick of the period to run on, from {@code 0} to {@code period - 1}
+     * @return this task
+     */
+    public TickTask offset(int offset) {
+        if (offset < 0 || offset >= period) {
+            throw new IllegalArgumentException("The offset of " + name + " must be between 0 and " + (period - 1));
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * Adds a condition that must be met for this task to run. Multiple conditions must all be met, and are checked in
+     * the order they were added.
+     *
+     * @param condition the condition
+     * @return this task
+     */
+    public TickTask when(BooleanSupplier condition) {
+        BooleanSupplier previous = precondition;
+        precondition = () -> previous.getAsBoolean() && condition.getAsBoolean();
+        return this;
+    }
+
+    /**
+     * Sets the time this task is expected to take.
+     *
+     * @param budgetMicros the budget in microseconds
+     * @return this task
+     */
+    public TickTask budgetMicros(long budgetMicros) {
+        this.budgetNanos = TimeUnit.MICROSECONDS.toNanos(budgetMicros);
+        return this;
+    }
+
+    /**
+     * @return the average time a run took in nanoseconds, or {@code 0} if this hasn't run yet
+     */
+    public long getAverageNanos() {
+        return runs == 0 ? 0 : totalNanos / runs;
+    }
+
+    void setAssignedOffset(int offset) {
+        this.offset = offset;
+    }
+
+    boolean isDue(long tick) {
+        return tick % period == offset;
+    }
+
+    void markDeferred() {
+        deferrals++;
+    }
+
+    /**
+     * Checks this task's conditions and runs it if they're met.
+     *
+     * @return the exception thrown by the task, or {@code null} if it didn't throw one
+     */
+    RuntimeException run() {
+        if (!precondition.getAsBoolean()) {
+            skips++;
+            return null;
+        }
+
+        long startNanos = System.nanoTime();
+        RuntimeException exception = null;
+        try {
+            job.run();
+        } catch (RuntimeException ex) {
+            failures++;
+            exception = ex;
+        }
+        long nanos = System.nanoTime() - startNanos;
+
+        runs++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+        if (nanos > budgetNanos) {
+            overBudgetRuns++;
+        }
+        return exception;
+    }
+}
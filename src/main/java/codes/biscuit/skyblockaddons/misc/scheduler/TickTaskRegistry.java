@@ -0,0 +1,152 @@
+package codes.biscuit.skyblockaddons.misc.scheduler;
+
+import codes.biscuit.skyblockaddons.SkyblockAddons;
+import lombok.Getter;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs periodic {@link TickTask}s on the client tick. Tasks that don't ask for a specific offset are placed on the
+ * least busy tick of their period, so work is spread across ticks instead of piling up on the same one. If the tasks
+ * that are due on a tick take longer than the tick budget, the rest are pushed to the next tick.
+ * <p>
+ * This is only used from the client thread.
+ */
+public class TickTaskRegistry {
+
+    private static final Logger logger = SkyblockAddons.getLogger();
+
+    /** The longest cycle considered when spreading tasks out */
+    private static final int MAX_HORIZON = 1200;
+
+    private final long tickBudgetNanos;
+    private final List<TickTask> tasks = new ArrayList<>();
+    private final List<TickTask> deferredTasks = new ArrayList<>();
+    private final List<TickTask> runningDeferredTasks = new ArrayList<>();
+
+    /** The number of ticks that have run */
+    @Getter private long ticks;
+
+    /**
+     * @param tickBudgetMicros the time the tasks on a single tick may take before the remaining ones are deferred
+     */
+    public TickTaskRegistry(long tickBudgetMicros) {
+        this.tickBudgetNanos = TimeUnit.MICROSECONDS.toNanos(tickBudgetMicros);
+    }
+
+    /**
+     * Registers a task. If it has no offset, it is given the offset whose ticks have the least budgeted work.
+     *
+     * @param task the task to register
+     * @return the task
+     */
+    public TickTask register(TickTask task) {
+        if (task.getOffset() == -1) {
+            task.setAssignedOffset(getLeastBusyOffset(task.getPeriod()));
+        }
+        tasks.add(task);
+        return task;
+    }
+
+    /**
+     * Runs the tasks that are due on this tick, starting with the ones that were deferred from the previous tick.
+     * Deferred tasks are never deferred twice.
+     */
+    public void tick() {
+        long tick = ticks++;
+        long startNanos = System.nanoTime();
+        boolean ranTask = false;
+
+        runningDeferredTasks.addAll(deferredTasks);
+        deferredTasks.clear();
+        for (TickTask task : runningDeferredTasks) {
+            run(task);
+            ranTask = true;
+        }
+        runningDeferredTasks.clear();
+
+        for (TickTask task : tasks) {
+            if (task.isDue(tick)) {
+                if (ranTask && System.nanoTime() - startNanos >= tickBudgetNanos) {
+                    task.markDeferred();
+                    deferredTasks.add(task);
+                } else {
+                    run(task);
+                    ranTask = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the registered tasks, in the order they were registered
+     */
+    public List<TickTask> getTasks() {
+        return Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * Returns the budgeted work on each tick of a cycle that contains a whole number of every task's period.
+     *
+     * @param extraPeriod the period of a task that is about to be registered, included in the cycle length
+     * @return the budgeted nanoseconds of work on each tick of the cycle
+     */
+    long[] getBudgetedLoad(int extraPeriod) {
+        int horizon = extraPeriod;
+        for (TickTask task : tasks) {
+            horizon = lcm(horizon, task.getPeriod());
+        }
+
+        long[] load = new long[horizon];
+        for (TickTask task : tasks) {
+            for (int tick = task.getOffset(); tick < horizon; tick += task.getPeriod()) {
+                load[tick] += task.getBudgetNanos();
+            }
+        }
+        return load;
+    }
+
+    private int getLeastBusyOffset(int period) {
+        long[] load = getBudgetedLoad(period);
+
+        int bestOffset = 0;
+        long bestPeak = Long.MAX_VALUE;
+        long bestTotal = Long.MAX_VALUE;
+        for (int offset = 0; offset < period; offset++) {
+            long peak = 0;
+            long total = 0;
+            for (int tick = offset; tick < load.length; tick += period) {
+                peak = Math.max(peak, load[tick]);
+                total += load[tick];
+            }
+
+            if (peak < bestPeak || peak == bestPeak && total < bestTotal) {
+                bestOffset = offset;
+                bestPeak = peak;
+                bestTotal = total;
+            }
+        }
+        return bestOffset;
+    }
+
+    private void run(TickTask task) {
+        RuntimeException exception = task.run();
+        if (exception != null && task.getFailures() == 1) {
+            logger.error("The tick task " + task.getName() + " threw an exception. Further exceptions from it won't be logged.", exception);
+        }
+    }
+
+    private static int lcm(int a, int b) {
+        int gcd = a;
+        for (int remainder = b; remainder != 0; ) {
+            int temp = gcd % remainder;
+            gcd = remainder;
+            remainder = temp;
+        }
+        return (int) Math.min(MAX_HORIZON, (long) a / gcd * b);
+    }
+}
@@ -0,0 +1,199 @@
+package codes.biscuit.skyblockaddons.misc.scheduler;
+
+import java.util.List;
+
+/**
+ * A hashed timing wheel that holds values until the tick they're scheduled for. Each slot of the wheel is a linked list
+ * of the timeouts whose deadline maps to it, so scheduling and cancelling are O(1) and advancing a tick only looks at
+ * the timeouts in that tick's slot. Deadlines further away than the number of slots share a slot with nearer ones and
+ * are skipped until their round comes up.
+ * <p>
+ * Timeouts that are due on the same tick expire in the order they were scheduled.
+ * <p>
+ * This class isn't thread safe, callers that use it from more than one thread must synchronize access to it.
+ *
+ * @param <T> the type of the scheduled values
+ */
+public class TimingWheel<T> {
+
+    private final Timeout<T>[] heads;
+    private final Timeout<T>[] tails;
+    private final int mask;
+
+    /** The last tick that was advanced to */
+    private long tick;
+    private int size;
+
+    /**
+     * @param slotCount the number of slots, rounded up to a power of two
+     * @param startTick the current tick, timeouts are scheduled relative to it
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int slotCount, long startTick) {
+        if (slotCount < 1 || slotCount > 1 << 30) {
+            throw new IllegalArgumentException("The slot count must be between 1 and 2^30");
+        }
+        int slots = Integer.highestOneBit(slotCount);
+        if (slots < slotCount) {
+            slots <<= 1;
+        }
+
+        heads = (Timeout<T>[]) new Timeout[slots];
+        tails = (Timeout<T>[]) new Timeout[slots];
+        mask = slots - 1;
+        tick = startTick;
+    }
+
+    /**
+     * Schedules a value to expire on the given tick. Deadlines that have already passed expire on the next tick.
+     *
+     * @param value the value to schedule
+     * @param deadline the tick to expire on
+     * @return the timeout, which can be used to cancel it
+     */
+    public Timeout<T> schedule(T value, long deadline) {
+        Timeout<T> timeout = new Timeout<>(this, value, Math.max(deadline, tick + 1));
+        int slot = (int) (timeout.deadline & mask);
+
+        Timeout<T> tail = tails[slot];
+        if (tail == null) {
+            heads[slot] = timeout;
+        } else {
+            tail.next = timeout;
+            timeout.prev = tail;
+        }
+        tails[slot] = timeout;
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Removes a timeout from the wheel.
+     *
+     * @param timeout the timeout to remove
+     * @return {@code true} if it was removed, {@code false} if it had already expired, been cancelled, or belongs to
+     * another wheel
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.wheel != this) {
+            return false;
+        }
+        unlink(timeout);
+        return true;
+    }
+
+    /**
+     * Advances the wheel one tick at a time up to the given tick, collecting the values that expire along the way.
+     *
+     * @param toTick the tick to advance to
+     * @param expired the list to add the expired values to, in the order they expired
+     * @return the number of values that expired
+     */
+    public int advance(long toTick, List<? super T> expired) {
+        int expiredCount = 0;
+        while (tick < toTick) {
+            tick++;
+
+            Timeout<T> timeout = heads[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.deadline <= tick) {
+                    unlink(timeout);
+                    expired.add(timeout.value);
+                    expiredCount++;
+                }
+                timeout = next;
+            }
+        }
+        return expiredCount;
+    }
+
+    /**
+     * @return the last tick that was advanced to
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return the number of timeouts that haven't expired or been cancelled
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of slots in the wheel
+     */
+    public int getSlotCount() {
+        return heads.length;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        int slot = (int) (timeout.deadline & mask);
+        if (timeout.prev == null) {
+            heads[slot] = timeout.next;
+        } else {
+            timeout.prev.next = timeout.next;
+        }
+        if (timeout.next == null) {
+            tails[slot] = timeout.prev;
+        } else {
+            timeout.next.prev = timeout.prev;
+        }
+
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.wheel = null;
+        size--;
+    }
+
+    /**
+     * A value scheduled in a {@link TimingWheel}.
+     *
+     * @param <T> the type of the value
+     */
+    public static class Timeout<T> {
+        private final T value;
+        private final long deadline;
+
+        /** The wheel this is in, or {@code null} once it has expired or been cancelled */
+        private TimingWheel<T> wheel;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(TimingWheel<T> wheel, T value, long deadline) {
+            this.wheel = wheel;
+            this.value = value;
+            this.deadline = deadline;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * @return the tick this expires on
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * @return {@code true} if this hasn't expired or been cancelled yet
+         */
+        public boolean isPending() {
+            return wheel != null;
+        }
+
+        /**
+         * Removes this from its wheel.
+         *
+         * @return {@code true} if it was removed, {@code false} if it had already expired or been cancelled
+         */
+        public boolean cancel() {
+            TimingWheel<T> currentWheel = wheel;
+            return currentWheel != null && currentWheel.cancel(this);
+        }
+    }
+}
@@ -14,9 +14,14 @@ import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.tree.ClassNode;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.util.Collection;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 public class SkyblockAddonsTransformer implements IClassTransformer {
 
@@ -25,9 +30,42 @@ public class SkyblockAddonsTransformer implements IClassTransformer {
     @Getter
     private static final boolean usingNotchMappings = !deobfuscated;
 
+    /**
+     * The launch blackboard key of the transformer timings. The timings are kept on the blackboard using only JDK
+     * types, so the mod can read them regardless of which class loader loaded this class.
+     *
+     * @see codes.biscuit.skyblockaddons.utils.StartupProfiler#getTransformerTimings()
+     */
+    public static final String TIMINGS_BLACKBOARD_KEY = "skyblockaddons.transformerTimings";
+    /** The indices of the values in each transformer's timing array */
+    public static final int TIMING_CLASSES = 0, TIMING_NANOS = 1, TIMING_ALLOCATED_BYTES = 2;
+    /** The name the time spent reading and writing class bytes is recorded under */
+    private static final String CLASS_IO_TIMING_NAME = "ClassReader/ClassWriter";
+    /** The name the time spent loading classes from the bytecode cache is recorded under */
+    private static final String CACHE_TIMING_NAME = "TransformedClassCache";
+    /** Set this system property to {@code true} to always transform classes live */
+    private static final String DISABLE_CACHE_PROPERTY = "skyblockaddons.disableBytecodeCache";
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
     private final Multimap<String, ITransformer> transformerMap = ArrayListMultimap.create();
+    private final Map<String, AtomicLongArray> timings = new ConcurrentHashMap<>();
+    /** The cache of transformed classes, or {@code null} if classes are always transformed live */
+    private final TransformedClassCache cache;
 
+    /**
+     * Creates the transformer with the bytecode cache in the config folder. The cache is only used in production, since
+     * transformers change without the mod version changing during development.
+     */
     public SkyblockAddonsTransformer() {
+        this(deobfuscated || Boolean.getBoolean(DISABLE_CACHE_PROPERTY) ? null :
+                new File(Launch.minecraftHome, "config/skyblockaddons_bytecode_cache"));
+    }
+
+    /**
+     * @param cacheDirectory the directory to cache transformed classes in, or {@code null} to always transform live
+     */
+    public SkyblockAddonsTransformer(File cacheDirectory) {
         registerTransformer(new TileEntityEnderChestRendererTransformer());
         registerTransformer(new MouseHelperTransformer());
         registerTransformer(new EntityPlayerSPTransformer());
@@ -61,6 +99,10 @@ public class SkyblockAddonsTransformer implements IClassTransformer {
         registerTransformer(new ItemArmorDispenserBehaviorTransformer());
         registerTransformer(new ItemArmorTransformer());
         registerTransformer(new WorldVertexBufferUploaderTransformer());
+        registerTransformer(new NetHandlerPlayClientTransformer());
+
+        Launch.blackboard.put(TIMINGS_BLACKBOARD_KEY, timings);
+        cache = cacheDirectory == null ? null : createCache(cacheDirectory);
     }
 
     private void registerTransformer(ITransformer transformer) {
@@ -80,16 +122,66 @@ public class SkyblockAddonsTransformer implements IClassTransformer {
             return bytes;
         }
 
+        if (cache != null) {
+            long startNanos = System.nanoTime();
+            long startAllocatedBytes = getAllocatedBytes();
+            byte[] cachedBytes = cache.get(transformedName, bytes);
+
+            if (cachedBytes != null) {
+                recordTiming(CACHE_TIMING_NAME, System.nanoTime() - startNanos, getAllocatedBytes() - startAllocatedBytes);
+                outputBytecode(transformedName, cachedBytes);
+                return cachedBytes;
+            }
+        }
+
+        byte[] transformedBytes = transformLive(transformedName, bytes, transformers);
+        if (transformedBytes == null) {
+            return bytes;
+        }
+
+        if (cache != null) {
+            try {
+                cache.put(transformedName, bytes, transformedBytes);
+            } catch (Exception ex) {
+                log(Level.WARN, "Could not cache the transformed bytecode of " + transformedName + ": " + ex);
+            }
+        }
+        return transformedBytes;
+    }
+
+    /**
+     * Runs the given transformers on a class without using the cache.
+     *
+     * @param transformedName the deobfuscated name of the class
+     * @param bytes the class bytes
+     * @param transformers the transformers to run on the class
+     * @return the transformed class bytes, or {@code null} if the class couldn't be transformed
+     */
+    public byte[] transformLive(String transformedName, byte[] bytes, Collection<ITransformer> transformers) {
+        long startNanos = System.nanoTime();
+        long startAllocatedBytes = getAllocatedBytes();
+
         ClassReader reader = new ClassReader(bytes);
         ClassNode node = new ClassNode();
         reader.accept(node, ClassReader.EXPAND_FRAMES);
 
         MutableInt classWriterFlags = new MutableInt(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        long transformNanos = 0;
+        long transformAllocatedBytes = 0;
 
-        transformers.forEach(transformer -> {
+        for (ITransformer transformer : transformers) {
             log(Level.INFO, String.format("Applying transformer %s on %s...", transformer.getClass().getName(), transformedName));
+
+            long transformerStartNanos = System.nanoTime();
+            long transformerStartAllocatedBytes = getAllocatedBytes();
             transformer.transform(node, transformedName);
-        });
+            long nanos = System.nanoTime() - transformerStartNanos;
+            long allocatedBytes = getAllocatedBytes() - transformerStartAllocatedBytes;
+
+            recordTiming(transformer.getClass().getSimpleName(), nanos, allocatedBytes);
+            transformNanos += nanos;
+            transformAllocatedBytes += allocatedBytes;
+        }
 
         ClassWriter writer = new ClassWriter(classWriterFlags.getValue());
 
@@ -99,16 +191,120 @@ public class SkyblockAddonsTransformer implements IClassTransformer {
             log(Level.ERROR, "An exception occurred while transforming " + transformedName);
             ex.printStackTrace();
             outputBytecode(transformedName, writer);
-            return bytes;
+            return null;
         }
 
-        outputBytecode(transformedName, writer);
+        byte[] transformedBytes = writer.toByteArray();
+        outputBytecode(transformedName, transformedBytes);
 
-        return writer.toByteArray();
+        recordTiming(CLASS_IO_TIMING_NAME, System.nanoTime() - startNanos - transformNanos,
+                getAllocatedBytes() - startAllocatedBytes - transformAllocatedBytes);
+        return transformedBytes;
+    }
+
+    /**
+     * @return the deobfuscated names of the classes this transforms
+     */
+    public Set<String> getTransformedClassNames() {
+        return Collections.unmodifiableSet(transformerMap.keySet());
+    }
+
+    /**
+     * @param transformedName the deobfuscated name of a class
+     * @return the transformers that run on the class
+     */
+    public Collection<ITransformer> getTransformers(String transformedName) {
+        return Collections.unmodifiableCollection(transformerMap.get(transformedName));
+    }
+
+    /**
+     * Creates the bytecode cache. Its fingerprint covers the bytecode of this class and every registered transformer,
+     * the size and modification time of the mod's jar, and the mappings in use, so updating the mod or changing any of
+     * them invalidates the cache.
+     *
+     * @param cacheDirectory the directory to keep the cache in
+     * @return the cache, or {@code null} if the fingerprint couldn't be computed
+     */
+    private TransformedClassCache createCache(File cacheDirectory) {
+        try {
+            MessageDigest digest = TransformedClassCache.newSha256();
+            digest.update((byte) (deobfuscated ? 1 : 0));
+            File modFile = new File(getClass().getProtectionDomain().getCodeSource().getLocation().toURI());
+            digest.update((modFile.getName() + ':' + modFile.length() + ':' + modFile.lastModified())
+                    .getBytes(StandardCharsets.UTF_8));
+            updateDigest(digest, toResourceName(getClass()));
+
+            SortedSet<String> transformerClasses = new TreeSet<>();
+            for (ITransformer transformer : transformerMap.values()) {
+                transformerClasses.add(toResourceName(transformer.getClass()));
+            }
+            for (String transformerClass : transformerClasses) {
+                digest.update(transformerClass.getBytes(StandardCharsets.UTF_8));
+                updateDigest(digest, transformerClass);
+            }
+
+            StringBuilder fingerprint = new StringBuilder();
+            for (byte b : digest.digest()) {
+                fingerprint.append(String.format("%02x", b));
+            }
+            return new TransformedClassCache(cacheDirectory, fingerprint.toString());
+        } catch (Exception ex) {
+            log(Level.WARN, "Could not fingerprint the transformers, the bytecode cache is disabled: " + ex);
+            return null;
+        }
+    }
+
+    private void updateDigest(MessageDigest digest, String resourceName) throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(resourceName)) {
+            if (inputStream == null) {
+                throw new FileNotFoundException(resourceName);
+            }
+
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    private static String toResourceName(Class<?> cls) {
+        return cls.getName().replace('.', '/') + ".class";
+    }
+
+    private void recordTiming(String name, long nanos, long allocatedBytes) {
+        AtomicLongArray timing = timings.computeIfAbsent(name, key -> new AtomicLongArray(3));
+        timing.incrementAndGet(TIMING_CLASSES);
+        timing.addAndGet(TIMING_NANOS, nanos);
+        timing.addAndGet(TIMING_ALLOCATED_BYTES, allocatedBytes);
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far, or {@code 0} if the JVM can't report this
+     */
+    private static long getAllocatedBytes() {
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+            if (threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+                return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return 0;
     }
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
     private void outputBytecode(String transformedName, ClassWriter writer) {
+        if (new File("bytecode").exists()) {
+            try {
+                outputBytecode(transformedName, writer.toByteArray());
+            } catch (Exception ex) {
+                log(Level.ERROR, "An error occurred writing bytecode of transformed class \"" + transformedName + "\" to file");
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    private void outputBytecode(String transformedName, byte[] bytecode) {
         try {
             File bytecodeDirectory = new File("bytecode");
             if (!bytecodeDirectory.exists()) return;
@@ -117,7 +313,7 @@ public class SkyblockAddonsTransformer implements IClassTransformer {
             if (!bytecodeOutput.exists()) bytecodeOutput.createNewFile();
 
             FileOutputStream os = new FileOutputStream(bytecodeOutput);
-            os.write(writer.toByteArray());
+            os.write(bytecode);
             os.close();
         } catch (Exception ex) {
             log(Level.ERROR, "An error occurred writing bytecode of transformed class \"" + transformedName + "\" to file");
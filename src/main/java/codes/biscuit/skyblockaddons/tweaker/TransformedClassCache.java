@@ -0,0 +1,133 @@
+package codes.biscuit.skyblockaddons.tweaker;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * An on-disk cache of the class bytes produced by {@link SkyblockAddonsTransformer}, so the classes don't have to be
+ * re-read, transformed and have their frames recomputed on every launch.
+ * <p>
+ * Each class has one entry file. An entry is only used if the fingerprint of the transformers that made it and the
+ * SHA-256 hash of the input bytes both match, so changes to the mod, the mappings, or another mod's transformers that
+ * run earlier all fall back to live transformation. Entries that can't be read for any reason are treated as misses.
+ * <p>
+ * Entry format: the magic number, the format version, the fingerprint as modified UTF-8, the input hash, the output
+ * length and bytes, and the output hash.
+ * <p>
+ * This class doesn't use any Minecraft or mod classes since it is used before the game has started.
+ */
+public class TransformedClassCache {
+
+    private static final int MAGIC = 0x53424243; // "SBBC"
+    private static final byte FORMAT_VERSION = 1;
+    private static final String ENTRY_EXTENSION = ".bin";
+    /** Entries larger than this are treated as corrupt */
+    private static final int MAX_CLASS_SIZE = 16 << 20;
+
+    private final File directory;
+    private final String fingerprint;
+
+    /**
+     * @param directory the directory to keep the entries in
+     * @param fingerprint identifies the transformers, entries made with a different fingerprint are ignored
+     */
+    public TransformedClassCache(File directory, String fingerprint) {
+        this.directory = directory;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Returns the cached transformed bytes of a class if they were made from the same input by the same transformers.
+     *
+     * @param transformedName the deobfuscated name of the class
+     * @param inputBytes the class bytes before transformation
+     * @return the cached transformed bytes, or {@code null} if there isn't a valid entry
+     */
+    public byte[] get(String transformedName, byte[] inputBytes) {
+        File entryFile = getEntryFile(transformedName);
+        if (!entryFile.isFile()) {
+            return null;
+        }
+
+        try (DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(entryFile)))) {
+            if (dataInputStream.readInt() != MAGIC || dataInputStream.readByte() != FORMAT_VERSION ||
+                    !fingerprint.equals(dataInputStream.readUTF())) {
+                return null;
+            }
+
+            byte[] inputHash = new byte[32];
+            dataInputStream.readFully(inputHash);
+            if (!Arrays.equals(inputHash, sha256(inputBytes))) {
+                return null;
+            }
+
+            int length = dataInputStream.readInt();
+            if (length <= 0 || length > MAX_CLASS_SIZE) {
+                return null;
+            }
+            byte[] outputBytes = new byte[length];
+            dataInputStream.readFully(outputBytes);
+
+            byte[] outputHash = new byte[32];
+            dataInputStream.readFully(outputHash);
+            return Arrays.equals(outputHash, sha256(outputBytes)) ? outputBytes : null;
+        } catch (IOException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores the transformed bytes of a class, replacing any existing entry for it.
+     *
+     * @param transformedName the deobfuscated name of the class
+     * @param inputBytes the class bytes before transformation
+     * @param outputBytes the class bytes after transformation
+     * @throws IOException if the entry couldn't be written
+     */
+    public void put(String transformedName, byte[] inputBytes, byte[] outputBytes) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Could not create the bytecode cache directory " + directory);
+        }
+
+        File entryFile = getEntryFile(transformedName);
+        File tempFile = new File(directory, entryFile.getName() + ".tmp");
+        try (DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            dataOutputStream.writeInt(MAGIC);
+            dataOutputStream.writeByte(FORMAT_VERSION);
+            dataOutputStream.writeUTF(fingerprint);
+            dataOutputStream.write(sha256(inputBytes));
+            dataOutputStream.writeInt(outputBytes.length);
+            dataOutputStream.write(outputBytes);
+            dataOutputStream.write(sha256(outputBytes));
+        }
+
+        try {
+            Files.move(tempFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tempFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private File getEntryFile(String transformedName) {
+        return new File(directory, transformedName + ENTRY_EXTENSION);
+    }
+
+    static byte[] sha256(byte[] bytes) {
+        return newSha256().digest(bytes);
+    }
+
+    static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+}
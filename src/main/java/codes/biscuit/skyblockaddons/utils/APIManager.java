@@ -3,6 +3,7 @@ package codes.biscuit.skyblockaddons.utils;
 import codes.biscuit.skyblockaddons.SkyblockAddons;
 import codes.biscuit.skyblockaddons.features.slayertracker.SlayerBoss;
 import codes.biscuit.skyblockaddons.features.slayertracker.SlayerTracker;
+import codes.biscuit.skyblockaddons.misc.scheduler.ExecutorLane;
 import codes.biscuit.skyblockaddons.utils.pojo.PlayerData;
 import codes.biscuit.skyblockaddons.utils.pojo.Profile;
 import codes.biscuit.skyblockaddons.utils.pojo.ProfileMembers;
@@ -33,7 +34,7 @@ public class APIManager {
         if (profileName != null) {
             String uuid = Minecraft.getMinecraft().thePlayer.getUniqueID().toString().replace("-", ""); // No dashes
 
-            SkyblockAddons.runAsync(() -> {
+            SkyblockAddons.runAsync(ExecutorLane.NETWORK, () -> {
                 if (firstSwitch) {
                     pullPlayer(uuid);
                     firstSwitch = false;
@@ -58,7 +59,7 @@ public class APIManager {
             connection.disconnect();
 
             if (playerData != null && playerData.getLanguage() != null) {
-                main.getPersistentValuesManager().getPersistentValues().setHypixelLanguage(playerData.getLanguage());
+                SkyblockAddons.runOnMainThread(() -> main.getPersistentValuesManager().getPersistentValues().setHypixelLanguage(playerData.getLanguage()));
             }
 
         } catch (Exception ex) {
@@ -112,62 +113,67 @@ public class APIManager {
             ProfileMembers profileMembers = SkyblockAddons.getGson().fromJson(new InputStreamReader(connection.getInputStream()), ProfileMembers.class);
             connection.disconnect();
 
-            if (profileMembers.getMembers().containsKey(uuid)) {
-                ProfileMembers.MemberData memberData = profileMembers.getMembers().get(uuid);
-
-                ProfileMembers.Slayers slayers = memberData.getSlayer();
-                if (slayers != null) {
-                    ProfileMembers.SlayerData zombie = memberData.getSlayer().getZombie();
-                    ProfileMembers.SlayerData spider = memberData.getSlayer().getSpider();
-                    ProfileMembers.SlayerData wolf = memberData.getSlayer().getWolf();
-                    ProfileMembers.SlayerData enderman = memberData.getSlayer().getEnderman();
-
-                    if (zombie != null && zombie.getKills_tier() != null) {
-                        int total = 0;
-                        for (Integer kills : zombie.getKills_tier().values()) {
-                            total += kills;
-                        }
-                        SlayerTracker.getInstance().setKillCount(SlayerBoss.REVENANT, total);
-                    }
+            // Apply the data on the client thread, since the game reads it from there.
+            SkyblockAddons.runOnMainThread(() -> applyProfileData(uuid, profileMembers));
+        } catch (Exception ex) {
+            logger.warn("Failed to grab profile API data!");
+            logger.catching(ex);
+        }
+    }
 
-                    if (spider != null && spider.getKills_tier() != null) {
-                        int total = 0;
-                        for (Integer kills : spider.getKills_tier().values()) {
-                            total += kills;
-                        }
-                        SlayerTracker.getInstance().setKillCount(SlayerBoss.TARANTULA, total);
+    private void applyProfileData(String uuid, ProfileMembers profileMembers) {
+        if (profileMembers.getMembers().containsKey(uuid)) {
+            ProfileMembers.MemberData memberData = profileMembers.getMembers().get(uuid);
+
+            ProfileMembers.Slayers slayers = memberData.getSlayer();
+            if (slayers != null) {
+                ProfileMembers.SlayerData zombie = memberData.getSlayer().getZombie();
+                ProfileMembers.SlayerData spider = memberData.getSlayer().getSpider();
+                ProfileMembers.SlayerData wolf = memberData.getSlayer().getWolf();
+                ProfileMembers.SlayerData enderman = memberData.getSlayer().getEnderman();
+
+                if (zombie != null && zombie.getKills_tier() != null) {
+                    int total = 0;
+                    for (Integer kills : zombie.getKills_tier().values()) {
+                        total += kills;
                     }
+                    SlayerTracker.getInstance().setKillCount(SlayerBoss.REVENANT, total);
+                }
 
-                    if (wolf != null && wolf.getKills_tier() != null) {
-                        int total = 0;
-                        for (Integer kills : wolf.getKills_tier().values()) {
-                            total += kills;
-                        }
-                        SlayerTracker.getInstance().setKillCount(SlayerBoss.SVEN, total);
-                    }
-                    if (enderman != null && enderman.getKills_tier() != null) {
-                        int total = 0;
-                        for (Integer kills : enderman.getKills_tier().values()) {
-                            total += kills;
-                        }
-                        SlayerTracker.getInstance().setKillCount(SlayerBoss.VOIDGLOOM, total);
+                if (spider != null && spider.getKills_tier() != null) {
+                    int total = 0;
+                    for (Integer kills : spider.getKills_tier().values()) {
+                        total += kills;
                     }
+                    SlayerTracker.getInstance().setKillCount(SlayerBoss.TARANTULA, total);
                 }
 
-                ProfileMembers.Stats stats = memberData.getStats();
-                if (stats != null) {
-                    ProfileMembers.PetMilestones petMilestones = stats.getPet_milestones();
-                    if (petMilestones != null) {
-                        main.getPersistentValuesManager().getPersistentValues().setOresMined(petMilestones.getOre_mined());
-                        main.getPersistentValuesManager().getPersistentValues().setSeaCreaturesKilled(petMilestones.getSea_creatures_killed());
+                if (wolf != null && wolf.getKills_tier() != null) {
+                    int total = 0;
+                    for (Integer kills : wolf.getKills_tier().values()) {
+                        total += kills;
                     }
+                    SlayerTracker.getInstance().setKillCount(SlayerBoss.SVEN, total);
                 }
+                if (enderman != null && enderman.getKills_tier() != null) {
+                    int total = 0;
+                    for (Integer kills : enderman.getKills_tier().values()) {
+                        total += kills;
+                    }
+                    SlayerTracker.getInstance().setKillCount(SlayerBoss.VOIDGLOOM, total);
+                }
+            }
 
-                main.getPersistentValuesManager().saveValues();
+            ProfileMembers.Stats stats = memberData.getStats();
+            if (stats != null) {
+                ProfileMembers.PetMilestones petMilestones = stats.getPet_milestones();
+                if (petMilestones != null) {
+                    main.getPersistentValuesManager().getPersistentValues().setOresMined(petMilestones.getOre_mined());
+                    main.getPersistentValuesManager().getPersistentValues().setSeaCreaturesKilled(petMilestones.getSea_creatures_killed());
+                }
             }
-        } catch (Exception ex) {
-            logger.warn("Failed to grab profile API data!");
-            logger.catching(ex);
+
+            main.getPersistentValuesManager().saveValues();
         }
     }
 
@@ -2,18 +2,14 @@ package codes.biscuit.skyblockaddons.utils;
 
 import codes.biscuit.skyblockaddons.SkyblockAddons;
 import codes.biscuit.skyblockaddons.core.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
-import org.apache.commons.lang3.StringUtils;
-import org.apache.logging.log4j.Logger;
 
 import java.text.NumberFormat;
-import java.text.ParseException;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Class to parse action bar messages and get stats and other info out of them.
@@ -43,22 +39,16 @@ import java.util.regex.Pattern;
  *                                  §62151/1851❤+§c120▂
  *                                  §62151/1851❤+§c120▁
  * <p>
- * To add something new to parse, add an else-if case in {@link #parseActionBar(String)} to call a method that
- * parses information from that section.
+ * The sections are read by {@link ActionBarScanner}, which remembers the last action bar so the same message isn't
+ * read again. To add something new to parse, add an {@link ActionBarSection.Type} for it in the scanner and a case in
+ * {@link #parseSection(ActionBarSection)} to call a method that uses the information from that section.
  */
 
 @Getter
 public class ActionBarParser {
 
-    private static final Pattern COLLECTIONS_CHAT_PATTERN = Pattern.compile("\\+(?<gained>[0-9,.]+) (?<skillName>[A-Za-z]+) (?<progress>\\((((?<current>[0-9.,kM]+)/(?<total>[0-9.,kM]+))|((?<percent>[0-9.,]+)%))\\))");
-    private static final Pattern SKILL_GAIN_PATTERN_S = Pattern.compile("\\+(?<gained>[0-9,.]+) (?<skillName>[A-Za-z]+) (?<progress>\\((((?<current>[0-9.,]+)/(?<total>[0-9.,]+))|((?<percent>[0-9.]+)%))\\))");
-    private static final Pattern MANA_PATTERN_S = Pattern.compile("(?<num>[0-9,.]+)/(?<den>[0-9,.]+)✎(| Mana| (?<overflow>-?[0-9,.]+)ʬ)");
-    private static final Pattern DEFENSE_PATTERN_S = Pattern.compile("(?<defense>[0-9,.]+)❈ Defense(?<other>( (?<align>\\|\\|\\|))?( {2}(?<tether>T[0-9,.]+!?))?.*)?");
-    private static final Pattern HEALTH_PATTERN_S =Pattern.compile("(?<health>[0-9,.]+)/(?<maxHealth>[0-9,.]+)❤(?<wand>\\+(?<wandHeal>[0-9,.]+)[▆▅▄▃▂▁])?");
-
-
     private static final SkyblockAddons main = SkyblockAddons.getInstance();
-    private static final Logger logger = SkyblockAddons.getLogger();
+    private static final String SECTION_SEPARATOR = "     ";
 
     /**
      * The amount of usable tickers or -1 if none are in the action bar.
@@ -89,7 +79,10 @@ public class ActionBarParser {
     /** The skill type parsed from the last action bar message */
     private SkillType lastSkillType;
 
-    private final LinkedList<String> stringsToRemove = new LinkedList<>();
+    private final List<String> stringsToRemove = new ArrayList<>();
+
+    @Getter(AccessLevel.NONE)
+    private final ActionBarScanner scanner = new ActionBarScanner();
 
     public ActionBarParser() {
     }
@@ -105,10 +98,11 @@ public class ActionBarParser {
      */
     public String parseActionBar(String actionBar) {
         // First split the action bar into sections
-        String[] splitMessage = actionBar.split(" {3,}");
-        // This list holds the text of unused sections that aren't displayed anywhere else in SBA
+        List<ActionBarSection> sections = scanner.scan(actionBar);
+        // This holds the text of unused sections that aren't displayed anywhere else in SBA
         // so they can keep being displayed in the action bar
-        List<String> unusedSections = new LinkedList<>();
+        StringBuilder unusedSections = new StringBuilder(actionBar.length());
+        boolean firstUnusedSection = true;
         stringsToRemove.clear();
 
         // health and mana section methods determine if prediction can be disabled, so enable both at first
@@ -118,135 +112,84 @@ public class ActionBarParser {
         tickers = -1;
 
         // If the action bar is displaying player stats and the defense section is absent, the player's defense is zero.
-        if (actionBar.contains("❤") && !actionBar.contains("❈") && splitMessage.length == 2) {
+        if (sections.size() == 2 && actionBar.contains("❤") && !actionBar.contains("❈")) {
             setAttribute(Attribute.DEFENCE, 0);
         }
 
-        for (String section : splitMessage) {
+        for (ActionBarSection section : sections) {
+            String sectionReturn;
             try {
-                String sectionReturn = parseSection(section);
-                if (sectionReturn != null) {
-                    // can either return a string to keep displaying in the action bar
-                    // or null to not display them anymore
-                    unusedSections.add(sectionReturn);
-                } else {
-                    // Remove via callback
-                    stringsToRemove.add(section);
-                }
+                sectionReturn = parseSection(section);
             } catch (Exception ex) {
-                unusedSections.add(section);
+                sectionReturn = section.getText();
+            }
+
+            if (sectionReturn != null) {
+                // can either return a string to keep displaying in the action bar
+                // or null to not display them anymore
+                if (!firstUnusedSection) {
+                    // Display all unused sections separated by 5 spaces again
+                    unusedSections.append(SECTION_SEPARATOR);
+                }
+                unusedSections.append(sectionReturn);
+                firstUnusedSection = false;
+            } else {
+                // Remove via callback
+                stringsToRemove.add(section.getText());
             }
         }
 
-        // Finally, display all unused sections separated by 5 spaces again
-        return String.join(StringUtils.repeat(" ", 5), unusedSections);
+        return unusedSections.toString();
     }
 
     /**
-     * Parses a single section of the action bar.
+     * Uses a single section of the action bar.
      *
      * @param section Section to parse
      * @return Text to keep displaying or null
      */
-    private String parseSection(String section) {
-        String stripColoring = TextUtils.stripColor(section);
-        String convertMag;
-
-        try {
-            convertMag = TextUtils.convertMagnitudes(stripColoring);
-
-            // Format for overflow mana is a bit different. Splitstats must parse out overflow first before getting numbers
-            if (section.contains("ʬ")) {
-                convertMag = convertMag.split(" ")[0];
-            }
-            String numbersOnly = TextUtils.getNumbersOnly(convertMag).trim(); // keeps numbers and slashes
-            String[] splitStats = numbersOnly.split("/");
-
-            if (section.contains("❤")) {
-                // cutting the crimson stack information out
-                section = parseCrimsonArmorAbilityStack(section);
-
-                // Fixing health when glare damage (from magma boss in crimson isle) is displayed.
-                // Glare damage stays in the action bar normally
-                if (section.endsWith("ಠ")) {
-                    if (section.contains("Glare Damage")) {
-                        section = section.split(Pattern.quote("§6 "))[0];
-                    }
-                }
-
-                // ❤ indicates a health section
+    private String parseSection(ActionBarSection section) {
+        switch (section.getType()) {
+            case HEALTH:
                 return parseHealth(section);
-            } else if (section.contains("❈")) {
-                // ❈ indicates a defense section
+            case DEFENSE:
                 return parseDefense(section);
-            } else if (section.endsWith("§f❂ True Defense")) {
+            case TRUE_DEFENSE:
                 return parseTrueDefence(section);
-            } else if (section.contains("✎")) {
+            case MANA:
                 return parseMana(section);
-            } else if (section.contains("(")) {
-                return parseSkill(convertMag);
-            } else if (section.contains("Ⓞ") || section.contains("ⓩ")) {
+            case SKILL:
+                return parseSkill(section);
+            case TICKERS:
                 return parseTickers(section);
-            } else if (section.contains("Drill")) {
-                return parseDrill(section, splitStats);
-            }
-        } catch (ParseException e) {
-            logger.error("The section \"" + section + "\" will be skipped due to an error during number parsing.");
-            logger.error("Failed to parse number at offset " + e.getErrorOffset() + " in string \"" + e.getMessage() + "\".", e);
-            return section;
+            case DRILL:
+                return parseDrill(section);
+            default:
+                return section.getText();
         }
-
-        return section;
     }
 
-    private String parseTrueDefence(String section) {
-        return main.getConfigValues().isEnabled(Feature.HIDE_TRUE_DEFENSE) ? null : section;
+    private String parseTrueDefence(ActionBarSection section) {
+        return main.getConfigValues().isEnabled(Feature.HIDE_TRUE_DEFENSE) ? null : section.getText();
 
     }
 
-    private String parseCrimsonArmorAbilityStack(String section) {
+    /**
+     * Sets the Crimson Isle armor ability stacks that were cut off the end of the health section.
+     *
+     * @param healthSection Health section of the action bar
+     */
+    private void parseCrimsonArmorAbilityStack(ActionBarSection healthSection) {
         for (CrimsonArmorAbilityStack crimsonArmorAbilityStack : CrimsonArmorAbilityStack.values()) {
             crimsonArmorAbilityStack.setCurrentValue(0);
         }
 
-        int runs = 0;
-        out:
-        while (section.contains("  ")) {
-            runs++;
-            if (runs == 5) break;
-
-            if (section.endsWith("§r")) {
-                section = section.substring(0, section.length() - 2);
-            }
-
-            for (CrimsonArmorAbilityStack crimsonArmorAbilityStack : CrimsonArmorAbilityStack.values()) {
-                String stackSymbol = crimsonArmorAbilityStack.getSymbol();
-
-                if (section.endsWith(stackSymbol)) {
-
-                    String[] split = section.split("§6");
-                    String stack = split[split.length - 1];
-                    String remove = "§6" + stack;
-                    if (stack.contains("§l")) {
-                        stack = stack.substring(2);
-                        if (Feature.CRIMSON_ARMOR_ABILITY_STACKS.isEnabled()) {
-                            String realRemove = remove + "§r";
-                            stringsToRemove.add(realRemove);
-                        }
-                    } else {
-                        if (Feature.CRIMSON_ARMOR_ABILITY_STACKS.isEnabled()) stringsToRemove.add(remove);
-                    }
-                    stack = stack.substring(0, stack.length() - 1);
-
-                    section = section.substring(0, section.length() - remove.length());
-                    section = section.trim();
-                    crimsonArmorAbilityStack.setCurrentValue(Integer.parseInt(stack));
-                    continue out;
-                }
+        for (ActionBarSection.AbilityStack abilityStack : healthSection.getAbilityStacks()) {
+            if (Feature.CRIMSON_ARMOR_ABILITY_STACKS.isEnabled()) {
+                stringsToRemove.add(abilityStack.getText());
             }
+            abilityStack.getType().setCurrentValue(abilityStack.getValue());
         }
-
-        return section;
     }
 
     /**
@@ -256,26 +199,23 @@ public class ActionBarParser {
      * @param healthSection Health section of the action bar
      * @return null or Wand healing indicator or {@code healthSection} if neither health bar nor health text are enabled
      */
-    private String parseHealth(String healthSection) {
+    private String parseHealth(ActionBarSection healthSection) {
         // Normal:      §c1390/1390❤
         // With Wand:   §c1390/1390❤+§c30▅
+        parseCrimsonArmorAbilityStack(healthSection);
+
         final boolean separateDisplay = main.getConfigValues().isEnabled(Feature.HEALTH_BAR) || main.getConfigValues().isEnabled(Feature.HEALTH_TEXT);
-        String returnString = healthSection;
-        float newHealth;
-        float maxHealth;
-        String stripped = TextUtils.stripColor(healthSection);
-        Matcher m = HEALTH_PATTERN_S.matcher(stripped);
-        if (separateDisplay && m.matches()) {
-            newHealth = parseFloat(m.group("health"));
-            maxHealth = parseFloat(m.group("maxHealth"));
-            if (m.group("wand") != null) {
+        String returnString = healthSection.getDisplayText();
+        if (separateDisplay && healthSection.isParsed()) {
+            float newHealth = healthSection.getValue();
+            float maxHealth = healthSection.getMaxValue();
+            if (healthSection.getWandHealthText() != null) {
                 // Jank way of doing this for now
-                returnString = "";// "§c"+ m.group("wand");
-                stringsToRemove.add(stripped.substring(0, m.start("wand")));
+                stringsToRemove.add(healthSection.getWandHealthText());
             } else {
-                stringsToRemove.add(healthSection);
-                returnString = "";
+                stringsToRemove.add(healthSection.getDisplayText());
             }
+            returnString = "";
             healthLock = false;
             boolean postSetLock = main.getUtils().getAttributes().get(Attribute.MAX_HEALTH).getValue() != maxHealth ||
                     (Math.abs(main.getUtils().getAttributes().get(Attribute.HEALTH).getValue() - newHealth) / maxHealth) > .05;
@@ -292,25 +232,20 @@ public class ActionBarParser {
      * @param manaSection Mana section of the action bar
      * @return null or {@code manaSection} if neither mana bar nor mana text are enabled
      */
-    private String parseMana(String manaSection) {
+    private String parseMana(ActionBarSection manaSection) {
         // 183/171✎ Mana
         // 421/421✎ 10ʬ
         // 421/421✎ -10ʬ
-        Matcher m = MANA_PATTERN_S.matcher(TextUtils.stripColor(manaSection).trim());
-        if (m.matches()) {
-            setAttribute(Attribute.MANA, parseFloat(m.group("num")));
-            setAttribute(Attribute.MAX_MANA, parseFloat(m.group("den")));
-            float overflowMana = 0;
-            if (m.group("overflow") != null) {
-                overflowMana = parseFloat(m.group("overflow"));
-            }
-            setAttribute(Attribute.OVERFLOW_MANA, overflowMana);
+        if (manaSection.isParsed()) {
+            setAttribute(Attribute.MANA, manaSection.getValue());
+            setAttribute(Attribute.MAX_MANA, manaSection.getMaxValue());
+            setAttribute(Attribute.OVERFLOW_MANA, manaSection.getOverflowMana());
             main.getRenderListener().setPredictMana(false);
             if (main.getConfigValues().isEnabled(Feature.MANA_BAR) || main.getConfigValues().isEnabled(Feature.MANA_TEXT)) {
                 return null;
             }
         }
-        return manaSection;
+        return manaSection.getText();
     }
 
     /**
@@ -319,22 +254,19 @@ public class ActionBarParser {
      * @param defenseSection Defense section of the action bar
      * @return null or {@code defenseSection} if neither defense text nor defense percentage are enabled
      */
-    private String parseDefense(String defenseSection) {
+    private String parseDefense(ActionBarSection defenseSection) {
         // §a720§a❈ Defense
         // Tethered T1 (Dungeon Healer)--means tethered to 1 person I think: §a1024§a? Defense§6  T1
         // Tethered T3! (Dungeon Healer)--not sure why exclamation mark: §a1039§a? Defense§a§l  T3!
         // Tethered T3! (Dungeon Healer) + Aligned ||| (Gyrokinetic Wand): §a1039§a? Defense§a |||§a§l  T3!
-        String stripped = TextUtils.stripColor(defenseSection);
-        Matcher m = DEFENSE_PATTERN_S.matcher(stripped);
-        if (m.matches()) {
-            float defense = parseFloat(m.group("defense"));
-            setAttribute(Attribute.DEFENCE, defense);
-            otherDefense = TextUtils.getFormattedString(defenseSection, m.group("other").trim());
+        if (defenseSection.isParsed()) {
+            setAttribute(Attribute.DEFENCE, defenseSection.getValue());
+            otherDefense = defenseSection.getOtherDefense();
             if (main.getConfigValues().isEnabled(Feature.DEFENCE_TEXT) || main.getConfigValues().isEnabled(Feature.DEFENCE_PERCENTAGE)) {
                 return null;
             }
         }
-        return defenseSection;
+        return defenseSection.getText();
     }
 
     /**
@@ -355,12 +287,12 @@ public class ActionBarParser {
      * <p>
      * Maxed out skill: §5+§d60 §5Runecrafting (118,084/0)
      *
-     * @param skillSection Skill XP section of the action bar
-     * @return {@code null} or {@code skillSection} if wrong format or skill display is disabled
+     * @param section Skill XP section of the action bar
+     * @return {@code null} or the skill section without colors if wrong format or skill display is disabled
      */
-    private String parseSkill(String skillSection) throws ParseException {
+    private String parseSkill(ActionBarSection section) {
+        String skillSection = section.getDisplayText();
         if (main.getConfigValues().isEnabled(Feature.SKILL_DISPLAY) || main.getConfigValues().isEnabled(Feature.SKILL_PROGRESS_BAR)) {
-            Matcher matcher = SKILL_GAIN_PATTERN_S.matcher(TextUtils.stripColor(skillSection));
             NumberFormat nf = NumberFormat.getInstance(Locale.US);
             StringBuilder skillTextBuilder = new StringBuilder();
             SkillType skillType = null;
@@ -370,18 +302,18 @@ public class ActionBarParser {
             if (lastParsedSkillSection.equals(skillSection)) {
                 skillTextBuilder.append(lastSkillProgressString);
                 skillType = lastSkillType;
-            } else if (matcher.matches()) {
+            } else if (section.isParsed()) {
 
                 if (main.getConfigValues().isEnabled(Feature.SHOW_SKILL_XP_GAINED)) {
-                    skillTextBuilder.append("+").append(matcher.group("gained"));
+                    skillTextBuilder.append("+").append(section.getSkillXpGainedText());
                 }
 
-                skillType = SkillType.getFromString(matcher.group("skillName"));
+                skillType = SkillType.getFromString(section.getSkillName());
 
-                boolean skillPercent = matcher.group("percent") != null;
+                boolean skillPercent = section.isSkillPercentage();
                 boolean parseCurrAndTotal = true;
                 if (skillPercent) {
-                    percent = nf.parse(matcher.group("percent")).floatValue();
+                    percent = section.getSkillPercent();
                     int skillLevel = main.getSkillXpManager().getSkillLevel(skillType);
                     // Try to re-create xxx/xxx display
                     if (skillLevel != -1) {
@@ -391,8 +323,8 @@ public class ActionBarParser {
                         parseCurrAndTotal = false;
                     }
                 } else {
-                    currentSkillXP = nf.parse(matcher.group("current")).floatValue();
-                    totalSkillXP = nf.parse(matcher.group("total")).intValue();
+                    currentSkillXP = section.getSkillXp();
+                    totalSkillXP = (int) section.getSkillXpTotal();
                     percent = totalSkillXP == 0 ? 100F : 100F * currentSkillXP / totalSkillXP;
                 }
                 percent = Math.min(100, percent);
@@ -418,7 +350,7 @@ public class ActionBarParser {
 
                 // This feature is only accessible when we have parsed the current and total skill xp
                 if (parseCurrAndTotal && main.getConfigValues().isEnabled(Feature.SKILL_ACTIONS_LEFT_UNTIL_NEXT_LEVEL)) {
-                    float gained = nf.parse(matcher.group("gained")).floatValue();
+                    float gained = section.getSkillXpGained();
 
                     skillTextBuilder.append(" - ");
 
@@ -456,34 +388,13 @@ public class ActionBarParser {
      * @param tickerSection Ticker section of the action bar
      * @return null or {@code tickerSection} if the ticker display is disabled
      */
-    private String parseTickers(String tickerSection) {
-        // Zombie with full charges: §a§lⓩⓩⓩⓩ§2§l§r
-        // Zombie with one used charges: §a§lⓩⓩⓩ§2§lⓄ§r
-        // Scorpion tickers: §e§lⓄⓄⓄⓄ§7§l§r
-        // Ornate: §e§lⓩⓩⓩ§6§lⓄⓄ§r
-
-        // Zombie uses ⓩ with color code a for usable charges, Ⓞ with color code 2 for unusable
-        // Scorpion uses Ⓞ with color code e for usable tickers, Ⓞ with color code 7 for unusable
-        // Ornate uses ⓩ with color code e for usable charges, Ⓞ with color code 6 for unusable
-        tickers = 0;
-        maxTickers = 0;
-        boolean hitUnusables = false;
-        for (char character : tickerSection.toCharArray()) {
-            if (!hitUnusables && (character == '7' || character == '2' || character == '6')) {
-                // While the unusable tickers weren't hit before and if it reaches a grey(scorpion) or dark green(zombie)
-                // or gold (ornate) color code, it means those tickers are used, so stop counting them.
-                hitUnusables = true;
-            } else if (character == 'Ⓞ' || character == 'ⓩ') { // Increase the ticker counts
-                if (!hitUnusables) {
-                    tickers++;
-                }
-                maxTickers++;
-            }
-        }
+    private String parseTickers(ActionBarSection tickerSection) {
+        tickers = tickerSection.getTickers();
+        maxTickers = tickerSection.getMaxTickers();
         if (main.getConfigValues().isEnabled(Feature.TICKER_CHARGES_DISPLAY)) {
             return null;
         } else {
-            return tickerSection;
+            return tickerSection.getText();
         }
     }
 
@@ -494,31 +405,20 @@ public class ActionBarParser {
      * @param drillSection Drill fuel section of the action bar
      * @return null or {@code drillSection} if wrong format or drill display is disabled
      */
-    private String parseDrill(String drillSection, String[] splitStats) {
+    private String parseDrill(ActionBarSection drillSection) {
         // §21,798/3k Drill Fuel§r
-        // splitStats should convert into [1798, 3000]
-        int fuel = Math.max(0, Integer.parseInt(splitStats[0]));
-        int maxFuel = Math.max(1, Integer.parseInt(splitStats[1]));
+        // should be read as 1798 and 3000
+        if (!drillSection.isParsed()) {
+            return drillSection.getText();
+        }
+        int fuel = Math.max(0, (int) drillSection.getValue());
+        int maxFuel = Math.max(1, (int) drillSection.getMaxValue());
         setAttribute(Attribute.FUEL, fuel);
         setAttribute(Attribute.MAX_FUEL, maxFuel);
         if (main.getConfigValues().isEnabled(Feature.DRILL_FUEL_BAR) || main.getConfigValues().isEnabled(Feature.DRILL_FUEL_TEXT)) {
             return null;
         } else {
-            return drillSection;
-        }
-    }
-
-    /**
-     * Parses a float from a given string.
-     *
-     * @param string the string to parse
-     * @return the parsed float or `-1` if parsing was unsuccessful
-     */
-    private float parseFloat(String string) {
-        try {
-            return TextUtils.NUMBER_FORMAT.parse(string).floatValue();
-        } catch (ParseException e) {
-            return -1;
+            return drillSection.getText();
         }
     }
 
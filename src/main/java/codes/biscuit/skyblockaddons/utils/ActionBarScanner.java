@@ -0,0 +1,464 @@
+package codes.biscuit.skyblockaddons.utils;
+
+import codes.biscuit.skyblockaddons.core.CrimsonArmorAbilityStack;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Splits action bar messages into {@link ActionBarSection}s and reads the stats out of them by walking over the text,
+ * instead of splitting it with a pattern and matching every section against a pattern for every stat.
+ * <p>
+ * Hypixel sends the same action bar several times per second, so the scanner remembers the sections of the last
+ * action bar and only scans again when the text changes. Scanning doesn't depend on the config or the player's stats,
+ * {@link ActionBarParser} uses the sections to update them.
+ */
+public class ActionBarScanner {
+
+    /** Sections are separated by 3 or more spaces */
+    private static final int SECTION_SEPARATOR_LENGTH = 3;
+    private static final String DEFENSE_SUFFIX = "❈ Defense";
+    private static final String TRUE_DEFENSE_SUFFIX = "§f❂ True Defense";
+    private static final String HEALING_WAND_SYMBOLS = "▆▅▄▃▂▁";
+
+    private String lastActionBar;
+    private List<ActionBarSection> lastSections;
+
+    /**
+     * Scans an action bar, or returns the sections of the last action bar if the text is the same.
+     *
+     * @param actionBar the formatted action bar message
+     * @return the sections of the action bar, which can't be modified
+     */
+    public List<ActionBarSection> scan(String actionBar) {
+        if (!actionBar.equals(lastActionBar)) {
+            lastSections = Collections.unmodifiableList(scanSections(actionBar));
+            lastActionBar = actionBar;
+        }
+        return lastSections;
+    }
+
+    /**
+     * Splits an action bar into its sections and scans each of them. The action bar is split like
+     * {@code actionBar.split(" {3,}")}, so empty sections at the end are dropped.
+     *
+     * @param actionBar the formatted action bar message
+     * @return the sections of the action bar
+     */
+    public static List<ActionBarSection> scanSections(String actionBar) {
+        List<ActionBarSection> sections = new ArrayList<>();
+        int length = actionBar.length();
+        int sectionStart = 0;
+        boolean foundSeparator = false;
+
+        int index = 0;
+        while (index < length) {
+            if (actionBar.charAt(index) != ' ') {
+                index++;
+                continue;
+            }
+
+            int spacesEnd = index + 1;
+            while (spacesEnd < length && actionBar.charAt(spacesEnd) == ' ') {
+                spacesEnd++;
+            }
+            if (spacesEnd - index >= SECTION_SEPARATOR_LENGTH) {
+                sections.add(scanSection(actionBar.substring(sectionStart, index)));
+                sectionStart = spacesEnd;
+                foundSeparator = true;
+            }
+            index = spacesEnd;
+        }
+
+        if (!foundSeparator) {
+            sections.add(scanSection(actionBar));
+            return sections;
+        }
+
+        sections.add(scanSection(actionBar.substring(sectionStart)));
+        while (!sections.isEmpty() && sections.get(sections.size() - 1).getText().isEmpty()) {
+            sections.remove(sections.size() - 1);
+        }
+        return sections;
+    }
+
+    /**
+     * Finds out what a section shows by the symbols in it and reads its stats.
+     *
+     * @param section the section of the action bar
+     * @return the scanned section
+     */
+    static ActionBarSection scanSection(String section) {
+        boolean health = false;
+        boolean defense = false;
+        boolean mana = false;
+        boolean parenthesis = false;
+        boolean tickers = false;
+
+        for (int i = 0; i < section.length(); i++) {
+            switch (section.charAt(i)) {
+                case '❤':
+                    health = true;
+                    break;
+                case '❈':
+                    defense = true;
+                    break;
+                case '✎':
+                    mana = true;
+                    break;
+                case '(':
+                    parenthesis = true;
+                    break;
+                case 'Ⓞ':
+                case 'ⓩ':
+                    tickers = true;
+                    break;
+            }
+        }
+
+        if (health) {
+            return scanHealth(section);
+        } else if (defense) {
+            return scanDefense(section);
+        } else if (section.endsWith(TRUE_DEFENSE_SUFFIX)) {
+            return new ActionBarSection(section, ActionBarSection.Type.TRUE_DEFENSE);
+        } else if (mana) {
+            return scanMana(section);
+        } else if (parenthesis) {
+            return scanSkill(section);
+        } else if (tickers) {
+            return scanTickers(section);
+        } else if (section.contains("Drill")) {
+            return scanDrill(section);
+        }
+        return new ActionBarSection(section, ActionBarSection.Type.OTHER);
+    }
+
+    /**
+     * Scans a health section.
+     * <p>
+     * Normal: §c1390/1390❤
+     * <p>
+     * With Wand: §c1390/1390❤+§c30▅
+     * <p>
+     * With Crimson Isle armor ability stacks: §c1390/1390❤  §6§l10ᝐ§r
+     */
+    private static ActionBarSection scanHealth(String section) {
+        ActionBarSection healthSection = new ActionBarSection(section, ActionBarSection.Type.HEALTH);
+
+        String health;
+        try {
+            health = cutAbilityStacks(section, healthSection.getAbilityStacks());
+        } catch (RuntimeException ex) {
+            // The whole section keeps being displayed
+            healthSection.getAbilityStacks().clear();
+            return healthSection;
+        }
+
+        // Glare damage (from the magma boss in the Crimson Isle) stays in the action bar normally
+        if (health.endsWith("ಠ") && health.contains("Glare Damage")) {
+            int glareStart = health.indexOf("§6 ");
+            if (glareStart != -1) {
+                health = health.substring(0, glareStart);
+            }
+        }
+        healthSection.setDisplayText(health);
+
+        String stripped = TextUtils.stripColor(health);
+        int length = stripped.length();
+        int healthEnd = NumberUtils.skipNumber(stripped, 0);
+        if (healthEnd == 0 || healthEnd >= length || stripped.charAt(healthEnd) != '/') {
+            return healthSection;
+        }
+        int maxHealthEnd = NumberUtils.skipNumber(stripped, healthEnd + 1);
+        if (maxHealthEnd == healthEnd + 1 || maxHealthEnd >= length || stripped.charAt(maxHealthEnd) != '❤') {
+            return healthSection;
+        }
+
+        int heartEnd = maxHealthEnd + 1;
+        if (heartEnd != length) {
+            // The healing wand indicator, like +30▅
+            if (stripped.charAt(heartEnd) != '+') {
+                return healthSection;
+            }
+            int wandHealEnd = NumberUtils.skipNumber(stripped, heartEnd + 1);
+            if (wandHealEnd == heartEnd + 1 || wandHealEnd != length - 1 ||
+                    HEALING_WAND_SYMBOLS.indexOf(stripped.charAt(wandHealEnd)) == -1) {
+                return healthSection;
+            }
+            healthSection.setWandHealthText(stripped.substring(0, heartEnd));
+        }
+
+        healthSection.setValue((float) NumberUtils.parseDecimal(stripped, 0, healthEnd, -1));
+        healthSection.setMaxValue((float) NumberUtils.parseDecimal(stripped, healthEnd + 1, maxHealthEnd, -1));
+        healthSection.setParsed(true);
+        return healthSection;
+    }
+
+    /**
+     * Cuts the Crimson Isle armor ability stacks off the end of a health section.
+     *
+     * @param section the health section
+     * @param abilityStacks the list to add the stacks to
+     * @return the health section without the stacks
+     */
+    private static String cutAbilityStacks(String section, List<ActionBarSection.AbilityStack> abilityStacks) {
+        int runs = 0;
+        out:
+        while (section.contains("  ")) {
+            runs++;
+            if (runs == 5) break;
+
+            if (section.endsWith("§r")) {
+                section = section.substring(0, section.length() - 2);
+            }
+
+            for (CrimsonArmorAbilityStack crimsonArmorAbilityStack : CrimsonArmorAbilityStack.values()) {
+                if (section.endsWith(crimsonArmorAbilityStack.getSymbol())) {
+                    int stackStart = section.lastIndexOf("§6");
+                    if (stackStart == -1) {
+                        throw new IllegalArgumentException("Ability stack without a color code in \"" + section + "\"");
+                    }
+
+                    String stack = section.substring(stackStart + 2);
+                    String stackText = section.substring(stackStart);
+                    if (stack.contains("§l")) {
+                        stack = stack.substring(2);
+                        stackText += "§r";
+                    }
+                    stack = stack.substring(0, stack.length() - 1);
+
+                    section = section.substring(0, stackStart).trim();
+                    abilityStacks.add(new ActionBarSection.AbilityStack(crimsonArmorAbilityStack, Integer.parseInt(stack), stackText));
+                    continue out;
+                }
+            }
+        }
+
+        return section;
+    }
+
+    /**
+     * Scans a defense section.
+     * <p>
+     * Normal: §a720§a❈ Defense
+     * <p>
+     * Tethered T3! (Dungeon Healer) + Aligned ||| (Gyrokinetic Wand): §a1039§a❈ Defense§a |||§a§l  T3!
+     */
+    private static ActionBarSection scanDefense(String section) {
+        ActionBarSection defenseSection = new ActionBarSection(section, ActionBarSection.Type.DEFENSE);
+
+        String stripped = TextUtils.stripColor(section);
+        int defenseEnd = NumberUtils.skipNumber(stripped, 0);
+        if (defenseEnd == 0 || !stripped.startsWith(DEFENSE_SUFFIX, defenseEnd)) {
+            return defenseSection;
+        }
+
+        defenseSection.setValue((float) NumberUtils.parseDecimal(stripped, 0, defenseEnd, -1));
+        defenseSection.setOtherDefense(TextUtils.getFormattedString(section,
+                stripped.substring(defenseEnd + DEFENSE_SUFFIX.length()).trim()));
+        defenseSection.setParsed(true);
+        return defenseSection;
+    }
+
+    /**
+     * Scans a mana section.
+     * <p>
+     * Normal: §b183/171✎ Mana
+     * <p>
+     * With overflow mana: §b421/421✎ §3100ʬ
+     */
+    private static ActionBarSection scanMana(String section) {
+        ActionBarSection manaSection = new ActionBarSection(section, ActionBarSection.Type.MANA);
+
+        String stripped = TextUtils.stripColor(section).trim();
+        int length = stripped.length();
+        int manaEnd = NumberUtils.skipNumber(stripped, 0);
+        if (manaEnd == 0 || manaEnd >= length || stripped.charAt(manaEnd) != '/') {
+            return manaSection;
+        }
+        int maxManaEnd = NumberUtils.skipNumber(stripped, manaEnd + 1);
+        if (maxManaEnd == manaEnd + 1 || maxManaEnd >= length || stripped.charAt(maxManaEnd) != '✎') {
+            return manaSection;
+        }
+
+        int symbolEnd = maxManaEnd + 1;
+        float overflowMana = 0;
+        if (symbolEnd != length && !(symbolEnd + " Mana".length() == length && stripped.startsWith(" Mana", symbolEnd))) {
+            // The overflow mana, like " 100ʬ" or " -10ʬ"
+            if (stripped.charAt(symbolEnd) != ' ') {
+                return manaSection;
+            }
+            int overflowStart = symbolEnd + 1;
+            int overflowDigitsStart = overflowStart < length && stripped.charAt(overflowStart) == '-' ? overflowStart + 1 : overflowStart;
+            int overflowEnd = NumberUtils.skipNumber(stripped, overflowDigitsStart);
+            if (overflowEnd == overflowDigitsStart || overflowEnd != length - 1 || stripped.charAt(overflowEnd) != 'ʬ') {
+                return manaSection;
+            }
+            overflowMana = (float) NumberUtils.parseDecimal(stripped, overflowStart, overflowEnd, -1);
+        }
+
+        manaSection.setValue((float) NumberUtils.parseDecimal(stripped, 0, manaEnd, -1));
+        manaSection.setMaxValue((float) NumberUtils.parseDecimal(stripped, manaEnd + 1, maxManaEnd, -1));
+        manaSection.setOverflowMana(overflowMana);
+        manaSection.setParsed(true);
+        return manaSection;
+    }
+
+    /**
+     * Scans a skill section. The section is displayed without colors and with its magnitudes converted.
+     * <p>
+     * Normal: §3+10.9 Combat (313,937.1/600,000)
+     * <p>
+     * Percent: §3+2 Farming (1.01%)
+     * <p>
+     * Maxed out skill: §5+§d60 §5Runecrafting (118,084/0)
+     */
+    private static ActionBarSection scanSkill(String section) {
+        String uncolored = TextUtils.stripColor(section);
+        String converted = NumberUtils.appendConvertedMagnitudes(new StringBuilder(uncolored.length()), uncolored).toString();
+
+        ActionBarSection skillSection = new ActionBarSection(section, ActionBarSection.Type.SKILL);
+        skillSection.setDisplayText(converted);
+
+        String stripped = TextUtils.stripColor(converted);
+        int length = stripped.length();
+        if (length == 0 || stripped.charAt(0) != '+') {
+            return skillSection;
+        }
+        int gainedEnd = NumberUtils.skipNumber(stripped, 1);
+        if (gainedEnd == 1 || gainedEnd >= length || stripped.charAt(gainedEnd) != ' ') {
+            return skillSection;
+        }
+        int nameStart = gainedEnd + 1;
+        int nameEnd = nameStart;
+        while (nameEnd < length && isLetter(stripped.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        if (nameEnd == nameStart || nameEnd + 1 >= length || stripped.charAt(nameEnd) != ' ' || stripped.charAt(nameEnd + 1) != '(') {
+            return skillSection;
+        }
+
+        int progressStart = nameEnd + 2;
+        int progressEnd = NumberUtils.skipNumber(stripped, progressStart);
+        if (progressEnd == progressStart || progressEnd >= length) {
+            return skillSection;
+        }
+
+        if (stripped.charAt(progressEnd) == '/') {
+            // (current/total)
+            int totalEnd = NumberUtils.skipNumber(stripped, progressEnd + 1);
+            if (totalEnd == progressEnd + 1 || totalEnd != length - 1 || stripped.charAt(totalEnd) != ')') {
+                return skillSection;
+            }
+            skillSection.setSkillXp((float) NumberUtils.parseDecimal(stripped, progressStart, progressEnd, -1));
+            skillSection.setSkillXpTotal((float) NumberUtils.parseDecimal(stripped, progressEnd + 1, totalEnd, -1));
+        } else if (stripped.charAt(progressEnd) == '%') {
+            // (percent%), which can't have commas
+            if (progressEnd + 2 != length || stripped.charAt(progressEnd + 1) != ')' ||
+                    stripped.lastIndexOf(',', progressEnd) >= progressStart) {
+                return skillSection;
+            }
+            skillSection.setSkillPercentage(true);
+            skillSection.setSkillPercent((float) NumberUtils.parseDecimal(stripped, progressStart, progressEnd, -1));
+        } else {
+            return skillSection;
+        }
+
+        skillSection.setSkillXpGainedText(stripped.substring(1, gainedEnd));
+        skillSection.setSkillXpGained((float) NumberUtils.parseDecimal(stripped, 1, gainedEnd, -1));
+        skillSection.setSkillName(stripped.substring(nameStart, nameEnd));
+        skillSection.setParsed(true);
+        return skillSection;
+    }
+
+    /**
+     * Counts the ticker charges.
+     * <p>
+     * Zombie with full charges: §a§lⓩⓩⓩⓩ§2§l§r
+     * <p>
+     * Zombie with one used charges: §a§lⓩⓩⓩ§2§lⓄ§r
+     * <p>
+     * Scorpion tickers: §e§lⓄⓄⓄⓄ§7§l§r
+     * <p>
+     * Ornate: §e§lⓩⓩⓩ§6§lⓄⓄ§r
+     */
+    private static ActionBarSection scanTickers(String section) {
+        // Zombie uses ⓩ with color code a for usable charges, Ⓞ with color code 2 for unusable
+        // Scorpion uses Ⓞ with color code e for usable tickers, Ⓞ with color code 7 for unusable
+        // Ornate uses ⓩ with color code e for usable charges, Ⓞ with color code 6 for unusable
+        int tickers = 0;
+        int maxTickers = 0;
+        boolean hitUnusables = false;
+        for (int i = 0; i < section.length(); i++) {
+            char character = section.charAt(i);
+            if (!hitUnusables && (character == '7' || character == '2' || character == '6')) {
+                // While the unusable tickers weren't hit before and if it reaches a grey(scorpion) or dark green(zombie)
+                // or gold (ornate) color code, it means those tickers are used, so stop counting them.
+                hitUnusables = true;
+            } else if (character == 'Ⓞ' || character == 'ⓩ') { // Increase the ticker counts
+                if (!hitUnusables) {
+                    tickers++;
+                }
+                maxTickers++;
+            }
+        }
+
+        ActionBarSection tickerSection = new ActionBarSection(section, ActionBarSection.Type.TICKERS);
+        tickerSection.setTickers(tickers);
+        tickerSection.setMaxTickers(maxTickers);
+        tickerSection.setParsed(true);
+        return tickerSection;
+    }
+
+    /**
+     * Scans a drill fuel section, like §21,798/3k Drill Fuel§r. Only the digits are kept from the fuel, so 1,798/3k
+     * is read as 1798 and 3000.
+     */
+    private static ActionBarSection scanDrill(String section) {
+        String uncolored = TextUtils.stripColor(section);
+        String converted = NumberUtils.appendConvertedMagnitudes(new StringBuilder(uncolored.length()), uncolored).toString();
+
+        // Overflow mana is shown after the fuel
+        if (section.contains("ʬ")) {
+            int space = converted.indexOf(' ');
+            if (space != -1) {
+                converted = converted.substring(0, space);
+            }
+        }
+
+        // Keep only numbers, spaces and slashes
+        StringBuilder numbers = new StringBuilder(converted.length());
+        for (int i = 0; i < converted.length(); i++) {
+            char character = converted.charAt(i);
+            if (isDigit(character) || character == ' ' || character == '/') {
+                numbers.append(character);
+            }
+        }
+        String fuel = numbers.toString().trim();
+
+        ActionBarSection drillSection = new ActionBarSection(section, ActionBarSection.Type.DRILL);
+        int slash = fuel.indexOf('/');
+        if (slash == -1) {
+            return drillSection;
+        }
+        int maxFuelEnd = fuel.indexOf('/', slash + 1);
+
+        try {
+            drillSection.setValue(Integer.parseInt(fuel.substring(0, slash)));
+            drillSection.setMaxValue(Integer.parseInt(fuel.substring(slash + 1, maxFuelEnd == -1 ? fuel.length() : maxFuelEnd)));
+            drillSection.setParsed(true);
+        } catch (NumberFormatException ignored) {
+        }
+        return drillSection;
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    private static boolean isLetter(char character) {
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z');
+    }
+}
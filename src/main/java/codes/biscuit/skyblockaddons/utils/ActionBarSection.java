@@ -0,0 +1,101 @@
+package codes.biscuit.skyblockaddons.utils;
+
+import codes.biscuit.skyblockaddons.core.CrimsonArmorAbilityStack;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A section of an action bar message that was read by {@link ActionBarScanner}, with the stats it shows already
+ * parsed. Only the values that belong to the section's {@link Type} are set, and only if {@link #isParsed()} is true.
+ */
+@Getter
+@Setter(AccessLevel.PACKAGE)
+public class ActionBarSection {
+
+    /** The section as it was split from the action bar */
+    private final String text;
+    private final Type type;
+
+    /**
+     * The text to keep showing in the action bar if the section isn't shown anywhere else. This is {@link #text}
+     * unless the section was changed while parsing it, like the health section without the ability stacks or the skill
+     * section with its colors removed and magnitudes converted.
+     */
+    private String displayText;
+    /** Whether the stats of the section could be read */
+    private boolean parsed;
+
+    /** The health, mana, defense or drill fuel */
+    private float value;
+    /** The max health, max mana or max drill fuel */
+    private float maxValue;
+    private float overflowMana;
+    /** The health part of a health section in front of the healing wand indicator, or {@code null} without one */
+    private String wandHealthText;
+    /** The Crimson Isle armor ability stacks that were cut off the end of a health section */
+    private final List<AbilityStack> abilityStacks = new ArrayList<>();
+    /** The rest of a defense section after the defense, like the tether and alignment indicators */
+    private String otherDefense;
+
+    /** The skill xp gained as it's shown in the action bar */
+    private String skillXpGainedText;
+    private float skillXpGained;
+    private String skillName;
+    /** Whether the skill section shows a percentage instead of the current and total skill xp */
+    private boolean skillPercentage;
+    private float skillPercent;
+    private float skillXp;
+    private float skillXpTotal;
+
+    private int tickers;
+    private int maxTickers;
+
+    ActionBarSection(String text, Type type) {
+        this.text = text;
+        this.type = type;
+        this.displayText = text;
+    }
+
+    /**
+     * An armor ability stack from the Crimson Isle armor sets, like "§6§l10ᝐ§r"
+     */
+    @Getter
+    public static class AbilityStack {
+        private final CrimsonArmorAbilityStack type;
+        private final int value;
+        /** The text of the stack in the action bar */
+        private final String text;
+
+        AbilityStack(CrimsonArmorAbilityStack type, int value, String text) {
+            this.type = type;
+            this.value = value;
+            this.text = text;
+        }
+    }
+
+    /**
+     * The kinds of sections in the action bar
+     */
+    public enum Type {
+        /** The health, like "§c1390/1390❤", which can be followed by a healing wand or armor ability stacks */
+        HEALTH,
+        /** The defense, like "§a720§a❈ Defense" */
+        DEFENSE,
+        /** The true defense, like "§f60§f❂ True Defense" */
+        TRUE_DEFENSE,
+        /** The mana, like "§b183/171✎ Mana" or "§b421/421✎ §3100ʬ" with overflow mana */
+        MANA,
+        /** Any section with a parenthesis, usually the skill xp gained, like "§3+10.9 Combat (313,937.1/600,000)" */
+        SKILL,
+        /** The ticker charges of the Zombie Sword or Scorpion Foil, like "§a§lⓩⓩⓩⓩ§2§l§r" */
+        TICKERS,
+        /** The drill fuel, like "§21,798/3k Drill Fuel§r" */
+        DRILL,
+        /** Any other section */
+        OTHER
+    }
+}
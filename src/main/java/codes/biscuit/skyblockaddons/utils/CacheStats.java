@@ -0,0 +1,30 @@
+package codes.biscuit.skyblockaddons.utils;
+
+import lombok.Getter;
+
+/**
+ * Counts the hits and misses of a cache, for the debug screen and tests. This isn't thread safe, so it should only be
+ * used by caches that are only accessed from one thread.
+ */
+@Getter
+public class CacheStats {
+
+    private long hits;
+    private long misses;
+
+    public void hit() {
+        hits++;
+    }
+
+    public void miss() {
+        misses++;
+    }
+
+    /**
+     * @return the fraction of lookups that were hits, or {@code 0} if there haven't been any lookups
+     */
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
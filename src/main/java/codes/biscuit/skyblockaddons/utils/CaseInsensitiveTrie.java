@@ -0,0 +1,70 @@
+package codes.biscuit.skyblockaddons.utils;
+
+import lombok.Getter;
+
+/**
+ * A trie of names to values that ignores case. A name can be looked up in a region of a longer string, like a match in
+ * a line of lore, without cutting it out or lowercasing it first.
+ * <p>
+ * Case is ignored with {@link Character#toLowerCase(char)}, which is the same as {@code toLowerCase(Locale.US)} for the
+ * ASCII names this is meant for.
+ *
+ * @param <V> the type of the values
+ */
+public class CaseInsensitiveTrie<V> {
+
+    private final Node<V> root = new Node<>();
+    /** The number of names in the trie */
+    @Getter
+    private int size;
+
+    /**
+     * Adds a name to the trie, unless it's already in it.
+     *
+     * @param name the name, in any case
+     * @param value the value of the name
+     * @return {@code true} if the name was added, {@code false} if it was already in the trie
+     */
+    public boolean putIfAbsent(String name, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < name.length(); i++) {
+            node = node.getOrAddChild(Character.toLowerCase(name.charAt(i)));
+        }
+        if (node.value != null) {
+            return false;
+        }
+        node.value = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return the value of the name, or {@code null} if it isn't in the trie
+     */
+    public V get(CharSequence name) {
+        return get(name, 0, name.length());
+    }
+
+    /**
+     * Looks up the name between {@code start} (inclusive) and {@code end} (exclusive) of a string.
+     *
+     * @return the value of the name, or {@code null} if it isn't in the trie
+     */
+    public V get(CharSequence text, int start, int end) {
+        Node<V> node = root;
+        for (int i = start; i < end && node != null; i++) {
+            node = node.getChild(Character.toLowerCase(text.charAt(i)));
+        }
+        return node != null ? node.value : null;
+    }
+
+    private static class Node<V> extends CharTrieNode<Node<V>> {
+        /** The value of the name that ends at this node, or {@code null} if no name does */
+        private V value;
+
+        @Override
+        protected Node<V> newChild() {
+            return new Node<>();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package codes.biscuit.skyblockaddons.utils;
+
+import java.util.Arrays;
+
+/**
+ * A node of a trie over the characters of strings. Subclasses add what's stored at each node, like the value of the
+ * string that ends there.
+ * <p>
+ * Children are kept in arrays sorted by character and found with a binary search, since there are only a few of them per
+ * node. The trie is case-sensitive; tries that ignore case pass the characters through
+ * {@link Character#toLowerCase(char)} before looking them up.
+ *
+ * @param <N> the type of the subclass, which is the type of the children
+ */
+public abstract class CharTrieNode<N extends CharTrieNode<N>> {
+
+    private static final char[] NO_CHARACTERS = new char[0];
+    private static final Object[] NO_CHILDREN = new Object[0];
+
+    private char[] characters = NO_CHARACTERS;
+    private Object[] children = NO_CHILDREN;
+
+    /**
+     * @return a new node with nothing stored in it, used when a child is added
+     */
+    protected abstract N newChild();
+
+    /**
+     * @return the child for the given character, or {@code null} if there isn't one
+     */
+    @SuppressWarnings("unchecked")
+    public N getChild(char character) {
+        int index = Arrays.binarySearch(characters, character);
+        return index >= 0 ? (N) children[index] : null;
+    }
+
+    /**
+     * Returns the child for the given character, adding a new one if there isn't one.
+     *
+     * @return the child for the given character
+     */
+    @SuppressWarnings("unchecked")
+    public N getOrAddChild(char character) {
+        int index = Arrays.binarySearch(characters, character);
+        if (index >= 0) {
+            return (N) children[index];
+        }
+
+        int insertionPoint = -index - 1;
+        char[] newCharacters = new char[characters.length + 1];
+        Object[] newChildren = new Object[children.length + 1];
+        System.arraycopy(characters, 0, newCharacters, 0, insertionPoint);
+        System.arraycopy(children, 0, newChildren, 0, insertionPoint);
+        System.arraycopy(characters, insertionPoint, newCharacters, insertionPoint + 1, characters.length - insertionPoint);
+        System.arraycopy(children, insertionPoint, newChildren, insertionPoint + 1, children.length - insertionPoint);
+        N child = newChild();
+        newCharacters[insertionPoint] = character;
+        newChildren[insertionPoint] = child;
+        characters = newCharacters;
+        children = newChildren;
+        return child;
+    }
+
+    /**
+     * @return the number of children of this node
+     */
+    public int getChildCount() {
+        return characters.length;
+    }
+
+    /**
+     * @param index the index of the child, between {@code 0} and {@link #getChildCount()}
+     * @return the character of the child at the index, the children are sorted by character
+     */
+    public char getCharacterAt(int index) {
+        return characters[index];
+    }
+
+    /**
+     * @param index the index of the child, between {@code 0} and {@link #getChildCount()}
+     * @return the child at the index, the children are sorted by character
+     */
+    @SuppressWarnings("unchecked")
+    public N getChildAt(int index) {
+        return (N) children[index];
+    }
+}
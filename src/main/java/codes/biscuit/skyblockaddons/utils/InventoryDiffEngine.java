@@ -0,0 +1,226 @@
+package codes.biscuit.skyblockaddons.utils;
+
+import codes.biscuit.skyblockaddons.features.ItemDiff;
+import net.minecraft.nbt.NBTTagCompound;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Finds the items that were added to or removed from an inventory since the last time it was checked.
+ * <p>
+ * Items are grouped by display name, like the item pickup log shows them, and every name whose total amount changed
+ * gets an {@link ItemDiff} with the amount that was added (positive) or removed (negative). Each slot keeps the name
+ * and amount it had, so only slots whose name or amount changed are looked at. Items aren't copied, the diffs get the
+ * ExtraAttributes of the item that's in the inventory.
+ *
+ * @param <T> the type of the items, like {@link net.minecraft.item.ItemStack}
+ */
+public class InventoryDiffEngine<T> {
+
+    /** The text merchants add after the names of the items they sell, like " §8x64" */
+    private static final String MERCHANT_AMOUNT = " " + ColorCode.DARK_GRAY + "x";
+
+    private final Function<T, String> nameGetter;
+    private final ToIntFunction<T> amountGetter;
+    private final Function<T, NBTTagCompound> extraAttributesGetter;
+    /** The slot that's left out of the diffs, or {@code -1} */
+    private final int ignoredSlot;
+
+    /** The slots of the last inventory, or {@code null} if there isn't one */
+    private Slot[] slots;
+    /** The slot the current update is at, or {@code -1} when no update is running */
+    private int checkedSlot = -1;
+
+    /** The change in amount of each name while diffing, in the order the names were first changed */
+    private final Map<String, Integer> amountChanges = new LinkedHashMap<>();
+    /** The ExtraAttributes of the last changed slot that had each name, for names that are gone from the inventory */
+    private final Map<String, NBTTagCompound> removedExtraAttributes = new HashMap<>();
+
+    /**
+     * @param nameGetter            gets the display name of an item
+     * @param amountGetter          gets the stack size of an item
+     * @param extraAttributesGetter gets the ExtraAttributes of an item, or {@code null} if it has none
+     * @param ignoredSlot           a slot that's left out of the diffs, or {@code -1}
+     */
+    public InventoryDiffEngine(Function<T, String> nameGetter, ToIntFunction<T> amountGetter,
+                               Function<T, NBTTagCompound> extraAttributesGetter, int ignoredSlot) {
+        this.nameGetter = nameGetter;
+        this.amountGetter = amountGetter;
+        this.extraAttributesGetter = extraAttributesGetter;
+        this.ignoredSlot = ignoredSlot;
+    }
+
+    /**
+     * Compares the inventory to the inventory of the last call and remembers it for the next one.
+     *
+     * @param inventory the items in the inventory, with {@code null} for empty slots
+     * @return the change in amount of every name whose amount changed, which is empty if nothing changed or if there
+     * was no inventory to compare to
+     */
+    public List<ItemDiff> update(T[] inventory) {
+        if (slots == null || slots.length != inventory.length) {
+            Slot[] newSlots = new Slot[inventory.length];
+            for (int i = 0; i < inventory.length; i++) {
+                checkedSlot = i;
+                newSlots[i] = new Slot();
+                set(newSlots[i], inventory[i]);
+            }
+            slots = newSlots;
+            checkedSlot = -1;
+            return Collections.emptyList();
+        }
+
+        for (int i = 0; i < inventory.length; i++) {
+            if (i == ignoredSlot) {
+                continue;
+            }
+            checkedSlot = i;
+
+            T item = inventory[i];
+            Slot slot = slots[i];
+            if (matches(slot, item)) {
+                // The item could have been replaced by one with the same name, so keep its attributes up to date.
+                slot.extraAttributes = item != null ? extraAttributesGetter.apply(item) : null;
+                continue;
+            }
+
+            if (slot.name != null) {
+                amountChanges.merge(slot.name, -slot.amount, Integer::sum);
+                removedExtraAttributes.put(slot.name, slot.extraAttributes);
+            }
+            set(slot, item);
+            if (slot.name != null) {
+                amountChanges.merge(slot.name, slot.amount, Integer::sum);
+            }
+        }
+        checkedSlot = -1;
+
+        if (amountChanges.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<ItemDiff> inventoryDifference = new ArrayList<>(amountChanges.size());
+        for (Map.Entry<String, Integer> amountChange : amountChanges.entrySet()) {
+            if (amountChange.getValue() != 0) {
+                String name = amountChange.getKey();
+                inventoryDifference.add(new ItemDiff(name, amountChange.getValue(), getExtraAttributes(name)));
+            }
+        }
+        amountChanges.clear();
+        removedExtraAttributes.clear();
+        return inventoryDifference;
+    }
+
+    /**
+     * @return whether there's an inventory from a previous update to compare to
+     */
+    public boolean hasPreviousInventory() {
+        return slots != null;
+    }
+
+    /**
+     * Forgets the last inventory, so the next update has nothing to compare to.
+     */
+    public void reset() {
+        slots = null;
+        checkedSlot = -1;
+        amountChanges.clear();
+        removedExtraAttributes.clear();
+    }
+
+    /**
+     * @return the number of slots of the last inventory, or {@code 0} if there isn't one
+     */
+    public int getSlotCount() {
+        return slots != null ? slots.length : 0;
+    }
+
+    /**
+     * If an update threw an exception, this is the slot it was at. That slot and the ones after it still have the
+     * contents of the last inventory, see {@link #describeSlot(int)}.
+     *
+     * @return the slot the last update was at when it threw, or {@code -1} if it didn't throw
+     */
+    public int getCheckedSlot() {
+        return checkedSlot;
+    }
+
+    /**
+     * Describes what a slot contained the last time it was checked, for crash reports.
+     *
+     * @param slot the slot
+     * @return the name, amount and ExtraAttributes in the slot
+     */
+    public String describeSlot(int slot) {
+        if (slots == null || slot < 0 || slot >= slots.length) {
+            return "None";
+        }
+        Slot lastSlot = slots[slot];
+        if (lastSlot.name == null) {
+            return "Empty";
+        }
+        return "Name: " + lastSlot.rawName + "\nAmount: " + lastSlot.amount + "\nExtraAttributes: " +
+                lastSlot.extraAttributes;
+    }
+
+    /**
+     * @return the ExtraAttributes of the last slot with the name, or of the last slot that had it if no slot does
+     */
+    private NBTTagCompound getExtraAttributes(String name) {
+        for (int i = slots.length - 1; i >= 0; i--) {
+            if (i != ignoredSlot && name.equals(slots[i].name)) {
+                return slots[i].extraAttributes;
+            }
+        }
+        return removedExtraAttributes.get(name);
+    }
+
+    /**
+     * @return whether the item has the same name and amount as the slot
+     */
+    private boolean matches(Slot slot, T item) {
+        if (item == null) {
+            return slot.name == null;
+        }
+        return slot.name != null && amountGetter.applyAsInt(item) == slot.amount &&
+                nameGetter.apply(item).equals(slot.rawName);
+    }
+
+    /**
+     * Sets what the slot contains. The item is read before the slot is changed, so the slot still has its last
+     * contents if reading the item throws.
+     */
+    private void set(Slot slot, T item) {
+        if (item == null) {
+            slot.rawName = null;
+            slot.name = null;
+            slot.amount = 0;
+            slot.extraAttributes = null;
+            return;
+        }
+
+        String rawName = nameGetter.apply(item);
+        // Merchants add the amount to the end of the name, which shouldn't make it a different item.
+        String name = rawName.contains(MERCHANT_AMOUNT) ? rawName.substring(0, rawName.lastIndexOf(' ')) : rawName;
+        int amount = amountGetter.applyAsInt(item);
+        NBTTagCompound extraAttributes = extraAttributesGetter.apply(item);
+        slot.rawName = rawName;
+        slot.name = name;
+        slot.amount = amount;
+        slot.extraAttributes = extraAttributes;
+    }
+
+    /**
+     * What a slot contained the last time it was checked
+     */
+    private static class Slot {
+        /** The display name as the item has it */
+        private String rawName;
+        /** The display name the slot is counted under, or {@code null} if the slot is empty */
+        private String name;
+        private int amount;
+        private NBTTagCompound extraAttributes;
+    }
+}
@@ -0,0 +1,174 @@
+package codes.biscuit.skyblockaddons.utils;
+
+import lombok.Getter;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Keeps facts that are derived from an inventory, like whether it's full, up to date without re-deriving them on a
+ * timer.
+ * <p>
+ * Each {@link Property} declares the slots it's derived from. When a slot is reported as changed, only the properties
+ * that depend on it are marked stale, and the next {@link #update(IntFunction)} recomputes them. A property can be
+ * turned off with {@link Property#when(BooleanSupplier)}, in which case it stays stale until it's turned on again.
+ * <p>
+ * The observer doesn't look at the inventory by itself, whatever changes the inventory has to report the changed slots.
+ *
+ * @param <T> the type of the items, like {@link net.minecraft.item.ItemStack}
+ */
+public class InventoryObserver<T> {
+
+    /** The number of slots of the inventory */
+    @Getter
+    private final int size;
+    private final List<Property<?>> properties = new ArrayList<>();
+
+    public InventoryObserver(int size) {
+        this.size = size;
+    }
+
+    /**
+     * @return the slots from {@code fromSlot} (inclusive) to {@code toSlot} (exclusive), to declare what a property
+     * depends on
+     */
+    public static BitSet slots(int fromSlot, int toSlot) {
+        BitSet slots = new BitSet(toSlot);
+        slots.set(fromSlot, toSlot);
+        return slots;
+    }
+
+    /**
+     * Declares a property that's computed from the given slots of the inventory. It starts out stale, so it's computed
+     * by the next update.
+     *
+     * @param name the name of the property
+     * @param slots the slots the property depends on
+     * @param initialValue the value of the property until it's first computed
+     * @param computer computes the property from the inventory
+     * @param <V> the type of the property
+     * @return the property, which can be further configured
+     */
+    public <V> Property<V> property(String name, BitSet slots, V initialValue, Function<IntFunction<T>, V> computer) {
+        if (slots.length() > size) {
+            throw new IllegalArgumentException("The slots of " + name + " must be less than " + size);
+        }
+        Property<V> property = new Property<>(name, (BitSet) slots.clone(), initialValue, computer);
+        properties.add(property);
+        return property;
+    }
+
+    /**
+     * Marks the properties that depend on the slot as stale. Slots outside of the inventory are ignored.
+     */
+    public void markChanged(int slot) {
+        if (slot < 0 || slot >= size) {
+            return;
+        }
+        for (Property<?> property : properties) {
+            if (property.slots.get(slot)) {
+                property.stale = true;
+            }
+        }
+    }
+
+    /**
+     * Marks every property as stale, like when the whole inventory was replaced.
+     */
+    public void markAllChanged() {
+        for (Property<?> property : properties) {
+            property.stale = true;
+        }
+    }
+
+    /**
+     * Recomputes the properties that are stale and turned on.
+     *
+     * @param inventory gets the item in a slot, or {@code null} if the slot is empty
+     */
+    public void update(IntFunction<T> inventory) {
+        for (Property<?> property : properties) {
+            if (property.stale && property.enabled.getAsBoolean()) {
+                property.recompute(inventory);
+            }
+        }
+    }
+
+    /**
+     * @return every declared property in the order they're updated
+     */
+    public List<Property<?>> getProperties() {
+        return Collections.unmodifiableList(properties);
+    }
+
+    /**
+     * A fact derived from some slots of the inventory
+     *
+     * @param <V> the type of the property
+     */
+    public class Property<V> {
+        @Getter
+        private final String name;
+        private final BitSet slots;
+        private final Function<IntFunction<T>, V> computer;
+        private BooleanSupplier enabled = () -> true;
+        private Consumer<V> listener;
+
+        private V value;
+        /** Whether a slot this depends on changed since it was last computed */
+        @Getter
+        private boolean stale = true;
+        /** The number of times this was computed */
+        @Getter
+        private long computations;
+
+        private Property(String name, BitSet slots, V initialValue, Function<IntFunction<T>, V> computer) {
+            this.name = name;
+            this.slots = slots;
+            this.value = initialValue;
+            this.computer = computer;
+        }
+
+        /**
+         * Adds a condition that must be met for this property to be computed. Multiple conditions must all be met.
+         *
+         * @return this property
+         */
+        public Property<V> when(BooleanSupplier condition) {
+            BooleanSupplier previous = enabled;
+            enabled = () -> previous.getAsBoolean() && condition.getAsBoolean();
+            return this;
+        }
+
+        /**
+         * Sets a listener that's called when this property is computed and isn't equal to what it was before.
+         *
+         * @return this property
+         */
+        public Property<V> onChange(Consumer<V> listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * @return the value this property had when it was last computed, or its initial value if it wasn't computed yet
+         */
+        public V get() {
+            return value;
+        }
+
+        private void recompute(IntFunction<T> inventory) {
+            V newValue = computer.apply(inventory);
+            boolean changed = !Objects.equals(value, newValue);
+            value = newValue;
+            stale = false;
+            computations++;
+            if (changed && listener != null) {
+                listener.accept(newValue);
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package codes.biscuit.skyblockaddons.utils;
 import codes.biscuit.skyblockaddons.SkyblockAddons;
 import codes.biscuit.skyblockaddons.core.Feature;
 import codes.biscuit.skyblockaddons.core.InventoryType;
+import codes.biscuit.skyblockaddons.features.BaitManager;
 import codes.biscuit.skyblockaddons.features.ItemDiff;
 import codes.biscuit.skyblockaddons.features.SlayerArmorProgress;
 import codes.biscuit.skyblockaddons.features.dragontracker.DragonTracker;
@@ -19,18 +20,15 @@ import net.minecraft.client.gui.inventory.GuiChest;
 import net.minecraft.crash.CrashReport;
 import net.minecraft.crash.CrashReportCategory;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.init.Blocks;
 import net.minecraft.inventory.*;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.ReportedException;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.*;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 //TODO Fix for Hypixel localization
 
@@ -40,11 +38,16 @@ import java.util.regex.Pattern;
 public class InventoryUtils {
 
     /** Slot index the SkyBlock menu is at. */
-    private static final int SKYBLOCK_MENU_SLOT = 8;
+    static final int SKYBLOCK_MENU_SLOT = 8;
 
-    /** Display name of the Skeleton Helmet. */
-    private static final String SKELETON_HELMET_ID = "SKELETON_HELMET";
-    private static final String TOXIC_ARROW_POISON_ID = "TOXIC_ARROW_POISON";
+    /** The number of slots of the main inventory, including the hotbar. */
+    public static final int MAIN_INVENTORY_SIZE = 36;
+    /** Index of the boots in {@link InventoryPlayer#getStackInSlot(int)}, the other armor pieces come after it. */
+    static final int ARMOR_SLOT_OFFSET = 36;
+    /** Index of the helmet in {@link InventoryPlayer#getStackInSlot(int)}. */
+    static final int HELMET_SLOT = 39;
+    /** The number of slots of {@link InventoryPlayer}, the main inventory and the armor. */
+    public static final int PLAYER_INVENTORY_SIZE = 40;
 
     public static final String MADDOX_BATPHONE_ID = "AATROX_BATPHONE";
     public static final String JUNGLE_AXE_ID = "JUNGLE_AXE";
@@ -53,22 +56,25 @@ public class InventoryUtils {
     public static final HashSet<String> BAT_PERSON_SET_IDS = new HashSet<>(Arrays.asList("BAT_PERSON_BOOTS", "BAT_PERSON_LEGGINGS", "BAT_PERSON_CHESTPLATE", "BAT_PERSON_HELMET"));
     public static final String GRAPPLING_HOOK_ID = "GRAPPLING_HOOK";
 
-    private static final Pattern REVENANT_UPGRADE_PATTERN = Pattern.compile("Next Upgrade: \\+([0-9]+❈) \\(([0-9,]+)/([0-9,]+)\\)");
-
-    private List<ItemStack> previousInventory;
+    /** Skips the SkyBlock Menu slot altogether (which includes the Quiver Arrow now) */
+    private final InventoryDiffEngine<ItemStack> inventoryDiffEngine = new InventoryDiffEngine<>(ItemStack::getDisplayName,
+            item -> item.stackSize, ItemUtils::getExtraAttributes, SKYBLOCK_MENU_SLOT);
     private final Multimap<String, ItemDiff> itemPickupLog = ArrayListMultimap.create();
 
-    @Setter
-    private boolean inventoryWarningShown;
-
     /**
-     * Whether the player is wearing a Skeleton Helmet.
+     * Facts derived from the player's inventory, which are recomputed when the slots they depend on change. The slots
+     * are numbered like {@link InventoryPlayer#getStackInSlot(int)}.
      */
     @Getter
-    private boolean wearingSkeletonHelmet;
+    private final InventoryObserver<ItemStack> inventoryObserver = new InventoryObserver<>(PLAYER_INVENTORY_SIZE);
+    /** The inventory the observer's properties were computed from */
+    private InventoryPlayer observedInventory;
 
-    @Getter
-    private boolean usingToxicArrowPoison;
+    /** The properties declared on {@link #inventoryObserver} */
+    private final PlayerInventoryProperties inventoryProperties;
+
+    @Setter
+    private boolean inventoryWarningShown;
 
     @Getter
     private final SlayerArmorProgress[] slayerArmorProgresses = new SlayerArmorProgress[4];
@@ -83,23 +89,19 @@ public class InventoryUtils {
     private String inventorySubtype;
     private final SkyblockAddons main = SkyblockAddons.getInstance();
 
-
-    /**
-     * Copies an inventory into a List of copied ItemStacks
-     *
-     * @param inventory Inventory to copy
-     * @return List of copied ItemStacks
-     */
-    private List<ItemStack> copyInventory(ItemStack[] inventory) {
-        List<ItemStack> copy = new ArrayList<>(inventory.length);
-        for (ItemStack item : inventory) {
-            if (item != null) {
-                copy.add(ItemStack.copyItemStack(item));
-            } else {
-                copy.add(null);
-            }
+    public InventoryUtils() {
+        inventoryProperties = PlayerInventoryProperties.declare(inventoryObserver, () -> main.getUtils().isOnSkyblock(),
+                () -> main.getConfigValues().isEnabled(Feature.FULL_INVENTORY_WARNING),
+                () -> main.getConfigValues().isEnabled(Feature.SKELETON_BAR),
+                () -> main.getConfigValues().isEnabled(Feature.TURN_BOW_GREEN_WHEN_USING_TOXIC_ARROW_POISON),
+                () -> main.getConfigValues().isEnabled(Feature.SLAYER_INDICATOR),
+                () -> main.getConfigValues().isEnabled(Feature.BAIT_LIST));
+
+        for (int i = 0; i < slayerArmorProgresses.length; i++) {
+            int armorSlot = i;
+            inventoryProperties.getSlayerArmorProgresses().get(i).onChange(progress -> slayerArmorProgresses[armorSlot] = progress);
         }
-        return copy;
+        inventoryProperties.getBaits().onChange(baits -> BaitManager.getInstance().setBaitsInInventory(baits));
     }
 
     /**
@@ -109,94 +111,31 @@ public class InventoryUtils {
      * @param currentInventory Current Inventory state
      */
     public void getInventoryDifference(ItemStack[] currentInventory) {
-        List<ItemStack> newInventory = copyInventory(currentInventory);
-        Map<String, Pair<Integer, NBTTagCompound>> previousInventoryMap = new HashMap<>();
-        Map<String, Pair<Integer, NBTTagCompound>> newInventoryMap = new HashMap<>();
-
-        if (previousInventory != null) {
-
-            for(int i = 0; i < newInventory.size(); i++) {
-                if (i == SKYBLOCK_MENU_SLOT) { // Skip the SkyBlock Menu slot altogether (which includes the Quiver Arrow now)
-                    continue;
-                }
-
-                ItemStack previousItem = null;
-                ItemStack newItem = null;
-
-                try {
-                    previousItem = previousInventory.get(i);
-                    newItem = newInventory.get(i);
-
-                    if(previousItem != null) {
-                        int amount;
-                        if (previousInventoryMap.containsKey(previousItem.getDisplayName())) {
-                            amount = previousInventoryMap.get(previousItem.getDisplayName()).getKey() + previousItem.stackSize;
-                        } else {
-                            amount = previousItem.stackSize;
-                        }
-                        NBTTagCompound extraAttributes = ItemUtils.getExtraAttributes(previousItem);
-                        if (extraAttributes != null) {
-                            extraAttributes = (NBTTagCompound) extraAttributes.copy();
-                        }
-                        previousInventoryMap.put(previousItem.getDisplayName(), new Pair<>(amount, extraAttributes));
-                    }
-
-                    if(newItem != null) {
-                        if (newItem.getDisplayName().contains(" "+ ColorCode.DARK_GRAY+"x")) {
-                            String newName = newItem.getDisplayName().substring(0, newItem.getDisplayName().lastIndexOf(" "));
-                            newItem.setStackDisplayName(newName); // This is a workaround for merchants, it adds x64 or whatever to the end of the name.
-                        }
-                        int amount;
-                        if (newInventoryMap.containsKey(newItem.getDisplayName())) {
-                            amount = newInventoryMap.get(newItem.getDisplayName()).getKey() + newItem.stackSize;
-                        }  else {
-                            amount = newItem.stackSize;
-                        }
-                        NBTTagCompound extraAttributes = ItemUtils.getExtraAttributes(newItem);
-                        if (extraAttributes != null) {
-                            extraAttributes = (NBTTagCompound) extraAttributes.copy();
-                        }
-                        newInventoryMap.put(newItem.getDisplayName(), new Pair<>(amount, extraAttributes));
-                    }
-                } catch (RuntimeException exception) {
-                    CrashReport crashReport = CrashReport.makeCrashReport(exception, "Comparing current inventory to previous inventory");
-                    CrashReportCategory inventoryDetails = crashReport.makeCategory("Inventory Details");
-                    inventoryDetails.addCrashSection("Previous", "Size: " + previousInventory.size());
-                    inventoryDetails.addCrashSection("New", "Size: " + newInventory.size());
-                    CrashReportCategory itemDetails = crashReport.makeCategory("Item Details");
-                    itemDetails.addCrashSection("Previous Item", "Item: " + (previousItem != null ? previousItem.toString() : "null") + "\n"
-                        + "Display Name: " + (previousItem != null ? previousItem.getDisplayName() : "null") + "\n"
-                        + "Index: " + i + "\n"
-                        + "Map Value: " + (previousItem != null ? (previousInventoryMap.get(previousItem.getDisplayName()) != null ? previousInventoryMap.get(previousItem.getDisplayName()).toString() : "null") : "null"));
-                    itemDetails.addCrashSection("New Item", "Item: " + (newItem != null ? newItem.toString() : "null") + "\n"
-                            + "Display Name: " + (newItem != null ? newItem.getDisplayName() : "null") + "\n"
-                            + "Index: " + i + "\n"
-                            + "Map Value: " + (newItem != null ? (previousInventoryMap.get(newItem.getDisplayName()) != null ? previousInventoryMap.get(newItem.getDisplayName()).toString() : "null") : "null"));
-                    throw new ReportedException(crashReport);
-                }
+        boolean hasPreviousInventory = inventoryDiffEngine.hasPreviousInventory();
+        List<ItemDiff> inventoryDifference;
+        try {
+            inventoryDifference = inventoryDiffEngine.update(currentInventory);
+        } catch (RuntimeException exception) {
+            int index = inventoryDiffEngine.getCheckedSlot();
+            ItemStack newItem = index >= 0 && index < currentInventory.length ? currentInventory[index] : null;
+
+            CrashReport crashReport = CrashReport.makeCrashReport(exception, "Comparing current inventory to previous inventory");
+            CrashReportCategory inventoryDetails = crashReport.makeCategory("Inventory Details");
+            inventoryDetails.addCrashSection("Previous", "Size: " + inventoryDiffEngine.getSlotCount());
+            inventoryDetails.addCrashSection("New", "Size: " + currentInventory.length);
+            for (int i = 0; i < currentInventory.length; i++) {
+                ItemStack item = currentInventory[i];
+                inventoryDetails.addCrashSection("Slot " + i, item != null ? item.toString() + " (" + item.getDisplayName() + ")" : "null");
             }
+            CrashReportCategory itemDetails = crashReport.makeCategory("Item Details");
+            itemDetails.addCrashSection("Previous Item", inventoryDiffEngine.describeSlot(index) + "\n"
+                    + "Index: " + index);
+            itemDetails.addCrashSection("New Item", "Item: " + (newItem != null ? newItem.toString() : "null") + "\n"
+                    + "Index: " + index);
+            throw new ReportedException(crashReport);
+        }
 
-            List<ItemDiff> inventoryDifference = new LinkedList<>();
-            Set<String> keySet = new HashSet<>(previousInventoryMap.keySet());
-            keySet.addAll(newInventoryMap.keySet());
-
-            keySet.forEach(key -> {
-                int previousAmount = 0;
-                if (previousInventoryMap.containsKey(key)) {
-                    previousAmount = previousInventoryMap.get(key).getKey();
-                }
-
-                int newAmount = 0;
-                if (newInventoryMap.containsKey(key)) {
-                    newAmount = newInventoryMap.get(key).getKey();
-                }
-
-                int diff = newAmount - previousAmount;
-                if (diff != 0) { // Get the NBT tag from whichever map the name exists in
-                    inventoryDifference.add(new ItemDiff(key, diff, newInventoryMap.getOrDefault(key, previousInventoryMap.get(key)).getValue()));
-                }
-            });
-
+        if (hasPreviousInventory) {
             if (main.getConfigValues().isEnabled(Feature.DRAGON_STATS_TRACKER)) {
                 DragonTracker.getInstance().checkInventoryDifferenceForDrops(inventoryDifference);
             }
@@ -227,17 +166,14 @@ public class InventoryUtils {
                     }
                 }
             }
-
         }
-
-        previousInventory = newInventory;
     }
 
     /**
      * Resets the previously stored Inventory state
      */
     public void resetPreviousInventory() {
-        previousInventory = null;
+        inventoryDiffEngine.reset();
     }
 
     /**
@@ -247,28 +183,90 @@ public class InventoryUtils {
         itemPickupLog.entries().removeIf(entry -> entry.getValue().getLifetime() > ItemDiff.LIFESPAN);
     }
 
+    /**
+     * Recomputes the facts derived from the player's inventory whose slots changed since the last update. Everything is
+     * recomputed when the player's inventory was replaced, like after switching worlds.
+     *
+     * @param p the player
+     */
+    public void updateObservedInventory(EntityPlayerSP p) {
+        if (p.inventory != observedInventory) {
+            observedInventory = p.inventory;
+            inventoryObserver.markAllChanged();
+        }
+        inventoryObserver.update(p.inventory::getStackInSlot);
+    }
+
+    /**
+     * Called after the server set a slot of a window. Marks the slot as changed if it's a slot of the player's inventory.
+     *
+     * @param windowId the id of the window
+     * @param slotNumber the number of the slot in the window
+     */
+    public void onSetSlot(int windowId, int slotNumber) {
+        Container container = getWindow(windowId);
+        if (container != null && slotNumber >= 0 && slotNumber < container.inventorySlots.size()) {
+            Slot slot = container.getSlot(slotNumber);
+            if (slot.inventory instanceof InventoryPlayer) {
+                inventoryObserver.markChanged(slot.getSlotIndex());
+            }
+        }
+    }
+
+    /**
+     * Called after the server set every slot of a window. Marks the whole inventory as changed if it's the player's
+     * inventory or the window that's open, since that window contains the player's inventory too.
+     *
+     * @param windowId the id of the window
+     */
+    public void onWindowItems(int windowId) {
+        if (getWindow(windowId) != null) {
+            inventoryObserver.markAllChanged();
+        }
+    }
+
+    /**
+     * Called when the player uses the held item. The client changes the held item and the armor by itself, like when
+     * armor is equipped by right-clicking it, so the server doesn't always send these slots.
+     *
+     * @param inventory the player's inventory
+     */
+    public void onItemUsed(InventoryPlayer inventory) {
+        inventoryObserver.markChanged(inventory.currentItem);
+        for (int i = ARMOR_SLOT_OFFSET; i < PLAYER_INVENTORY_SIZE; i++) {
+            inventoryObserver.markChanged(i);
+        }
+    }
+
+    /**
+     * @return the player's inventory window if {@code windowId} is {@code 0}, the window that's open if it has the id, or
+     * {@code null} otherwise
+     */
+    private Container getWindow(int windowId) {
+        EntityPlayerSP player = Minecraft.getMinecraft().thePlayer;
+        if (player == null) {
+            return null;
+        }
+        if (windowId == 0) {
+            return player.inventoryContainer;
+        }
+        return player.openContainer != null && player.openContainer.windowId == windowId ? player.openContainer : null;
+    }
+
     /**
      * Checks if the players inventory is full and displays an alarm if so.
      *
      * @param mc Minecraft instance
-     * @param p Player to check
      */
-    public void checkIfInventoryIsFull(Minecraft mc, EntityPlayerSP p) {
+    public void checkIfInventoryIsFull(Minecraft mc) {
         if (main.getUtils().isOnSkyblock() && main.getConfigValues().isEnabled(Feature.FULL_INVENTORY_WARNING)) {
-            /*
-            If the inventory is full, show the full inventory warning.
-            Slot 8 is the Skyblock menu/quiver arrow slot. It's ignored so shooting with a full inventory
-            doesn't spam the full inventory warning.
-             */
-            for (int i = 0; i < p.inventory.mainInventory.length; i++) {
-                // If we find an empty slot that isn't slot 8, remove any queued warnings and stop checking.
-                if (p.inventory.mainInventory[i] == null && i != 8) {
-                    if (inventoryWarningShown) {
-                        main.getScheduler().removeQueuedFullInventoryWarnings();
-                    }
-                    inventoryWarningShown = false;
-                    return;
+            // If there's an empty slot, remove any queued warnings and stop checking.
+            if (!inventoryProperties.getInventoryFull().get()) {
+                if (inventoryWarningShown) {
+                    main.getScheduler().removeQueuedFullInventoryWarnings();
                 }
+                inventoryWarningShown = false;
+                return;
             }
 
             // If we make it here, the inventory is full. Show the warning.
@@ -296,36 +294,17 @@ public class InventoryUtils {
     }
 
     /**
-     * Checks if the player is wearing a Skeleton Helmet and updates {@link #wearingSkeletonHelmet} accordingly
-     *
-     * @param p Player to check
+     * @return whether the player is wearing a Skeleton Helmet
      */
-    public void checkIfWearingSkeletonHelmet(EntityPlayerSP p) {
-        if (main.getConfigValues().isEnabled(Feature.SKELETON_BAR)) {
-            ItemStack item = p.getEquipmentInSlot(4);
-            if (item != null && SKELETON_HELMET_ID.equals(ItemUtils.getSkyblockItemID(item))) {
-                wearingSkeletonHelmet = true;
-                return;
-            }
-            wearingSkeletonHelmet = false;
-        }
+    public boolean isWearingSkeletonHelmet() {
+        return inventoryProperties.getWearingSkeletonHelmet().get();
     }
 
     /**
-     * Determines if the player is using Toxic Arrow Poison by detecting if it is present in their inventory.
-     *
-     * @param p the player to check
+     * @return whether the player is using Toxic Arrow Poison, which is detected by it being present in their inventory
      */
-    public void checkIfUsingToxicArrowPoison(EntityPlayerSP p) {
-        if (main.getConfigValues().isEnabled(Feature.TURN_BOW_GREEN_WHEN_USING_TOXIC_ARROW_POISON)) {
-            for (ItemStack item : p.inventory.mainInventory) {
-                if (item != null && TOXIC_ARROW_POISON_ID.equals(ItemUtils.getSkyblockItemID(item))) {
-                    this.usingToxicArrowPoison = true;
-                    return;
-                }
-            }
-            this.usingToxicArrowPoison = false;
-        }
+    public boolean isUsingToxicArrowPoison() {
+        return inventoryProperties.getUsingToxicArrowPoison().get();
     }
 
     /**
@@ -339,56 +318,6 @@ public class InventoryUtils {
         else return 0;
     }
 
-    /**
-     * Checks if the player is wearing any Revenant or Tarantula armor.
-     * If the armor is detected, the armor's levelling progress is retrieved to be displayed on the HUD.
-     *
-     * @param p the player to check
-     */
-    public void checkIfWearingSlayerArmor(EntityPlayerSP p) {
-        if (main.getConfigValues().isEnabled(Feature.SLAYER_INDICATOR)) {
-            for (int i = 3; i >= 0; i--) {
-                ItemStack itemStack = p.inventory.armorInventory[i];
-                String itemID = itemStack != null ? ItemUtils.getSkyblockItemID(itemStack) : null;
-
-                if (itemID != null && (itemID.startsWith("REVENANT") || itemID.startsWith("TARANTULA") ||
-                        itemID.startsWith("FINAL_DESTINATION") || itemID.startsWith("REAPER"))) {
-                    String percent = null;
-                    String defence = null;
-                    List<String> lore = ItemUtils.getItemLore(itemStack);
-                    for (String loreLine : lore) {
-                        Matcher matcher = REVENANT_UPGRADE_PATTERN.matcher(TextUtils.stripColor(loreLine));
-                        if (matcher.matches()) { // Example: line§5§o§7Next Upgrade: §a+240❈ §8(§a14,418§7/§c15,000§8)
-                            try {
-                                float percentage = Float.parseFloat(matcher.group(2).replace(",", "")) /
-                                        Integer.parseInt(matcher.group(3).replace(",", "")) * 100;
-                                BigDecimal bigDecimal = new BigDecimal(percentage).setScale(0, RoundingMode.HALF_UP);
-                                percent = bigDecimal.toString();
-                                defence = ColorCode.GREEN + matcher.group(1);
-                                break;
-                            } catch (NumberFormatException ignored) {
-                            }
-                        }
-                    }
-                    if (percent != null && defence != null) {
-                        SlayerArmorProgress currentProgress = slayerArmorProgresses[i];
-
-                        if (currentProgress == null || itemStack != currentProgress.getItemStack()) {
-                            // The item has changed or didn't exist. Create new object.
-                            slayerArmorProgresses[i] = new SlayerArmorProgress(itemStack, percent, defence);
-                        } else {
-                            // The item has remained the same. Just update the stats.
-                            currentProgress.setPercent(percent);
-                            currentProgress.setDefence(defence);
-                        }
-                    }
-                } else {
-                    slayerArmorProgresses[i] = null;
-                }
-            }
-        }
-    }
-
     /**
      * Returns true if the player is wearing a full armor set with IDs contained in the given set
      *
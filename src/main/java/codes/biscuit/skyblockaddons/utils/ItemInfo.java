@@ -0,0 +1,247 @@
+package codes.biscuit.skyblockaddons.utils;
+
+import codes.biscuit.skyblockaddons.core.ItemRarity;
+import codes.biscuit.skyblockaddons.core.ItemType;
+import com.google.common.collect.MapMaker;
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * What's read from the NBT of a Skyblock item: its ID, UUID, lore, enchantments, and the rarity and type at the end of
+ * its lore.
+ * <p>
+ * Items are checked many times per frame by tooltips, slot overlays and the inventory features, so the info of each
+ * tag compound is cached. The cache holds the tag compounds weakly and compares them by identity, so it never keeps an
+ * item alive. Cached info is only used while the tag still has the same {@code display}, {@code Lore} and
+ * {@code ExtraAttributes} tags it was read from, and those still hold the same lore line, {@code id}, {@code uuid} and
+ * {@code enchantments} tags. String tags can't be changed, so replacing or editing any of them in place, like
+ * {@link ItemUtils#setItemLore} and {@link ItemUtils#createEnchantedBook} do, makes it read again. The contents of the
+ * {@code ExtraAttributes} and {@code enchantments} compounds are returned as they are and aren't copied.
+ */
+@Getter
+public class ItemInfo {
+
+    /**
+     * This expression matches the line with a Skyblock item's rarity and item type that's at the end of its lore.
+     */
+    private static final Pattern ITEM_TYPE_AND_RARITY_PATTERN = Pattern.compile("§l(?<rarity>[A-Z]+) ?(?<type>[A-Z ]+)?(?:§[0-9a-f]§l§ka)?$");
+
+    /** The info of items without a tag compound */
+    private static final ItemInfo EMPTY = new ItemInfo(null, null, null);
+
+    private static final ConcurrentMap<NBTTagCompound, ItemInfo> CACHE = new MapMaker().weakKeys().makeMap();
+
+    /** The tags this was read from, to check that the cached info is still valid */
+    @Getter(AccessLevel.NONE) private final NBTBase displayTag;
+    @Getter(AccessLevel.NONE) private final NBTBase loreTag;
+    @Getter(AccessLevel.NONE) private final NBTBase[] loreLineTags;
+    @Getter(AccessLevel.NONE) private final NBTBase extraAttributesTag;
+    @Getter(AccessLevel.NONE) private final NBTBase idTag;
+    @Getter(AccessLevel.NONE) private final NBTBase uuidTag;
+    @Getter(AccessLevel.NONE) private final NBTBase enchantmentsTag;
+
+    /** The {@code ExtraAttributes} compound tag, or {@code null} if the item doesn't have one */
+    private final NBTTagCompound extraAttributes;
+    /** The Skyblock Item ID, or {@code null} if this isn't a valid Skyblock item */
+    private final String skyblockItemID;
+    /** The UUID of the item, or {@code null} if it doesn't have one, like menu items */
+    private final String uuid;
+    /** The {@code enchantments} compound tag, or {@code null} if the item doesn't have one */
+    private final NBTTagCompound enchantments;
+    /** The lore of the item, which is empty if it doesn't have a lore tag */
+    private final List<String> lore;
+
+    /** Written after the rarity and type, so a thread that sees it set also sees both of them */
+    @Getter(AccessLevel.NONE) private volatile boolean rarityAndTypeParsed;
+    @Getter(AccessLevel.NONE) private ItemRarity rarity;
+    @Getter(AccessLevel.NONE) private ItemType itemType;
+
+    private ItemInfo(NBTBase displayTag, NBTBase loreTag, NBTBase extraAttributesTag) {
+        this.displayTag = displayTag;
+        this.loreTag = loreTag;
+        this.extraAttributesTag = extraAttributesTag;
+
+        loreLineTags = getLineTags(loreTag);
+        if (loreTag instanceof NBTTagList && ((NBTTagList) loreTag).getTagType() == ItemUtils.NBT_STRING) {
+            NBTTagList loreList = (NBTTagList) loreTag;
+            List<String> loreAsList = new ArrayList<>(loreList.tagCount());
+            for (int lineNumber = 0; lineNumber < loreList.tagCount(); lineNumber++) {
+                loreAsList.add(loreList.getStringTagAt(lineNumber));
+            }
+            lore = Collections.unmodifiableList(loreAsList);
+        } else {
+            lore = Collections.emptyList();
+        }
+
+        if (extraAttributesTag instanceof NBTTagCompound) {
+            extraAttributes = (NBTTagCompound) extraAttributesTag;
+            idTag = extraAttributes.getTag("id");
+            uuidTag = extraAttributes.getTag("uuid");
+            enchantmentsTag = extraAttributes.getTag("enchantments");
+            skyblockItemID = extraAttributes.hasKey("id", ItemUtils.NBT_STRING) ? extraAttributes.getString("id") : null;
+            uuid = extraAttributes.hasKey("uuid", ItemUtils.NBT_STRING) ? extraAttributes.getString("uuid") : null;
+            enchantments = extraAttributes.hasKey("enchantments", ItemUtils.NBT_COMPOUND) ?
+                    extraAttributes.getCompoundTag("enchantments") : null;
+        } else {
+            extraAttributes = null;
+            idTag = null;
+            uuidTag = null;
+            enchantmentsTag = null;
+            skyblockItemID = null;
+            uuid = null;
+            enchantments = null;
+        }
+    }
+
+    /**
+     * Returns the info of an item's tag compound, which is only read the first time or after its tags were changed.
+     *
+     * @param tagCompound the item's tag compound, or {@code null} if it doesn't have one
+     * @return the info of the item
+     */
+    public static ItemInfo of(NBTTagCompound tagCompound) {
+        if (tagCompound == null) {
+            return EMPTY;
+        }
+
+        ItemInfo itemInfo = CACHE.get(tagCompound);
+        if (itemInfo == null || !itemInfo.isReadFrom(tagCompound)) {
+            itemInfo = read(tagCompound);
+            CACHE.put(tagCompound, itemInfo);
+        }
+        return itemInfo;
+    }
+
+    /**
+     * Reads the info of an item's tag compound without using the cache.
+     *
+     * @param tagCompound the item's tag compound, or {@code null} if it doesn't have one
+     * @return the info of the item
+     */
+    public static ItemInfo read(NBTTagCompound tagCompound) {
+        if (tagCompound == null) {
+            return EMPTY;
+        }
+
+        NBTBase displayTag = tagCompound.getTag("display");
+        NBTBase loreTag = displayTag instanceof NBTTagCompound ? ((NBTTagCompound) displayTag).getTag("Lore") : null;
+        return new ItemInfo(displayTag, loreTag, tagCompound.getTag("ExtraAttributes"));
+    }
+
+    /**
+     * @return the rarity of the item if a valid rarity is found in its lore, or {@code null} otherwise
+     */
+    public ItemRarity getRarity() {
+        if (!rarityAndTypeParsed) {
+            parseRarityAndType();
+        }
+        return rarity;
+    }
+
+    /**
+     * @return the item type of the item if a valid item type is found in its lore, or {@code null} otherwise
+     */
+    public ItemType getItemType() {
+        if (!rarityAndTypeParsed) {
+            parseRarityAndType();
+        }
+        return itemType;
+    }
+
+    /**
+     * @return whether the tag compound still has the tags this was read from
+     */
+    private boolean isReadFrom(NBTTagCompound tagCompound) {
+        if (tagCompound.getTag("ExtraAttributes") != extraAttributesTag || tagCompound.getTag("display") != displayTag) {
+            return false;
+        }
+        if (extraAttributes != null && (extraAttributes.getTag("id") != idTag || extraAttributes.getTag("uuid") != uuidTag
+                || extraAttributes.getTag("enchantments") != enchantmentsTag)) {
+            return false;
+        }
+
+        NBTBase currentLoreTag = displayTag instanceof NBTTagCompound ? ((NBTTagCompound) displayTag).getTag("Lore") : null;
+        if (currentLoreTag != loreTag) {
+            return false;
+        }
+        if (loreTag instanceof NBTTagList) {
+            NBTTagList loreList = (NBTTagList) loreTag;
+            if (loreList.tagCount() != loreLineTags.length) {
+                return false;
+            }
+            for (int lineNumber = 0; lineNumber < loreLineTags.length; lineNumber++) {
+                if (loreList.get(lineNumber) != loreLineTags[lineNumber]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the tags in a list tag, or an empty array if the tag isn't a list
+     */
+    private static NBTBase[] getLineTags(NBTBase listTag) {
+        if (!(listTag instanceof NBTTagList)) {
+            return new NBTBase[0];
+        }
+
+        NBTTagList list = (NBTTagList) listTag;
+        NBTBase[] tags = new NBTBase[list.tagCount()];
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = list.get(i);
+        }
+        return tags;
+    }
+
+    /**
+     * Finds the rarity and the item type in the lore. Both are on the same line, which is usually the last line or one
+     * of the last, so the lore is read from the end.
+     */
+    private void parseRarityAndType() {
+        ItemRarity foundRarity = null;
+        ItemType foundType = null;
+
+        for (int i = lore.size() - 1; i >= 0 && (foundRarity == null || foundType == null); i--) {
+            Matcher matcher = ITEM_TYPE_AND_RARITY_PATTERN.matcher(lore.get(i));
+            if (!matcher.find()) {
+                continue;
+            }
+
+            if (foundRarity == null) {
+                String rarityName = matcher.group("rarity");
+                for (ItemRarity itemRarity : ItemRarity.values()) {
+                    // Use a "startsWith" check here because "VERY SPECIAL" has two words and only "VERY" is matched.
+                    if (itemRarity.getLoreName().startsWith(rarityName)) {
+                        foundRarity = itemRarity;
+                        break;
+                    }
+                }
+            }
+
+            String typeName = matcher.group("type");
+            if (foundType == null && typeName != null) {
+                for (ItemType type : ItemType.values()) {
+                    if (type.getLoreName().startsWith(typeName)) {
+                        foundType = type;
+                        break;
+                    }
+                }
+            }
+        }
+
+        rarity = foundRarity;
+        itemType = foundType;
+        rarityAndTypeParsed = true;
+    }
+}
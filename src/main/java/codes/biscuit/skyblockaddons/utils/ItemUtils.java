@@ -21,12 +21,10 @@ import org.apache.commons.lang3.text.WordUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Supplier;
 
 import static net.minecraftforge.common.util.Constants.NBT.*;
 
@@ -38,12 +36,10 @@ public class ItemUtils {
     public static final int NBT_INTEGER = 3;
     public static final int NBT_STRING = 8;
     public static final int NBT_LIST = 9;
-    /**
-     * This expression matches the line with a Skyblock item's rarity and item type that's at the end of its lore.
-     */
-    private static final Pattern ITEM_TYPE_AND_RARITY_PATTERN = Pattern.compile("§l(?<rarity>[A-Z]+) ?(?<type>[A-Z ]+)?(?:§[0-9a-f]§l§ka)?$");
+    public static final int NBT_COMPOUND = 10;
+    /** Personal compactor items are rarely needed, so they aren't parsed until the first time they're used. */
     @SuppressWarnings({"FieldMayBeFinal", "MismatchedQueryAndUpdateOfCollection"})
-    @Setter private static Map<String, CompactorItem> compactorItems;
+    private static Supplier<Map<String, CompactorItem>> compactorItems = Collections::emptyMap;
     @SuppressWarnings({"FieldMayBeFinal", "MismatchedQueryAndUpdateOfCollection"})
     @Setter private static Map<String, ContainerData> containers;
 
@@ -63,7 +59,7 @@ public class ItemUtils {
             return null;
         }
 
-        return getRarity(getItemLore(item));
+        return ItemInfo.of(item.getTagCompound()).getRarity();
     }
 
     /**
@@ -81,7 +77,20 @@ public class ItemUtils {
             return null;
         }
 
-        return getType(getItemLore(item));
+        return ItemInfo.of(item.getTagCompound()).getItemType();
+    }
+
+    public static void setCompactorItems(Map<String, CompactorItem> compactorItems) {
+        ItemUtils.compactorItems = () -> compactorItems;
+    }
+
+    /**
+     * Sets a supplier for the compactor items that is only called once they are needed.
+     *
+     * @param compactorItemsSupplier the supplier of the compactor items
+     */
+    public static void setCompactorItemsSupplier(Supplier<? extends Map<String, CompactorItem>> compactorItemsSupplier) {
+        ItemUtils.compactorItems = compactorItemsSupplier::get;
     }
 
     /**
@@ -92,7 +101,7 @@ public class ItemUtils {
      * @return The itemstack that this personal compactor skyblock ID represents
      */
     public static ItemStack getPersonalCompactorItemStack(String personalCompactorSkyblockID) {
-        CompactorItem compactorItem = compactorItems.get(personalCompactorSkyblockID);
+        CompactorItem compactorItem = compactorItems.get().get(personalCompactorSkyblockID);
         return compactorItem != null ? compactorItem.getItemStack() : ItemUtils.createSkullItemStack("§7Unknown (" + personalCompactorSkyblockID + ")", Collections.singletonList("§6also biscut was here hi!!"), personalCompactorSkyblockID,
                 "724c64a2-fc8b-4842-852b-6b4c2c6ef241", "e0180f4aeb6929f133c9ff10476ab496f74c46cf8b3be6809798a974929ccca3");
     }
@@ -118,16 +127,7 @@ public class ItemUtils {
             return null;
         }
 
-        NBTTagCompound extraAttributes = getExtraAttributes(item);
-        if (extraAttributes == null) {
-            return null;
-        }
-
-        if (!extraAttributes.hasKey("id", ItemUtils.NBT_STRING)) {
-            return null;
-        }
-
-        return extraAttributes.getString("id");
+        return ItemInfo.of(item.getTagCompound()).getSkyblockItemID();
     }
 
     /**
@@ -144,7 +144,7 @@ public class ItemUtils {
             return null;
         }
 
-        return item.getSubCompound("ExtraAttributes", false);
+        return ItemInfo.of(item.getTagCompound()).getExtraAttributes();
     }
 
 
@@ -155,8 +155,25 @@ public class ItemUtils {
      * @return the item's {@code enchantments} compound tag or {@code null} if the item doesn't have one
      */
     public static NBTTagCompound getEnchantments(ItemStack item) {
-        NBTTagCompound extraAttributes = getExtraAttributes(item);
-        return extraAttributes == null ? null : extraAttributes.getCompoundTag("enchantments");
+        ItemInfo itemInfo = ItemInfo.of(item.getTagCompound());
+        if (itemInfo.getExtraAttributes() == null) {
+            return null;
+        }
+        return itemInfo.getEnchantments() != null ? itemInfo.getEnchantments() : new NBTTagCompound();
+    }
+
+    /**
+     * Returns the UUID of a given Skyblock item, which every item has except for menu items.
+     *
+     * @param item the Skyblock item to check
+     * @return the UUID of this item or {@code null} if it doesn't have one
+     */
+    public static String getUuid(ItemStack item) {
+        if (item == null) {
+            return null;
+        }
+
+        return ItemInfo.of(item.getTagCompound()).getUuid();
     }
 
     /**
@@ -367,22 +384,7 @@ public class ItemUtils {
      */
     public static List<String> getItemLore(ItemStack itemStack) {
         if (itemStack != null) {
-            if (itemStack.hasTagCompound()) {
-                NBTTagCompound display = itemStack.getSubCompound("display", false);
-
-                if (display != null && display.hasKey("Lore", ItemUtils.NBT_LIST)) {
-                    NBTTagList lore = display.getTagList("Lore", ItemUtils.NBT_STRING);
-
-                    List<String> loreAsList = new ArrayList<>();
-                    for (int lineNumber = 0; lineNumber < lore.tagCount(); lineNumber++) {
-                        loreAsList.add(lore.getStringTagAt(lineNumber));
-                    }
-
-                    return Collections.unmodifiableList(loreAsList);
-                }
-            }
-
-            return Collections.emptyList();
+            return ItemInfo.of(itemStack.getTagCompound()).getLore();
         } else {
             throw new NullPointerException("Cannot get lore from null item!");
         }
@@ -582,61 +584,4 @@ public class ItemUtils {
         }
         return new NBTTagByteArray(stream.toByteArray());
     }
-
-    /**
-     * Returns the rarity of a Skyblock item given its lore. This method takes the item's lore as a string list as input.
-     * This method is split up from the method that takes the {@code ItemStack} instance for easier unit testing.
-     *
-     * @param lore the {@code List<String>} containing the item's lore
-     * @return the rarity of the item if a valid rarity is found, or {@code null} if item is {@code null} or no valid rarity is found
-     */
-    private static ItemRarity getRarity(List<String> lore) {
-        // Start from the end since the rarity is usually the last line or one of the last.
-        for (int i = lore.size() - 1; i >= 0 ; i--) {
-            String currentLine = lore.get(i);
-
-            Matcher rarityMatcher = ITEM_TYPE_AND_RARITY_PATTERN.matcher(currentLine);
-            if (rarityMatcher.find()) {
-                String rarity = rarityMatcher.group("rarity");
-
-                for (ItemRarity itemRarity : ItemRarity.values()) {
-                    // Use a "startsWith" check here because "VERY SPECIAL" has two words and only "VERY" is matched.
-                    if (itemRarity.getLoreName().startsWith(rarity)) {
-                        return itemRarity;
-                    }
-                }
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * Returns the item type of a Skyblock item given its lore. This method takes the item's lore as a string list as input.
-     * This method is split up from the method that takes the {@code ItemStack} instance for easier unit testing.
-     *
-     * @param lore the {@code List<String>} containing the item's lore
-     * @return the rarity of the item if a valid rarity is found, or {@code null} if item is {@code null} or no valid rarity is found
-     */
-    private static ItemType getType(List<String> lore) {
-        // Start from the end since the rarity is usually the last line or one of the last.
-        for (int i = lore.size() - 1; i >= 0; i--) {
-            String currentLine = lore.get(i);
-
-            Matcher itemTypeMatcher = ITEM_TYPE_AND_RARITY_PATTERN.matcher(currentLine);
-            if (itemTypeMatcher.find()) {
-                String type = itemTypeMatcher.group("type");
-
-                if (type != null) {
-                    for (ItemType itemType : ItemType.values()) {
-                        if (itemType.getLoreName().startsWith(type)) {
-                            return itemType;
-                        }
-                    }
-                }
-            }
-        }
-
-        return null;
-    }
 }
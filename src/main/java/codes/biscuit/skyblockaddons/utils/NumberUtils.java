@@ -0,0 +1,375 @@
+package codes.biscuit.skyblockaddons.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Reads and writes the numbers shown by Hypixel without making intermediate strings or boxed numbers, so they can be
+ * used for every action bar update and every frame.
+ * <p>
+ * Numbers are read straight from a {@link CharSequence} the same way {@link TextUtils#NUMBER_FORMAT} reads them and
+ * are written into a {@link StringBuilder} the caller keeps, the same way {@link TextUtils#NUMBER_FORMAT} writes them.
+ */
+public class NumberUtils {
+
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000,
+            1_000_000_000, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L,
+            100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L};
+    /** The powers of ten that are exact as doubles, for dividing by them without rounding twice */
+    private static final double[] DOUBLE_POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    /** The largest integer below which every integer is exact as a double */
+    private static final long MAX_EXACT_DOUBLE_INTEGER = 1L << 53;
+    /**
+     * {@link TextUtils#NUMBER_FORMAT} rounds the shortest decimal form of a double, which only rounds the same as the
+     * exact value while doubles are less than 0.001 apart. Larger numbers are written with the formatter.
+     */
+    private static final double MAX_WRITTEN_NUMBER = 1e12;
+
+    /**
+     * @return the index after the digits, commas and dots that start at {@code start}
+     */
+    public static int skipNumber(CharSequence text, int start) {
+        int end = start;
+        while (end < text.length()) {
+            char character = text.charAt(end);
+            if (!isDigit(character) && character != ',' && character != '.') {
+                break;
+            }
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Reads a number between {@code start} and {@code end} the same way {@link TextUtils#NUMBER_FORMAT} parses it,
+     * like "1,234.5" or "-12". Commas before the decimal point are skipped, and reading stops at anything else that
+     * isn't part of the number. Exponents aren't read.
+     *
+     * @param noDigits the value to return if there are no digits before reading stops
+     * @return the number, rounded to the nearest double
+     */
+    public static double parseDecimal(CharSequence text, int start, int end, double noDigits) {
+        boolean negative = start < end && text.charAt(start) == '-';
+        if (negative) {
+            start++;
+        }
+
+        long digits = 0;
+        int digitCount = 0;
+        int fractionDigits = 0;
+        boolean sawDigit = false;
+        boolean sawDecimal = false;
+        int numberEnd = end;
+        for (int i = start; i < end; i++) {
+            char character = text.charAt(i);
+            if (isDigit(character)) {
+                sawDigit = true;
+                // Leading zeros don't count towards the digits that fit in a long
+                if (digitCount > 0 || character != '0') {
+                    digitCount++;
+                }
+                if (digitCount <= 18) {
+                    digits = digits * 10 + (character - '0');
+                    if (sawDecimal) {
+                        fractionDigits++;
+                    }
+                }
+            } else if (character == ',') {
+                // Like NumberFormat, commas are skipped, but they can't be in the fraction
+                if (sawDecimal) {
+                    numberEnd = i;
+                    break;
+                }
+            } else if (character == '.' && !sawDecimal) {
+                sawDecimal = true;
+            } else {
+                numberEnd = i;
+                break;
+            }
+        }
+
+        if (!sawDigit) {
+            return noDigits;
+        }
+
+        double value;
+        if (digitCount <= 18 && digits < MAX_EXACT_DOUBLE_INTEGER && fractionDigits < DOUBLE_POWERS_OF_TEN.length) {
+            // Both are exact, so dividing rounds only once, like parsing the digits would.
+            value = digits / DOUBLE_POWERS_OF_TEN[fractionDigits];
+        } else {
+            value = parseLongNumber(text, start, numberEnd);
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Reads every digit in the text as one number and skips everything else, like 3 from "Wave 3".
+     *
+     * @param noNumber the value to return if there are no digits or the number doesn't fit in an int
+     */
+    public static int parseDigits(CharSequence text, int noNumber) {
+        long number = 0;
+        boolean sawDigit = false;
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (isDigit(character)) {
+                sawDigit = true;
+                number = number * 10 + (character - '0');
+                if (number > Integer.MAX_VALUE) {
+                    return noNumber;
+                }
+            }
+        }
+        return sawDigit ? (int) number : noNumber;
+    }
+
+    /**
+     * Appends the text with every number that has a magnitude converted, like {@link TextUtils#convertMagnitudes(String)}.
+     *
+     * @return the builder
+     */
+    public static StringBuilder appendConvertedMagnitudes(StringBuilder builder, CharSequence text) {
+        int length = text.length();
+        int copiedUntil = 0;
+        int i = 0;
+        while (i < length) {
+            if (!isDigit(text.charAt(i))) {
+                i++;
+                continue;
+            }
+
+            int numberEnd = skipNumber(text, i);
+            double magnitude = numberEnd < length ? getMagnitude(text.charAt(numberEnd)) : 0;
+            if (magnitude != 0) {
+                builder.append(text, copiedUntil, i);
+                appendFormatted(builder, parseDecimal(text, i, numberEnd, 0) * magnitude);
+                copiedUntil = numberEnd + 1;
+                i = numberEnd + 1;
+            } else {
+                i = numberEnd;
+            }
+        }
+        return builder.append(text, copiedUntil, length);
+    }
+
+    /**
+     * @return what a magnitude letter stands for (k, m, b or t in any case), or {@code 0} if the character isn't one
+     */
+    public static double getMagnitude(char character) {
+        switch (character) {
+            case 'k':
+            case 'K':
+                return 1_000;
+            case 'm':
+            case 'M':
+                return 1_000_000;
+            case 'b':
+            case 'B':
+                return 1_000_000_000;
+            case 't':
+            case 'T':
+                return 1_000_000_000_000L;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Appends a number the same way {@link TextUtils#NUMBER_FORMAT} formats it, with commas every three digits and up
+     * to two decimal places, like {@code 1,006,789.5}.
+     *
+     * @return the builder
+     */
+    public static StringBuilder appendFormatted(StringBuilder builder, double number) {
+        return appendNumber(builder, number, 2, true, false);
+    }
+
+    /**
+     * Appends a number with exactly {@code decimalPlaces} decimal places and no commas, like {@code 45.0}. It's rounded
+     * half up like {@link BigDecimal#setScale(int, RoundingMode)} with {@link RoundingMode#HALF_UP}.
+     *
+     * @param decimalPlaces the decimal places, from 0 to 3
+     * @return the builder
+     */
+    public static StringBuilder appendFixed(StringBuilder builder, double number, int decimalPlaces) {
+        return appendNumber(builder, number, decimalPlaces, false, true);
+    }
+
+    /**
+     * Appends a number shortened with a magnitude, like {@code 1.5k} or {@code 12M}, the same way as
+     * {@link TextUtils#abbreviate(int)}.
+     *
+     * @return the builder
+     */
+    public static StringBuilder appendAbbreviated(StringBuilder builder, int number) {
+        long value = number;
+        if (value < 0) {
+            builder.append('-');
+            value = -value;
+        }
+        if (value < 1_000) {
+            return builder.append(value);
+        }
+
+        long divideBy;
+        char suffix;
+        if (value < 1_000_000) {
+            divideBy = 1_000;
+            suffix = 'k';
+        } else if (value < 1_000_000_000) {
+            divideBy = 1_000_000;
+            suffix = 'M';
+        } else {
+            divideBy = 1_000_000_000;
+            suffix = 'B';
+        }
+
+        long truncated = value / (divideBy / 10); // The number part of the output times 10
+        builder.append(truncated / 10);
+        if (truncated < 100 && truncated % 10 != 0) {
+            builder.append('.').append(truncated % 10);
+        }
+        return builder.append(suffix);
+    }
+
+    /**
+     * Appends a number rounded exactly to the given decimal places. Doubles are stored in binary, so the rounding is
+     * worked out from the exact value of the double with whole numbers, instead of multiplying by a power of ten and
+     * rounding the inexact result.
+     *
+     * @param halfUp rounds halfway numbers away from zero if true, or to the even neighbor if false
+     */
+    private static StringBuilder appendNumber(StringBuilder builder, double number, int decimalPlaces, boolean grouping,
+                                              boolean halfUp) {
+        if (decimalPlaces < 0 || decimalPlaces > 3) {
+            throw new IllegalArgumentException("Only 0 to 3 decimal places are supported.");
+        }
+        if (Double.isNaN(number) || Double.isInfinite(number) || Math.abs(number) >= MAX_WRITTEN_NUMBER) {
+            if (grouping) {
+                // Rare enough to not matter, and NumberFormat already handles them
+                return builder.append(TextUtils.NUMBER_FORMAT.format(number));
+            }
+            return builder.append(new BigDecimal(number).setScale(decimalPlaces, RoundingMode.HALF_UP));
+        }
+
+        boolean negative = Double.doubleToRawLongBits(number) < 0;
+        double absolute = Math.abs(number);
+        long whole = (long) absolute;
+        // Exact, since the whole part of a double can always be subtracted from it without rounding
+        double fraction = absolute - whole;
+
+        long scale = POWERS_OF_TEN[decimalPlaces];
+        long scaledFraction = roundScaledFraction(fraction, scale, halfUp, whole);
+        if (scaledFraction == scale) {
+            whole++;
+            scaledFraction = 0;
+        }
+
+        // BigDecimal has no negative zero, but NumberFormat writes one.
+        if (negative && (grouping || whole != 0 || scaledFraction != 0)) {
+            builder.append('-');
+        }
+        if (grouping) {
+            appendGrouped(builder, whole);
+        } else {
+            builder.append(whole);
+        }
+
+        if (halfUp) {
+            // Fixed decimal places keep their trailing zeros
+            if (decimalPlaces > 0) {
+                builder.append('.');
+                appendPadded(builder, scaledFraction, decimalPlaces);
+            }
+        } else if (scaledFraction != 0) {
+            // NumberFormat leaves out trailing zeros
+            int places = decimalPlaces;
+            while (scaledFraction % 10 == 0) {
+                scaledFraction /= 10;
+                places--;
+            }
+            builder.append('.');
+            appendPadded(builder, scaledFraction, places);
+        }
+        return builder;
+    }
+
+    /**
+     * @return the fraction times {@code scale}, rounded to a whole number
+     */
+    private static long roundScaledFraction(double fraction, long scale, boolean halfUp, long whole) {
+        if (fraction == 0) {
+            return 0;
+        }
+
+        // The fraction is mantissa / 2^shift exactly.
+        long bits = Double.doubleToRawLongBits(fraction);
+        int exponent = (int) ((bits >>> 52) & 0x7FF);
+        long mantissa = bits & 0xF_FFFF_FFFF_FFFFL;
+        int shift;
+        if (exponent == 0) {
+            shift = 1074;
+        } else {
+            mantissa |= 1L << 52;
+            shift = 1075 - exponent;
+        }
+
+        // mantissa * scale is below 2^63, since the mantissa is below 2^53 and scale is at most 1000.
+        long scaled = mantissa * scale;
+        if (shift > 63) {
+            // The scaled fraction is below a half
+            return 0;
+        }
+        long rounded = scaled >>> shift;
+        long remainder = scaled & ((1L << shift) - 1);
+        long half = 1L << (shift - 1);
+        if (remainder == half && !halfUp) {
+            // Halfway rounds to the even neighbor, whose last digit is the whole part's if there are no decimal places
+            long lastDigit = scale == 1 ? whole : rounded;
+            if ((lastDigit & 1) == 1) {
+                rounded++;
+            }
+        } else if (remainder >= half) {
+            rounded++;
+        }
+        return rounded;
+    }
+
+    private static void appendGrouped(StringBuilder builder, long number) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && number >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        for (int digit = digits - 1; digit >= 0; digit--) {
+            builder.append((char) ('0' + number / POWERS_OF_TEN[digit] % 10));
+            if (digit > 0 && digit % 3 == 0) {
+                builder.append(',');
+            }
+        }
+    }
+
+    private static void appendPadded(StringBuilder builder, long number, int digits) {
+        for (int digit = digits - 1; digit >= 0; digit--) {
+            builder.append((char) ('0' + number / POWERS_OF_TEN[digit] % 10));
+        }
+    }
+
+    /**
+     * Parses numbers with too many digits to be read exactly with a long, which is the only case that allocates.
+     */
+    private static double parseLongNumber(CharSequence text, int start, int end) {
+        StringBuilder digits = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char character = text.charAt(i);
+            if (character != ',') {
+                digits.append(character);
+            }
+        }
+        return Double.parseDouble(digits.toString());
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+}
@@ -0,0 +1,157 @@
+package codes.biscuit.skyblockaddons.utils;
+
+import codes.biscuit.skyblockaddons.features.BaitManager;
+import codes.biscuit.skyblockaddons.features.SlayerArmorProgress;
+import lombok.Getter;
+import net.minecraft.entity.player.InventoryPlayer;
+import net.minecraft.item.ItemStack;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The facts {@link InventoryUtils} derives from the player's inventory, declared on an {@link InventoryObserver} whose
+ * slots are numbered like {@link InventoryPlayer#getStackInSlot(int)}. Whether each property is turned on is passed in,
+ * so the same properties can be checked against an inventory in tests without a game.
+ */
+@Getter
+public class PlayerInventoryProperties {
+
+    /** Display name of the Skeleton Helmet. */
+    private static final String SKELETON_HELMET_ID = "SKELETON_HELMET";
+    private static final String TOXIC_ARROW_POISON_ID = "TOXIC_ARROW_POISON";
+
+    private static final Pattern REVENANT_UPGRADE_PATTERN = Pattern.compile("Next Upgrade: \\+([0-9]+❈) \\(([0-9,]+)/([0-9,]+)\\)");
+
+    /** Whether every slot of the main inventory other than the SkyBlock menu slot has an item in it. */
+    private final InventoryObserver<ItemStack>.Property<Boolean> inventoryFull;
+
+    /** Whether the player is wearing a Skeleton Helmet. */
+    private final InventoryObserver<ItemStack>.Property<Boolean> wearingSkeletonHelmet;
+
+    /** Whether the player has Toxic Arrow Poison in their inventory. */
+    private final InventoryObserver<ItemStack>.Property<Boolean> usingToxicArrowPoison;
+
+    /** The progress of each slayer armor piece the player is wearing, from the boots to the helmet. */
+    private final List<InventoryObserver<ItemStack>.Property<SlayerArmorProgress>> slayerArmorProgresses;
+
+    /** The baits in the player's inventory and their count. */
+    private final InventoryObserver<ItemStack>.Property<Map<BaitManager.BaitType, Integer>> baits;
+
+    private PlayerInventoryProperties(InventoryObserver<ItemStack> inventoryObserver, BooleanSupplier onSkyblock,
+                                      BooleanSupplier fullInventoryWarning, BooleanSupplier skeletonBar,
+                                      BooleanSupplier toxicArrowPoison, BooleanSupplier slayerIndicator,
+                                      BooleanSupplier baitList) {
+        // Slot 8 is the Skyblock menu/quiver arrow slot. It's ignored so shooting with a full inventory doesn't spam the
+        // full inventory warning.
+        BitSet inventoryWithoutMenu = InventoryObserver.slots(0, InventoryUtils.MAIN_INVENTORY_SIZE);
+        inventoryWithoutMenu.clear(InventoryUtils.SKYBLOCK_MENU_SLOT);
+        inventoryFull = inventoryObserver.property("inventoryFull", inventoryWithoutMenu, false, inventory -> {
+            for (int i = 0; i < InventoryUtils.MAIN_INVENTORY_SIZE; i++) {
+                if (inventory.apply(i) == null && i != InventoryUtils.SKYBLOCK_MENU_SLOT) {
+                    return false;
+                }
+            }
+            return true;
+        }).when(fullInventoryWarning);
+
+        wearingSkeletonHelmet = inventoryObserver.property("skeletonHelmet",
+                InventoryObserver.slots(InventoryUtils.HELMET_SLOT, InventoryUtils.HELMET_SLOT + 1), false,
+                inventory -> SKELETON_HELMET_ID.equals(ItemUtils.getSkyblockItemID(inventory.apply(InventoryUtils.HELMET_SLOT))))
+                .when(onSkyblock).when(skeletonBar);
+
+        usingToxicArrowPoison = inventoryObserver.property("toxicArrowPoison",
+                InventoryObserver.slots(0, InventoryUtils.MAIN_INVENTORY_SIZE), false, inventory -> {
+                    for (int i = 0; i < InventoryUtils.MAIN_INVENTORY_SIZE; i++) {
+                        if (TOXIC_ARROW_POISON_ID.equals(ItemUtils.getSkyblockItemID(inventory.apply(i)))) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }).when(onSkyblock).when(toxicArrowPoison);
+
+        slayerArmorProgresses = new ArrayList<>(4);
+        for (int i = 0; i < 4; i++) {
+            int armorSlot = i;
+            int slot = InventoryUtils.ARMOR_SLOT_OFFSET + armorSlot;
+            slayerArmorProgresses.add(inventoryObserver.property("slayerArmor" + i, InventoryObserver.slots(slot, slot + 1), null,
+                    inventory -> getSlayerArmorProgress(slayerArmorProgresses.get(armorSlot).get(), inventory.apply(slot)))
+                    .when(onSkyblock).when(slayerIndicator));
+        }
+
+        baits = inventoryObserver.property("baits", InventoryObserver.slots(0, InventoryUtils.MAIN_INVENTORY_SIZE),
+                Collections.<BaitManager.BaitType, Integer>emptyMap(), BaitManager::countBaits)
+                .when(baitList);
+    }
+
+    /**
+     * Declares the properties derived from the player's inventory on an observer. Each property is only computed while
+     * the gates it depends on are open.
+     *
+     * @param inventoryObserver the observer of the player's inventory, with {@link InventoryUtils#PLAYER_INVENTORY_SIZE} slots
+     * @param onSkyblock whether the player is on Skyblock
+     * @param fullInventoryWarning whether the full inventory warning is enabled
+     * @param skeletonBar whether the skeleton bar is enabled
+     * @param toxicArrowPoison whether turning the bow green when using Toxic Arrow Poison is enabled
+     * @param slayerIndicator whether the slayer armor indicator is enabled
+     * @param baitList whether the bait list is enabled
+     * @return the declared properties
+     */
+    public static PlayerInventoryProperties declare(InventoryObserver<ItemStack> inventoryObserver, BooleanSupplier onSkyblock,
+                                                    BooleanSupplier fullInventoryWarning, BooleanSupplier skeletonBar,
+                                                    BooleanSupplier toxicArrowPoison, BooleanSupplier slayerIndicator,
+                                                    BooleanSupplier baitList) {
+        return new PlayerInventoryProperties(inventoryObserver, onSkyblock, fullInventoryWarning, skeletonBar,
+                toxicArrowPoison, slayerIndicator, baitList);
+    }
+
+    /**
+     * Checks if an armor piece is Revenant or Tarantula armor.
+     * If the armor is detected, the armor's levelling progress is retrieved to be displayed on the HUD.
+     *
+     * @param currentProgress the progress that was computed for the armor slot before
+     * @param itemStack the armor piece in the slot
+     * @return the progress of the armor piece, or {@code null} if it isn't slayer armor
+     */
+    private static SlayerArmorProgress getSlayerArmorProgress(SlayerArmorProgress currentProgress, ItemStack itemStack) {
+        String itemID = itemStack != null ? ItemUtils.getSkyblockItemID(itemStack) : null;
+
+        if (itemID != null && (itemID.startsWith("REVENANT") || itemID.startsWith("TARANTULA") ||
+                itemID.startsWith("FINAL_DESTINATION") || itemID.startsWith("REAPER"))) {
+            String percent = null;
+            String defence = null;
+            List<String> lore = ItemUtils.getItemLore(itemStack);
+            for (String loreLine : lore) {
+                Matcher matcher = REVENANT_UPGRADE_PATTERN.matcher(TextUtils.stripColor(loreLine));
+                if (matcher.matches()) { // Example: line§5§o§7Next Upgrade: §a+240❈ §8(§a14,418§7/§c15,000§8)
+                    try {
+                        float percentage = Float.parseFloat(matcher.group(2).replace(",", "")) /
+                                Integer.parseInt(matcher.group(3).replace(",", "")) * 100;
+                        BigDecimal bigDecimal = new BigDecimal(percentage).setScale(0, RoundingMode.HALF_UP);
+                        percent = bigDecimal.toString();
+                        defence = ColorCode.GREEN + matcher.group(1);
+                        break;
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+            if (percent != null && defence != null) {
+                if (currentProgress == null || itemStack != currentProgress.getItemStack()) {
+                    // The item has changed or didn't exist. Create new object.
+                    return new SlayerArmorProgress(itemStack, percent, defence);
+                } else {
+                    // The item has remained the same. Just update the stats.
+                    currentProgress.setPercent(percent);
+                    currentProgress.setDefence(defence);
+                }
+            }
+            return currentProgress;
+        } else {
+            return null;
+        }
+    }
+}
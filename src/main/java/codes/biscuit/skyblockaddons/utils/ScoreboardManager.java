@@ -1,7 +1,5 @@
 package codes.biscuit.skyblockaddons.utils;
 
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
 import lombok.Getter;
 import net.minecraft.client.Minecraft;
 import net.minecraft.scoreboard.Score;
@@ -9,25 +7,36 @@ import net.minecraft.scoreboard.ScoreObjective;
 import net.minecraft.scoreboard.ScorePlayerTeam;
 import net.minecraft.scoreboard.Scoreboard;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
+/**
+ * Keeps a {@link SidebarSnapshot} of the sidebar. Every tick, the sidebar's title and its scores' names and team
+ * prefixes and suffixes are compared to the ones the current snapshot was made from, and a new snapshot is only made
+ * when one of them changed. Listeners are told which lines changed.
+ */
 public class ScoreboardManager {
 
     public static final Pattern SIDEBAR_EMOJI_PATTERN = Pattern.compile("[\uD83D\uDD2B\uD83C\uDF6B\uD83D\uDCA3\uD83D\uDC7D\uD83D\uDD2E\uD83D\uDC0D\uD83D\uDC7E\uD83C\uDF20\uD83C\uDF6D\u26BD\uD83C\uDFC0\uD83D\uDC79\uD83C\uDF81\uD83C\uDF89\uD83C\uDF82]+");
 
-    @Getter private static String scoreboardTitle;
-    @Getter private static String strippedScoreboardTitle;
+    /** The most lines the sidebar shows */
+    private static final int MAX_LINES = 15;
 
-    @Getter private static List<String> scoreboardLines;
-    @Getter private static List<String> strippedScoreboardLines;
+    /** The current sidebar, replaced only when it changes */
+    @Getter private static SidebarSnapshot snapshot = SidebarSnapshot.EMPTY;
 
     @Getter private static long lastFoundScoreboard = -1;
 
+    private static final List<SidebarListener> listeners = new CopyOnWriteArrayList<>();
+
+    // What the current snapshot was made from
+    private static Scoreboard lastScoreboard;
+    private static ScoreObjective lastObjective;
+    private static String lastTitle;
+    private static String[] lastEntries = new String[0];
+    private static int lastEntryCount;
+
     public static void tick() {
         Minecraft mc = Minecraft.getMinecraft();
         if (mc == null || mc.theWorld == null || mc.isSingleplayer()) {
@@ -35,54 +44,177 @@ public class ScoreboardManager {
             return;
         }
 
-        Scoreboard scoreboard = mc.theWorld.getScoreboard();
+        update(mc.theWorld.getScoreboard());
+    }
+
+    /**
+     * Updates the snapshot from the given scoreboard's sidebar if it changed since the last update.
+     *
+     * @param scoreboard the scoreboard
+     * @return the current snapshot
+     */
+    public static SidebarSnapshot update(Scoreboard scoreboard) {
         ScoreObjective sidebarObjective = scoreboard.getObjectiveInDisplaySlot(1);
         if (sidebarObjective == null) {
             clear();
-            return;
+            return snapshot;
         }
 
         lastFoundScoreboard = System.currentTimeMillis();
 
-        // Update titles
-        scoreboardTitle = sidebarObjective.getDisplayName();
-        strippedScoreboardTitle = TextUtils.stripColor(scoreboardTitle);
-
-        // Update score lines
         Collection<Score> scores = scoreboard.getSortedScores(sidebarObjective);
-        List<Score> filteredScores = scores.stream().filter(p_apply_1_ -> p_apply_1_.getPlayerName() != null && !p_apply_1_.getPlayerName().startsWith("#")).collect(Collectors.toList());
-        if (filteredScores.size() > 15) {
-            scores = Lists.newArrayList(Iterables.skip(filteredScores, scores.size() - 15));
+        if (!hasChanged(scoreboard, sidebarObjective, scores)) {
+            return snapshot;
+        }
+
+        // Keep the scores with names that aren't hidden, and the same ones the vanilla sidebar shows if there are too
+        // many. The vanilla sidebar skips based on the number of scores before hidden ones are removed.
+        List<Score> shownScores = new ArrayList<>(scores.size());
+        for (Score score : scores) {
+            if (score.getPlayerName() != null && !score.getPlayerName().startsWith("#")) {
+                shownScores.add(score);
+            }
+        }
+
+        List<String> formattedLines = new ArrayList<>(Math.min(shownScores.size(), MAX_LINES));
+        if (shownScores.size() > MAX_LINES) {
+            for (int i = scores.size() - MAX_LINES; i < shownScores.size(); i++) {
+                formattedLines.add(formatLine(scoreboard, shownScores.get(i)));
+            }
         } else {
-            scores = filteredScores;
+            // Scores are sorted from lowest to highest, and the highest is the top line.
+            for (int i = shownScores.size() - 1; i >= 0; i--) {
+                formattedLines.add(formatLine(scoreboard, shownScores.get(i)));
+            }
         }
 
-        Collections.reverse(filteredScores);
+        setSnapshot(SidebarSnapshot.create(sidebarObjective.getDisplayName(), formattedLines));
+        return snapshot;
+    }
 
-        scoreboardLines = new ArrayList<>();
-        strippedScoreboardLines = new ArrayList<>();
+    /**
+     * Adds a listener that is called on the client thread whenever the sidebar changes.
+     *
+     * @param listener the listener
+     */
+    public static void addListener(SidebarListener listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(SidebarListener listener) {
+        listeners.remove(listener);
+    }
+
+    public static boolean hasScoreboard() {
+        return !snapshot.isEmpty();
+    }
 
-        for (Score line : scores) {
-            ScorePlayerTeam team = scoreboard.getPlayersTeam(line.getPlayerName());
-            String scoreboardLine = ScorePlayerTeam.formatPlayerName(team, line.getPlayerName()).trim();
-            String cleansedScoreboardLine = SIDEBAR_EMOJI_PATTERN.matcher(scoreboardLine).replaceAll("");
-            String strippedCleansedScoreboardLine = TextUtils.stripColor(cleansedScoreboardLine);
+    public static int getNumberOfLines() {
+        return snapshot.size();
+    }
+
+    public static String getScoreboardTitle() {
+        return snapshot.getTitle();
+    }
 
-            scoreboardLines.add(cleansedScoreboardLine);
-            strippedScoreboardLines.add(strippedCleansedScoreboardLine);
+    public static String getStrippedScoreboardTitle() {
+        return snapshot.getStrippedTitle();
+    }
+
+    /**
+     * @return the sidebar's lines from top to bottom, or {@code null} if there's no sidebar
+     */
+    public static List<String> getScoreboardLines() {
+        return hasScoreboard() ? snapshot.getLines() : null;
+    }
+
+    /**
+     * @return the sidebar's lines without formatting codes, or {@code null} if there's no sidebar
+     */
+    public static List<String> getStrippedScoreboardLines() {
+        return hasScoreboard() ? snapshot.getStrippedLines() : null;
+    }
+
+    /**
+     * Compares the sidebar to the one the current snapshot was made from, and remembers it if it's different. Only
+     * references are stored, and the strings are compared with {@link String#equals(Object)}, which returns right away
+     * for strings that haven't been replaced.
+     */
+    private static boolean hasChanged(Scoreboard scoreboard, ScoreObjective objective, Collection<Score> scores) {
+        int entryCount = scores.size() * 3;
+        boolean changed = snapshot.isEmpty() || scoreboard != lastScoreboard || objective != lastObjective ||
+                !objective.getDisplayName().equals(lastTitle) || entryCount != lastEntryCount;
+
+        if (lastEntries.length < entryCount) {
+            lastEntries = Arrays.copyOf(lastEntries, Math.max(entryCount, lastEntries.length * 2));
+            changed = true;
+        }
+
+        // Each score is stored as its name and its team's prefix and suffix, in the order they're sorted.
+        int index = 0;
+        for (Score score : scores) {
+            String playerName = score.getPlayerName();
+            ScorePlayerTeam team = playerName == null ? null : scoreboard.getPlayersTeam(playerName);
+            changed |= replaceEntry(index++, playerName);
+            changed |= replaceEntry(index++, team == null ? null : team.getColorPrefix());
+            changed |= replaceEntry(index++, team == null ? null : team.getColorSuffix());
+        }
+
+        lastScoreboard = scoreboard;
+        lastObjective = objective;
+        lastTitle = objective.getDisplayName();
+        lastEntryCount = entryCount;
+        return changed;
+    }
+
+    private static boolean replaceEntry(int index, String value) {
+        if (Objects.equals(lastEntries[index], value)) {
+            return false;
         }
+        lastEntries[index] = value;
+        return true;
+    }
+
+    private static String formatLine(Scoreboard scoreboard, Score score) {
+        ScorePlayerTeam team = scoreboard.getPlayersTeam(score.getPlayerName());
+        return ScorePlayerTeam.formatPlayerName(team, score.getPlayerName()).trim();
     }
 
     private static void clear() {
-        scoreboardTitle = strippedScoreboardTitle = null;
-        scoreboardLines = strippedScoreboardLines = null;
+        lastScoreboard = null;
+        lastObjective = null;
+        lastTitle = null;
+        Arrays.fill(lastEntries, null);
+        lastEntryCount = 0;
+        setSnapshot(SidebarSnapshot.EMPTY);
     }
 
-    public static boolean hasScoreboard() {
-        return scoreboardTitle != null;
+    private static void setSnapshot(SidebarSnapshot newSnapshot) {
+        SidebarSnapshot previous = snapshot;
+        if (newSnapshot.equals(previous)) {
+            // The inputs changed, but not in a way that shows, like a score being reordered among identical lines.
+            return;
+        }
+
+        snapshot = newSnapshot;
+        BitSet changedLines = newSnapshot.getChangedLines(previous);
+        for (SidebarListener listener : listeners) {
+            listener.onSidebarChanged(previous, newSnapshot, changedLines);
+        }
     }
 
-    public static int getNumberOfLines() {
-        return scoreboardLines.size();
+    /**
+     * Listens for changes to the sidebar.
+     */
+    public interface SidebarListener {
+
+        /**
+         * Called when the sidebar's title or any of its lines changed, or when it appeared or went away.
+         *
+         * @param previous the previous snapshot
+         * @param current the new snapshot
+         * @param changedLines the numbers of the lines that are different in the new snapshot
+         */
+        void onSidebarChanged(SidebarSnapshot previous, SidebarSnapshot current, BitSet changedLines);
     }
 }
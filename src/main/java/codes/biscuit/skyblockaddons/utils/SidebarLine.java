@@ -0,0 +1,70 @@
+package codes.biscuit.skyblockaddons.utils;
+
+import codes.biscuit.skyblockaddons.core.Location;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A sidebar line that was classified by {@link SidebarLineClassifier}, with the values it shows already parsed. Only
+ * the values that belong to the line's {@link Kind} are set.
+ */
+@Getter
+@Setter(AccessLevel.PACKAGE)
+public class SidebarLine {
+
+    /** The line without formatting codes */
+    private final String text;
+    private final Kind kind;
+
+    /** The server ID for {@link Kind#SERVER} lines, like "mini12C" or "mega4F" */
+    private String serverID;
+    /**
+     * The location for {@link Kind#LOCATION} lines, or the location the line happens to end with for
+     * {@link Kind#OTHER} lines. This is {@code null} if there isn't one.
+     */
+    private Location location;
+    /**
+     * The coins, bits or Jerry wave for {@link Kind#PURSE}, {@link Kind#BITS} and {@link Kind#JERRY_WAVE} lines. The
+     * coins are {@code NaN} if they couldn't be parsed and the bits are 0.
+     */
+    private double number;
+    private EnumUtils.SlayerQuest slayerQuest;
+    private int slayerQuestLevel;
+    /** The slayer quest progress for {@link Kind#SLAYER_PROGRESS} lines, with "k" already multiplied out */
+    private float slayerProgress;
+    private float slayerProgressTotal;
+
+    SidebarLine(String text, Kind kind) {
+        this.text = text;
+        this.kind = kind;
+    }
+
+    /**
+     * The kinds of lines on the Skyblock sidebar
+     */
+    public enum Kind {
+        /** The date and server ID, like "07/14/23 m12C" */
+        SERVER,
+        /** The location, like "⏣ Village" */
+        LOCATION,
+        /** The coins in the purse or the piggy bank, like "Purse: 1,234" */
+        PURSE,
+        /** The bits, like "Bits: 1,024" */
+        BITS,
+        /** The active slayer quest, like "Revenant Horror IV" */
+        SLAYER_QUEST,
+        /** The active slayer quest's progress, like "123/1.5k Combat XP" */
+        SLAYER_PROGRESS,
+        /** Shown when a slayer boss has spawned */
+        SLAYER_BOSS_ALIVE,
+        /** The current wave on Jerry's Workshop, like "Wave 3" */
+        JERRY_WAVE,
+        /** The dungeon completion, like "Cleared: 45%" */
+        DUNGEON_CLEARED,
+        /** The Hypixel Alpha Network's address */
+        ALPHA_IP,
+        /** Any other line, including blank ones */
+        OTHER
+    }
+}
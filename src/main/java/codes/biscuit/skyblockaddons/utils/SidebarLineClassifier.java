@@ -0,0 +1,257 @@
+package codes.biscuit.skyblockaddons.utils;
+
+import codes.biscuit.skyblockaddons.SkyblockAddons;
+import codes.biscuit.skyblockaddons.core.Location;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+
+/**
+ * Sorts Skyblock sidebar lines into {@link SidebarLine.Kind}s by looking at how they start and end, and parses the
+ * values they show. This replaces running every pattern against every line.
+ * <p>
+ * The classifier remembers the line it classified for each line number, so a line is only classified again when its
+ * text changes.
+ */
+public class SidebarLineClassifier {
+
+    private static final Logger logger = SkyblockAddons.getLogger();
+
+    /** The symbols in front of the location on the sidebar, the second one is used in the Rift */
+    private static final char LOCATION_SYMBOL = '\u23E3';
+    private static final char RIFT_LOCATION_SYMBOL = '\u0444';
+
+    private static final String[] SLAYER_PROGRESS_SUFFIXES = {" Combat XP", " Kills"};
+
+    private SidebarLine[] lines = new SidebarLine[16];
+
+    /**
+     * Classifies the line at the given line number, or returns the line classified last time if the text is the same.
+     *
+     * @param lineNumber the line's position on the sidebar, top line first
+     * @param strippedLine the line without formatting codes
+     * @return the classified line
+     */
+    public SidebarLine classify(int lineNumber, String strippedLine) {
+        if (lineNumber >= lines.length) {
+            lines = Arrays.copyOf(lines, Math.max(lineNumber + 1, lines.length * 2));
+        }
+
+        SidebarLine line = lines[lineNumber];
+        if (line == null || !line.getText().equals(strippedLine)) {
+            line = classify(strippedLine);
+            lines[lineNumber] = line;
+        }
+        return line;
+    }
+
+    /**
+     * Forgets the classified lines.
+     */
+    public void clear() {
+        Arrays.fill(lines, null);
+    }
+
+    /**
+     * Classifies a sidebar line and parses its values.
+     *
+     * @param strippedLine the line without formatting codes
+     * @return the classified line
+     */
+    public static SidebarLine classify(String strippedLine) {
+        SidebarLine line = null;
+
+        if (!strippedLine.isEmpty()) {
+            char firstCharacter = strippedLine.charAt(0);
+            char lastCharacter = strippedLine.charAt(strippedLine.length() - 1);
+
+            // Dispatch on the first character, so most lines are only compared with one or two prefixes.
+            switch (firstCharacter) {
+                case 'P':
+                    if (strippedLine.startsWith("Purse: ") || strippedLine.startsWith("Piggy: ")) {
+                        line = new SidebarLine(strippedLine, SidebarLine.Kind.PURSE);
+                        line.setNumber(parseNumber(strippedLine, "Purse: ".length(), Double.NaN));
+                    }
+                    break;
+                case 'B':
+                    if (strippedLine.startsWith("Bits: ")) {
+                        line = new SidebarLine(strippedLine, SidebarLine.Kind.BITS);
+                        line.setNumber(parseNumber(strippedLine, "Bits: ".length(), 0));
+                    }
+                    break;
+                case 'W':
+                    if (strippedLine.startsWith("Wave")) {
+                        line = new SidebarLine(strippedLine, SidebarLine.Kind.JERRY_WAVE);
+                        line.setNumber(parseJerryWave(strippedLine));
+                    }
+                    break;
+                case 'C':
+                    if (strippedLine.startsWith("Cleared: ")) {
+                        line = new SidebarLine(strippedLine, SidebarLine.Kind.DUNGEON_CLEARED);
+                    }
+                    break;
+                case 'S':
+                    if (strippedLine.equals("Slay the boss!")) {
+                        line = new SidebarLine(strippedLine, SidebarLine.Kind.SLAYER_BOSS_ALIVE);
+                    }
+                    break;
+                case LOCATION_SYMBOL:
+                case RIFT_LOCATION_SYMBOL:
+                    line = new SidebarLine(strippedLine, SidebarLine.Kind.LOCATION);
+                    line.setLocation(Location.fromSidebarLine(strippedLine));
+                    break;
+            }
+
+            if (line == null && isDigit(firstCharacter)) {
+                line = parseServerLine(strippedLine);
+            }
+            if (line == null && (lastCharacter == 'I' || lastCharacter == 'V')) {
+                line = parseSlayerQuest(strippedLine);
+            }
+            if (line == null && (lastCharacter == 'P' || lastCharacter == 's')) {
+                line = parseSlayerProgress(strippedLine);
+            }
+            if (line == null && strippedLine.contains("alpha.hypixel.net")) {
+                line = new SidebarLine(strippedLine, SidebarLine.Kind.ALPHA_IP);
+            }
+        }
+
+        if (line == null) {
+            line = new SidebarLine(strippedLine, SidebarLine.Kind.OTHER);
+            // The location line is found by its position if it doesn't have the location symbol.
+            line.setLocation(Location.fromSidebarLine(strippedLine));
+        }
+        return line;
+    }
+
+    /**
+     * Parses the server ID at the end of the first line, which is "m" for mini servers or "M" for mega servers
+     * followed by a number and a letter.
+     */
+    private static SidebarLine parseServerLine(String strippedLine) {
+        int end = strippedLine.length() - 1;
+        if (end < 2 || strippedLine.charAt(end) < 'A' || strippedLine.charAt(end) > 'Z') {
+            return null;
+        }
+
+        int codeStart = end;
+        while (codeStart > 0 && isDigit(strippedLine.charAt(codeStart - 1))) {
+            codeStart--;
+        }
+        if (codeStart == end || codeStart == 0) {
+            return null;
+        }
+
+        char serverType = strippedLine.charAt(codeStart - 1);
+        String serverCode = strippedLine.substring(codeStart);
+        SidebarLine line = new SidebarLine(strippedLine, SidebarLine.Kind.SERVER);
+        if (serverType == 'm') {
+            line.setServerID("mini" + serverCode);
+        } else if (serverType == 'M') {
+            line.setServerID("mega" + serverCode);
+        } else {
+            return null;
+        }
+        return line;
+    }
+
+    /**
+     * Parses a slayer quest line, which is the name of the slayer boss followed by its tier in Roman numerals.
+     */
+    private static SidebarLine parseSlayerQuest(String strippedLine) {
+        int separator = strippedLine.lastIndexOf(' ');
+        if (separator <= 0) {
+            return null;
+        }
+
+        for (int i = separator + 1; i < strippedLine.length(); i++) {
+            char character = strippedLine.charAt(i);
+            if (character != 'I' && character != 'V') {
+                return null;
+            }
+        }
+
+        EnumUtils.SlayerQuest slayerQuest = EnumUtils.SlayerQuest.fromName(strippedLine.substring(0, separator));
+        if (slayerQuest == null) {
+            return null;
+        }
+
+        try {
+            int level = RomanNumeralParser.parseNumeral(strippedLine.substring(separator + 1));
+            SidebarLine line = new SidebarLine(strippedLine, SidebarLine.Kind.SLAYER_QUEST);
+            line.setSlayerQuest(slayerQuest);
+            line.setSlayerQuestLevel(level);
+            return line;
+        } catch (IllegalArgumentException ex) {
+            logger.error("Failed to parse slayer level (" + ex.getMessage() + ")", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Parses a slayer quest progress line, which is the progress and the total separated by a slash, like
+     * "123/1.5k Combat XP" or "12/40 Kills".
+     */
+    private static SidebarLine parseSlayerProgress(String strippedLine) {
+        for (String suffix : SLAYER_PROGRESS_SUFFIXES) {
+            if (!strippedLine.endsWith(suffix)) {
+                continue;
+            }
+
+            int totalEnd = strippedLine.length() - suffix.length();
+            int totalStart = skipProgressCharacters(strippedLine, totalEnd);
+            if (totalStart == 0 || strippedLine.charAt(totalStart - 1) != '/') {
+                return null;
+            }
+            int progressStart = skipProgressCharacters(strippedLine, totalStart - 1);
+
+            try {
+                SidebarLine line = new SidebarLine(strippedLine, SidebarLine.Kind.SLAYER_PROGRESS);
+                line.setSlayerProgress(parseProgress(strippedLine.substring(progressStart, totalStart - 1)));
+                line.setSlayerProgressTotal(parseProgress(strippedLine.substring(totalStart, totalEnd)));
+                return line;
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the index of the first of the digits, dots and "k"s that end right before {@code end}
+     */
+    private static int skipProgressCharacters(String text, int end) {
+        int start = end;
+        while (start > 0) {
+            char character = text.charAt(start - 1);
+            if (!isDigit(character) && character != '.' && character != 'k') {
+                break;
+            }
+            start--;
+        }
+        return start;
+    }
+
+    private static float parseProgress(String progress) {
+        float value = Float.parseFloat(TextUtils.keepFloatCharactersOnly(progress));
+        return progress.indexOf('k') != -1 ? value * 1000 : value;
+    }
+
+    /**
+     * Parses the number after a line's label, up to the next space, like the coins in "Purse: 1,234 (+5)".
+     *
+     * @param noDigits the number to use if there are no digits after the label
+     */
+    private static double parseNumber(String strippedLine, int start, double noDigits) {
+        int end = strippedLine.indexOf(' ', start);
+        return NumberUtils.parseDecimal(strippedLine, start, end == -1 ? strippedLine.length() : end, noDigits);
+    }
+
+    private static int parseJerryWave(String strippedLine) {
+        return NumberUtils.parseDigits(strippedLine, 0);
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+}
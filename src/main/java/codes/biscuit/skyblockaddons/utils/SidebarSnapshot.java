@@ -0,0 +1,90 @@
+package codes.biscuit.skyblockaddons.utils;
+
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * An immutable copy of the sidebar's title and lines, made by {@link ScoreboardManager} when the sidebar changes. The
+ * lines have the sidebar emojis removed and are in the order they're shown, top line first.
+ */
+@Getter
+public class SidebarSnapshot {
+
+    /** The snapshot used when there is no sidebar */
+    public static final SidebarSnapshot EMPTY = new SidebarSnapshot(null, null, Collections.emptyList(), Collections.emptyList());
+
+    private final String title;
+    private final String strippedTitle;
+    private final List<String> lines;
+    private final List<String> strippedLines;
+
+    private SidebarSnapshot(String title, String strippedTitle, List<String> lines, List<String> strippedLines) {
+        this.title = title;
+        this.strippedTitle = strippedTitle;
+        this.lines = lines;
+        this.strippedLines = strippedLines;
+    }
+
+    /**
+     * Creates a snapshot from the sidebar's title and lines.
+     *
+     * @param title the sidebar objective's display name
+     * @param formattedLines the lines as shown, top line first, with their team prefixes and suffixes
+     * @return the snapshot
+     */
+    public static SidebarSnapshot create(String title, List<String> formattedLines) {
+        List<String> lines = new ArrayList<>(formattedLines.size());
+        List<String> strippedLines = new ArrayList<>(formattedLines.size());
+        for (String formattedLine : formattedLines) {
+            String cleansedLine = ScoreboardManager.SIDEBAR_EMOJI_PATTERN.matcher(formattedLine).replaceAll("");
+            lines.add(cleansedLine);
+            strippedLines.add(TextUtils.stripColor(cleansedLine));
+        }
+        return new SidebarSnapshot(title, TextUtils.stripColor(title), Collections.unmodifiableList(lines),
+                Collections.unmodifiableList(strippedLines));
+    }
+
+    /**
+     * @return {@code true} if this is the snapshot of a missing sidebar
+     */
+    public boolean isEmpty() {
+        return title == null;
+    }
+
+    public int size() {
+        return lines.size();
+    }
+
+    /**
+     * Returns the lines that are different in this snapshot than in the given one. Lines that only exist in one of the
+     * two are different too.
+     *
+     * @param previous the snapshot to compare to
+     * @return the numbers of the lines that changed
+     */
+    public BitSet getChangedLines(SidebarSnapshot previous) {
+        int lineCount = Math.max(lines.size(), previous.lines.size());
+        BitSet changedLines = new BitSet(lineCount);
+        for (int lineNumber = 0; lineNumber < lineCount; lineNumber++) {
+            if (lineNumber >= lines.size() || lineNumber >= previous.lines.size() ||
+                    !lines.get(lineNumber).equals(previous.lines.get(lineNumber))) {
+                changedLines.set(lineNumber);
+            }
+        }
+        return changedLines;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SidebarSnapshot that = (SidebarSnapshot) o;
+        return Objects.equals(title, that.title) && lines.equals(that.lines);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(title, lines);
+    }
+}
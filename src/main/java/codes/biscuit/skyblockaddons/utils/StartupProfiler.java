@@ -0,0 +1,252 @@
+package codes.biscuit.skyblockaddons.utils;
+
+import codes.biscuit.skyblockaddons.SkyblockAddons;
+import codes.biscuit.skyblockaddons.tweaker.SkyblockAddonsTransformer;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import lombok.Getter;
+import net.minecraft.launchwrapper.Launch;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records the wall time and the memory allocated by each phase of the mod's startup and by each ASM transformer, so
+ * slow launches can be diagnosed from a user's logs or their startup report.
+ * <p>
+ * Phases are timed with a {@link Section} in a try-with-resources block. Transformers are timed by
+ * {@link SkyblockAddonsTransformer}, which shares its timings through the launch blackboard since it runs before the
+ * mod is loaded.
+ */
+public class StartupProfiler {
+
+    private static final Logger logger = SkyblockAddons.getLogger();
+
+    public static final String REPORT_FILE_NAME = "skyblockaddons_startup.json";
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    /**
+     * The phases in the order they started, so nested phases come right after their parent. A phase is added when it
+     * starts and filled in when it finishes.
+     */
+    private static final List<Phase> phases = new CopyOnWriteArrayList<>();
+
+    /**
+     * Starts timing a phase. The phase keeps its place in the order phases started, and its time is recorded when the
+     * returned section is closed.
+     *
+     * @param name the name of the phase, nested phases are named {@code parent/child}
+     * @return the section to close when the phase is done
+     */
+    public static Section section(String name) {
+        return new Section(name);
+    }
+
+    /**
+     * @return the finished phases in the order they started, so each nested phase comes after its parent
+     */
+    public static List<Phase> getPhases() {
+        List<Phase> finishedPhases = new ArrayList<>(phases.size());
+        for (Phase phase : phases) {
+            if (phase.isFinished()) {
+                finishedPhases.add(phase);
+            }
+        }
+        return finishedPhases;
+    }
+
+    /**
+     * @return the total wall time of the top level phases in nanoseconds
+     */
+    public static long getTotalNanos() {
+        long total = 0;
+        for (Phase phase : getPhases()) {
+            if (phase.getName().indexOf('/') == -1) {
+                total += phase.getNanos();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the time and allocations of each transformer recorded by {@link SkyblockAddonsTransformer}.
+     *
+     * @return the transformer timings sorted by time, slowest first
+     */
+    public static List<TransformerTiming> getTransformerTimings() {
+        List<TransformerTiming> timings = new ArrayList<>();
+        Object blackboardTimings = Launch.blackboard == null ? null :
+                Launch.blackboard.get(SkyblockAddonsTransformer.TIMINGS_BLACKBOARD_KEY);
+
+        if (blackboardTimings instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) blackboardTimings).entrySet()) {
+                AtomicLongArray values = (AtomicLongArray) entry.getValue();
+                long allocatedBytes = isAllocationTrackingSupported() ?
+                        values.get(SkyblockAddonsTransformer.TIMING_ALLOCATED_BYTES) : -1;
+                timings.add(new TransformerTiming(String.valueOf(entry.getKey()),
+                        (int) values.get(SkyblockAddonsTransformer.TIMING_CLASSES),
+                        values.get(SkyblockAddonsTransformer.TIMING_NANOS), allocatedBytes));
+            }
+        }
+
+        timings.sort(Comparator.comparingLong(TransformerTiming::getNanos).reversed());
+        return timings;
+    }
+
+    /**
+     * Logs a summary of the startup and writes the full report to the config directory.
+     *
+     * @param configDirectory the mod configuration directory
+     */
+    public static void finish(File configDirectory) {
+        List<TransformerTiming> transformerTimings = getTransformerTimings();
+        long transformerNanos = 0;
+        for (TransformerTiming timing : transformerTimings) {
+            transformerNanos += timing.getNanos();
+        }
+
+        StringJoiner phaseJoiner = new StringJoiner(", ");
+        for (Phase phase : getPhases()) {
+            if (phase.getName().indexOf('/') == -1) {
+                phaseJoiner.add(phase.getName() + " " + toMillis(phase.getNanos()) + " ms");
+            }
+        }
+        logger.info("Started in " + toMillis(getTotalNanos()) + " ms (" + phaseJoiner + "). Transformers took " +
+                toMillis(transformerNanos) + " ms.");
+
+        File reportFile = new File(configDirectory, REPORT_FILE_NAME);
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(reportFile), StandardCharsets.UTF_8)) {
+            SkyblockAddons.getGson().toJson(toJson(transformerTimings), writer);
+        } catch (Exception ex) {
+            logger.error("An error occurred while writing the startup report.", ex);
+        }
+    }
+
+    private static JsonObject toJson(List<TransformerTiming> transformerTimings) {
+        JsonObject report = new JsonObject();
+        report.addProperty("version", SkyblockAddons.getVersionFull());
+        report.addProperty("timestamp", System.currentTimeMillis());
+        report.addProperty("totalMillis", getTotalNanos() / 1_000_000D);
+        report.addProperty("allocationTracking", isAllocationTrackingSupported());
+
+        JsonArray phaseArray = new JsonArray();
+        for (Phase phase : getPhases()) {
+            JsonObject phaseObject = new JsonObject();
+            phaseObject.addProperty("name", phase.getName());
+            phaseObject.addProperty("millis", phase.getNanos() / 1_000_000D);
+            phaseObject.addProperty("allocatedBytes", phase.getAllocatedBytes());
+            phaseObject.addProperty("thread", phase.getThreadName());
+            phaseArray.add(phaseObject);
+        }
+        report.add("phases", phaseArray);
+
+        JsonArray transformerArray = new JsonArray();
+        for (TransformerTiming timing : transformerTimings) {
+            JsonObject transformerObject = new JsonObject();
+            transformerObject.addProperty("name", timing.getName());
+            transformerObject.addProperty("classes", timing.getClasses());
+            transformerObject.addProperty("millis", timing.getNanos() / 1_000_000D);
+            transformerObject.addProperty("allocatedBytes", timing.getAllocatedBytes());
+            transformerArray.add(transformerObject);
+        }
+        report.add("transformers", transformerArray);
+
+        return report;
+    }
+
+    public static String toMillis(long nanos) {
+        return String.format(Locale.US, "%.1f", nanos / 1_000_000D);
+    }
+
+    /**
+     * @return {@code true} if the JVM can report the memory allocated by a thread
+     */
+    public static boolean isAllocationTrackingSupported() {
+        return THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean &&
+                ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).isThreadAllocatedMemorySupported() &&
+                ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far, or {@code -1} if this isn't supported
+     */
+    private static long getAllocatedBytes() {
+        if (!isAllocationTrackingSupported()) {
+            return -1;
+        }
+        return ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * A phase that is being timed. Closing it records the phase.
+     */
+    public static class Section implements AutoCloseable {
+        private final Phase phase;
+        private final long startNanos;
+        private final long startAllocatedBytes;
+
+        private Section(String name) {
+            this.phase = new Phase(name);
+            phases.add(phase);
+            this.startAllocatedBytes = getAllocatedBytes();
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            long nanos = System.nanoTime() - startNanos;
+            long allocatedBytes = startAllocatedBytes == -1 ? -1 : getAllocatedBytes() - startAllocatedBytes;
+            phase.finish(nanos, allocatedBytes, Thread.currentThread().getName());
+        }
+    }
+
+    /**
+     * A startup phase, which is only reported once it's finished.
+     */
+    @Getter
+    public static class Phase {
+        private final String name;
+        private volatile long nanos;
+        /** The bytes allocated by the phase's thread during the phase, or {@code -1} if this isn't supported */
+        private volatile long allocatedBytes;
+        private volatile String threadName;
+        private volatile boolean finished;
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        private void finish(long nanos, long allocatedBytes, String threadName) {
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+            this.threadName = threadName;
+            finished = true;
+        }
+    }
+
+    /**
+     * The total cost of one transformer across all the classes it transformed.
+     */
+    @Getter
+    public static class TransformerTiming {
+        private final String name;
+        private final int classes;
+        private final long nanos;
+        /** The bytes allocated while transforming, or {@code -1} if this isn't supported */
+        private final long allocatedBytes;
+
+        private TransformerTiming(String name, int classes, long nanos, long allocatedBytes) {
+            this.name = name;
+            this.classes = classes;
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+}
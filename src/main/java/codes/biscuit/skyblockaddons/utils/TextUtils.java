@@ -22,24 +22,15 @@ public class TextUtils {
      */
     public static final NumberFormat NUMBER_FORMAT = NumberFormat.getInstance(Locale.US);
 
-    private static final Pattern STRIP_COLOR_PATTERN = Pattern.compile("(?i)§[0-9A-FK-ORZ]");
     private static final Pattern STRIP_ICONS_PATTERN = Pattern.compile("[♲Ⓑ⚒ቾ]+");
     private static final Pattern STRIP_PREFIX_PATTERN = Pattern.compile("\\[[^\\[\\]]*\\]");
-    private static final Pattern REPEATED_COLOR_PATTERN = Pattern.compile("(?i)(§[0-9A-FK-ORZ])+");
     private static final Pattern NUMBERS_SLASHES = Pattern.compile("[^0-9 /]");
     private static final Pattern SCOREBOARD_CHARACTERS = Pattern.compile("[^a-z A-Z:0-9_/'.!§\\[\\]❤]");
     private static final Pattern FLOAT_CHARACTERS = Pattern.compile("[^.0-9\\-]");
     private static final Pattern INTEGER_CHARACTERS = Pattern.compile("[^0-9]");
-    private static final Pattern TRIM_WHITESPACE_RESETS = Pattern.compile("^(?:\\s|§r)*|(?:\\s|§r)*$");
     private static final Pattern USERNAME_PATTERN = Pattern.compile("[A-Za-z0-9_]+");
-    private static final Pattern RESET_CODE_PATTERN = Pattern.compile("(?i)§R");
-    private static final Pattern MAGNITUDE_PATTERN = Pattern.compile("(\\d[\\d,.]*\\d*)+([kKmMbBtT])");
 
-    private static final NavigableMap<Integer, String> suffixes = new TreeMap<>();
     static {
-        suffixes.put(1_000, "k");
-        suffixes.put(1_000_000, "M");
-        suffixes.put(1_000_000_000, "B");
         NUMBER_FORMAT.setMaximumFractionDigits(2);
     }
 
@@ -51,17 +42,35 @@ public class TextUtils {
      * @return Formatted string
      */
     public static String formatDouble(double number) {
-        return NUMBER_FORMAT.format(number);
+        return NumberUtils.appendFormatted(new StringBuilder(), number).toString();
     }
 
     /**
      * Strips color codes from a given text
      *
      * @param input Text to strip colors from
-     * @return Text without color codes
+     * @return Text without color codes, or the same instance if it has none
      */
     public static String stripColor(final String input) {
-        return STRIP_COLOR_PATTERN.matcher(input).replaceAll("");
+        int codeStart = input.indexOf('§');
+        if (codeStart == -1) {
+            return input;
+        }
+
+        int length = input.length();
+        StringBuilder stripped = null;
+        int copiedUntil = 0;
+        for (int i = codeStart; i < length - 1; i++) {
+            if (input.charAt(i) == '§' && isFormattingCode(input.charAt(i + 1))) {
+                if (stripped == null) {
+                    stripped = new StringBuilder(length);
+                }
+                stripped.append(input, copiedUntil, i);
+                copiedUntil = i + 2;
+                i++;
+            }
+        }
+        return stripped == null ? input : stripped.append(input, copiedUntil, length).toString();
     }
 
     /**
@@ -92,7 +101,16 @@ public class TextUtils {
      * @return {@code true} if the input string is length 0 or only contains repeated formatting codes
      */
     public static boolean isZeroLength(String input) {
-        return input.length() == 0 || REPEATED_COLOR_PATTERN.matcher(input).matches();
+        int length = input.length();
+        if (length % 2 != 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i += 2) {
+            if (input.charAt(i) != '§' || !isFormattingCode(input.charAt(i + 1))) {
+                return false;
+            }
+        }
+        return true;
     }
 
 
@@ -156,32 +174,7 @@ public class TextUtils {
      * @return Input text with converted magnitudes
      */
     public static String convertMagnitudes(String text) throws ParseException {
-        Matcher matcher = MAGNITUDE_PATTERN.matcher(text);
-        StringBuffer sb = new StringBuffer();
-
-        while (matcher.find()) {
-            double parsedDouble = NUMBER_FORMAT.parse(matcher.group(1)).doubleValue();
-            String magnitude = matcher.group(2).toLowerCase(Locale.ROOT);
-
-            switch (magnitude) {
-                case "k":
-                    parsedDouble *= 1_000;
-                    break;
-                case "m":
-                    parsedDouble *= 1_000_000;
-                    break;
-                case "b":
-                    parsedDouble *= 1_000_000_000;
-                    break;
-                case "t":
-                    parsedDouble *= 1_000_000_000_000L;
-            }
-
-            matcher.appendReplacement(sb, NUMBER_FORMAT.format(parsedDouble));
-        }
-        matcher.appendTail(sb);
-
-        return sb.toString();
+        return NumberUtils.appendConvertedMagnitudes(new StringBuilder(text.length()), text).toString();
     }
 
     /**
@@ -262,21 +255,7 @@ public class TextUtils {
     }
 
     public static String abbreviate(int number) {
-        if (number < 0) {
-            return "-" + abbreviate(-number);
-        }
-        if (number < 1000) {
-            return Long.toString(number);
-        }
-
-        Map.Entry<Integer, String> entry = suffixes.floorEntry(number);
-        Integer divideBy = entry.getKey();
-        String suffix = entry.getValue();
-
-        int truncated = number / (divideBy / 10); //the number part of the output times 10
-        //noinspection IntegerDivisionInFloatingPointContext
-        boolean hasDecimal = truncated < 100 && (truncated / 10d) != (truncated / 10);
-        return hasDecimal ? (truncated / 10d) + suffix : (truncated / 10) + suffix;
+        return NumberUtils.appendAbbreviated(new StringBuilder(), number).toString();
     }
 
 
@@ -287,7 +266,28 @@ public class TextUtils {
      * @return Text without leading or trailing reset color codes and whitespace
      */
     public static String trimWhitespaceAndResets(String input) {
-        return TRIM_WHITESPACE_RESETS.matcher(input).replaceAll("");
+        int start = 0;
+        int end = input.length();
+        while (start < end) {
+            if (isWhitespace(input.charAt(start))) {
+                start++;
+            } else if (isReset(input, start, end)) {
+                start += 2;
+            } else {
+                break;
+            }
+        }
+        // Whitespace and resets can only end with a whitespace or an r, so this finds the same ones when read backwards.
+        while (end > start) {
+            if (isWhitespace(input.charAt(end - 1))) {
+                end--;
+            } else if (end - 2 >= start && isReset(input, end - 2, end)) {
+                end -= 2;
+            } else {
+                break;
+            }
+        }
+        return input.substring(start, end);
     }
 
     /**
@@ -307,7 +307,25 @@ public class TextUtils {
      * @return Text with all reset color codes removed
      */
     public static String stripResets(String input) {
-        return RESET_CODE_PATTERN.matcher(input).replaceAll("");
+        int codeStart = input.indexOf('§');
+        if (codeStart == -1) {
+            return input;
+        }
+
+        int length = input.length();
+        StringBuilder stripped = null;
+        int copiedUntil = 0;
+        for (int i = codeStart; i < length - 1; i++) {
+            if (input.charAt(i) == '§' && (input.charAt(i + 1) == 'r' || input.charAt(i + 1) == 'R')) {
+                if (stripped == null) {
+                    stripped = new StringBuilder(length);
+                }
+                stripped.append(input, copiedUntil, i);
+                copiedUntil = i + 2;
+                i++;
+            }
+        }
+        return stripped == null ? input : stripped.append(input, copiedUntil, length).toString();
     }
 
 
@@ -341,77 +359,49 @@ public class TextUtils {
         if (unformattedSubstring.length() == 0) {
             return "";
         }
-        String styles = "kKlLmMnNoO";
         StringBuilder preEnchantFormat = new StringBuilder();
         StringBuilder formattedEnchant = new StringBuilder();
 
-        int i = -2;
         int len = formatted.length();
         int unformattedEnchantIdx = 0;
-        int k = 0;
-        while (true) {
-            i = formatted.indexOf('§', i + 2);
-            // No more formatting codes were found in the string
-            if (i == -1) {
-                // Test if there is an instance of the formatted enchant in the rest of the string
-                for (; k < len; k++) {
-                    // Enchant string matches at position k
-                    if (formatted.charAt(k) == unformattedSubstring.charAt(unformattedEnchantIdx)) {
-                        formattedEnchant.append(formatted.charAt(k));
-                        unformattedEnchantIdx++;
-                        // We have matched the entire enchant. Return the current format + the formatted enchant
-                        if (unformattedEnchantIdx == unformattedSubstring.length()) {
-                            return preEnchantFormat.append(formattedEnchant).toString();
-                        }
-                    }
-                    // Enchant string doesn't match at position k
-                    else {
-                        unformattedEnchantIdx = 0;
-                        // Transfer formats from formatted enchant to format
-                        preEnchantFormat = new StringBuilder(mergeFormats(preEnchantFormat.toString(), formattedEnchant.toString()));
-                        formattedEnchant = new StringBuilder();
+        for (int k = 0; k < len; k++) {
+            char character = formatted.charAt(k);
+            // Add the format code if present
+            if (character == '§' && k + 1 < len) {
+                char formatChar = formatted.charAt(++k);
+                // If not parsing an enchant, alter the pre enchant format
+                if (unformattedEnchantIdx == 0) {
+                    // Restart format at a new color
+                    if (!isStyleCode(formatChar)) {
+                        preEnchantFormat.setLength(0);
                     }
+                    // Append the new format code to the formatter
+                    preEnchantFormat.append('§').append(formatChar);
                 }
-                // No matching enchant found
-                return null;
-            } else {
-                for (; k < i; k++) {
-                    if (formatted.charAt(k) == unformattedSubstring.charAt(unformattedEnchantIdx)) {
-                        formattedEnchant.append(formatted.charAt(k));
-                        unformattedEnchantIdx++;
-                        // We have matched the entire enchant. Return the current format + the formatted enchant
-                        if (unformattedEnchantIdx == unformattedSubstring.length()) {
-                            return preEnchantFormat.append(formattedEnchant).toString();
-                        }
-                    } else {
-                        unformattedEnchantIdx = 0;
-                        // Transfer formats from formatted enchant to format
-                        preEnchantFormat = new StringBuilder(mergeFormats(preEnchantFormat.toString(), formattedEnchant.toString()));
-                        formattedEnchant = new StringBuilder();
-                    }
+                // If parsing an enchant, alter the current enchant format and the formatted enchant
+                else {
+                    formattedEnchant.append('§').append(formatChar);
                 }
-                // Add the format code if present
-                if (i + 1 < len) {
-                    char formatChar = formatted.charAt(i + 1);
-                    // If not parsing an enchant, alter the pre enchant format
-                    if (unformattedEnchantIdx == 0) {
-                        // Restart format at a new color
-                        if (styles.indexOf(formatChar) == -1) {
-                            preEnchantFormat = new StringBuilder();
-                        }
-                        // Append the new format code to the formatter
-                        preEnchantFormat.append("§").append(formatChar);
-                    }
-                    // If parsing an enchant, alter the current enchant format and the formatted enchant
-                    else {
-                        // Restart format at a new color
-                        formattedEnchant.append("§").append(formatChar);
-                    }
-                    // Skip the formatting code "§[0-9a-zA-Z]" on the next round
-                    k = i + 2;
+            }
+            // Enchant string matches at position k
+            else if (character == unformattedSubstring.charAt(unformattedEnchantIdx)) {
+                formattedEnchant.append(character);
+                unformattedEnchantIdx++;
+                // We have matched the entire enchant. Return the current format + the formatted enchant
+                if (unformattedEnchantIdx == unformattedSubstring.length()) {
+                    return preEnchantFormat.append(formattedEnchant).toString();
                 }
             }
+            // Enchant string doesn't match at position k
+            else {
+                unformattedEnchantIdx = 0;
+                // Transfer formats from formatted enchant to format
+                appendMergedFormat(preEnchantFormat, formattedEnchant);
+                formattedEnchant.setLength(0);
+            }
         }
+        // No matching enchant found
+        return null;
     }
 
     /**
@@ -424,25 +414,65 @@ public class TextUtils {
      * @param secondFormat the string that may have formatting codes within it
      * @return the relevant formatting codes in effect after {@param secondFormat}
      */
-    private static String mergeFormats(String firstFormat, String secondFormat) {
-        if (secondFormat == null || secondFormat.length() == 0) {
+    public static String mergeFormats(String firstFormat, String secondFormat) {
+        if (secondFormat == null || secondFormat.indexOf('§') == -1) {
             return firstFormat;
         }
-        String styles = "kKlLmMnNoO";
-        StringBuilder builder = new StringBuilder(firstFormat);
-        int i = -2;
-        while ((i = secondFormat.indexOf('§', i + 2)) != -1) {
-            if (i + 1 < secondFormat.length()) {
-                char c = secondFormat.charAt(i + 1);
+        return appendMergedFormat(new StringBuilder(firstFormat), secondFormat).toString();
+    }
+
+    /**
+     * Changes a format in place to the formatting in effect after {@code text}, like {@link #mergeFormats(String, String)}.
+     *
+     * @param format the color/style formatting before the text
+     * @param text   the text that may have formatting codes within it
+     * @return the format
+     */
+    private static StringBuilder appendMergedFormat(StringBuilder format, CharSequence text) {
+        int length = text.length();
+        for (int i = 0; i < length - 1; i++) {
+            if (text.charAt(i) == '§') {
+                char code = text.charAt(++i);
                 // If it's not a style then it's a color code
-                if (styles.indexOf(c) == -1) {
-                    builder = new StringBuilder();
+                if (!isStyleCode(code)) {
+                    format.setLength(0);
                 }
-                builder.append("§").append(c);
+                format.append('§').append(code);
             }
         }
-        return builder.toString();
+        return format;
+    }
+
+    /**
+     * @return whether the character after a § is a formatting code, including the chroma code z
+     */
+    private static boolean isFormattingCode(char character) {
+        if (character >= 'A' && character <= 'Z') {
+            character += 'a' - 'A';
+        }
+        return (character >= '0' && character <= '9') || (character >= 'a' && character <= 'f') ||
+                (character >= 'k' && character <= 'o') || character == 'r' || character == 'z';
+    }
+
+    /**
+     * @return whether the character after a § is a style (obfuscated, bold, strikethrough, underline or italic), which
+     * adds to the current format instead of replacing it like a color
+     */
+    private static boolean isStyleCode(char character) {
+        return (character >= 'k' && character <= 'o') || (character >= 'K' && character <= 'O');
     }
+
+    private static boolean isReset(String input, int index, int end) {
+        return index + 1 < end && input.charAt(index) == '§' && input.charAt(index + 1) == 'r';
+    }
+
+    /**
+     * @return whether the character is whitespace like {@code \s} in a pattern
+     */
+    private static boolean isWhitespace(char character) {
+        return character == ' ' || (character >= '\t' && character <= '\r');
+    }
+
     /**
      * Recursively performs an action upon a chat component and its siblings
      * This code is adapted from Skytils
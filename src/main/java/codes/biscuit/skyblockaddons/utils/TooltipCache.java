@@ -0,0 +1,155 @@
+package codes.biscuit.skyblockaddons.utils;
+
+import codes.biscuit.skyblockaddons.core.InventoryType;
+import lombok.Getter;
+import net.minecraft.item.Item;
+import net.minecraft.nbt.NBTTagCompound;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * A bounded least-recently-used cache of item tooltips. Building a Skyblock tooltip runs every tooltip event handler,
+ * which reformats enchants, adds lines from the item's attributes and looks up translations, and it's built again on
+ * every frame the tooltip is shown.
+ * <p>
+ * Tooltips are keyed by what they're built from: the item, its metadata, stack size and tag compound, whether advanced
+ * tooltips are on, which modifier keys are held and the menu that's open. Tag compounds are compared by their hash
+ * first and by their contents if the hashes match, so an item whose tag is changed in place gets a new tooltip. The
+ * whole cache is cleared when the config version changes, and an entry is built again once it's older than the maximum
+ * age, in case a handler adds lines that change over time.
+ * <p>
+ * This is only accessed from the client thread.
+ */
+public class TooltipCache {
+
+    private final Map<Key, Entry> entries;
+    private final long maxAgeMillis;
+    /** The config version of the cached tooltips */
+    private int configVersion;
+
+    @Getter private final CacheStats stats = new CacheStats();
+
+    /**
+     * @param maxSize the number of tooltips to keep
+     * @param maxAgeMillis how long a tooltip is used before it's built again
+     */
+    public TooltipCache(int maxSize, long maxAgeMillis) {
+        this.maxAgeMillis = maxAgeMillis;
+        entries = new LinkedHashMap<Key, Entry>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the tooltip for the given key, building it and caching the result on a miss.
+     *
+     * @param key what the tooltip is built from
+     * @param configVersion the current config version, see {@link codes.biscuit.skyblockaddons.config.ConfigValues#getConfigVersion()}
+     * @param now the current time in milliseconds
+     * @param tooltipBuilder builds the tooltip
+     * @return a copy of the tooltip, which the caller can change
+     */
+    public List<String> get(Key key, int configVersion, long now, Supplier<List<String>> tooltipBuilder) {
+        if (configVersion != this.configVersion) {
+            entries.clear();
+            this.configVersion = configVersion;
+        }
+
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.builtAt <= maxAgeMillis) {
+            stats.hit();
+            return new ArrayList<>(entry.tooltip);
+        }
+
+        stats.miss();
+        List<String> tooltip = tooltipBuilder.get();
+        entries.put(key, new Entry(now, new ArrayList<>(tooltip)));
+        return tooltip;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of cached tooltips
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * What a tooltip is built from
+     */
+    public static class Key {
+        private final Item item;
+        private final int metadata;
+        private final int stackSize;
+        private final NBTTagCompound tagCompound;
+        private final int tagCompoundHash;
+        private final boolean advanced;
+        private final boolean shiftDown;
+        private final boolean ctrlDown;
+        private final InventoryType inventoryType;
+        private final int hash;
+
+        /**
+         * @param item the item, which is compared by identity
+         * @param metadata the metadata of the item stack
+         * @param stackSize the size of the item stack
+         * @param tagCompound the tag compound of the item stack, or {@code null} if it doesn't have one
+         * @param advanced whether advanced tooltips are on
+         * @param shiftDown whether shift is held
+         * @param ctrlDown whether control is held
+         * @param inventoryType the menu that's open, or {@code null} if it isn't a known one
+         */
+        public Key(Item item, int metadata, int stackSize, NBTTagCompound tagCompound, boolean advanced, boolean shiftDown,
+                   boolean ctrlDown, InventoryType inventoryType) {
+            this.item = item;
+            this.metadata = metadata;
+            this.stackSize = stackSize;
+            this.tagCompound = tagCompound;
+            this.tagCompoundHash = tagCompound != null ? tagCompound.hashCode() : 0;
+            this.advanced = advanced;
+            this.shiftDown = shiftDown;
+            this.ctrlDown = ctrlDown;
+            this.inventoryType = inventoryType;
+            this.hash = Objects.hash(System.identityHashCode(item), metadata, stackSize, tagCompoundHash, advanced, shiftDown,
+                    ctrlDown, inventoryType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return item == other.item && metadata == other.metadata && stackSize == other.stackSize &&
+                    tagCompoundHash == other.tagCompoundHash && advanced == other.advanced && shiftDown == other.shiftDown &&
+                    ctrlDown == other.ctrlDown && inventoryType == other.inventoryType &&
+                    (tagCompound == other.tagCompound || tagCompound != null && tagCompound.equals(other.tagCompound));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static class Entry {
+        private final long builtAt;
+        private final List<String> tooltip;
+
+        private Entry(long builtAt, List<String> tooltip) {
+            this.builtAt = builtAt;
+            this.tooltip = tooltip;
+        }
+    }
+}
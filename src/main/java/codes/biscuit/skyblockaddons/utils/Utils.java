@@ -48,10 +48,8 @@ import java.io.*;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.FloatBuffer;
-import java.text.ParseException;
 import java.util.List;
 import java.util.*;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Getter
@@ -74,27 +72,6 @@ public class Utils {
      */
     private static final Set<String> SKYBLOCK_IN_ALL_LANGUAGES = Sets.newHashSet("SKYBLOCK", "\u7A7A\u5C9B\u751F\u5B58", "\u7A7A\u5CF6\u751F\u5B58");
 
-    /**
-     * Matches the server ID (mini##/Mega##) line on the Skyblock scoreboard
-     */
-    private static final Pattern SERVER_REGEX = Pattern.compile("(?<serverType>[Mm])(?<serverCode>[0-9]+[A-Z])$");
-    /**
-     * Matches the coins balance (purse/piggy bank) line on the Skyblock scoreboard
-     */
-    private static final Pattern PURSE_REGEX = Pattern.compile("(?:Purse|Piggy): (?<coins>[0-9.,]*)");
-    /**
-     * Matches the bits balance line on the Skyblock scoreboard
-     */
-    private static final Pattern BITS_REGEX = Pattern.compile("Bits: (?<bits>[0-9,]*)");
-    /**
-     * Matches the active slayer quest type line on the Skyblock scoreboard
-     */
-    private static final Pattern SLAYER_TYPE_REGEX = Pattern.compile("(?<type>Tarantula Broodfather|Revenant Horror|Sven Packmaster|Voidgloom Seraph) (?<level>[IV]+)");
-    /**
-     * Matches the active slayer quest progress line on the Skyblock scoreboard
-     */
-    private static final Pattern SLAYER_PROGRESS_REGEX = Pattern.compile("(?<progress>[0-9.k]*)/(?<total>[0-9.k]*) (?:Kills|Combat XP)$");
-
     /**
      * A dummy world object used for spawning fake entities for GUI features without affecting the actual world
      */
@@ -174,8 +151,20 @@ public class Utils {
     private int slayerQuestLevel = 1;
     private boolean slayerBossAlive;
 
+    /** Set when the sidebar changes, so {@link #parseSidebar()} knows it has something new to parse */
+    private boolean sidebarChanged = true;
+    // The state the sidebar was last parsed with
+    private boolean lastParsedOnHypixel;
+    private boolean lastParsedOnSkyblock;
+    private boolean lastFoundScoreboard;
+    private boolean lastFoundSkyblockTitle;
+    private final SidebarLineClassifier sidebarLineClassifier = new SidebarLineClassifier();
+    private String lastDateString;
+    private String lastTimeString;
+
     public Utils() {
         addDefaultStats();
+        ScoreboardManager.addListener((previous, current, changedLines) -> sidebarChanged = true);
     }
 
     private void addDefaultStats() {
@@ -235,10 +224,26 @@ public class Utils {
         return false;
     }
 
+    /**
+     * Parses the sidebar to find the player's location, server, purse and other information. The sidebar is only
+     * parsed again when it changed or when whether the player is on Hypixel or Skyblock changed, except in dungeons,
+     * where the lines also depend on the tab list.
+     */
     public void parseSidebar() {
+        boolean onHypixel = isOnHypixel();
+        if (!sidebarChanged && !inDungeon && onHypixel == lastParsedOnHypixel && isOnSkyblock() == lastParsedOnSkyblock) {
+            // The sidebar would parse the same as last time, only the time since a scoreboard was found can change.
+            // The profile name can also be set from chat, so the Alpha profile is set again like a full parse would.
+            if (alpha) {
+                profileName = "Alpha";
+            }
+            checkLeftSkyblock(lastFoundScoreboard, lastFoundSkyblockTitle);
+            return;
+        }
+        sidebarChanged = false;
+
         boolean foundScoreboard = false;
 
-        boolean foundActiveSoup = false;
         boolean foundLocation = false;
         boolean foundJerryWave = false;
         boolean foundAlphaIP = false;
@@ -247,8 +252,7 @@ public class Utils {
         boolean foundBossAlive = false;
         boolean foundSkyblockTitle = false;
 
-        // TODO: This can be optimized more.
-        if (isOnHypixel() && ScoreboardManager.hasScoreboard()) {
+        if (onHypixel && ScoreboardManager.hasScoreboard()) {
             foundScoreboard = true;
 
             // Check title for skyblock
@@ -275,143 +279,88 @@ public class Utils {
 
                 String timeString = null;
                 String dateString = null;
+                SidebarLine.Kind previousKind = null;
 
                 for (int lineNumber = 0; lineNumber < ScoreboardManager.getNumberOfLines(); lineNumber++) {
                     String scoreboardLine = ScoreboardManager.getScoreboardLines().get(lineNumber);
                     String strippedScoreboardLine = ScoreboardManager.getStrippedScoreboardLines().get(lineNumber);
-                    Matcher matcher;
-
-                    //noinspection RedundantSuppression
-                    switch (lineNumber) {
-                        case 0:
-                            // Server ID
-                            matcher = SERVER_REGEX.matcher(strippedScoreboardLine);
-
-                            if (matcher.find()) {
-                                String serverType = matcher.group("serverType");
-                                if (serverType.equals("m")) {
-                                    serverID = "mini" + matcher.group("serverCode");
-                                } else if (serverType.equals("M")) {
-                                    serverID = "mega" + matcher.group("serverCode");
+                    SidebarLine line = sidebarLineClassifier.classify(lineNumber, strippedScoreboardLine);
+
+                    // The date and time don't have anything to recognize them by other than their position.
+                    if (lineNumber == 2) {
+                        dateString = strippedScoreboardLine;
+                    } else if (lineNumber == 3) {
+                        timeString = strippedScoreboardLine;
+                    }
+
+                    switch (line.getKind()) {
+                        case SERVER:
+                            serverID = line.getServerID();
+                            break;
+                        case PURSE:
+                            // Keep the last purse if the coins couldn't be parsed, so it doesn't look like they were spent.
+                            if (!Double.isNaN(line.getNumber())) {
+                                double oldCoins = purse;
+                                purse = line.getNumber();
+                                if (oldCoins != purse) {
+                                    onCoinsChange(purse - oldCoins);
                                 }
                             }
                             break;
-                        case 1:
-                            // This is a blank line.
+                        case BITS:
+                            bits = line.getNumber();
                             break;
-                        case 2:
-                            // Date
-                            dateString = strippedScoreboardLine;
+                        case SLAYER_QUEST:
+                            slayerQuest = line.getSlayerQuest();
+                            slayerQuestLevel = line.getSlayerQuestLevel();
+                            foundSlayerQuest = true;
                             break;
-                        case 3:
-                            // Time
-                            timeString = strippedScoreboardLine;
+                        case SLAYER_PROGRESS:
+                            onSlayerProgress(line.getSlayerProgress(), line.getSlayerProgressTotal());
                             break;
-                        case 4:
-                            // Location
-                            if (!foundLocation) {
-                                // Catacombs contains the floor number so it's a special case...
-                                if (strippedScoreboardLine.contains(Location.THE_CATACOMBS.getScoreboardName())) {
-                                    location = Location.THE_CATACOMBS;
-                                    foundLocation = true;
-                                } else {
-                                    for (Location loopLocation : Location.values()) {
-                                        if (strippedScoreboardLine.endsWith(loopLocation.getScoreboardName())) {
-                                            // TODO: Special case causes Dwarven Village to map to Village since endsWith...idk if
-                                            //  changing to "equals" will mess it up for other locations
-                                            if (loopLocation == Location.VILLAGE && strippedScoreboardLine.contains("Dwarven")) {
-                                                continue;
-                                            }
-                                            location = loopLocation;
-                                            foundLocation = true;
-                                            break;
-                                        }
-                                    }
-                                }
-                            }
+                        case SLAYER_BOSS_ALIVE:
+                            foundBossAlive = true;
+                            slayerBossAlive = true;
                             break;
-                        case 5:
-                            // This is a blank line.
-                            //noinspection DuplicateBranchesInSwitch
-                            break;
-                        case 6:
-                            /*
-                             If the player has Mushroom Soup active, this line will show the remaining duration.
-                             This shifts the following lines down.
-                             */
-                            if (strippedScoreboardLine.startsWith("Flight")) {
-                                foundActiveSoup = true;
-                            } else {
-                                parseCoins(strippedScoreboardLine);
+                        case JERRY_WAVE:
+                            if (!foundJerryWave && (location == Location.JERRYS_WORKSHOP || location == Location.JERRY_POND)) {
+                                foundJerryWave = true;
+                                jerryWave = (int) line.getNumber();
                             }
                             break;
-                        case 7:
-                            if (foundActiveSoup) {
-                                parseCoins(strippedScoreboardLine);
-                            } else {
-                                parseBits(strippedScoreboardLine);
+                        case DUNGEON_CLEARED:
+                            if (!foundInDungeon) {
+                                foundInDungeon = true;
+                                inDungeon = true;
+
+                                String lastServer = main.getDungeonManager().getLastServerId();
+                                if (lastServer != null && !lastServer.equals(serverID)) {
+                                    main.getDungeonManager().reset();
+                                }
+                                main.getDungeonManager().setLastServerId(serverID);
                             }
                             break;
-                        case 8:
-                            if (foundActiveSoup) {
-                                parseBits(strippedScoreboardLine);
+                        case ALPHA_IP:
+                            // Check if the player is on the Hypixel Alpha Network
+                            if (lineNumber == ScoreboardManager.getNumberOfLines() - 1 && !foundAlphaIP) {
+                                foundAlphaIP = true;
+                                alpha = true;
+                                profileName = "Alpha";
                             }
                             break;
-                    }
-
-                    if (strippedScoreboardLine.endsWith("Combat XP") || strippedScoreboardLine.endsWith("Kills")) {
-                        parseSlayerProgress(strippedScoreboardLine);
-                    }
-
-                    if (!foundJerryWave && (location == Location.JERRYS_WORKSHOP || location == Location.JERRY_POND)) {
-                        if (strippedScoreboardLine.startsWith("Wave")) {
-                            foundJerryWave = true;
-
-                            int newJerryWave;
-                            try {
-                                newJerryWave = Integer.parseInt(TextUtils.keepIntegerCharactersOnly(strippedScoreboardLine));
-                            } catch (NumberFormatException ignored) {
-                                newJerryWave = 0;
-                            }
-                            if (jerryWave != newJerryWave) {
-                                jerryWave = newJerryWave;
-                            }
-                        }
-                    }
-
-                    if (!foundInDungeon && strippedScoreboardLine.startsWith("Cleared: ")) {
-                        foundInDungeon = true;
-                        inDungeon = true;
-
-                        String lastServer = main.getDungeonManager().getLastServerId();
-                        if (lastServer != null && !lastServer.equals(serverID)) {
-                            main.getDungeonManager().reset();
-                        }
-                        main.getDungeonManager().setLastServerId(serverID);
-                    }
-
-                    matcher = SLAYER_TYPE_REGEX.matcher(strippedScoreboardLine);
-                    if (matcher.matches()) {
-                        String type = matcher.group("type");
-                        String levelRomanNumeral = matcher.group("level");
-
-                        EnumUtils.SlayerQuest detectedSlayerQuest = EnumUtils.SlayerQuest.fromName(type);
-                        if (detectedSlayerQuest != null) {
-                            try {
-                                int level = RomanNumeralParser.parseNumeral(levelRomanNumeral);
-                                slayerQuest = detectedSlayerQuest;
-                                slayerQuestLevel = level;
-                                foundSlayerQuest = true;
-
-                            } catch (IllegalArgumentException ex) {
-                                logger.error("Failed to parse slayer level (" + ex.getMessage() + ")", ex);
+                        case OTHER:
+                            // If the line after the purse is empty, the player has no bits.
+                            if (previousKind == SidebarLine.Kind.PURSE && strippedScoreboardLine.isEmpty()) {
+                                bits = 0;
                             }
-                        }
+                            break;
                     }
 
-                    if (strippedScoreboardLine.equals("Slay the boss!")) {
-                        foundBossAlive = true;
-                        slayerBossAlive = true;
+                    // The location is on the line with the location symbol, or on the fifth line if it doesn't have one.
+                    if (!foundLocation && line.getLocation() != null &&
+                            (line.getKind() == SidebarLine.Kind.LOCATION || lineNumber == 4)) {
+                        location = line.getLocation();
+                        foundLocation = true;
                     }
 
                     if (inDungeon) {
@@ -422,15 +371,15 @@ public class Utils {
                         }
                     }
 
-                    // Check if the player is on the Hypixel Alpha Network
-                    if (lineNumber == ScoreboardManager.getNumberOfLines() - 1 && !foundAlphaIP && strippedScoreboardLine.contains("alpha.hypixel.net")) {
-                        foundAlphaIP = true;
-                        alpha = true;
-                        profileName = "Alpha";
-                    }
+                    previousKind = line.getKind();
                 }
 
-                currentDate = SkyblockDate.parse(dateString, timeString);
+                // The date only has to be parsed again when the lines it's made from changed.
+                if (!Objects.equals(dateString, lastDateString) || !Objects.equals(timeString, lastTimeString)) {
+                    currentDate = SkyblockDate.parse(dateString, timeString);
+                    lastDateString = dateString;
+                    lastTimeString = timeString;
+                }
             }
             if (!foundLocation) {
                 location = Location.UNKNOWN;
@@ -453,6 +402,15 @@ public class Utils {
             }
         }
 
+        checkLeftSkyblock(foundScoreboard, foundSkyblockTitle);
+
+        lastParsedOnHypixel = onHypixel;
+        lastParsedOnSkyblock = isOnSkyblock();
+        lastFoundScoreboard = foundScoreboard;
+        lastFoundSkyblockTitle = foundSkyblockTitle;
+    }
+
+    private void checkLeftSkyblock(boolean foundScoreboard, boolean foundSkyblockTitle) {
         // If it's not a Skyblock scoreboard, the player must have left Skyblock and
         // be in some other Hypixel lobby or game.
         if (!foundSkyblockTitle && this.isOnSkyblock()) {
@@ -468,35 +426,23 @@ public class Utils {
     private boolean triggeredSlayerWarning = false;
     private float lastCompletion;
 
-    private void parseSlayerProgress(String line) {
+    private void onSlayerProgress(float progress, float total) {
         if (!main.getConfigValues().isEnabled(Feature.BOSS_APPROACH_ALERT)) return;
 
-        Matcher matcher = SLAYER_PROGRESS_REGEX.matcher(line);
-        if (matcher.find()) {
-            String progressString = matcher.group("progress");
-            String totalString = matcher.group("total");
+        float completion = progress / total;
 
-            float progress = Float.parseFloat(TextUtils.keepFloatCharactersOnly(progressString));
-            float total = Float.parseFloat(TextUtils.keepFloatCharactersOnly(totalString));
-
-            if (progressString.contains("k")) progress *= 1000;
-            if (totalString.contains("k")) total *= 1000;
-
-            float completion = progress / total;
-
-            if (completion > 0.85) {
-                if (!triggeredSlayerWarning || (main.getConfigValues().isEnabled(Feature.REPEAT_SLAYER_BOSS_WARNING) && completion != lastCompletion)) {
-                    triggeredSlayerWarning = true;
-                    main.getUtils().playLoudSound("random.orb", 0.5);
-                    main.getRenderListener().setTitleFeature(Feature.BOSS_APPROACH_ALERT);
-                    main.getScheduler().schedule(Scheduler.CommandType.RESET_TITLE_FEATURE, main.getConfigValues().getWarningSeconds());
-                }
-            } else {
-                triggeredSlayerWarning = false; // Reset warning flag when completion is below 85%, meaning they started a new quest.
+        if (completion > 0.85) {
+            if (!triggeredSlayerWarning || (main.getConfigValues().isEnabled(Feature.REPEAT_SLAYER_BOSS_WARNING) && completion != lastCompletion)) {
+                triggeredSlayerWarning = true;
+                main.getUtils().playLoudSound("random.orb", 0.5);
+                main.getRenderListener().setTitleFeature(Feature.BOSS_APPROACH_ALERT);
+                main.getScheduler().schedule(Scheduler.CommandType.RESET_TITLE_FEATURE, main.getConfigValues().getWarningSeconds());
             }
-
-            lastCompletion = completion;
+        } else {
+            triggeredSlayerWarning = false; // Reset warning flag when completion is below 85%, meaning they started a new quest.
         }
+
+        lastCompletion = completion;
     }
 
     private void onCoinsChange(double coinsChange) {
@@ -779,50 +725,4 @@ public class Utils {
     public static int getBlockMetaId(Block block, int meta) {
         return Block.getStateId(block.getStateFromMeta(meta));
     }
-
-    /**
-     * Parses the player's coins balance from a given scoreboard line. The balance will be set to 0 if parsing fails.
-     *
-     * @param strippedScoreboardLine the scoreboard line (without formatting codes) to parse coins from
-     */
-    private void parseCoins(String strippedScoreboardLine) {
-        // The player's coins balance
-        Matcher matcher = PURSE_REGEX.matcher(strippedScoreboardLine);
-
-        if (matcher.matches()) {
-            try {
-                double oldCoins = purse;
-                purse = TextUtils.NUMBER_FORMAT.parse(matcher.group("coins")).doubleValue();
-
-                if (oldCoins != purse) {
-                    onCoinsChange(purse - oldCoins);
-                }
-            } catch (NumberFormatException | ParseException e) {
-                purse = 0;
-            }
-        }
-    }
-
-    /**
-     * Parses the player's bits balance from a given scoreboard line. The balance will be set to 0 if parsing fails.
-     *
-     * @param strippedScoreboardLine the scoreboard line (without formatting codes) to parse bits from
-     */
-    private void parseBits(String strippedScoreboardLine) {
-        // If the line is empty, the player has no bits.
-        if (strippedScoreboardLine.isEmpty()) {
-            bits = 0;
-            return;
-        }
-
-        Matcher matcher = BITS_REGEX.matcher(strippedScoreboardLine);
-
-        if (matcher.matches()) {
-            try {
-                bits = TextUtils.NUMBER_FORMAT.parse(matcher.group("bits")).doubleValue();
-            } catch (ParseException ignored) {
-                bits = 0;
-            }
-        }
-    }
 }
@@ -0,0 +1,329 @@
+package codes.biscuit.skyblockaddons.utils.chat;
+
+import codes.biscuit.skyblockaddons.utils.CharTrieNode;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs the handlers that registered for a chat message, instead of testing every message against every pattern in a
+ * long else-if chain.
+ * <p>
+ * Handlers are registered in {@link Chain}s, which work like an else-if chain: the handlers of a chain are tried in the
+ * order they were registered and the first one that handles the message ends the chain. Chains run in the order they
+ * were made, and a chain can be turned off as a whole, like the chains that only apply on Skyblock.
+ * <p>
+ * The literals of all triggers are put in an Aho-Corasick automaton for each {@link ChatTrigger.Source}, so every
+ * text of a message is read once to find the handlers that could match it. Only those handlers and the ones whose
+ * triggers can't be indexed check their full trigger. This gives the same results as trying every handler in order.
+ *
+ * @param <T> what's passed to the handlers along with the message, like the chat event
+ */
+public class ChatDispatcher<T> {
+
+    private final List<Chain> chains = new ArrayList<>();
+
+    /** Every handler in the order they're tried, or {@code null} if a handler was registered since the last build */
+    private List<RegisteredHandler<T>> handlers;
+    /** The literals of each {@link ChatTrigger.Source}, or {@code null} if no trigger looks at that text */
+    private Automaton[] automatons;
+    /** The handlers with a condition that can't be indexed, which have to be checked for every message */
+    private BitSet alwaysChecked;
+
+    /** The number of messages that were dispatched */
+    @Getter
+    private long messages;
+
+    /**
+     * Makes a chain that is always on.
+     */
+    public Chain chain(String name) {
+        return chain(name, () -> true);
+    }
+
+    /**
+     * Makes a chain that only runs while {@code enabled} returns true. It's checked once per message, when the first
+     * handler of the chain that could match is found.
+     */
+    public Chain chain(String name, BooleanSupplier enabled) {
+        Chain chain = new Chain(name, enabled);
+        chains.add(chain);
+        handlers = null;
+        return chain;
+    }
+
+    /**
+     * Passes the message to every chain in order.
+     *
+     * @param context what's passed to the handlers along with the message
+     * @param message the message
+     */
+    public void dispatch(T context, ChatMessage message) {
+        if (handlers == null) {
+            build();
+        }
+        messages++;
+
+        BitSet candidates = (BitSet) alwaysChecked.clone();
+        for (ChatTrigger.Source source : ChatTrigger.Source.values()) {
+            Automaton automaton = automatons[source.ordinal()];
+            if (automaton != null) {
+                automaton.findCandidates(message.getText(source), candidates);
+            }
+        }
+
+        Chain chain = null;
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            RegisteredHandler<T> handler = handlers.get(id);
+            if (handler.chain != chain) {
+                chain = handler.chain;
+                if (!chain.isEnabled()) {
+                    id = chain.end - 1;
+                    continue;
+                }
+            }
+
+            handler.checks++;
+            if (handler.trigger.matches(message) && handler.handler.handle(context, message)) {
+                handler.hits++;
+                id = chain.end - 1;
+            }
+        }
+    }
+
+    /**
+     * @return every registered handler in the order they're tried, with how often they were checked and hit
+     */
+    public List<RegisteredHandler<T>> getHandlers() {
+        if (handlers == null) {
+            build();
+        }
+        return Collections.unmodifiableList(handlers);
+    }
+
+    private void build() {
+        List<RegisteredHandler<T>> handlers = new ArrayList<>();
+        Automaton[] automatons = new Automaton[ChatTrigger.Source.values().length];
+        BitSet alwaysChecked = new BitSet();
+
+        for (Chain chain : chains) {
+            for (RegisteredHandler<T> handler : chain.handlers) {
+                int id = handlers.size();
+                handlers.add(handler);
+
+                for (ChatTrigger.Condition condition : handler.trigger.getConditions()) {
+                    if (condition.literal == null) {
+                        alwaysChecked.set(id);
+                    } else {
+                        int source = condition.source.ordinal();
+                        if (automatons[source] == null) {
+                            automatons[source] = new Automaton();
+                        }
+                        automatons[source].add(condition.literal, condition.position, id);
+                    }
+                }
+            }
+            chain.end = handlers.size();
+        }
+
+        for (Automaton automaton : automatons) {
+            if (automaton != null) {
+                automaton.build();
+            }
+        }
+        this.automatons = automatons;
+        this.alwaysChecked = alwaysChecked;
+        this.handlers = handlers;
+    }
+
+    /**
+     * Handles a chat message.
+     *
+     * @param <T> what's passed along with the message
+     */
+    @FunctionalInterface
+    public interface Handler<T> {
+
+        /**
+         * Called when the message matches the handler's trigger.
+         *
+         * @return {@code true} if the message was handled, which ends the chain, or {@code false} to let the next
+         * handler of the chain try it
+         */
+        boolean handle(T context, ChatMessage message);
+    }
+
+    /**
+     * A list of handlers where only the first one that handles a message runs, like an else-if chain.
+     */
+    public class Chain {
+        @Getter
+        private final String name;
+        private final BooleanSupplier enabled;
+        private final List<RegisteredHandler<T>> handlers = new ArrayList<>();
+        /** The id after the last handler of this chain */
+        private int end;
+
+        private Chain(String name, BooleanSupplier enabled) {
+            this.name = name;
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return whether the handlers of this chain run right now
+         */
+        public boolean isEnabled() {
+            return enabled.getAsBoolean();
+        }
+
+        /**
+         * Adds a handler to the end of this chain.
+         *
+         * @param name the name the handler's counters are shown with
+         * @param trigger which messages the handler runs for
+         * @param handler the handler
+         * @return this chain
+         */
+        public Chain on(String name, ChatTrigger trigger, Handler<T> handler) {
+            handlers.add(new RegisteredHandler<>(name, this, trigger, handler));
+            ChatDispatcher.this.handlers = null;
+            return this;
+        }
+    }
+
+    /**
+     * A handler with its counters
+     */
+    public static class RegisteredHandler<T> {
+        @Getter
+        private final String name;
+        @Getter
+        private final ChatDispatcher<T>.Chain chain;
+        @Getter
+        private final ChatTrigger trigger;
+        private final Handler<T> handler;
+
+        /** The number of messages whose full trigger was checked for this handler */
+        @Getter
+        private long checks;
+        /** The number of messages this handler handled */
+        @Getter
+        private long hits;
+
+        private RegisteredHandler(String name, ChatDispatcher<T>.Chain chain, ChatTrigger trigger, Handler<T> handler) {
+            this.name = name;
+            this.chain = chain;
+            this.trigger = trigger;
+            this.handler = handler;
+        }
+
+        public String getChainName() {
+            return chain.getName();
+        }
+    }
+
+    /**
+     * Finds every literal of one {@link ChatTrigger.Source} in a text by reading it once.
+     */
+    private static class Automaton {
+        private final Node root = new Node();
+
+        private void add(String literal, ChatTrigger.Position position, int handler) {
+            Node node = root;
+            for (int i = 0; i < literal.length(); i++) {
+                node = node.getOrAddChild(literal.charAt(i));
+            }
+            node.outputs = append(node.outputs, new Output(literal.length(), position, handler));
+        }
+
+        /**
+         * Links every node to the node of its longest proper suffix, and gives it the outputs of that node too.
+         */
+        private void build() {
+            Deque<Node> queue = new ArrayDeque<>();
+            for (int i = 0; i < root.getChildCount(); i++) {
+                Node child = root.getChildAt(i);
+                child.fail = root;
+                queue.add(child);
+            }
+
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                for (int i = 0; i < node.getChildCount(); i++) {
+                    char character = node.getCharacterAt(i);
+                    Node child = node.getChildAt(i);
+
+                    Node fail = node.fail;
+                    Node target;
+                    while ((target = fail.getChild(character)) == null && fail != root) {
+                        fail = fail.fail;
+                    }
+                    child.fail = target != null ? target : root;
+                    for (Output output : child.fail.outputs) {
+                        child.outputs = append(child.outputs, output);
+                    }
+                    queue.add(child);
+                }
+            }
+        }
+
+        private void findCandidates(String text, BitSet candidates) {
+            int length = text.length();
+            Node node = root;
+            for (int i = 0; i < length; i++) {
+                char character = text.charAt(i);
+                Node next;
+                while ((next = node.getChild(character)) == null && node != root) {
+                    node = node.fail;
+                }
+                node = next != null ? next : root;
+
+                for (Output output : node.outputs) {
+                    // The literal ends at i, so it starts the text if it's i + 1 characters long.
+                    if (output.position == ChatTrigger.Position.SUBSTRING || output.length == i + 1 &&
+                            (output.position == ChatTrigger.Position.PREFIX || output.length == length)) {
+                        candidates.set(output.handler);
+                    }
+                }
+            }
+        }
+
+        private static Output[] append(Output[] outputs, Output output) {
+            Output[] newOutputs = Arrays.copyOf(outputs, outputs.length + 1);
+            newOutputs[outputs.length] = output;
+            return newOutputs;
+        }
+    }
+
+    /**
+     * A node of an {@link Automaton}
+     */
+    private static class Node extends CharTrieNode<Node> {
+        private static final Output[] NO_OUTPUTS = new Output[0];
+
+        private Node fail;
+        /** The literals that end at this node, including those of the nodes it falls back to */
+        private Output[] outputs = NO_OUTPUTS;
+
+        @Override
+        protected Node newChild() {
+            return new Node();
+        }
+    }
+
+    /**
+     * A literal of a handler's trigger
+     */
+    private static class Output {
+        private final int length;
+        private final ChatTrigger.Position position;
+        private final int handler;
+
+        private Output(int length, ChatTrigger.Position position, int handler) {
+            this.length = length;
+            this.position = position;
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package codes.biscuit.skyblockaddons.utils.chat;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.regex.Matcher;
+
+/**
+ * A chat message as it's passed to the handlers of a {@link ChatDispatcher}, with each of its texts worked out once.
+ */
+@Getter
+public class ChatMessage {
+
+    /** The message with formatting codes, like {@code IChatComponent#getFormattedText()} */
+    private final String formattedText;
+    /** The message without the component styles, which can still contain formatting codes in its text */
+    private final String unformattedText;
+    /** The formatted text without any formatting codes */
+    private final String strippedText;
+
+    /**
+     * The matcher of the pattern that matched the message, if the trigger of the handler that's running has one.
+     * It already matched, so its groups can be read right away.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private Matcher matcher;
+
+    public ChatMessage(String formattedText, String unformattedText, String strippedText) {
+        this.formattedText = formattedText;
+        this.unformattedText = unformattedText;
+        this.strippedText = strippedText;
+    }
+
+    /**
+     * @return the text of this message that a trigger looks at
+     */
+    public String getText(ChatTrigger.Source source) {
+        switch (source) {
+            case FORMATTED:
+                return formattedText;
+            case UNFORMATTED:
+                return unformattedText;
+            default:
+                return strippedText;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package codes.biscuit.skyblockaddons.utils.chat;
+
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which chat messages a handler of a {@link ChatDispatcher} runs for. A trigger is made of one or more
+ * conditions and matches a message if any of them do.
+ * <p>
+ * Conditions with a literal text (a prefix, the whole message or a substring) are indexed by the dispatcher, so the
+ * full condition is only checked for messages that contain the literal in the right place. Patterns are given a
+ * literal that every message they match has to contain, which must really be true for the pattern, or messages it
+ * would match are never checked. Conditions without a literal are checked for every message.
+ */
+public class ChatTrigger {
+
+    /**
+     * The text of a {@link ChatMessage} a condition looks at
+     */
+    public enum Source {
+        FORMATTED,
+        UNFORMATTED,
+        STRIPPED
+    }
+
+    /**
+     * Where a condition's literal has to be in the text
+     */
+    enum Position {
+        /** The text starts with the literal */
+        PREFIX,
+        /** The text is the literal */
+        WHOLE,
+        /** The text contains the literal anywhere */
+        SUBSTRING
+    }
+
+    private final Condition[] conditions;
+
+    private ChatTrigger(Condition... conditions) {
+        this.conditions = conditions;
+    }
+
+    /**
+     * Matches messages whose text starts with any of the given prefixes.
+     */
+    public static ChatTrigger startsWith(Source source, String... prefixes) {
+        return literals(source, Position.PREFIX, prefixes);
+    }
+
+    /**
+     * Matches messages whose text is exactly any of the given texts.
+     */
+    public static ChatTrigger exactly(Source source, String... texts) {
+        return literals(source, Position.WHOLE, texts);
+    }
+
+    /**
+     * Matches messages whose text contains any of the given substrings.
+     */
+    public static ChatTrigger contains(Source source, String... substrings) {
+        return literals(source, Position.SUBSTRING, substrings);
+    }
+
+    /**
+     * Matches messages whose whole text matches the pattern. The pattern's matcher is passed to the handler through
+     * {@link ChatMessage#getMatcher()}.
+     *
+     * @param prefix a literal that every text the pattern matches starts with
+     */
+    public static ChatTrigger matchesStartingWith(Source source, String prefix, Pattern pattern) {
+        return new ChatTrigger(new Condition(source, prefix, Position.PREFIX, pattern, null));
+    }
+
+    /**
+     * Matches messages whose whole text matches the pattern. The pattern's matcher is passed to the handler through
+     * {@link ChatMessage#getMatcher()}.
+     *
+     * @param substring a literal that every text the pattern matches contains
+     */
+    public static ChatTrigger matchesContaining(Source source, String substring, Pattern pattern) {
+        return new ChatTrigger(new Condition(source, substring, Position.SUBSTRING, pattern, null));
+    }
+
+    /**
+     * Matches messages whose text passes the test. These can't be indexed, so the test runs for every message.
+     */
+    public static ChatTrigger test(Source source, Predicate<String> test) {
+        return new ChatTrigger(new Condition(source, null, null, null, test));
+    }
+
+    /**
+     * Matches every message, for handlers that decide for themselves whether they handle it. These run for every
+     * message.
+     */
+    public static ChatTrigger any() {
+        return test(Source.UNFORMATTED, text -> true);
+    }
+
+    /**
+     * @return a trigger that matches the messages this trigger or the other trigger matches
+     */
+    public ChatTrigger or(ChatTrigger other) {
+        Condition[] combined = new Condition[conditions.length + other.conditions.length];
+        System.arraycopy(conditions, 0, combined, 0, conditions.length);
+        System.arraycopy(other.conditions, 0, combined, conditions.length, other.conditions.length);
+        return new ChatTrigger(combined);
+    }
+
+    /**
+     * Checks the message against every condition of this trigger, without using an index. The message's matcher is
+     * set to the matcher of the pattern that matched, or {@code null} if none did.
+     *
+     * @return whether any condition matches the message
+     */
+    public boolean matches(ChatMessage message) {
+        message.setMatcher(null);
+        for (Condition condition : conditions) {
+            if (condition.matches(message)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether every condition of this trigger has a literal, so the trigger is only checked for messages that
+     * contain one of them
+     */
+    public boolean isIndexed() {
+        for (Condition condition : conditions) {
+            if (condition.literal == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Condition[] getConditions() {
+        return conditions;
+    }
+
+    private static ChatTrigger literals(Source source, Position position, String... literals) {
+        Condition[] conditions = new Condition[literals.length];
+        for (int i = 0; i < literals.length; i++) {
+            conditions[i] = new Condition(source, literals[i], position, null, null);
+        }
+        return new ChatTrigger(conditions);
+    }
+
+    /**
+     * One way a trigger can match a message
+     */
+    static class Condition {
+        final Source source;
+        /** The literal the text has to contain, or {@code null} if this condition can't be indexed */
+        final String literal;
+        final Position position;
+        private final Pattern pattern;
+        private final Predicate<String> test;
+
+        private Condition(Source source, String literal, Position position, Pattern pattern, Predicate<String> test) {
+            if (literal != null && literal.isEmpty()) {
+                throw new IllegalArgumentException("Chat trigger literals can't be empty.");
+            }
+            this.source = source;
+            this.literal = literal;
+            this.position = position;
+            this.pattern = pattern;
+            this.test = test;
+        }
+
+        private boolean matches(ChatMessage message) {
+            String text = message.getText(source);
+
+            if (literal != null) {
+                switch (position) {
+                    case PREFIX:
+                        if (!text.startsWith(literal)) {
+                            return false;
+                        }
+                        break;
+                    case WHOLE:
+                        if (!text.equals(literal)) {
+                            return false;
+                        }
+                        break;
+                    case SUBSTRING:
+                        if (!text.contains(literal)) {
+                            return false;
+                        }
+                        break;
+                }
+            }
+
+            if (pattern != null) {
+                Matcher matcher = pattern.matcher(text);
+                if (!matcher.matches()) {
+                    return false;
+                }
+                message.setMatcher(matcher);
+            }
+
+            return test == null || test.test(text);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package codes.biscuit.skyblockaddons.utils.data;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * A flat, immutable table of dotted keys to strings, such as {@code settings.settings -> "Settings"}. Language files
+ * are compiled into this form at build time by the {@code compileLanguageFiles} Gradle task, so they can be read at
+ * runtime without parsing JSON or using reflection.
+ * <p>
+ * Binary format, written with {@link java.io.DataOutputStream}:
+ * <pre>
+ * int    magic ("SBAL")
+ * byte   format version
+ * int    string count, followed by each string in modified UTF-8
+ * int    entry count, followed by each entry as an int key index and an int value index into the strings,
+ *        sorted by key
+ * </pre>
+ * Keep this in sync with the task in {@code build.gradle}.
+ */
+public class CompiledStringTable {
+
+    public static final int MAGIC = 0x5342414C; // "SBAL"
+    public static final byte FORMAT_VERSION = 1;
+    public static final CompiledStringTable EMPTY = new CompiledStringTable(new String[0], new String[0]);
+
+    /** The keys in ascending order */
+    private final String[] keys;
+    /** The values, at the same index as their keys */
+    private final String[] values;
+
+    private CompiledStringTable(String[] keys, String[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Reads a compiled table.
+     *
+     * @param inputStream the stream to read from, not closed by this method
+     * @return the table
+     * @throws IOException if the stream can't be read or isn't a compiled table
+     */
+    public static CompiledStringTable read(InputStream inputStream) throws IOException {
+        DataInputStream dataInputStream = new DataInputStream(inputStream);
+
+        if (dataInputStream.readInt() != MAGIC) {
+            throw new IOException("Not a compiled string table");
+        }
+        byte formatVersion = dataInputStream.readByte();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported compiled string table version " + formatVersion);
+        }
+
+        String[] strings = new String[dataInputStream.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = dataInputStream.readUTF();
+        }
+
+        int entryCount = dataInputStream.readInt();
+        String[] keys = new String[entryCount];
+        String[] values = new String[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            keys[i] = strings[dataInputStream.readInt()];
+            values[i] = strings[dataInputStream.readInt()];
+            if (i > 0 && keys[i - 1].compareTo(keys[i]) >= 0) {
+                throw new IOException("Compiled string table keys aren't sorted at " + keys[i]);
+            }
+        }
+
+        return new CompiledStringTable(keys, values);
+    }
+
+    /**
+     * Flattens a nested JSON object the same way the build does. Nested objects are joined with {@code .} and
+     * primitive values become strings. Arrays and nulls are skipped.
+     *
+     * @param jsonObject the object to flatten
+     * @return the table
+     */
+    public static CompiledStringTable fromJson(JsonObject jsonObject) {
+        TreeMap<String, String> strings = new TreeMap<>();
+        flatten("", jsonObject, strings);
+        return fromSortedMap(strings);
+    }
+
+    /**
+     * Returns a new table with the entries of this table and the given table. Where both have the same key, the
+     * given table's value is used.
+     *
+     * @param overrides the entries to add or replace
+     * @return the merged table
+     */
+    public CompiledStringTable merge(CompiledStringTable overrides) {
+        TreeMap<String, String> strings = toMap();
+        strings.putAll(overrides.toMap());
+        return fromSortedMap(strings);
+    }
+
+    /**
+     * @param key the dotted key
+     * @return the value for the key, or {@code null} if there isn't one
+     */
+    public String get(String key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * @return the keys in ascending order
+     */
+    public List<String> getKeys() {
+        return Collections.unmodifiableList(Arrays.asList(keys));
+    }
+
+    /**
+     * @return a new sorted map of all the entries in this table
+     */
+    public TreeMap<String, String> toMap() {
+        TreeMap<String, String> map = new TreeMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
+    }
+
+    private static CompiledStringTable fromSortedMap(SortedMap<String, String> strings) {
+        return new CompiledStringTable(strings.keySet().toArray(new String[0]), strings.values().toArray(new String[0]));
+    }
+
+    private static void flatten(String prefix, JsonObject jsonObject, Map<String, String> strings) {
+        for (Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
+            String key = prefix.isEmpty() ? entry.getKey() : prefix + '.' + entry.getKey();
+            JsonElement value = entry.getValue();
+
+            if (value.isJsonObject()) {
+                flatten(key, value.getAsJsonObject(), strings);
+            } else if (value.isJsonPrimitive()) {
+                strings.put(key, value.getAsString());
+            }
+        }
+    }
+}
@@ -2,28 +2,16 @@ package codes.biscuit.skyblockaddons.utils.data;
 
 import codes.biscuit.skyblockaddons.SkyblockAddons;
 import codes.biscuit.skyblockaddons.core.Language;
-import codes.biscuit.skyblockaddons.core.OnlineData;
 import codes.biscuit.skyblockaddons.core.Translations;
-import codes.biscuit.skyblockaddons.core.seacreatures.SeaCreature;
-import codes.biscuit.skyblockaddons.core.seacreatures.SeaCreatureManager;
 import codes.biscuit.skyblockaddons.exceptions.DataLoadingException;
-import codes.biscuit.skyblockaddons.features.SkillXpManager;
-import codes.biscuit.skyblockaddons.features.cooldowns.CooldownManager;
-import codes.biscuit.skyblockaddons.features.enchantedItemBlacklist.EnchantedItemLists;
-import codes.biscuit.skyblockaddons.features.enchantedItemBlacklist.EnchantedItemPlacementBlocker;
-import codes.biscuit.skyblockaddons.features.enchants.EnchantManager;
 import codes.biscuit.skyblockaddons.misc.scheduler.ScheduledTask;
 import codes.biscuit.skyblockaddons.misc.scheduler.SkyblockRunnable;
 import codes.biscuit.skyblockaddons.tweaker.SkyblockAddonsTransformer;
-import codes.biscuit.skyblockaddons.utils.ItemUtils;
 import codes.biscuit.skyblockaddons.utils.Utils;
 import codes.biscuit.skyblockaddons.utils.data.requests.*;
-import codes.biscuit.skyblockaddons.utils.skyblockdata.CompactorItem;
-import codes.biscuit.skyblockaddons.utils.skyblockdata.ContainerData;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
 import lombok.Getter;
 import net.minecraft.crash.CrashReport;
 import net.minecraft.event.ClickEvent;
@@ -39,6 +27,7 @@ import org.apache.http.impl.client.HttpRequestFutureTask;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -143,92 +132,27 @@ public class DataUtils {
     }
 
     /**
-     * Reads local json files before pulling from online
+     * Reads local json files before pulling from online. The selected language file and the other data files are
+     * parsed concurrently, rarely needed files are parsed on first use.
+     *
+     * @see LocalDataLoader
      */
     public static void readLocalFileData() {
-        // Online Data
-        path = "/data.json";
-        try (   InputStream inputStream = DataUtils.class.getResourceAsStream(path);
-                InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream),
-                        StandardCharsets.UTF_8)){
-            main.setOnlineData(gson.fromJson(inputStreamReader, OnlineData.class));
-        } catch (Exception ex) {
-            handleLocalFileReadException(path, ex);
-        }
+        List<LocalDataset<?>> datasets = new ArrayList<>();
 
         // Localized Strings
-        loadLocalizedStrings(false);
-
-        // Enchanted Item Blacklist
-        path = "/enchantedItemLists.json";
-        try (   InputStream inputStream = DataUtils.class.getResourceAsStream(path);
-                InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream),
-                        StandardCharsets.UTF_8)){
-            EnchantedItemPlacementBlocker.setItemLists(gson.fromJson(inputStreamReader, EnchantedItemLists.class));
-        } catch (Exception ex) {
-            handleLocalFileReadException(path,ex);
-        }
-
-        // Containers
-        path = "/containers.json";
-        try (   InputStream inputStream = DataUtils.class.getResourceAsStream(path);
-                InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream),
-                        StandardCharsets.UTF_8)){
-            ItemUtils.setContainers(gson.fromJson(inputStreamReader, new TypeToken<HashMap<String, ContainerData>>() {}.getType()));
-        } catch (Exception ex) {
-            handleLocalFileReadException(path,ex);
-        }
-
-        // Compactor Items
-        path = "/compactorItems.json";
-        try (   InputStream inputStream = DataUtils.class.getResourceAsStream(path);
-                InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream),
-                        StandardCharsets.UTF_8)){
-            ItemUtils.setCompactorItems(gson.fromJson(inputStreamReader, new TypeToken<HashMap<String, CompactorItem>>() {}.getType()));
-        } catch (Exception ex) {
-            handleLocalFileReadException(path,ex);
-        }
-
-        // Sea Creatures
-        path = "/seaCreatures.json";
-        try (   InputStream inputStream = DataUtils.class.getResourceAsStream(path);
-                InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream),
-                        StandardCharsets.UTF_8)) {
-            SeaCreatureManager.getInstance().setSeaCreatures(gson.fromJson(inputStreamReader, new TypeToken<Map<String, SeaCreature>>() {}.getType()));
-        } catch (Exception ex) {
-            handleLocalFileReadException(path,ex);
-        }
+        Language language = main.getConfigValues().getLanguage();
+        datasets.add(LocalDataset.<CompiledStringTable>ofParser(getCompiledLanguagePath(language),
+                gson -> readLanguageStrings(language), languageStrings -> {
+            main.getConfigValues().setLanguageStrings(languageStrings);
+            main.getConfigValues().setLanguage(language);
+        }));
 
-        // Enchantment data
-        path = "/enchants.json";
-        try (   InputStream inputStream = DataUtils.class.getResourceAsStream(path);
-                InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream),
-                        StandardCharsets.UTF_8)){
-            EnchantManager.setEnchants(gson.fromJson(inputStreamReader, new TypeToken<EnchantManager.Enchants>() {}.getType()));
-        } catch (Exception ex) {
-            handleLocalFileReadException(path,ex);
-        }
+        // Online Data, Enchanted Item Blacklist, Containers, Compactor Items, Sea Creatures, Enchantment data,
+        // Cooldown Data, and Skill xp Data
+        datasets.addAll(LocalDataLoader.getBundledDatasets());
 
-        // Cooldown Data
-        path = "/cooldowns.json";
-        try (InputStream inputStream = DataUtils.class.getResourceAsStream(path);
-             InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream),
-                     StandardCharsets.UTF_8)) {
-            CooldownManager.setItemCooldowns(gson.fromJson(inputStreamReader, new TypeToken<HashMap<String, Integer>>() {
-            }.getType()));
-        } catch (Exception ex) {
-            handleLocalFileReadException(path,ex);
-        }
-
-        // Skill xp Data
-        path = "/skillXp.json";
-        try (InputStream inputStream = DataUtils.class.getResourceAsStream(path);
-             InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream),
-                     StandardCharsets.UTF_8)) {
-            main.getSkillXpManager().initialize(gson.fromJson(inputStreamReader, SkillXpManager.JsonInput.class));
-        } catch (Exception ex) {
-            handleLocalFileReadException(path,ex);
-        }
+        LocalDataLoader.load(gson, datasets, DataUtils::handleLocalFileReadException);
     }
 
     /*
@@ -303,14 +227,12 @@ public class DataUtils {
     public static void loadLocalizedStrings(Language language, boolean loadOnlineStrings) {
         // logger.info("Loading localized strings for " + language.name() + "...");
 
-        path = "lang/" + language.getPath() + ".json";
-        try (   InputStream inputStream = DataUtils.class.getClassLoader().getResourceAsStream(path);
-                InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream),
-                        StandardCharsets.UTF_8)){
-            main.getConfigValues().setLanguageConfig(gson.fromJson(inputStreamReader, JsonObject.class));
+        path = getCompiledLanguagePath(language);
+        try {
+            main.getConfigValues().setLanguageStrings(readLanguageStrings(language));
             main.getConfigValues().setLanguage(language);
         } catch (Exception ex) {
-            handleLocalFileReadException(path,ex);
+            handleLocalFileReadException(path, ex);
         }
 
         if (USE_ONLINE_DATA && loadOnlineStrings && language != Language.ENGLISH) {
@@ -347,6 +269,35 @@ public class DataUtils {
         // logger.info("Finished loading localized strings.");
     }
 
+    /**
+     * Reads the strings for the given {@link Language} from the mod's resources. The language files are compiled into
+     * a {@link CompiledStringTable} at build time. If the compiled file is missing, like when running from an IDE
+     * without the Gradle resources, the JSON file is flattened instead.
+     *
+     * @param language the {@code Language} to read strings for
+     * @return the language's strings
+     * @throws IOException if neither the compiled file nor the JSON file could be read
+     */
+    public static CompiledStringTable readLanguageStrings(Language language) throws IOException {
+        try (InputStream inputStream = DataUtils.class.getResourceAsStream(getCompiledLanguagePath(language))) {
+            if (inputStream != null) {
+                return CompiledStringTable.read(new BufferedInputStream(inputStream));
+            }
+        }
+
+        String jsonPath = "/lang/" + language.getPath() + ".json";
+        try (InputStream inputStream = DataUtils.class.getResourceAsStream(jsonPath);
+             InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream, jsonPath),
+                     StandardCharsets.UTF_8)) {
+            logger.warn("Compiled language file for " + language.name() + " not found, reading " + jsonPath + " instead.");
+            return CompiledStringTable.fromJson(gson.fromJson(inputStreamReader, JsonObject.class));
+        }
+    }
+
+    private static String getCompiledLanguagePath(Language language) {
+        return "/lang/" + language.getPath() + ".bin";
+    }
+
     // TODO: Shut it down and restart it as needed?
     /**
      * Shuts down {@link DataUtils#futureRequestExecutionService} and the underlying {@code ExecutorService} and
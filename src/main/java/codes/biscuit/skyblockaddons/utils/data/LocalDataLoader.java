@@ -0,0 +1,227 @@
+package codes.biscuit.skyblockaddons.utils.data;
+
+import codes.biscuit.skyblockaddons.SkyblockAddons;
+import codes.biscuit.skyblockaddons.core.OnlineData;
+import codes.biscuit.skyblockaddons.core.seacreatures.SeaCreature;
+import codes.biscuit.skyblockaddons.core.seacreatures.SeaCreatureManager;
+import codes.biscuit.skyblockaddons.features.SkillXpManager;
+import codes.biscuit.skyblockaddons.features.cooldowns.CooldownManager;
+import codes.biscuit.skyblockaddons.features.enchantedItemBlacklist.EnchantedItemLists;
+import codes.biscuit.skyblockaddons.features.enchantedItemBlacklist.EnchantedItemPlacementBlocker;
+import codes.biscuit.skyblockaddons.features.enchants.EnchantManager;
+import codes.biscuit.skyblockaddons.utils.ItemUtils;
+import codes.biscuit.skyblockaddons.utils.skyblockdata.CompactorItem;
+import codes.biscuit.skyblockaddons.utils.skyblockdata.ContainerData;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import lombok.Getter;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Loads the data files bundled in the mod's resources. Independent files are parsed concurrently, and files that are
+ * rarely needed are deferred until their first use. The time spent parsing each file is recorded so slow launches can
+ * be traced back to a specific file.
+ */
+public class LocalDataLoader {
+
+    private static final Logger logger = SkyblockAddons.getLogger();
+
+    /** The time spent parsing each data file in nanoseconds, in the order the files finished loading */
+    @Getter
+    private static final Map<String, Long> loadTimes = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /**
+     * Returns the bundled data files other than the language files, in the order they are loaded into the mod.
+     *
+     * @return the bundled datasets
+     */
+    public static List<LocalDataset<?>> getBundledDatasets() {
+        return Arrays.asList(
+                LocalDataset.<OnlineData>of("/data.json", OnlineData.class,
+                        onlineData -> SkyblockAddons.getInstance().setOnlineData(onlineData)),
+                LocalDataset.<EnchantedItemLists>deferred("/enchantedItemLists.json", EnchantedItemLists.class,
+                        () -> new EnchantedItemLists(Collections.emptyList(), Collections.emptyList(), null),
+                        EnchantedItemPlacementBlocker::setItemListsSupplier),
+                LocalDataset.<HashMap<String, ContainerData>>of("/containers.json",
+                        new TypeToken<HashMap<String, ContainerData>>() {}.getType(), ItemUtils::setContainers),
+                LocalDataset.<HashMap<String, CompactorItem>>deferred("/compactorItems.json",
+                        new TypeToken<HashMap<String, CompactorItem>>() {}.getType(), HashMap::new,
+                        ItemUtils::setCompactorItemsSupplier),
+                LocalDataset.<Map<String, SeaCreature>>of("/seaCreatures.json",
+                        new TypeToken<Map<String, SeaCreature>>() {}.getType(),
+                        seaCreatures -> SeaCreatureManager.getInstance().setSeaCreatures(seaCreatures)),
+                LocalDataset.<EnchantManager.Enchants>of("/enchants.json", EnchantManager.Enchants.class,
+                        EnchantManager::setEnchants),
+                LocalDataset.<HashMap<String, Integer>>of("/cooldowns.json",
+                        new TypeToken<HashMap<String, Integer>>() {}.getType(), CooldownManager::setItemCooldowns),
+                LocalDataset.<SkillXpManager.JsonInput>of("/skillXp.json", SkillXpManager.JsonInput.class,
+                        jsonInput -> SkyblockAddons.getInstance().getSkillXpManager().initialize(jsonInput))
+        );
+    }
+
+    /**
+     * Parses the given datasets, then loads them into the mod on the calling thread in the order they were given.
+     * Datasets that aren't deferred are parsed concurrently. Deferred datasets are given a supplier that parses them
+     * on first use, see {@link #defer(Gson, LocalDataset)}.
+     *
+     * @param gson the {@code Gson} instance to parse the files with
+     * @param datasets the datasets to load
+     * @param errorHandler called once with the path and the exception if a file can't be parsed or loaded at startup
+     */
+    public static void load(Gson gson, List<LocalDataset<?>> datasets, BiConsumer<String, Throwable> errorHandler) {
+        long startTime = System.nanoTime();
+
+        for (ParseResult result : parseAll(gson, datasets)) {
+            LocalDataset<?> dataset = result.getDataset();
+
+            Throwable exception = result.getException();
+            if (exception == null) {
+                try {
+                    if (dataset.isDeferred()) {
+                        loadDeferred(gson, dataset);
+                    } else {
+                        dataset.load(result.getData());
+                    }
+                } catch (RuntimeException ex) {
+                    exception = ex;
+                }
+            }
+
+            if (exception != null) {
+                errorHandler.accept(dataset.getPath(), exception);
+            }
+        }
+
+        logger.info("Loaded " + datasets.size() + " local data files in " + toMillis(System.nanoTime() - startTime) +
+                " ms. Parse times: " + getLoadTimesString());
+    }
+
+    /**
+     * Parses the datasets that aren't deferred concurrently. Nothing is loaded into the mod.
+     *
+     * @param gson the {@code Gson} instance to parse the files with
+     * @param datasets the datasets to parse
+     * @return the results in the same order as {@code datasets}, deferred datasets have a result with no data
+     */
+    public static List<ParseResult> parseAll(Gson gson, List<LocalDataset<?>> datasets) {
+        int threadCount = Math.max(1, Math.min(datasets.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, new ThreadFactoryBuilder()
+                .setNameFormat(SkyblockAddons.MOD_NAME + " - Data Loader #%d").setDaemon(true).build());
+
+        try {
+            List<Future<ParseResult>> futures = new ArrayList<>(datasets.size());
+            for (LocalDataset<?> dataset : datasets) {
+                if (dataset.isDeferred()) {
+                    futures.add(CompletableFuture.completedFuture(new ParseResult(dataset, null, null)));
+                } else {
+                    futures.add(executor.submit(() -> parse(gson, dataset)));
+                }
+            }
+
+            List<ParseResult> results = new ArrayList<>(datasets.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException ex) {
+                    results.add(new ParseResult(datasets.get(i), null, ex.getCause()));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    results.add(new ParseResult(datasets.get(i), null, ex));
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Returns a supplier that parses the dataset the first time it's called and then keeps returning the same data.
+     * Deferred datasets are first used in-game, so if the file can't be parsed the error is logged and the dataset's
+     * fallback value is used instead of crashing the game.
+     *
+     * @param gson the {@code Gson} instance to parse the file with
+     * @param dataset the dataset to parse
+     * @return the memoizing supplier
+     */
+    public static <T> Supplier<T> defer(Gson gson, LocalDataset<T> dataset) {
+        return new Supplier<T>() {
+            private volatile boolean parsed;
+            private T data;
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T get() {
+                if (!parsed) {
+                    synchronized (this) {
+                        if (!parsed) {
+                            ParseResult result = parse(gson, dataset);
+                            if (result.getException() != null) {
+                                logger.error("Failed to load deferred data file " + dataset.getPath() +
+                                        ", using an empty value instead.", result.getException());
+                                data = dataset.getFallback();
+                            } else {
+                                data = (T) result.getData();
+                                logger.info("Loaded deferred data file " + dataset.getPath() + " in " +
+                                        toMillis(loadTimes.get(dataset.getPath())) + " ms.");
+                            }
+                            parsed = true;
+                        }
+                    }
+                }
+                return data;
+            }
+        };
+    }
+
+    private static <T> void loadDeferred(Gson gson, LocalDataset<T> dataset) {
+        dataset.loadDeferred(defer(gson, dataset));
+    }
+
+    private static ParseResult parse(Gson gson, LocalDataset<?> dataset) {
+        long startTime = System.nanoTime();
+        try {
+            return new ParseResult(dataset, dataset.parse(gson), null);
+        } catch (Exception ex) {
+            return new ParseResult(dataset, null, ex);
+        } finally {
+            loadTimes.put(dataset.getPath(), System.nanoTime() - startTime);
+        }
+    }
+
+    private static String getLoadTimesString() {
+        StringJoiner joiner = new StringJoiner(", ");
+        synchronized (loadTimes) {
+            for (Map.Entry<String, Long> entry : loadTimes.entrySet()) {
+                joiner.add(entry.getKey() + " " + toMillis(entry.getValue()) + " ms");
+            }
+        }
+        return joiner.toString();
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.US, "%.1f", nanos / 1_000_000D);
+    }
+
+    /**
+     * The outcome of parsing a single dataset.
+     */
+    @Getter
+    public static class ParseResult {
+        private final LocalDataset<?> dataset;
+        private final Object data;
+        private final Throwable exception;
+
+        private ParseResult(LocalDataset<?> dataset, Object data, Throwable exception) {
+            this.dataset = dataset;
+            this.data = data;
+            this.exception = exception;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package codes.biscuit.skyblockaddons.utils.data;
+
+import com.google.gson.Gson;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A data file bundled in the mod's resources, how it is parsed, and what to do with it once it's parsed. Most datasets
+ * are JSON files parsed into a type with Gson. Datasets are parsed by {@link LocalDataLoader}.
+ *
+ * @param <T> the type the file is parsed into
+ */
+public class LocalDataset<T> {
+
+    /** The path of the file in the mod's resources, starting with {@code /} */
+    @Getter private final String path;
+    /** The type the file is parsed into, or {@code null} if it isn't a JSON file */
+    @Getter private final Type type;
+    private final Parser<T> parser;
+    private final Consumer<T> loader;
+    private final Consumer<Supplier<T>> deferredLoader;
+    /** Creates the value used if a deferred file can't be parsed, or {@code null} if the dataset isn't deferred */
+    private final Supplier<T> fallback;
+
+    private LocalDataset(String path, Type type, Parser<T> parser, Consumer<T> loader, Consumer<Supplier<T>> deferredLoader,
+                         Supplier<T> fallback) {
+        this.path = path;
+        this.type = type;
+        this.parser = parser;
+        this.loader = loader;
+        this.deferredLoader = deferredLoader;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Creates a dataset that is parsed at startup.
+     *
+     * @param path the path of the file in the mod's resources, starting with {@code /}
+     * @param type the type to parse the file into
+     * @param loader loads the parsed data into the mod, called on the thread that started loading
+     */
+    public static <T> LocalDataset<T> of(String path, Type type, Consumer<T> loader) {
+        return new LocalDataset<>(path, type, gson -> parseJson(gson, path, type), loader, null, null);
+    }
+
+    /**
+     * Creates a dataset that is parsed at startup by a custom parser instead of as JSON.
+     *
+     * @param path the path of the file in the mod's resources, used to identify the dataset
+     * @param parser reads and parses the data, called on a loader thread
+     * @param loader loads the parsed data into the mod, called on the thread that started loading
+     */
+    public static <T> LocalDataset<T> ofParser(String path, Parser<T> parser, Consumer<T> loader) {
+        return new LocalDataset<>(path, null, parser, loader, null, null);
+    }
+
+    /**
+     * Creates a dataset that isn't parsed until it is first used. This is meant for data that many players never need.
+     *
+     * @param path the path of the file in the mod's resources, starting with {@code /}
+     * @param type the type to parse the file into
+     * @param fallback creates an empty value that is used if the file can't be parsed
+     * @param deferredLoader receives a supplier that parses the file the first time it's called
+     */
+    public static <T> LocalDataset<T> deferred(String path, Type type, Supplier<T> fallback,
+                                               Consumer<Supplier<T>> deferredLoader) {
+        return new LocalDataset<>(path, type, gson -> parseJson(gson, path, type), null, deferredLoader, fallback);
+    }
+
+    public boolean isDeferred() {
+        return deferredLoader != null;
+    }
+
+    /**
+     * Reads and parses the file. This has no side effects and may be called from any thread.
+     *
+     * @param gson the {@code Gson} instance to parse the file with
+     * @return the parsed data
+     * @throws IOException if the file couldn't be read
+     */
+    public T parse(Gson gson) throws IOException {
+        return parser.parse(gson);
+    }
+
+    private static <T> T parseJson(Gson gson, String path, Type type) throws IOException {
+        try (InputStream inputStream = LocalDataset.class.getResourceAsStream(path);
+             InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream),
+                     StandardCharsets.UTF_8)) {
+            return gson.fromJson(inputStreamReader, type);
+        }
+    }
+
+    T getFallback() {
+        return fallback.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    void load(Object data) {
+        loader.accept((T) data);
+    }
+
+    void loadDeferred(Supplier<T> supplier) {
+        deferredLoader.accept(supplier);
+    }
+
+    /**
+     * Reads and parses a dataset's data.
+     */
+    @FunctionalInterface
+    public interface Parser<T> {
+
+        T parse(Gson gson) throws IOException;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
@@ -0,0 +1,106 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.utils.ActionBarScanner;
+import codes.biscuit.skyblockaddons.utils.ActionBarSection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ActionBarScanner}
+ */
+public class ActionBarScannerTests {
+
+    /**
+     * The expected sections in action-bar-sections.csv were recorded from the pattern based parser the scanner
+     * replaced, so this makes sure the scanner reads action bars the same way.
+     */
+    @DisplayName("Action Bar Golden File Tests")
+    @ParameterizedTest()
+    @CsvFileSource(resources = "/action-bar-sections.csv", numLinesToSkip = 1)
+    void testActionBarSections(String actionBar, String expectedSections) {
+        assertEquals(expectedSections, describe(ActionBarScanner.scanSections(actionBar)));
+    }
+
+    @DisplayName("Identical Action Bars Are Only Scanned Once")
+    @Test
+    void testActionBarsAreCached() {
+        ActionBarScanner scanner = new ActionBarScanner();
+        String actionBar = "§c1390/1390❤     §a720§a❈ Defense     §b183/171✎ Mana§r";
+
+        List<ActionBarSection> sections = scanner.scan(actionBar);
+        assertSame(sections, scanner.scan(new String(actionBar)));
+
+        List<ActionBarSection> changedSections = scanner.scan("§c1389/1390❤     §a720§a❈ Defense     §b183/171✎ Mana§r");
+        assertNotSame(sections, changedSections);
+        assertEquals(1389, changedSections.get(0).getValue());
+        assertThrows(UnsupportedOperationException.class, () -> changedSections.remove(0));
+    }
+
+    private static String describe(List<ActionBarSection> sections) {
+        return sections.stream().map(ActionBarScannerTests::describe).collect(Collectors.joining(" || "));
+    }
+
+    /**
+     * Describes a section and the values that were read from it, like
+     * "HEALTH[§c1390/1390❤+§c30▅] health=1390.0/1390.0 wand=[1390/1390❤]".
+     */
+    private static String describe(ActionBarSection section) {
+        StringBuilder description = new StringBuilder().append(section.getType()).append('[').append(section.getText()).append(']');
+        if (!section.getDisplayText().equals(section.getText())) {
+            description.append(" display=[").append(section.getDisplayText()).append(']');
+        }
+
+        switch (section.getType()) {
+            case HEALTH:
+                for (ActionBarSection.AbilityStack abilityStack : section.getAbilityStacks()) {
+                    description.append(" stack=").append(abilityStack.getType()).append(':').append(abilityStack.getValue())
+                            .append(":[").append(abilityStack.getText()).append(']');
+                }
+                if (section.isParsed()) {
+                    description.append(" health=").append(section.getValue()).append('/').append(section.getMaxValue());
+                    if (section.getWandHealthText() != null) {
+                        description.append(" wand=[").append(section.getWandHealthText()).append(']');
+                    }
+                }
+                break;
+            case DEFENSE:
+                if (section.isParsed()) {
+                    description.append(" defense=").append(section.getValue()).append(" other=[").append(section.getOtherDefense()).append(']');
+                }
+                break;
+            case MANA:
+                if (section.isParsed()) {
+                    description.append(" mana=").append(section.getValue()).append('/').append(section.getMaxValue())
+                            .append(" overflow=").append(section.getOverflowMana());
+                }
+                break;
+            case SKILL:
+                if (section.isParsed()) {
+                    description.append(" gained=").append(section.getSkillXpGainedText()).append(" (").append(section.getSkillXpGained())
+                            .append(") skill=").append(section.getSkillName());
+                    if (section.isSkillPercentage()) {
+                        description.append(" percent=").append(section.getSkillPercent());
+                    } else {
+                        description.append(" xp=").append(section.getSkillXp()).append('/').append((int) section.getSkillXpTotal());
+                    }
+                }
+                break;
+            case TICKERS:
+                description.append(" tickers=").append(section.getTickers()).append('/').append(section.getMaxTickers());
+                break;
+            case DRILL:
+                if (section.isParsed()) {
+                    description.append(" fuel=").append((int) section.getValue()).append('/').append((int) section.getMaxValue());
+                }
+                break;
+        }
+        return description.toString();
+    }
+}
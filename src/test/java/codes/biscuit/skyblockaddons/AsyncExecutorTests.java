@@ -0,0 +1,242 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.misc.scheduler.AsyncExecutor;
+import codes.biscuit.skyblockaddons.misc.scheduler.AsyncTask;
+import codes.biscuit.skyblockaddons.misc.scheduler.ExecutorLane;
+import codes.biscuit.skyblockaddons.misc.scheduler.LaneMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link AsyncExecutor}
+ */
+public class AsyncExecutorTests {
+
+    private final List<Throwable> errors = new CopyOnWriteArrayList<>();
+    private final List<ExecutorLane> rejections = new CopyOnWriteArrayList<>();
+    private AsyncExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new AsyncExecutor("Test", (lane, ex) -> errors.add(ex), rejections::add);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @DisplayName("Results Are Handed To The Main Thread Only When The Queue Is Drained")
+    @Test
+    void testMainThreadHandoff() throws Exception {
+        AtomicReference<String> received = new AtomicReference<>();
+        AsyncTask<String> task = executor.submit(ExecutorLane.NETWORK, () -> "result")
+                .whenDone((result, error) -> received.set(result));
+
+        assertEquals("result", task.get(5, TimeUnit.SECONDS));
+        waitForMainThreadQueue(1);
+        assertNull(received.get());
+
+        assertEquals(1, executor.drainMainThreadQueue(Long.MAX_VALUE));
+        assertEquals("result", received.get());
+        assertEquals(0, executor.getMainThreadQueue().getDepth());
+
+        // Callbacks added after the task is done are queued right away
+        task.whenDone((result, error) -> received.set(result + " again"));
+        assertEquals(1, executor.drainMainThreadQueue(Long.MAX_VALUE));
+        assertEquals("result again", received.get());
+    }
+
+    @DisplayName("Lanes Don't Wait For Each Other")
+    @Test
+    void testLanesAreIndependent() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncTask<Void> blocked = executor.execute(ExecutorLane.IO, () -> await(release));
+
+        assertEquals("cpu", executor.submit(ExecutorLane.CPU, () -> "cpu").get(5, TimeUnit.SECONDS));
+        assertEquals("network", executor.submit(ExecutorLane.NETWORK, () -> "network").get(5, TimeUnit.SECONDS));
+        assertFalse(blocked.isDone());
+
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+
+    @DisplayName("A Full Lane Rejects New Tasks And Reports Its Depth")
+    @Test
+    void testBackPressure() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(ExecutorLane.IO, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<AsyncTask<Void>> queued = new ArrayList<>();
+        for (int i = 0; i < ExecutorLane.IO.getQueueCapacity(); i++) {
+            queued.add(executor.execute(ExecutorLane.IO, () -> {}));
+        }
+        LaneMetrics metrics = executor.getMetrics(ExecutorLane.IO);
+        assertEquals(ExecutorLane.IO.getQueueCapacity(), metrics.getQueueDepth());
+        assertEquals(1, metrics.getActiveTasks());
+
+        AtomicReference<Throwable> rejection = new AtomicReference<>();
+        AsyncTask<Void> rejected = executor.execute(ExecutorLane.IO, () -> {})
+                .whenDone((result, error) -> rejection.set(error));
+        assertTrue(rejected.isRejected());
+        assertTrue(rejected.isDone());
+        executor.drainMainThreadQueue(Long.MAX_VALUE);
+        assertTrue(rejection.get() instanceof RejectedExecutionException);
+        assertEquals(1, executor.getMetrics(ExecutorLane.IO).getRejected());
+        // Rejections are reported apart from the tasks that failed
+        assertEquals(Collections.singletonList(ExecutorLane.IO), rejections);
+        assertTrue(errors.isEmpty());
+
+        release.countDown();
+        for (AsyncTask<Void> task : queued) {
+            task.get(5, TimeUnit.SECONDS);
+        }
+        waitForIdle(ExecutorLane.IO);
+        metrics = executor.getMetrics(ExecutorLane.IO);
+        assertEquals(0, metrics.getQueueDepth());
+        assertEquals(ExecutorLane.IO.getQueueCapacity() + 1, metrics.getCompleted());
+        assertTrue(metrics.getMaxWaitNanos() > 0);
+    }
+
+    @DisplayName("The Serial Lane Runs Tasks In Order And Never Rejects Them")
+    @Test
+    void testSerialLane() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(ExecutorLane.SERIAL, () -> await(release));
+
+        // More tasks than any bounded lane could queue, all waiting behind the first one
+        List<Integer> ran = new CopyOnWriteArrayList<>();
+        List<AsyncTask<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int index = i;
+            tasks.add(executor.execute(ExecutorLane.SERIAL, () -> ran.add(index)));
+        }
+        assertEquals(1000, executor.getMetrics(ExecutorLane.SERIAL).getQueueDepth());
+
+        release.countDown();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            assertFalse(tasks.get(i).isRejected());
+            tasks.get(i).get(5, TimeUnit.SECONDS);
+            expected.add(i);
+        }
+        assertEquals(expected, ran);
+        assertEquals(0, executor.getMetrics(ExecutorLane.SERIAL).getRejected());
+        assertTrue(rejections.isEmpty());
+    }
+
+    @DisplayName("Cancelled Tasks Leave The Queue And Never Run")
+    @Test
+    void testCancellation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(ExecutorLane.IO, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        AtomicReference<Boolean> ran = new AtomicReference<>(false);
+        AtomicReference<Throwable> cancellation = new AtomicReference<>();
+        AsyncTask<Void> task = executor.execute(ExecutorLane.IO, () -> ran.set(true))
+                .whenDone((result, error) -> cancellation.set(error));
+        assertEquals(1, executor.getMetrics(ExecutorLane.IO).getQueueDepth());
+
+        assertTrue(task.cancel(false));
+        assertEquals(0, executor.getMetrics(ExecutorLane.IO).getQueueDepth());
+        assertEquals(1, executor.getMetrics(ExecutorLane.IO).getCancelled());
+
+        release.countDown();
+        executor.execute(ExecutorLane.IO, () -> {}).get(5, TimeUnit.SECONDS);
+        assertFalse(ran.get());
+
+        executor.drainMainThreadQueue(Long.MAX_VALUE);
+        assertTrue(cancellation.get() instanceof CancellationException);
+    }
+
+    @DisplayName("Exceptions Are Reported And Counted")
+    @Test
+    void testFailure() throws Exception {
+        IllegalStateException exception = new IllegalStateException("test");
+        AtomicReference<Throwable> received = new AtomicReference<>();
+        AsyncTask<Object> task = executor.submit(ExecutorLane.CPU, () -> {
+            throw exception;
+        }).whenDone((result, error) -> received.set(error));
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> task.get(5, TimeUnit.SECONDS));
+        assertSame(exception, thrown.getCause());
+        waitForIdle(ExecutorLane.CPU);
+        executor.drainMainThreadQueue(Long.MAX_VALUE);
+
+        assertSame(exception, received.get());
+        assertTrue(errors.contains(exception));
+        assertEquals(1, executor.getMetrics(ExecutorLane.CPU).getFailed());
+    }
+
+    @DisplayName("Draining Stops When The Budget Is Used Up")
+    @Test
+    void testDrainBudget() {
+        List<Integer> ran = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int index = i;
+            executor.runOnMainThread(() -> ran.add(index));
+        }
+
+        // At least one task runs even with no budget
+        assertEquals(1, executor.drainMainThreadQueue(0));
+        assertEquals(2, executor.getMainThreadQueue().getDepth());
+        assertEquals(2, executor.drainMainThreadQueue(Long.MAX_VALUE));
+        assertEquals(Arrays.asList(0, 1, 2), ran);
+
+        executor.runOnMainThread(() -> {
+            throw new IllegalStateException("main thread");
+        });
+        executor.runOnMainThread(() -> ran.add(3));
+        assertEquals(2, executor.drainMainThreadQueue(Long.MAX_VALUE));
+        assertEquals(4, ran.size());
+        assertEquals(1, errors.size());
+        assertEquals(1, executor.getMainThreadQueue().getMetrics().getFailed());
+    }
+
+    private void waitForMainThreadQueue(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getMainThreadQueue().getDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Waits for a lane's counters to catch up, since they're updated right after a task's result is set.
+     */
+    private void waitForIdle(ExecutorLane lane) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getMetrics(lane).getActiveTasks() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.utils.CaseInsensitiveTrie;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CaseInsensitiveTrie}, using the enchant names from {@code enchants.json} like the enchant manager
+ * does.
+ */
+public class CaseInsensitiveTrieTests {
+
+    private static final String[] ENCHANT_TYPES = {"NORMAL", "ULTIMATE", "STACKING"};
+
+    /** The enchant maps of each type, from lowercase name to lore name */
+    private static final Map<String, Map<String, String>> enchantsByType = new LinkedHashMap<>();
+    private static final CaseInsensitiveTrie<String> dictionary = new CaseInsensitiveTrie<>();
+
+    @BeforeAll
+    static void loadEnchants() throws IOException {
+        JsonObject enchants;
+        try (InputStream inputStream = CaseInsensitiveTrieTests.class.getResourceAsStream("/enchants.json");
+             InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream),
+                     StandardCharsets.UTF_8)) {
+            enchants = new JsonParser().parse(inputStreamReader).getAsJsonObject();
+        }
+
+        for (String type : ENCHANT_TYPES) {
+            Map<String, String> enchantsOfType = new HashMap<>();
+            for (Map.Entry<String, JsonElement> enchant : enchants.getAsJsonObject(type).entrySet()) {
+                enchantsOfType.put(enchant.getKey(), enchant.getValue().getAsJsonObject().get("loreName").getAsString());
+                dictionary.putIfAbsent(enchant.getKey(), type + ":" + enchant.getKey());
+            }
+            enchantsByType.put(type, enchantsOfType);
+        }
+    }
+
+    @DisplayName("Every Enchant Is Found By Its Lore Name")
+    @Test
+    void testEveryEnchantIsFound() {
+        int enchantCount = 0;
+        for (Map<String, String> enchantsOfType : enchantsByType.values()) {
+            for (String loreName : enchantsOfType.values()) {
+                String expected = lookUpInMaps(loreName);
+                assertNotNull(expected, loreName);
+                assertEquals(expected, dictionary.get(loreName), loreName);
+                assertEquals(expected, dictionary.get(loreName.toUpperCase(Locale.US)), loreName);
+                assertEquals(expected, dictionary.get(loreName.toLowerCase(Locale.US)), loreName);
+
+                // The name as it's matched in a line of enchants
+                String line = "Sharpness V, " + loreName + " IV, Ultimate Wise II";
+                int start = line.indexOf(loreName, "Sharpness V, ".length());
+                assertEquals(expected, dictionary.get(line, start, start + loreName.length()), line);
+                enchantCount++;
+            }
+        }
+        assertEquals(enchantCount, dictionary.getSize());
+    }
+
+    @DisplayName("Lookups Match The Enchant Maps")
+    @Test
+    void testLookupsMatchMaps() {
+        List<String> loreNames = new ArrayList<>();
+        for (Map<String, String> enchantsOfType : enchantsByType.values()) {
+            loreNames.addAll(enchantsOfType.values());
+        }
+        Collections.sort(loreNames);
+
+        Random random = new Random(0);
+        for (int i = 0; i < 5000; i++) {
+            String loreName = loreNames.get(random.nextInt(loreNames.size()));
+            String text;
+            switch (random.nextInt(4)) {
+                case 0:
+                    // Prefixes, like "Ultimate" of "Ultimate Wise"
+                    text = loreName.substring(0, random.nextInt(loreName.length() + 1));
+                    break;
+                case 1:
+                    text = loreName + (random.nextBoolean() ? "s" : " I");
+                    break;
+                case 2:
+                    text = loreName.substring(random.nextInt(loreName.length()));
+                    break;
+                default:
+                    text = loreName;
+                    break;
+            }
+
+            assertEquals(lookUpInMaps(text), dictionary.get(text), text);
+        }
+
+        assertNull(dictionary.get(""));
+        assertNull(dictionary.get("Breaking Power"));
+    }
+
+    @DisplayName("Names Are Only Added Once")
+    @Test
+    void testNamesAddedOnce() {
+        CaseInsensitiveTrie<Integer> trie = new CaseInsensitiveTrie<>();
+        assertTrue(trie.putIfAbsent("Ultimate Wise", 1));
+        assertTrue(trie.putIfAbsent("Wise", 2));
+        assertFalse(trie.putIfAbsent("ULTIMATE WISE", 3));
+        assertEquals(2, trie.getSize());
+
+        assertEquals(1, (int) trie.get("ultimate wise"));
+        assertEquals(2, (int) trie.get("Ultimate Wise", "Ultimate ".length(), "Ultimate Wise".length()));
+        assertNull(trie.get("Ultimate"));
+    }
+
+    /**
+     * How enchants were looked up before the dictionary: the name is lowercased and each map is tried in order.
+     */
+    private static String lookUpInMaps(String loreName) {
+        loreName = loreName.toLowerCase(Locale.US);
+        for (String type : ENCHANT_TYPES) {
+            if (enchantsByType.get(type).containsKey(loreName)) {
+                return type + ":" + loreName;
+            }
+        }
+        return null;
+    }
+}
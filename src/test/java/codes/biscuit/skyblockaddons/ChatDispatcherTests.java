@@ -0,0 +1,492 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.core.seacreatures.SeaCreature;
+import codes.biscuit.skyblockaddons.core.seacreatures.SeaCreatureManager;
+import codes.biscuit.skyblockaddons.listeners.PlayerChatTriggers;
+import codes.biscuit.skyblockaddons.utils.TextUtils;
+import codes.biscuit.skyblockaddons.utils.chat.ChatDispatcher;
+import codes.biscuit.skyblockaddons.utils.chat.ChatMessage;
+import codes.biscuit.skyblockaddons.utils.chat.ChatTrigger;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ChatDispatcher} and the triggers of {@link PlayerChatTriggers}
+ */
+public class ChatDispatcherTests {
+
+    /** Hypixel's dungeon class milestone messages, which the dungeon manager parses */
+    private static final Pattern MILESTONE_PATTERN = Pattern.compile("^.+?(Healer|Tank|Mage|Archer|Berserk) Milestone .+?([❶-❿]).+?§r§.(\\d+)§.§7 .+?");
+
+    @DisplayName("Replaying Chat Runs The Same Handlers As The Old Else-If Chains")
+    @Test
+    void testReplayMatchesLegacyChains() throws IOException {
+        loadSeaCreatures();
+        List<String> messages = readChat();
+
+        // Features are turned on and off at random, and so is being on Skyblock or in a dungeon
+        for (int seed = 0; seed < 50; seed++) {
+            Conditions conditions = Conditions.random(new Random(seed), seed == 0);
+            LegacyChatListener legacy = new LegacyChatListener(conditions);
+            DispatchedChatListener dispatched = new DispatchedChatListener(conditions);
+
+            for (String formattedText : messages) {
+                conditions.now += 40;
+                assertEquals(legacy.onChatReceive(formattedText), dispatched.onChatReceive(formattedText),
+                        formattedText + " with seed " + seed);
+            }
+
+            long checks = 0;
+            for (ChatDispatcher.RegisteredHandler<List<String>> handler : dispatched.dispatcher.getHandlers()) {
+                if (handler.getTrigger().isIndexed()) {
+                    checks += handler.getChecks();
+                }
+            }
+            // Most handlers are never looked at for most messages
+            assertTrue(checks < messages.size() * 3, "Checked " + checks + " triggers");
+        }
+    }
+
+    @DisplayName("Handlers Run In The Order Of The Else-If Chains They Replaced")
+    @Test
+    void testHandlerOrder() {
+        ChatDispatcher<Void> dispatcher = new ChatDispatcher<>();
+        PlayerChatTriggers.register(dispatcher, () -> true, () -> true, name -> (context, message) -> true);
+
+        List<String> names = new ArrayList<>();
+        for (ChatDispatcher.RegisteredHandler<Void> handler : dispatcher.getHandlers()) {
+            names.add(handler.getName());
+        }
+        List<String> order = Arrays.asList("Outbid Alert", "Mana Used", "Player Symbols", "No Arrows Left",
+                "Salvaged Essences", "Revive", "Dungeon Milestone", "Bonus Essence", "Ability Used", "Profile Switched");
+        for (int i = 1; i < order.size(); i++) {
+            assertTrue(names.indexOf(order.get(i - 1)) < names.indexOf(order.get(i)), order.get(i - 1) + " runs before " + order.get(i));
+        }
+    }
+
+    @DisplayName("Literals Are Only Found Where The Trigger Wants Them")
+    @Test
+    void testLiteralPositions() {
+        ChatTrigger[] triggers = {
+                ChatTrigger.startsWith(ChatTrigger.Source.STRIPPED, "ab"),
+                ChatTrigger.exactly(ChatTrigger.Source.STRIPPED, "abc"),
+                ChatTrigger.contains(ChatTrigger.Source.STRIPPED, "bc"),
+                ChatTrigger.contains(ChatTrigger.Source.STRIPPED, "babc"),
+                ChatTrigger.startsWith(ChatTrigger.Source.STRIPPED, "c"),
+                ChatTrigger.startsWith(ChatTrigger.Source.FORMATTED, "§a"),
+        };
+
+        List<String> hits = new ArrayList<>();
+        ChatDispatcher<List<String>> dispatcher = new ChatDispatcher<>();
+        for (int i = 0; i < triggers.length; i++) {
+            String name = String.valueOf(i);
+            // Every trigger gets its own chain, so they all run
+            dispatcher.chain(name).on(name, triggers[i], (context, message) -> context.add(name));
+        }
+
+        for (String text : new String[]{"ab", "abc", "abcd", "xabc", "ababc", "cab", "bc", "", "§aabc"}) {
+            ChatMessage message = new ChatMessage(text, TextUtils.stripColor(text), TextUtils.stripColor(text));
+            hits.clear();
+            dispatcher.dispatch(hits, message);
+
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < triggers.length; i++) {
+                if (triggers[i].matches(message)) {
+                    expected.add(String.valueOf(i));
+                }
+            }
+            assertEquals(expected, hits, text);
+        }
+    }
+
+    private static void loadSeaCreatures() throws IOException {
+        try (InputStream inputStream = ChatDispatcherTests.class.getResourceAsStream("/seaCreatures.json");
+             InputStreamReader reader = new InputStreamReader(Objects.requireNonNull(inputStream), StandardCharsets.UTF_8)) {
+            SeaCreatureManager.getInstance().setSeaCreatures(new Gson().fromJson(reader,
+                    new TypeToken<Map<String, SeaCreature>>() {}.getType()));
+        }
+    }
+
+    /**
+     * Reads the sample chat, the spawn message of every sea creature, and variants of each message that only just
+     * miss or only just match the triggers: without their formatting codes, without their leading reset, cut in half,
+     * and with text before or after them.
+     */
+    private List<String> readChat() throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (InputStream inputStream = getClass().getResourceAsStream("/chat-messages.txt");
+             BufferedReader reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(inputStream),
+                     StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        for (String spawnMessage : SeaCreatureManager.getInstance().getAllSeaCreatureSpawnMessages()) {
+            lines.add("§r§a" + spawnMessage + "§r");
+        }
+
+        List<String> messages = new ArrayList<>();
+        for (String line : lines) {
+            messages.add(line);
+            messages.add(TextUtils.stripColor(line));
+            messages.add(line.startsWith("§r") ? line.substring(2) : "§r" + line);
+            messages.add(line.substring(0, line.length() / 2));
+            messages.add("§7> " + line);
+            messages.add(line + "§r§7!");
+        }
+        return messages;
+    }
+
+    /**
+     * Whether each feature the chat handlers check is enabled, and the other state they check
+     */
+    private static class Conditions {
+        private boolean onSkyblock;
+        private boolean inDungeon;
+        private boolean salvaging;
+        private boolean predictMana;
+        private boolean slayerTracker;
+        private boolean outbidAlertSound;
+        private boolean outbidAlertSoundInOtherGames;
+        private boolean summoningEyeAlert;
+        private boolean specialZealotAlert;
+        private boolean zealotCounter;
+        private boolean legendarySeaCreatureWarning;
+        private boolean disableMagicalSoupMessages;
+        private boolean disableTeleportPadMessages;
+        private boolean disableMortMessages;
+        private boolean disableBossMessages;
+        private boolean spiritSceptreDisplay;
+        private boolean disableSpiritSceptreMessages;
+        private boolean dragonStatsTracker;
+        private boolean showItemCooldowns;
+        private boolean birchParkRainmakerTimer;
+        private boolean fetchurToday;
+        private boolean playerSymbolsInChat;
+        private boolean noArrowsLeftAlert;
+        private boolean showSalvageEssencesCounter;
+        private boolean showDungeonMilestone;
+        private boolean dungeonsCollectedEssencesDisplay;
+        /** The time the current message arrived at */
+        private long now = 1000;
+
+        private static Conditions random(Random random, boolean allOn) {
+            Conditions conditions = new Conditions();
+            for (Field field : Conditions.class.getDeclaredFields()) {
+                if (field.getType() == boolean.class) {
+                    try {
+                        field.setBoolean(conditions, allOn || random.nextInt(4) != 0);
+                    } catch (IllegalAccessException ex) {
+                        throw new AssertionError(ex);
+                    }
+                }
+            }
+            return conditions;
+        }
+    }
+
+    /**
+     * The chat handling of {@code PlayerListener.onChatReceive} before the dispatcher, which tried every condition in
+     * else-if chains. It lists what each branch it takes does instead of doing it.
+     */
+    private static class LegacyChatListener {
+        private static final Pattern NO_ARROWS_LEFT_PATTERN = Pattern.compile("(?:§r)?§cYou don't have any more Arrows left in your Quiver!§r");
+        private static final Pattern ONLY_HAVE_ARROWS_LEFT_PATTERN = Pattern.compile("(?:§r)?§cYou only have (?<arrows>[0-9]+) Arrows left in your Quiver!§r");
+        private static final Pattern ABILITY_CHAT_PATTERN = Pattern.compile("§r§aUsed §r§6[A-Za-z ]+§r§a! §r§b\\([0-9]+ Mana\\)§r");
+        private static final Pattern PROFILE_CHAT_PATTERN = Pattern.compile("You are playing on profile: ([A-Za-z]+).*");
+        private static final Pattern SWITCH_PROFILE_CHAT_PATTERN = Pattern.compile("Your profile was changed to: ([A-Za-z]+).*");
+        private static final Pattern DRAGON_KILLED_PATTERN = Pattern.compile(" *[A-Z]* DRAGON DOWN!");
+        private static final Pattern DRAGON_SPAWNED_PATTERN = Pattern.compile("☬ The (?<dragonType>[A-Za-z ]+) Dragon has spawned!");
+        private static final Pattern SLAYER_COMPLETED_PATTERN = Pattern.compile(" {3}» Talk to Maddox to claim your (?<slayerType>[A-Za-z]+) Slayer XP!");
+        private static final Pattern SLAYER_COMPLETED_PATTERN_AUTO1 = Pattern.compile(" *(?<slayerType>[A-Za-z]+) Slayer LVL \\d+ - Next LVL in [\\d,]+ XP!");
+        private static final Pattern SLAYER_COMPLETED_PATTERN_AUTO2 = Pattern.compile(" *SLAYER QUEST STARTED!");
+        private static final Pattern DEATH_MESSAGE_PATTERN = Pattern.compile(" ☠ (?<username>\\w+) (?<causeOfDeath>.+)\\.");
+        private static final Pattern REVIVE_MESSAGE_PATTERN = Pattern.compile(" ❣ (?<revivedPlayer>\\w+) was revived(?: by (?<reviver>\\w+))*!");
+        private static final Pattern SPIRIT_SCEPTRE_MESSAGE_PATTERN = Pattern.compile("Your (?:Implosion|Spirit Sceptre) hit (?<hitEnemies>[0-9]+) enem(?:y|ies) for (?<dealtDamage>[0-9]{1,3}(?:,[0-9]{3})*(?:\\.[0-9]+)*) damage\\.");
+        private static final Set<String> SOUP_RANDOM_MESSAGES = new HashSet<>(Arrays.asList("I feel like I can fly!", "What was in that soup?",
+                "Hmm… tasty!", "Hmm... tasty!", "You can now fly for 2 minutes.", "Your flight has been extended for 2 extra minutes.",
+                "You can now fly for 200 minutes.", "Your flight has been extended for 200 extra minutes."));
+
+        private final Conditions c;
+        private long lastMaddoxLevelTime;
+        private String lastMaddoxSlayerType;
+
+        private LegacyChatListener(Conditions conditions) {
+            this.c = conditions;
+        }
+
+        private List<String> onChatReceive(String formattedText) {
+            List<String> e = new ArrayList<>();
+            String strippedText = TextUtils.stripColor(formattedText);
+            String unformattedText = strippedText;
+
+            if (formattedText.startsWith("§7Sending to server ")) {
+                return e;
+            }
+
+            if (c.outbidAlertSound && formattedText.matches("§6\\[Auction] §..*§eoutbid you .*")
+                    && (c.outbidAlertSoundInOtherGames || c.onSkyblock)) {
+                e.add("Outbid Alert");
+            }
+
+            if (c.onSkyblock) {
+                Matcher matcher;
+
+                if (c.predictMana && unformattedText.startsWith("Used ") && unformattedText.endsWith("Mana)")) {
+                    int manaLost = Integer.parseInt(unformattedText.split(Pattern.quote("! ("))[1].split(Pattern.quote(" Mana)"))[0]);
+                    e.add("Mana Used " + manaLost);
+                } else if ((matcher = DEATH_MESSAGE_PATTERN.matcher(unformattedText)).matches()) {
+                    e.add("Death " + matcher.group("username") + " " + matcher.group("causeOfDeath"));
+                } else if (c.summoningEyeAlert && formattedText.equals("§r§6§lRARE DROP! §r§5Summoning Eye§r")) {
+                    e.add("Summoning Eye Drop");
+                } else if (formattedText.equals("§r§aA special §r§5Zealot §r§ahas spawned nearby!§r")) {
+                    e.add("Special Zealot " + c.specialZealotAlert + " " + c.zealotCounter);
+                } else if (c.legendarySeaCreatureWarning && SeaCreatureManager.getInstance().getAllSeaCreatureSpawnMessages().contains(unformattedText)) {
+                    e.add("Sea Creature " + SeaCreatureManager.getInstance().getLegendarySeaCreatureSpawnMessages().contains(unformattedText));
+                } else if (c.disableMagicalSoupMessages && SOUP_RANDOM_MESSAGES.contains(unformattedText)) {
+                    e.add("Magical Soup");
+                } else if (c.disableTeleportPadMessages && (formattedText.startsWith("§r§aWarped from ") || formattedText.equals("§r§cThis Teleport Pad does not have a destination set!§r"))) {
+                    e.add("Teleport Pad");
+                } else if (c.disableMortMessages && strippedText.startsWith("[NPC] Mort:")) {
+                    e.add("Mort");
+                } else if (c.disableBossMessages && strippedText.startsWith("[BOSS] ")) {
+                    e.add("Boss");
+                } else if (c.spiritSceptreDisplay && strippedText.startsWith("Your Implosion hit") || strippedText.startsWith("Your Spirit Sceptre hit")) {
+                    matcher = SPIRIT_SCEPTRE_MESSAGE_PATTERN.matcher(unformattedText);
+                    e.add(matcher.find() ? "Spirit Sceptre " + matcher.group("hitEnemies") + " " + matcher.group("dealtDamage") + " " +
+                            c.disableSpiritSceptreMessages : "Spirit Sceptre");
+                } else if (c.slayerTracker && (matcher = SLAYER_COMPLETED_PATTERN.matcher(strippedText)).matches()) {
+                    e.add("Slayer Completed " + matcher.group("slayerType"));
+                } else if (c.slayerTracker && (matcher = SLAYER_COMPLETED_PATTERN_AUTO1.matcher(strippedText)).matches()) {
+                    lastMaddoxLevelTime = c.now;
+                    lastMaddoxSlayerType = matcher.group("slayerType");
+                    e.add("Slayer Level " + lastMaddoxSlayerType);
+                } else if (SLAYER_COMPLETED_PATTERN_AUTO2.matcher(strippedText).matches() && c.now - lastMaddoxLevelTime < 100) {
+                    e.add("Slayer Quest Started " + lastMaddoxSlayerType);
+                } else if (c.dragonStatsTracker && strippedText.startsWith("☬ You placed a Summoning Eye!")) {
+                    e.add("Summoning Eye Placed");
+                } else if (c.dragonStatsTracker && strippedText.equals("You recovered a Summoning Eye!")) {
+                    e.add("Summoning Eye Recovered");
+                } else if (c.dragonStatsTracker && (matcher = DRAGON_SPAWNED_PATTERN.matcher(strippedText)).matches()) {
+                    e.add("Dragon Spawned " + matcher.group("dragonType"));
+                } else if (c.dragonStatsTracker && DRAGON_KILLED_PATTERN.matcher(strippedText).matches()) {
+                    e.add("Dragon Killed");
+                } else if (c.showItemCooldowns && unformattedText.equals("You laid an egg!")) {
+                    e.add("Egg Laid");
+                } else if (c.birchParkRainmakerTimer && formattedText.startsWith("§r§eYou added a minute of rain!")) {
+                    e.add("Rainmaker");
+                } else if (c.fetchurToday && formattedText.startsWith("§e[NPC] Fetchur§f:")) {
+                    e.add("Fetchur");
+                } else if (c.playerSymbolsInChat && unformattedText.contains(":")) {
+                    e.add("Player Symbols");
+                }
+
+                if (c.noArrowsLeftAlert) {
+                    if (NO_ARROWS_LEFT_PATTERN.matcher(formattedText).matches()) {
+                        e.add("No Arrows Left");
+                    } else if ((matcher = ONLY_HAVE_ARROWS_LEFT_PATTERN.matcher(formattedText)).matches()) {
+                        e.add("Only Have Arrows Left " + matcher.group("arrows"));
+                    }
+                }
+
+                if (c.salvaging && c.showSalvageEssencesCounter) {
+                    e.add("Salvaged Essences");
+                }
+
+                if (c.inDungeon) {
+                    Matcher reviveMessageMatcher = REVIVE_MESSAGE_PATTERN.matcher(unformattedText);
+                    if (reviveMessageMatcher.matches()) {
+                        e.add("Revive " + reviveMessageMatcher.group("revivedPlayer") + " " + reviveMessageMatcher.group("reviver"));
+                    }
+
+                    if (c.showDungeonMilestone && MILESTONE_PATTERN.matcher(formattedText).lookingAt()) {
+                        e.add("Dungeon Milestone");
+                    }
+
+                    if (c.dungeonsCollectedEssencesDisplay) {
+                        e.add("Bonus Essence");
+                    }
+                }
+
+                if (ABILITY_CHAT_PATTERN.matcher(formattedText).matches()) {
+                    e.add("Ability Used");
+                } else if ((matcher = PROFILE_CHAT_PATTERN.matcher(strippedText)).matches()) {
+                    e.add("Profile " + matcher.group(1));
+                } else if ((matcher = SWITCH_PROFILE_CHAT_PATTERN.matcher(strippedText)).matches()) {
+                    e.add("Profile Switched " + matcher.group(1));
+                }
+            }
+            return e;
+        }
+    }
+
+    /**
+     * The chat handling of {@code PlayerListener.onChatReceive} through the triggers of {@link PlayerChatTriggers}. Each
+     * handler makes the same checks as the one {@code PlayerListener} registers before it handles a message, and lists
+     * what it does like {@link LegacyChatListener}.
+     */
+    private static class DispatchedChatListener {
+        private final Conditions c;
+        private final ChatDispatcher<List<String>> dispatcher = new ChatDispatcher<>();
+        private final Map<String, ChatDispatcher.Handler<List<String>>> handlers = new HashMap<>();
+        private long lastMaddoxLevelTime;
+        private String lastMaddoxSlayerType;
+
+        private DispatchedChatListener(Conditions conditions) {
+            this.c = conditions;
+
+            handlers.put("Outbid Alert", (e, message) -> {
+                if (c.outbidAlertSound && (c.outbidAlertSoundInOtherGames || c.onSkyblock)) {
+                    e.add("Outbid Alert");
+                }
+                return true;
+            });
+            handlers.put("Mana Used", (e, message) -> {
+                String unformattedText = message.getUnformattedText();
+                if (!c.predictMana || !unformattedText.endsWith("Mana)")) {
+                    return false;
+                }
+                e.add("Mana Used " + Integer.parseInt(unformattedText.split(Pattern.quote("! ("))[1].split(Pattern.quote(" Mana)"))[0]));
+                return true;
+            });
+            handlers.put("Death", (e, message) -> {
+                e.add("Death " + message.getMatcher().group("username") + " " + message.getMatcher().group("causeOfDeath"));
+                return true;
+            });
+            handlers.put("Summoning Eye Drop", when(() -> c.summoningEyeAlert, "Summoning Eye Drop"));
+            handlers.put("Special Zealot", (e, message) -> {
+                e.add("Special Zealot " + c.specialZealotAlert + " " + c.zealotCounter);
+                return true;
+            });
+            handlers.put("Sea Creature", (e, message) -> {
+                if (!c.legendarySeaCreatureWarning) {
+                    return false;
+                }
+                e.add("Sea Creature " + SeaCreatureManager.getInstance().getLegendarySeaCreatureSpawnMessages().contains(message.getUnformattedText()));
+                return true;
+            });
+            handlers.put("Magical Soup", when(() -> c.disableMagicalSoupMessages, "Magical Soup"));
+            handlers.put("Teleport Pad", when(() -> c.disableTeleportPadMessages, "Teleport Pad"));
+            handlers.put("Mort", when(() -> c.disableMortMessages, "Mort"));
+            handlers.put("Boss", when(() -> c.disableBossMessages, "Boss"));
+            handlers.put("Spirit Sceptre", (e, message) -> {
+                if (!c.spiritSceptreDisplay && !message.getStrippedText().startsWith("Your Spirit Sceptre hit")) {
+                    return false;
+                }
+                Matcher matcher = LegacyChatListener.SPIRIT_SCEPTRE_MESSAGE_PATTERN.matcher(message.getUnformattedText());
+                e.add(matcher.find() ? "Spirit Sceptre " + matcher.group("hitEnemies") + " " + matcher.group("dealtDamage") + " " +
+                        c.disableSpiritSceptreMessages : "Spirit Sceptre");
+                return true;
+            });
+            handlers.put("Slayer Completed", (e, message) -> {
+                if (!c.slayerTracker) {
+                    return false;
+                }
+                e.add("Slayer Completed " + message.getMatcher().group("slayerType"));
+                return true;
+            });
+            handlers.put("Slayer Level", (e, message) -> {
+                if (!c.slayerTracker) {
+                    return false;
+                }
+                lastMaddoxLevelTime = c.now;
+                lastMaddoxSlayerType = message.getMatcher().group("slayerType");
+                e.add("Slayer Level " + lastMaddoxSlayerType);
+                return true;
+            });
+            handlers.put("Slayer Quest Started", (e, message) -> {
+                if (c.now - lastMaddoxLevelTime >= 100) {
+                    return false;
+                }
+                e.add("Slayer Quest Started " + lastMaddoxSlayerType);
+                return true;
+            });
+            handlers.put("Summoning Eye Placed", when(() -> c.dragonStatsTracker, "Summoning Eye Placed"));
+            handlers.put("Summoning Eye Recovered", when(() -> c.dragonStatsTracker, "Summoning Eye Recovered"));
+            handlers.put("Dragon Spawned", (e, message) -> {
+                if (!c.dragonStatsTracker) {
+                    return false;
+                }
+                e.add("Dragon Spawned " + message.getMatcher().group("dragonType"));
+                return true;
+            });
+            handlers.put("Dragon Killed", when(() -> c.dragonStatsTracker, "Dragon Killed"));
+            handlers.put("Egg Laid", when(() -> c.showItemCooldowns, "Egg Laid"));
+            handlers.put("Rainmaker", when(() -> c.birchParkRainmakerTimer, "Rainmaker"));
+            handlers.put("Fetchur", when(() -> c.fetchurToday, "Fetchur"));
+            handlers.put("Player Symbols", when(() -> c.playerSymbolsInChat, "Player Symbols"));
+            handlers.put("No Arrows Left", when(() -> c.noArrowsLeftAlert, "No Arrows Left"));
+            handlers.put("Only Have Arrows Left", (e, message) -> {
+                if (!c.noArrowsLeftAlert) {
+                    return false;
+                }
+                e.add("Only Have Arrows Left " + message.getMatcher().group("arrows"));
+                return true;
+            });
+            handlers.put("Salvaged Essences", when(() -> c.salvaging && c.showSalvageEssencesCounter, "Salvaged Essences"));
+            handlers.put("Revive", (e, message) -> {
+                e.add("Revive " + message.getMatcher().group("revivedPlayer") + " " + message.getMatcher().group("reviver"));
+                return true;
+            });
+            handlers.put("Dungeon Milestone", (e, message) -> {
+                if (!c.showDungeonMilestone || !MILESTONE_PATTERN.matcher(message.getFormattedText()).lookingAt()) {
+                    return false;
+                }
+                e.add("Dungeon Milestone");
+                return true;
+            });
+            handlers.put("Bonus Essence", when(() -> c.dungeonsCollectedEssencesDisplay, "Bonus Essence"));
+            handlers.put("Ability Used", when(() -> true, "Ability Used"));
+            handlers.put("Profile", (e, message) -> {
+                e.add("Profile " + message.getMatcher().group(1));
+                return true;
+            });
+            handlers.put("Profile Switched", (e, message) -> {
+                e.add("Profile Switched " + message.getMatcher().group(1));
+                return true;
+            });
+
+            PlayerChatTriggers.register(dispatcher, () -> c.onSkyblock, () -> c.inDungeon, handlers::get);
+        }
+
+        private List<String> onChatReceive(String formattedText) {
+            List<String> e = new ArrayList<>();
+            if (formattedText.startsWith("§7Sending to server ")) {
+                return e;
+            }
+
+            String strippedText = TextUtils.stripColor(formattedText);
+            dispatcher.dispatch(e, new ChatMessage(formattedText, strippedText, strippedText));
+            return e;
+        }
+
+        /**
+         * @return a handler that handles every message while a feature is enabled
+         */
+        private static ChatDispatcher.Handler<List<String>> when(BooleanSupplier enabled, String sideEffect) {
+            return (e, message) -> {
+                if (!enabled.getAsBoolean()) {
+                    return false;
+                }
+                e.add(sideEffect);
+                return true;
+            };
+        }
+    }
+}
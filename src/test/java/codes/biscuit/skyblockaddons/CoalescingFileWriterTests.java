@@ -0,0 +1,160 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.config.CoalescingFileWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CoalescingFileWriter}
+ */
+public class CoalescingFileWriterTests {
+
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 5000;
+
+    @DisplayName("Concurrent Saves Are Coalesced Without Losing Updates")
+    @Test
+    void testConcurrentSavesAreNotLost(@TempDir Path tempDir) throws Exception {
+        File file = tempDir.resolve("test.cfg").toFile();
+        AtomicInteger state = new AtomicInteger();
+        CoalescingFileWriter fileWriter = new CoalescingFileWriter("test file", file,
+                CoalescingFileWriter.textContent(writer -> writer.write(String.valueOf(state.get()))), 5);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < THREADS; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int j = 0; j < UPDATES_PER_THREAD; j++) {
+                    state.incrementAndGet();
+                    fileWriter.markDirty();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        fileWriter.flush();
+
+        assertFalse(fileWriter.isDirty());
+        assertEquals(String.valueOf(THREADS * UPDATES_PER_THREAD), read(file));
+        assertTrue(fileWriter.getWriteCount().get() < THREADS * UPDATES_PER_THREAD,
+                "Saves weren't coalesced: " + fileWriter.getWriteCount().get() + " writes");
+        assertFalse(new File(file.getParentFile(), file.getName() + ".tmp").exists());
+    }
+
+    @DisplayName("Scheduled Save Writes Latest State")
+    @Test
+    void testScheduledSaveWritesLatestState(@TempDir Path tempDir) throws Exception {
+        File file = tempDir.resolve("test.cfg").toFile();
+        AtomicInteger state = new AtomicInteger();
+        ManualExecutor executor = new ManualExecutor();
+        CoalescingFileWriter fileWriter = new CoalescingFileWriter("test file", file,
+                CoalescingFileWriter.textContent(writer -> writer.write(String.valueOf(state.get()))), 50, executor);
+
+        for (int i = 0; i < 100; i++) {
+            state.set(i);
+            fileWriter.markDirty();
+        }
+        assertEquals(Collections.singletonList(50L), executor.delays);
+
+        executor.runNext();
+        assertEquals("99", read(file));
+        assertEquals(1, fileWriter.getWriteCount().get());
+        assertFalse(fileWriter.isDirty());
+        assertTrue(executor.tasks.isEmpty());
+    }
+
+    @DisplayName("Failed Saves Back Off And Give Up")
+    @Test
+    void testFailedSavesBackOff(@TempDir Path tempDir) throws Exception {
+        File file = tempDir.resolve("test.cfg").toFile();
+        AtomicBoolean failing = new AtomicBoolean(true);
+        ManualExecutor executor = new ManualExecutor();
+        CoalescingFileWriter fileWriter = new CoalescingFileWriter("test file", file,
+                CoalescingFileWriter.textContent(writer -> {
+                    if (failing.get()) {
+                        throw new IOException("Disk full");
+                    }
+                    writer.write("saved");
+                }), 50, executor);
+
+        fileWriter.markDirty();
+        while (!executor.tasks.isEmpty()) {
+            executor.runNext();
+        }
+        // The first write and one retry for each failure, each twice as long after the one before
+        assertEquals(Arrays.asList(50L, 100L, 200L, 400L, 800L), executor.delays);
+        assertEquals(0, fileWriter.getWriteCount().get());
+        assertTrue(fileWriter.isDirty());
+
+        // The next change tries again
+        failing.set(false);
+        fileWriter.markDirty();
+        executor.runNext();
+        assertEquals("saved", read(file));
+        assertEquals(1, fileWriter.getWriteCount().get());
+        assertFalse(fileWriter.isDirty());
+    }
+
+    @DisplayName("Text Is Written As UTF-8")
+    @Test
+    void testTextIsUTF8(@TempDir Path tempDir) throws Exception {
+        File file = tempDir.resolve("test.cfg").toFile();
+        CoalescingFileWriter fileWriter = new CoalescingFileWriter("test file", file,
+                CoalescingFileWriter.textContent(writer -> writer.write("Ender Dragon ✪ §6Légendaire")), 50,
+                new ManualExecutor());
+
+        fileWriter.markDirty();
+        fileWriter.flush();
+        assertEquals("Ender Dragon ✪ §6Légendaire", read(file));
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Keeps the writes that are scheduled until the test runs them, instead of waiting for their delay.
+     */
+    private static class ManualExecutor extends ScheduledThreadPoolExecutor {
+        private final List<Runnable> tasks = new ArrayList<>();
+        private final List<Long> delays = new ArrayList<>();
+
+        private ManualExecutor() {
+            super(0);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            tasks.add(command);
+            delays.add(unit.toMillis(delay));
+            return null;
+        }
+
+        private void runNext() {
+            tasks.remove(0).run();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.core.Language;
+import codes.biscuit.skyblockaddons.utils.data.CompiledStringTable;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CompiledStringTable}
+ */
+public class CompiledStringTableTests {
+
+    private static final Gson GSON = SkyblockAddons.getGson();
+
+    @DisplayName("Compiled Language Files Match Their JSON Source")
+    @Test
+    void testCompiledMatchesJson() throws IOException {
+        for (Language language : Language.values()) {
+            String path = "/lang/" + language.getPath();
+            CompiledStringTable expected = readJson(path + ".json");
+
+            CompiledStringTable compiled;
+            try (InputStream inputStream = getClass().getResourceAsStream(path + ".bin")) {
+                assertNotNull(inputStream, path + ".bin wasn't compiled");
+                compiled = CompiledStringTable.read(inputStream);
+            }
+
+            assertEquals(expected.getKeys(), compiled.getKeys(), language.name());
+            for (String key : expected.getKeys()) {
+                assertEquals(expected.get(key), compiled.get(key), language.name() + " " + key);
+            }
+        }
+    }
+
+    @DisplayName("Nested Keys Are Flattened")
+    @Test
+    void testFlatten() {
+        JsonObject settings = new JsonObject();
+        settings.addProperty("settings", "Settings");
+        settings.addProperty("count", 3);
+        JsonObject root = new JsonObject();
+        root.add("settings", settings);
+        root.addProperty("title", "Title");
+
+        CompiledStringTable table = CompiledStringTable.fromJson(root);
+        assertEquals(3, table.size());
+        assertEquals("Settings", table.get("settings.settings"));
+        assertEquals("3", table.get("settings.count"));
+        assertEquals("Title", table.get("title"));
+        assertNull(table.get("settings"));
+        assertNull(table.get("missing"));
+    }
+
+    @DisplayName("Merged Entries Override Existing Entries")
+    @Test
+    void testMerge() {
+        JsonObject base = new JsonObject();
+        base.addProperty("a", "base a");
+        base.addProperty("b", "base b");
+        JsonObject overrides = new JsonObject();
+        overrides.addProperty("b", "override b");
+        overrides.addProperty("c", "override c");
+
+        CompiledStringTable merged = CompiledStringTable.fromJson(base).merge(CompiledStringTable.fromJson(overrides));
+        assertEquals("base a", merged.get("a"));
+        assertEquals("override b", merged.get("b"));
+        assertEquals("override c", merged.get("c"));
+    }
+
+    private CompiledStringTable readJson(String path) throws IOException {
+        try (InputStream inputStream = getClass().getResourceAsStream(path);
+             InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream, path),
+                     StandardCharsets.UTF_8)) {
+            return CompiledStringTable.fromJson(GSON.fromJson(inputStreamReader, JsonObject.class));
+        }
+    }
+}
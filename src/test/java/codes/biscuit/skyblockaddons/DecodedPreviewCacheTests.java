@@ -0,0 +1,123 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.features.backpacks.DecodedPreviewCache;
+import net.minecraft.item.ItemStack;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link DecodedPreviewCache}
+ */
+public class DecodedPreviewCacheTests {
+
+    @DisplayName("Previews Are Decoded Once For The Same Bytes")
+    @Test
+    void testDecodedOnce() {
+        DecodedPreviewCache cache = new DecodedPreviewCache(8);
+        Decoder decoder = new Decoder();
+        byte[] bytes = {1, 2, 3};
+
+        List<ItemStack> items = cache.get("Backpack1", bytes, decoder);
+        for (int i = 0; i < 10; i++) {
+            assertSame(items, cache.get("Backpack1", bytes, decoder));
+        }
+        assertEquals(1, decoder.decodes);
+
+        // The server sends a new copy of the same backpack
+        byte[] copy = bytes.clone();
+        assertSame(items, cache.get("Backpack1", copy, decoder));
+        assertSame(items, cache.get("Backpack1", copy, decoder));
+        assertEquals(1, decoder.decodes);
+        assertEquals(12, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+    }
+
+    @DisplayName("Previews Are Decoded Again When Their Bytes Change")
+    @Test
+    void testDecodedAgainWhenChanged() {
+        DecodedPreviewCache cache = new DecodedPreviewCache(8);
+        Decoder decoder = new Decoder();
+
+        List<ItemStack> items = cache.get("Backpack1", new byte[]{1, 2, 3}, decoder);
+        assertNotSame(items, cache.get("Backpack1", new byte[]{1, 2, 4}, decoder));
+        assertNotSame(items, cache.get("Backpack1", new byte[]{1, 2}, decoder));
+        assertEquals(3, decoder.decodes);
+
+        // The same bytes under another key
+        cache.get("Backpack2", new byte[]{1, 2}, decoder);
+        assertEquals(4, decoder.decodes);
+
+        // Saving the contents of a key
+        byte[] bytes = {5};
+        cache.get("EnderChest1", bytes, decoder);
+        cache.invalidate("EnderChest1");
+        cache.get("EnderChest1", bytes, decoder);
+        assertEquals(6, decoder.decodes);
+        assertEquals(0, cache.getStats().getHits());
+        assertEquals(6, cache.getStats().getMisses());
+    }
+
+    @DisplayName("Failed Decodes Aren't Cached")
+    @Test
+    void testFailedDecodesAreNotCached() {
+        DecodedPreviewCache cache = new DecodedPreviewCache(8);
+        Decoder decoder = new Decoder();
+        decoder.fail = true;
+        byte[] bytes = {1, 2, 3};
+
+        assertNull(cache.get("Backpack1", bytes, decoder));
+        assertNull(cache.get("Backpack1", bytes, decoder));
+        assertEquals(2, decoder.decodes);
+        assertEquals(0, cache.size());
+
+        decoder.fail = false;
+        assertNotNull(cache.get("Backpack1", bytes, decoder));
+        assertEquals(1, cache.size());
+    }
+
+    @DisplayName("The Least Recently Used Preview Is Evicted")
+    @Test
+    void testEviction() {
+        DecodedPreviewCache cache = new DecodedPreviewCache(2);
+        Decoder decoder = new Decoder();
+        byte[] first = {1};
+        byte[] second = {2};
+        byte[] third = {3};
+
+        cache.get("Backpack1", first, decoder);
+        cache.get("Backpack2", second, decoder);
+        // Using the first preview makes the second one the least recently used
+        cache.get("Backpack1", first, decoder);
+        cache.get("Backpack3", third, decoder);
+        assertEquals(2, cache.size());
+        assertEquals(3, decoder.decodes);
+
+        cache.get("Backpack1", first, decoder);
+        cache.get("Backpack3", third, decoder);
+        assertEquals(3, decoder.decodes);
+        cache.get("Backpack2", second, decoder);
+        assertEquals(4, decoder.decodes);
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    private static class Decoder implements Function<byte[], List<ItemStack>> {
+
+        private int decodes;
+        private boolean fail;
+
+        @Override
+        public List<ItemStack> apply(byte[] bytes) {
+            decodes++;
+            return fail ? null : new ArrayList<>();
+        }
+    }
+}
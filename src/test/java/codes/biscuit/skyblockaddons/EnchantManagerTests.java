@@ -0,0 +1,365 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.features.enchants.EnchantListLayout;
+import codes.biscuit.skyblockaddons.features.enchants.EnchantManager;
+import codes.biscuit.skyblockaddons.utils.ColorCode;
+import codes.biscuit.skyblockaddons.utils.TextUtils;
+import com.google.gson.Gson;
+import net.minecraft.nbt.NBTTagCompound;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link EnchantManager}, using the enchants from {@code enchants.json}. Strings are measured as six pixels
+ * per character instead of with the font renderer, so the parts that don't need the game can be tested.
+ */
+public class EnchantManagerTests {
+
+    private static EnchantManager.Enchants loadedEnchants;
+
+    /** A sword with enchants on two lines, between two empty lines */
+    private static final List<String> SWORD_LORE = Arrays.asList(
+            "§6Aspect of the Test",
+            "§7Damage: §c+100",
+            "§7Deals a lot of damage to anything that it hits.",
+            "",
+            "§9Sharpness V§9, §9Critical VI§9, §d§lChimera I",
+            "§9Ender Slayer VI§9, §9Expertise X §815,000",
+            "",
+            "§6§lLEGENDARY SWORD"
+    );
+
+    @BeforeAll
+    static void loadEnchants() throws IOException {
+        try (InputStream inputStream = EnchantManagerTests.class.getResourceAsStream("/enchants.json");
+             InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream),
+                     StandardCharsets.UTF_8)) {
+            loadedEnchants = new Gson().fromJson(inputStreamReader, EnchantManager.Enchants.class);
+            EnchantManager.setEnchants(loadedEnchants);
+        }
+    }
+
+    @DisplayName("Normal Layout Puts Two Enchants On Each Line")
+    @Test
+    void testNormalLayout() {
+        assertEquals(Arrays.asList(
+                "§6Aspect of the Test",
+                "§7Damage: §c+100",
+                "§7Deals a lot of damage to anything that it hits.",
+                "",
+                "§d§lChimera I§8, §6Expertise X",
+                "§5Critical VI§8, §5Ender Slayer VI",
+                "§9Sharpness V",
+                "",
+                "§6§lLEGENDARY SWORD"
+        ), format(SWORD_LORE, settings(EnchantListLayout.NORMAL, true, false, false)));
+    }
+
+    @DisplayName("Normal Layout Keeps The Input Formatting Without Highlighting")
+    @Test
+    void testNormalLayoutWithoutHighlight() {
+        assertEquals(Arrays.asList(
+                "§6Aspect of the Test",
+                "§7Damage: §c+100",
+                "§7Deals a lot of damage to anything that it hits.",
+                "",
+                "§d§lChimera I, §9Expertise X",
+                "§9Critical VI, §9Ender Slayer VI",
+                "§9Sharpness V",
+                "",
+                "§6§lLEGENDARY SWORD"
+        ), format(SWORD_LORE, settings(EnchantListLayout.NORMAL, false, false, false)));
+    }
+
+    @DisplayName("Compressed Layout Fills Each Line Up To The Tooltip Width")
+    @Test
+    void testCompressLayout() {
+        // The widest line is 47 characters, 282 pixels. The commas are 12 pixels wide.
+        assertEquals(Arrays.asList(
+                "§6Aspect of the Test",
+                "§7Damage: §c+100",
+                "§7Deals a lot of damage to anything that it hits.",
+                "",
+                "§d§lChimera 1§8, §6Expertise 10§8, §5Critical 6",
+                "§5Ender Slayer 6§8, §9Sharpness 5",
+                "",
+                "§6§lLEGENDARY SWORD"
+        ), format(SWORD_LORE, settings(EnchantListLayout.COMPRESS, true, true, false)));
+
+        // Lines wrap sooner when the tooltip has to be narrower to fit on the screen
+        assertEquals(Arrays.asList(
+                "§6Aspect of the Test",
+                "§7Damage: §c+100",
+                "§7Deals a lot of damage to anything that it hits.",
+                "",
+                "§d§lChimera 1§8, §6Expertise 10",
+                "§5Critical 6§8, §5Ender Slayer 6",
+                "§9Sharpness 5",
+                "",
+                "§6§lLEGENDARY SWORD"
+        ), format(SWORD_LORE, settings(EnchantListLayout.COMPRESS, true, true, false), null, width -> 160));
+    }
+
+    @DisplayName("Enchant Descriptions Put Each Enchant On Its Own Line")
+    @Test
+    void testLayoutWithDescriptions() {
+        List<String> lore = Arrays.asList(
+                "§6Aspect of the Test",
+                "",
+                "§9Sharpness V",
+                "§7Increases melee damage dealt by §a25%§7.",
+                "§9Critical VI",
+                "§7Increases critical damage by §a60%§7.",
+                "",
+                "§6§lLEGENDARY SWORD"
+        );
+
+        // Even the normal layout can't pair enchants that have descriptions
+        assertEquals(Arrays.asList(
+                "§6Aspect of the Test",
+                "",
+                "§5Critical VI",
+                "§7Increases critical damage by §a60%§7.",
+                "§9Sharpness V",
+                "§7Increases melee damage dealt by §a25%§7.",
+                "",
+                "§6§lLEGENDARY SWORD"
+        ), format(lore, settings(EnchantListLayout.NORMAL, true, false, false)));
+
+        assertEquals(Arrays.asList(
+                "§6Aspect of the Test",
+                "",
+                "§5Critical VI",
+                "§9Sharpness V",
+                "",
+                "§6§lLEGENDARY SWORD"
+        ), format(lore, settings(EnchantListLayout.EXPAND, true, false, true)));
+    }
+
+    @DisplayName("Only Enchants On The Item Start The Enchant Lines")
+    @Test
+    void testEnchantsFromNBT() {
+        List<String> lore = Arrays.asList(
+                "§6Test Pickaxe",
+                "§7Breaking Power IV",
+                "",
+                "§9Efficiency V",
+                "",
+                "§6§lLEGENDARY PICKAXE"
+        );
+
+        NBTTagCompound enchantNBT = new NBTTagCompound();
+        enchantNBT.setInteger("efficiency", 5);
+        assertEquals(Arrays.asList(
+                "§6Test Pickaxe",
+                "§7Breaking Power IV",
+                "",
+                "§9Efficiency V",
+                "",
+                "§6§lLEGENDARY PICKAXE"
+        ), format(lore, settings(EnchantListLayout.EXPAND, true, false, false), enchantNBT, width -> width));
+
+        // Without any enchants to look for, the lore stays the same
+        assertEquals(lore, format(lore, settings(EnchantListLayout.EXPAND, true, false, false),
+                new NBTTagCompound(), width -> width));
+    }
+
+    @DisplayName("Normal Enchants Take Precedence Over Ultimate, Then Stacking Enchants")
+    @Test
+    void testEnchantTypePrecedence() {
+        // "Shared" is in every type and "Twice" is ultimate and stacking, each should be looked up as the first type
+        EnchantManager.setEnchants(new Gson().fromJson("{" +
+                "\"NORMAL\": {\"shared\": {\"loreName\": \"Shared\", \"nbtName\": \"shared\", \"goodLevel\": 3, \"maxLevel\": 5}}," +
+                "\"ULTIMATE\": {" +
+                "\"shared\": {\"loreName\": \"Shared\", \"nbtName\": \"ultimate_shared\", \"goodLevel\": 0, \"maxLevel\": 5}," +
+                "\"twice\": {\"loreName\": \"Twice\", \"nbtName\": \"ultimate_twice\", \"goodLevel\": 0, \"maxLevel\": 5}}," +
+                "\"STACKING\": {" +
+                "\"shared\": {\"loreName\": \"Shared\", \"nbtName\": \"stacking_shared\", \"goodLevel\": 0, \"maxLevel\": 5}," +
+                "\"twice\": {\"loreName\": \"Twice\", \"nbtName\": \"stacking_twice\", \"goodLevel\": 0, \"maxLevel\": 5}," +
+                "\"stacked\": {\"loreName\": \"Stacked\", \"nbtName\": \"stacked\", \"goodLevel\": 0, \"maxLevel\": 5}}" +
+                "}", EnchantManager.Enchants.class));
+        try {
+            List<String> lore = Arrays.asList(
+                    "§6Test Sword",
+                    "",
+                    "§9Shared III§9, §9Stacked II§9, §9Twice I",
+                    ""
+            );
+
+            // Ultimate first, then stacking, then normal, with Shared colored as a normal enchant
+            assertEquals(Arrays.asList(
+                    "§6Test Sword",
+                    "",
+                    "§d§lTwice I",
+                    "§5Stacked II",
+                    "§9Shared III",
+                    ""
+            ), format(lore, settings(EnchantListLayout.EXPAND, true, false, false)));
+        } finally {
+            EnchantManager.setEnchants(loadedEnchants);
+        }
+    }
+
+    @DisplayName("Enchants Are Ordered Ultimate, Stacking, Then Normal")
+    @Test
+    void testOrderEnchants() {
+        List<String> lore = Arrays.asList(
+                "§d§l§d§lChimera I§9, §9Critical VI",
+                "§9Ender Slayer VI§9, §9Expertise X §815,000",
+                "§9Sharpness V"
+        );
+
+        assertEquals(Arrays.asList("Chimera 1", "Expertise 10", "Critical 6", "Ender Slayer 6", "Sharpness 5"),
+                describe(EnchantManager.orderEnchants(lore, 0, lore.size() - 1, false)));
+    }
+
+    @DisplayName("Lines After An Enchant Are Its Lore")
+    @Test
+    void testEnchantLore() {
+        List<String> lore = Arrays.asList(
+                "§7Damage: §c+100",
+                "",
+                "§9Sharpness V",
+                "§7Increases melee damage dealt by",
+                "§7§a25%§7.",
+                "§9Critical VI",
+                "§7Increases critical damage by §a60%§7.",
+                ""
+        );
+
+        assertEquals(Arrays.asList(
+                "Critical 6",
+                "  §7Increases critical damage by §a60%§7.",
+                "Sharpness 5",
+                "  §7Increases melee damage dealt by",
+                "  §7§a25%§7."
+        ), describe(EnchantManager.orderEnchants(lore, 2, 6, false)));
+    }
+
+    @DisplayName("Unknown And Repeated Enchants")
+    @Test
+    void testUnknownAndRepeatedEnchants() {
+        List<String> lore = Arrays.asList(
+                "§9SHARPNESS V§9, §9Made Up Enchant III",
+                "§9Sharpness V",
+                "§7Increases melee damage dealt by §a25%§7."
+        );
+
+        // Unknown enchants keep their name in lowercase, and the lore of a repeated enchant goes to the first one
+        assertEquals(Arrays.asList(
+                "Sharpness 5",
+                "  §7Increases melee damage dealt by §a25%§7.",
+                "made up enchant 3"
+        ), describe(EnchantManager.orderEnchants(lore, 0, lore.size() - 1, false)));
+    }
+
+    @DisplayName("Lore Cache Evicts The Least Recently Used Lore")
+    @Test
+    void testLoreCacheEviction() {
+        EnchantManager.LoreCache loreCache = new EnchantManager.LoreCache(EnchantManager.LORE_CACHE_SIZE);
+        for (int i = 0; i < EnchantManager.LORE_CACHE_SIZE; i++) {
+            loreCache.put(loreBefore(i), loreAfter(i));
+        }
+        // Looking up the oldest lore makes it the most recently used
+        assertEquals(loreAfter(0), loreCache.get(loreBefore(0)));
+
+        loreCache.put(loreBefore(EnchantManager.LORE_CACHE_SIZE), loreAfter(EnchantManager.LORE_CACHE_SIZE));
+        assertNull(loreCache.get(loreBefore(1)));
+        assertEquals(loreAfter(0), loreCache.get(loreBefore(0)));
+        for (int i = 2; i <= EnchantManager.LORE_CACHE_SIZE; i++) {
+            assertEquals(loreAfter(i), loreCache.get(loreBefore(i)), "Lore " + i);
+        }
+    }
+
+    @DisplayName("Lore Cache Misses After The Config Changes")
+    @Test
+    void testLoreCacheConfigChanged() {
+        EnchantManager.LoreCache loreCache = new EnchantManager.LoreCache(EnchantManager.LORE_CACHE_SIZE);
+        loreCache.put(loreBefore(0), loreAfter(0));
+        loreCache.put(loreBefore(1), loreAfter(1));
+        assertEquals(loreAfter(0), loreCache.get(loreBefore(0)));
+
+        loreCache.configChanged();
+        assertNull(loreCache.get(loreBefore(0)));
+        assertNull(loreCache.get(loreBefore(1)));
+
+        // Lore reformatted with the new config is cached again
+        loreCache.put(loreBefore(0), loreAfter(1));
+        assertEquals(loreAfter(1), loreCache.get(loreBefore(0)));
+    }
+
+    @DisplayName("Lore Cache Counts Hits And Misses")
+    @Test
+    void testLoreCacheHitsAndMisses() {
+        EnchantManager.LoreCache loreCache = new EnchantManager.LoreCache(EnchantManager.LORE_CACHE_SIZE);
+        assertEquals(0, loreCache.getStats().getHitRatio());
+
+        assertNull(loreCache.get(loreBefore(0)));
+        loreCache.put(loreBefore(0), loreAfter(0));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(loreAfter(0), loreCache.get(loreBefore(0)));
+        }
+        assertEquals(3, loreCache.getStats().getHits());
+        assertEquals(1, loreCache.getStats().getMisses());
+        assertEquals(0.75, loreCache.getStats().getHitRatio());
+
+        // Changing the lore that was put in doesn't change the cached lore
+        List<String> loreAfter = new ArrayList<>(loreAfter(1));
+        loreCache.put(loreBefore(1), loreAfter);
+        loreAfter.clear();
+        assertEquals(loreAfter(1), loreCache.get(loreBefore(1)));
+    }
+
+    /**
+     * Perfect enchants are gold, great ones dark purple, good ones blue and poor ones gray. Commas are dark gray.
+     */
+    private static EnchantManager.FormatSettings settings(EnchantListLayout layout, boolean highlight,
+                                                          boolean replaceRomanNumerals, boolean hideDescription) {
+        return new EnchantManager.FormatSettings(layout, highlight, replaceRomanNumerals, hideDescription,
+                ColorCode.DARK_GRAY, ColorCode.GOLD, ColorCode.DARK_PURPLE, ColorCode.BLUE, ColorCode.GRAY);
+    }
+
+    private static List<String> format(List<String> lore, EnchantManager.FormatSettings settings) {
+        return format(lore, settings, null, width -> width);
+    }
+
+    private static List<String> format(List<String> lore, EnchantManager.FormatSettings settings,
+                                       NBTTagCompound enchantNBT, IntUnaryOperator tooltipWidth) {
+        List<String> loreList = new ArrayList<>(lore);
+        EnchantManager.formatEnchants(loreList, enchantNBT, 0, settings,
+                line -> TextUtils.stripColor(line).length() * 6, tooltipWidth);
+        return loreList;
+    }
+
+    private static List<String> loreBefore(int item) {
+        return Arrays.asList("§aItem " + item, "§9Sharpness V");
+    }
+
+    private static List<String> loreAfter(int item) {
+        return Arrays.asList("§aItem " + item, "§aSharpness 5");
+    }
+
+    /**
+     * @return the name and level of each enchant, each followed by its lore indented by two spaces
+     */
+    private static List<String> describe(Collection<EnchantManager.FormattedEnchant> enchants) {
+        List<String> lines = new ArrayList<>();
+        for (EnchantManager.FormattedEnchant enchant : enchants) {
+            lines.add(enchant.getUnformattedName() + " " + enchant.getLevel());
+            for (String line : enchant.getLore()) {
+                lines.add("  " + line);
+            }
+        }
+        return lines;
+    }
+}
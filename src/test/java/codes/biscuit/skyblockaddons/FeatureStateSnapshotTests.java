@@ -0,0 +1,67 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.config.ConfigValues;
+import codes.biscuit.skyblockaddons.config.FeatureStateSnapshot;
+import codes.biscuit.skyblockaddons.core.Feature;
+import codes.biscuit.skyblockaddons.core.OnlineData;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link FeatureStateSnapshot}
+ */
+public class FeatureStateSnapshotTests {
+
+    private static OnlineData onlineData;
+    private static ConfigValues configValues;
+
+    @BeforeAll
+    static void setUp() {
+        configValues = new ConfigValues(new File("build/tmp/test-skyblockaddons.cfg"), () -> onlineData);
+    }
+
+    @DisplayName("Snapshot Matches Legacy Feature State")
+    @ParameterizedTest()
+    @ValueSource(strings = {
+            "{}",
+            "{\"disabledFeatures\": {}}",
+            "{\"disabledFeatures\": {\"all\": [1, 2, 3, 100]}}",
+            "{\"disabledFeatures\": {\"all\": null, \"@VERSION@\": [5]}}",
+            "{\"disabledFeatures\": {\"all\": [7], \"@VERSION@\": [8, 9, 10]}}",
+            "{\"disabledFeatures\": {\"@VERSION@\": null}}",
+            "{\"disabledFeatures\": {\"0.0.1\": [11, 12]}}"
+    })
+    void testSnapshotMatchesLegacyState(String onlineDataJson) {
+        String releaseVersion = SkyblockAddons.VERSION.split("-")[0];
+        onlineData = SkyblockAddons.getGson().fromJson(onlineDataJson.replace("@VERSION@", releaseVersion),
+                OnlineData.class);
+
+        Random random = new Random(onlineDataJson.hashCode());
+        for (int run = 0; run < 10; run++) {
+            Set<Feature> localDisabled = EnumSet.noneOf(Feature.class);
+            for (Feature feature : Feature.values()) {
+                if (random.nextInt(4) == 0) {
+                    localDisabled.add(feature);
+                }
+            }
+
+            FeatureStateSnapshot snapshot = FeatureStateSnapshot.build(run, localDisabled,
+                    onlineData.getDisabledFeatures(), SkyblockAddons.VERSION);
+
+            for (Feature feature : Feature.values()) {
+                boolean expected = localDisabled.contains(feature) ||
+                        onlineData.getDisabledFeatures() != null && configValues.isRemoteDisabled(feature);
+                assertEquals(expected, snapshot.isDisabled(feature), feature.name());
+            }
+        }
+    }
+}
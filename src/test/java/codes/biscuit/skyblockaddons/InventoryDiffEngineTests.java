@@ -0,0 +1,275 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.features.ItemDiff;
+import codes.biscuit.skyblockaddons.utils.InventoryDiffEngine;
+import net.minecraft.nbt.NBTTagCompound;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link InventoryDiffEngine}
+ */
+public class InventoryDiffEngineTests {
+
+    private static final int INVENTORY_SIZE = 36;
+    private static final int IGNORED_SLOT = 8;
+    private static final String[] NAMES = {"§fStone", "§fDirt", "§aEnchanted Diamond", "§6Aspect of the Dragons",
+            "§5Summoning Eye", "§9Rune", "§fStone §8x64", "§aEnchanted Diamond §8x3", "§8x"};
+
+    @DisplayName("Deltas Match The Copying Implementation")
+    @Test
+    void testDeltasMatchCopyingImplementation() {
+        for (int seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            InventoryDiffEngine<TestItem> engine = newEngine();
+            CopyingDiff reference = new CopyingDiff();
+
+            // The copying implementation only removed merchant amounts from the items it compared, not from the
+            // first inventory, so the first inventory has none.
+            TestItem[] inventory = new TestItem[INVENTORY_SIZE];
+            for (int i = 0; i < INVENTORY_SIZE; i++) {
+                inventory[i] = random.nextBoolean() ? randomItem(random, 6) : null;
+            }
+            assertTrue(engine.update(inventory).isEmpty());
+            reference.update(inventory);
+
+            for (int step = 0; step < 500; step++) {
+                changeInventory(random, inventory);
+                assertEquals(describe(reference.update(inventory)), describe(engine.update(inventory)),
+                        "Seed " + seed + ", step " + step);
+            }
+        }
+    }
+
+    @DisplayName("Unchanged Slots Are Only Compared")
+    @Test
+    void testUnchangedSlotsAreOnlyCompared() {
+        int[] nameReads = new int[INVENTORY_SIZE];
+        TestItem[] inventory = new TestItem[INVENTORY_SIZE];
+        for (int i = 0; i < INVENTORY_SIZE; i++) {
+            int slot = i;
+            inventory[i] = new TestItem("§fStone", 1 + i, null) {
+                @Override
+                String getName() {
+                    nameReads[slot]++;
+                    return super.getName();
+                }
+            };
+        }
+        inventory[5] = null;
+        InventoryDiffEngine<TestItem> engine = new InventoryDiffEngine<>(TestItem::getName, item -> item.amount,
+                item -> item.extraAttributes, IGNORED_SLOT);
+        engine.update(inventory);
+        Arrays.fill(nameReads, 0);
+
+        // Each slot that didn't change is read once to compare it, and the ignored slot isn't read at all
+        for (int update = 1; update <= 3; update++) {
+            assertTrue(engine.update(inventory).isEmpty());
+            for (int i = 0; i < INVENTORY_SIZE; i++) {
+                assertEquals(i == 5 || i == IGNORED_SLOT ? 0 : update, nameReads[i], "Slot " + i);
+            }
+        }
+
+        // The amount is compared first, so a slot with a new amount only reads the name to remember the new item
+        Arrays.fill(nameReads, 0);
+        inventory[0].amount = 64;
+        assertEquals(Collections.singletonList("§fStone:63:null"), describe(engine.update(inventory)));
+        assertEquals(1, nameReads[0]);
+        assertEquals(1, nameReads[1]);
+    }
+
+    @DisplayName("Moving Items And Resetting Produce No Diffs")
+    @Test
+    void testMovesAndResetProduceNoDiffs() {
+        InventoryDiffEngine<TestItem> engine = newEngine();
+        TestItem[] inventory = new TestItem[INVENTORY_SIZE];
+        inventory[0] = new TestItem("§fStone", 10, null);
+        inventory[1] = new TestItem("§fStone", 5, null);
+        inventory[IGNORED_SLOT] = new TestItem("§aSkyBlock Menu §7(Right Click)", 1, null);
+        engine.update(inventory);
+
+        assertTrue(engine.update(inventory).isEmpty());
+
+        // Moving an item between slots isn't a change
+        inventory[2] = inventory[0];
+        inventory[0] = null;
+        assertTrue(engine.update(inventory).isEmpty());
+
+        inventory[1].amount = 7;
+        inventory[IGNORED_SLOT] = null;
+        assertEquals(Collections.singletonList("§fStone:2:null"), describe(engine.update(inventory)));
+
+        engine.reset();
+        inventory[3] = new TestItem("§fDirt", 64, null);
+        assertTrue(engine.update(inventory).isEmpty());
+    }
+
+    @DisplayName("A Failed Update Keeps The Previous Items For The Crash Report")
+    @Test
+    void testFailedUpdate() {
+        InventoryDiffEngine<TestItem> engine = newEngine();
+        TestItem[] inventory = new TestItem[INVENTORY_SIZE];
+        inventory[0] = new TestItem("§fStone", 10, null);
+        inventory[3] = new TestItem("§fDirt", 5, null);
+        engine.update(inventory);
+        assertEquals(-1, engine.getCheckedSlot());
+
+        inventory[0] = new TestItem("§fCobblestone", 10, null);
+        inventory[3] = new TestItem(null, 6, null);
+        assertThrows(NullPointerException.class, () -> engine.update(inventory));
+
+        // Slot 0 already has the new item, slot 3 still has the item from before the update
+        assertEquals(INVENTORY_SIZE, engine.getSlotCount());
+        assertEquals(3, engine.getCheckedSlot());
+        assertEquals("Name: §fCobblestone\nAmount: 10\nExtraAttributes: null", engine.describeSlot(0));
+        assertEquals("Name: §fDirt\nAmount: 5\nExtraAttributes: null", engine.describeSlot(3));
+        assertEquals("Empty", engine.describeSlot(1));
+
+        engine.reset();
+        assertEquals(0, engine.getSlotCount());
+        assertEquals("None", engine.describeSlot(3));
+    }
+
+    private static InventoryDiffEngine<TestItem> newEngine() {
+        return new InventoryDiffEngine<>(item -> item.name, item -> item.amount, item -> item.extraAttributes, IGNORED_SLOT);
+    }
+
+    private static void changeInventory(Random random, TestItem[] inventory) {
+        int changes = random.nextInt(4);
+        for (int i = 0; i < changes; i++) {
+            int slot = random.nextInt(INVENTORY_SIZE);
+            switch (random.nextInt(5)) {
+                case 0:
+                    inventory[slot] = null;
+                    break;
+                case 1:
+                    inventory[slot] = randomItem(random, NAMES.length);
+                    break;
+                case 2:
+                    // Like the stack sizes the client changes itself
+                    if (inventory[slot] != null) {
+                        inventory[slot].amount = 1 + random.nextInt(64);
+                    }
+                    break;
+                case 3:
+                    int otherSlot = random.nextInt(INVENTORY_SIZE);
+                    TestItem item = inventory[slot];
+                    inventory[slot] = inventory[otherSlot];
+                    inventory[otherSlot] = item;
+                    break;
+                default:
+                    // Same name, different item
+                    if (inventory[slot] != null) {
+                        inventory[slot] = new TestItem(inventory[slot].name, inventory[slot].amount, randomAttributes(random));
+                    }
+                    break;
+            }
+        }
+    }
+
+    private static TestItem randomItem(Random random, int names) {
+        return new TestItem(NAMES[random.nextInt(names)], 1 + random.nextInt(64), randomAttributes(random));
+    }
+
+    private static NBTTagCompound randomAttributes(Random random) {
+        if (random.nextInt(4) == 0) {
+            return null;
+        }
+        NBTTagCompound extraAttributes = new NBTTagCompound();
+        extraAttributes.setString("id", "ITEM_" + random.nextInt(5));
+        extraAttributes.setString("uuid", Integer.toString(random.nextInt(1000)));
+        return extraAttributes;
+    }
+
+    /**
+     * @return the diffs sorted by name, since neither implementation has a set order
+     */
+    private static List<String> describe(List<ItemDiff> inventoryDifference) {
+        List<String> descriptions = new ArrayList<>();
+        for (ItemDiff diff : inventoryDifference) {
+            descriptions.add(diff.getDisplayName() + ":" + diff.getAmount() + ":" + diff.getExtraAttributes());
+        }
+        Collections.sort(descriptions);
+        return descriptions;
+    }
+
+    private static class TestItem {
+        private String name;
+        private int amount;
+        private final NBTTagCompound extraAttributes;
+
+        private TestItem(String name, int amount, NBTTagCompound extraAttributes) {
+            this.name = name;
+            this.amount = amount;
+            this.extraAttributes = extraAttributes;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        private TestItem copy() {
+            return new TestItem(name, amount, extraAttributes != null ? (NBTTagCompound) extraAttributes.copy() : null);
+        }
+    }
+
+    /**
+     * How inventories were compared before {@link InventoryDiffEngine}: every item is copied and the amounts of both
+     * inventories are counted by name.
+     */
+    private static class CopyingDiff {
+        private List<TestItem> previousInventory;
+
+        private List<ItemDiff> update(TestItem[] currentInventory) {
+            List<TestItem> newInventory = new ArrayList<>();
+            for (TestItem item : currentInventory) {
+                newInventory.add(item != null ? item.copy() : null);
+            }
+            List<ItemDiff> inventoryDifference = new LinkedList<>();
+
+            if (previousInventory != null) {
+                Map<String, Integer> previousAmounts = new HashMap<>();
+                Map<String, NBTTagCompound> previousAttributes = new HashMap<>();
+                Map<String, Integer> newAmounts = new HashMap<>();
+                Map<String, NBTTagCompound> newAttributes = new HashMap<>();
+
+                for (int i = 0; i < newInventory.size(); i++) {
+                    if (i == IGNORED_SLOT) {
+                        continue;
+                    }
+                    TestItem previousItem = previousInventory.get(i);
+                    TestItem newItem = newInventory.get(i);
+
+                    if (previousItem != null) {
+                        previousAmounts.merge(previousItem.name, previousItem.amount, Integer::sum);
+                        previousAttributes.put(previousItem.name, previousItem.extraAttributes);
+                    }
+                    if (newItem != null) {
+                        if (newItem.name.contains(" §8x")) {
+                            newItem.name = newItem.name.substring(0, newItem.name.lastIndexOf(" "));
+                        }
+                        newAmounts.merge(newItem.name, newItem.amount, Integer::sum);
+                        newAttributes.put(newItem.name, newItem.extraAttributes);
+                    }
+                }
+
+                Set<String> names = new HashSet<>(previousAmounts.keySet());
+                names.addAll(newAmounts.keySet());
+                for (String name : names) {
+                    int diff = newAmounts.getOrDefault(name, 0) - previousAmounts.getOrDefault(name, 0);
+                    if (diff != 0) {
+                        inventoryDifference.add(new ItemDiff(name, diff, newAmounts.containsKey(name) ?
+                                newAttributes.get(name) : previousAttributes.get(name)));
+                    }
+                }
+            }
+
+            previousInventory = newInventory;
+            return inventoryDifference;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.utils.InventoryObserver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link InventoryObserver}
+ */
+public class InventoryObserverTests {
+
+    private static final int INVENTORY_SIZE = 40;
+    private static final int HELMET_SLOT = 39;
+
+    @DisplayName("Properties Are Only Recomputed When Their Slots Change")
+    @Test
+    void testRecomputedWhenSlotsChange() {
+        String[] inventory = new String[INVENTORY_SIZE];
+        InventoryObserver<String> observer = new InventoryObserver<>(INVENTORY_SIZE);
+        InventoryObserver<String>.Property<Boolean> full = observer.property("full", InventoryObserver.slots(0, 36), false,
+                slots -> {
+                    for (int i = 0; i < 36; i++) {
+                        if (slots.apply(i) == null) {
+                            return false;
+                        }
+                    }
+                    return true;
+                });
+        InventoryObserver<String>.Property<Boolean> skeletonHelmet = observer.property("skeletonHelmet",
+                InventoryObserver.slots(HELMET_SLOT, HELMET_SLOT + 1), false, slots -> "SKELETON_HELMET".equals(slots.apply(HELMET_SLOT)));
+
+        observer.update(slot -> inventory[slot]);
+        assertEquals(1, full.getComputations());
+        assertEquals(1, skeletonHelmet.getComputations());
+        assertFalse(full.get());
+
+        observer.update(slot -> inventory[slot]);
+        assertEquals(1, full.getComputations());
+
+        Arrays.fill(inventory, 0, 36, "STONE");
+        for (int i = 0; i < 36; i++) {
+            observer.markChanged(i);
+        }
+        observer.update(slot -> inventory[slot]);
+        assertTrue(full.get());
+        assertEquals(2, full.getComputations());
+        assertEquals(1, skeletonHelmet.getComputations());
+
+        inventory[HELMET_SLOT] = "SKELETON_HELMET";
+        observer.markChanged(HELMET_SLOT);
+        observer.markChanged(-1);
+        observer.markChanged(INVENTORY_SIZE);
+        observer.update(slot -> inventory[slot]);
+        assertTrue(skeletonHelmet.get());
+        assertEquals(2, full.getComputations());
+        assertEquals(2, skeletonHelmet.getComputations());
+
+        observer.markAllChanged();
+        observer.update(slot -> inventory[slot]);
+        assertEquals(3, full.getComputations());
+        assertEquals(3, skeletonHelmet.getComputations());
+    }
+
+    @DisplayName("Disabled Properties Stay Stale Until Enabled")
+    @Test
+    void testDisabledPropertiesStayStale() {
+        String[] inventory = new String[INVENTORY_SIZE];
+        boolean[] enabled = {false};
+        InventoryObserver<String> observer = new InventoryObserver<>(INVENTORY_SIZE);
+        InventoryObserver<String>.Property<Integer> arrows = observer.property("arrows", InventoryObserver.slots(0, 36), 0,
+                slots -> {
+                    int count = 0;
+                    for (int i = 0; i < 36; i++) {
+                        if ("ARROW".equals(slots.apply(i))) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }).when(() -> enabled[0]);
+
+        inventory[3] = "ARROW";
+        observer.markChanged(3);
+        observer.update(slot -> inventory[slot]);
+        assertEquals(0, (int) arrows.get());
+        assertTrue(arrows.isStale());
+        assertEquals(0, arrows.getComputations());
+
+        enabled[0] = true;
+        observer.update(slot -> inventory[slot]);
+        assertEquals(1, (int) arrows.get());
+        assertFalse(arrows.isStale());
+    }
+
+    @DisplayName("Listeners Are Called When The Value Changes")
+    @Test
+    void testListenersCalledOnChange() {
+        String[] inventory = new String[INVENTORY_SIZE];
+        List<Map<String, Integer>> changes = new ArrayList<>();
+        InventoryObserver<String> observer = new InventoryObserver<>(INVENTORY_SIZE);
+        InventoryObserver<String>.Property<Map<String, Integer>> counts = observer.property("counts",
+                InventoryObserver.slots(0, 36), Collections.emptyMap(), slots -> {
+                    Map<String, Integer> itemCounts = new HashMap<>();
+                    for (int i = 0; i < 36; i++) {
+                        if (slots.apply(i) != null) {
+                            itemCounts.merge(slots.apply(i), 1, Integer::sum);
+                        }
+                    }
+                    return itemCounts;
+                });
+        counts.onChange(changes::add);
+
+        observer.update(slot -> inventory[slot]);
+        assertTrue(changes.isEmpty());
+
+        inventory[0] = "WHALE_BAIT";
+        observer.markChanged(0);
+        observer.update(slot -> inventory[slot]);
+        assertEquals(Collections.singletonList(Collections.singletonMap("WHALE_BAIT", 1)), changes);
+
+        // Moving the bait doesn't change the counts
+        inventory[5] = inventory[0];
+        inventory[0] = null;
+        observer.markChanged(0);
+        observer.markChanged(5);
+        observer.update(slot -> inventory[slot]);
+        assertEquals(1, changes.size());
+
+        // Slots that aren't declared don't make it stale
+        inventory[HELMET_SLOT] = "WHALE_BAIT";
+        observer.markChanged(HELMET_SLOT);
+        observer.update(slot -> inventory[slot]);
+        assertEquals(1, changes.size());
+    }
+
+    @DisplayName("Slots Outside The Inventory Can't Be Declared")
+    @Test
+    void testSlotsOutsideInventory() {
+        InventoryObserver<String> observer = new InventoryObserver<>(INVENTORY_SIZE);
+        assertThrows(IllegalArgumentException.class, () -> observer.property("tooBig", InventoryObserver.slots(0, INVENTORY_SIZE + 1),
+                null, slots -> null));
+    }
+}
@@ -0,0 +1,284 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.core.ItemRarity;
+import codes.biscuit.skyblockaddons.core.ItemType;
+import codes.biscuit.skyblockaddons.utils.ItemInfo;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ItemInfo}
+ */
+public class ItemInfoTests {
+
+    private static final Pattern ITEM_TYPE_AND_RARITY_PATTERN = Pattern.compile("§l(?<rarity>[A-Z]+) ?(?<type>[A-Z ]+)?(?:§[0-9a-f]§l§ka)?$");
+    private static final String[][] LORES = {
+            {},
+            {"§7Damage: §c+100", "", "§6§lLEGENDARY SWORD"},
+            {"§7Gear Score: §d250", "§6§l§ka§r §6§lLEGENDARY DUNGEON SWORD §6§l§ka"},
+            {"§c§lVERY SPECIAL"},
+            {"§9§lRARE BOOTS", "§7Upgraded with a recombobulator", "§d§l§ka§r §d§lMYTHIC §d§l§ka"},
+            {"§aSome menu item", "§eClick to open!"},
+            {"§5§lEPIC FISHING ROD"},
+            {"§f§lCOMMON UNKNOWN"}
+    };
+
+    @DisplayName("Info Matches Reading The Tags Directly")
+    @Test
+    void testInfoMatchesTags() {
+        Random random = new Random(0);
+        for (int i = 0; i < 500; i++) {
+            NBTTagCompound tagCompound = randomTagCompound(random);
+            String description = "Item " + i + ": " + tagCompound;
+
+            assertInfoMatches(tagCompound, ItemInfo.read(tagCompound), description);
+            ItemInfo cached = ItemInfo.of(tagCompound);
+            assertInfoMatches(tagCompound, cached, description);
+            assertSame(cached, ItemInfo.of(tagCompound), description);
+        }
+
+        assertNull(ItemInfo.of(null).getSkyblockItemID());
+        assertTrue(ItemInfo.of(null).getLore().isEmpty());
+    }
+
+    @DisplayName("Cached Info Is Read Again When Its Tags Are Replaced")
+    @Test
+    void testReplacedTagsAreReadAgain() {
+        NBTTagCompound tagCompound = ItemTagBuilder.item("ASPECT_OF_THE_DRAGON").uuid("uuid-1").lore(LORES[1]).build();
+        ItemInfo itemInfo = ItemInfo.of(tagCompound);
+        assertEquals(ItemRarity.LEGENDARY, itemInfo.getRarity());
+        assertEquals(ItemType.SWORD, itemInfo.getItemType());
+
+        // Replacing the lore, like ItemUtils#setItemLore does
+        tagCompound.getCompoundTag("display").setTag("Lore", ItemTagBuilder.newLore(LORES[3]));
+        itemInfo = ItemInfo.of(tagCompound);
+        assertEquals(ItemRarity.VERY_SPECIAL, itemInfo.getRarity());
+        assertNull(itemInfo.getItemType());
+
+        // Adding a line to the lore that's already there
+        ((NBTTagList) tagCompound.getCompoundTag("display").getTag("Lore")).appendTag(new NBTTagString("§6§lLEGENDARY BOW"));
+        itemInfo = ItemInfo.of(tagCompound);
+        assertEquals(ItemRarity.LEGENDARY, itemInfo.getRarity());
+        assertEquals(ItemType.BOW, itemInfo.getItemType());
+
+        NBTTagCompound extraAttributes = new NBTTagCompound();
+        extraAttributes.setString("id", "TERMINATOR");
+        tagCompound.setTag("ExtraAttributes", extraAttributes);
+        assertEquals("TERMINATOR", ItemInfo.of(tagCompound).getSkyblockItemID());
+        assertNull(ItemInfo.of(tagCompound).getUuid());
+
+        tagCompound.removeTag("display");
+        assertTrue(ItemInfo.of(tagCompound).getLore().isEmpty());
+        assertNull(ItemInfo.of(tagCompound).getRarity());
+    }
+
+    @DisplayName("Cached Info Is Read Again When Its Tags Are Changed In Place")
+    @Test
+    void testChangedTagsAreReadAgain() {
+        NBTTagCompound tagCompound = ItemTagBuilder.item("ENCHANTED_BOOK").lore(LORES[1]).build();
+        ItemInfo itemInfo = ItemInfo.of(tagCompound);
+        assertNull(itemInfo.getEnchantments());
+        assertNull(itemInfo.getUuid());
+
+        // Adding the enchantments after the item was created, like ItemUtils#createEnchantedBook does
+        NBTTagCompound enchantments = new NBTTagCompound();
+        enchantments.setInteger("sharpness", 5);
+        tagCompound.getCompoundTag("ExtraAttributes").setTag("enchantments", enchantments);
+        assertSame(enchantments, ItemInfo.of(tagCompound).getEnchantments());
+
+        tagCompound.getCompoundTag("ExtraAttributes").setString("uuid", "uuid-1");
+        assertEquals("uuid-1", ItemInfo.of(tagCompound).getUuid());
+
+        tagCompound.getCompoundTag("ExtraAttributes").setString("id", "ENCHANTED_BOOK_BUNDLE");
+        assertEquals("ENCHANTED_BOOK_BUNDLE", ItemInfo.of(tagCompound).getSkyblockItemID());
+
+        // Changing a lore line without changing the number of lines
+        NBTTagList lore = (NBTTagList) tagCompound.getCompoundTag("display").getTag("Lore");
+        lore.set(2, new NBTTagString("§5§lEPIC BOW"));
+        itemInfo = ItemInfo.of(tagCompound);
+        assertEquals(ItemRarity.EPIC, itemInfo.getRarity());
+        assertEquals(ItemType.BOW, itemInfo.getItemType());
+        assertEquals(getItemLore(tagCompound), itemInfo.getLore());
+        assertSame(itemInfo, ItemInfo.of(tagCompound));
+    }
+
+    @DisplayName("Cached Info Is Released With Its Item")
+    @Test
+    void testCachedInfoIsReleased() throws InterruptedException {
+        NBTTagCompound tagCompound = ItemTagBuilder.item("ASPECT_OF_THE_DRAGON").uuid("uuid-1").lore(LORES[1]).build();
+        WeakReference<NBTTagCompound> tagReference = new WeakReference<>(tagCompound);
+        WeakReference<ItemInfo> infoReference = new WeakReference<>(ItemInfo.of(tagCompound));
+        assertSame(infoReference.get(), ItemInfo.of(tagCompound));
+
+        //noinspection UnusedAssignment
+        tagCompound = null;
+        // Cleared keys are removed from the cache while it's used, so keep using it until the info is collected.
+        for (int attempt = 0; attempt < 100 && infoReference.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+            for (int i = 0; i < 100; i++) {
+                ItemInfo.of(ItemTagBuilder.item("ITEM_" + i).build());
+            }
+        }
+
+        assertNull(tagReference.get());
+        assertNull(infoReference.get());
+    }
+
+    private static void assertInfoMatches(NBTTagCompound tagCompound, ItemInfo itemInfo, String description) {
+        List<String> lore = getItemLore(tagCompound);
+        assertEquals(lore, itemInfo.getLore(), description);
+        assertEquals(getRarity(lore), itemInfo.getRarity(), description);
+        assertEquals(getType(lore), itemInfo.getItemType(), description);
+        assertSame(getExtraAttributes(tagCompound), itemInfo.getExtraAttributes(), description);
+        assertEquals(getSkyblockItemID(tagCompound), itemInfo.getSkyblockItemID(), description);
+        assertEquals(getUuid(tagCompound), itemInfo.getUuid(), description);
+
+        NBTTagCompound extraAttributes = getExtraAttributes(tagCompound);
+        if (extraAttributes != null && extraAttributes.hasKey("enchantments", 10)) {
+            assertSame(extraAttributes.getCompoundTag("enchantments"), itemInfo.getEnchantments(), description);
+        } else {
+            assertNull(itemInfo.getEnchantments(), description);
+        }
+    }
+
+    private static NBTTagCompound randomTagCompound(Random random) {
+        NBTTagCompound tagCompound = new NBTTagCompound();
+
+        switch (random.nextInt(5)) {
+            case 0:
+                break;
+            case 1:
+                // Not a compound tag
+                tagCompound.setString("display", "display");
+                break;
+            default:
+                NBTTagCompound display = new NBTTagCompound();
+                display.setString("Name", "§6Aspect of the Dragons");
+                switch (random.nextInt(4)) {
+                    case 0:
+                        break;
+                    case 1:
+                        // A list of the wrong type
+                        NBTTagList numbers = new NBTTagList();
+                        numbers.appendTag(new NBTTagInt(1));
+                        display.setTag("Lore", numbers);
+                        break;
+                    default:
+                        display.setTag("Lore", ItemTagBuilder.newLore(LORES[random.nextInt(LORES.length)]));
+                        break;
+                }
+                tagCompound.setTag("display", display);
+                break;
+        }
+
+        switch (random.nextInt(4)) {
+            case 0:
+                break;
+            case 1:
+                tagCompound.setInteger("ExtraAttributes", 1);
+                break;
+            default:
+                NBTTagCompound extraAttributes = new NBTTagCompound();
+                if (random.nextInt(4) != 0) {
+                    extraAttributes.setString("id", "ITEM_" + random.nextInt(5));
+                } else if (random.nextBoolean()) {
+                    extraAttributes.setInteger("id", 5);
+                }
+                if (random.nextBoolean()) {
+                    extraAttributes.setString("uuid", UUID.randomUUID().toString());
+                } else if (random.nextInt(4) == 0) {
+                    extraAttributes.setInteger("uuid", 5);
+                }
+                if (random.nextBoolean()) {
+                    NBTTagCompound enchantments = new NBTTagCompound();
+                    enchantments.setInteger("sharpness", 1 + random.nextInt(7));
+                    extraAttributes.setTag("enchantments", enchantments);
+                }
+                tagCompound.setTag("ExtraAttributes", extraAttributes);
+                break;
+        }
+        return tagCompound;
+    }
+
+    /*
+     * How the item info was read before ItemInfo, with ItemStack#getSubCompound written out.
+     */
+
+    private static NBTTagCompound getExtraAttributes(NBTTagCompound tagCompound) {
+        return tagCompound.hasKey("ExtraAttributes", 10) ? tagCompound.getCompoundTag("ExtraAttributes") : null;
+    }
+
+    private static String getSkyblockItemID(NBTTagCompound tagCompound) {
+        NBTTagCompound extraAttributes = getExtraAttributes(tagCompound);
+        if (extraAttributes == null || !extraAttributes.hasKey("id", 8)) {
+            return null;
+        }
+        return extraAttributes.getString("id");
+    }
+
+    private static String getUuid(NBTTagCompound tagCompound) {
+        NBTTagCompound extraAttributes = getExtraAttributes(tagCompound);
+        if (extraAttributes == null || !extraAttributes.hasKey("uuid", 8)) {
+            return null;
+        }
+        return extraAttributes.getString("uuid");
+    }
+
+    private static List<String> getItemLore(NBTTagCompound tagCompound) {
+        NBTTagCompound display = tagCompound.hasKey("display", 10) ? tagCompound.getCompoundTag("display") : null;
+        if (display != null && display.hasKey("Lore", 9)) {
+            NBTTagList lore = display.getTagList("Lore", 8);
+
+            List<String> loreAsList = new ArrayList<>();
+            for (int lineNumber = 0; lineNumber < lore.tagCount(); lineNumber++) {
+                loreAsList.add(lore.getStringTagAt(lineNumber));
+            }
+            return Collections.unmodifiableList(loreAsList);
+        }
+        return Collections.emptyList();
+    }
+
+    private static ItemRarity getRarity(List<String> lore) {
+        for (int i = lore.size() - 1; i >= 0; i--) {
+            Matcher rarityMatcher = ITEM_TYPE_AND_RARITY_PATTERN.matcher(lore.get(i));
+            if (rarityMatcher.find()) {
+                String rarity = rarityMatcher.group("rarity");
+                for (ItemRarity itemRarity : ItemRarity.values()) {
+                    if (itemRarity.getLoreName().startsWith(rarity)) {
+                        return itemRarity;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static ItemType getType(List<String> lore) {
+        for (int i = lore.size() - 1; i >= 0; i--) {
+            Matcher itemTypeMatcher = ITEM_TYPE_AND_RARITY_PATTERN.matcher(lore.get(i));
+            if (itemTypeMatcher.find()) {
+                String type = itemTypeMatcher.group("type");
+                if (type != null) {
+                    for (ItemType itemType : ItemType.values()) {
+                        if (itemType.getLoreName().startsWith(type)) {
+                            return itemType;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
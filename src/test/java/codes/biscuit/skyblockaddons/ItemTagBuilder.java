@@ -0,0 +1,80 @@
+package codes.biscuit.skyblockaddons;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+
+/**
+ * Builds the tag compounds of Skyblock items for tests, with the {@code display} and {@code ExtraAttributes} tags the
+ * mod reads.
+ */
+public class ItemTagBuilder {
+
+    private final String id;
+    private String uuid;
+    private String name;
+    private String[] lore;
+
+    private ItemTagBuilder(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @param id the Skyblock item ID
+     * @return a builder of the tag of an item with the ID
+     */
+    public static ItemTagBuilder item(String id) {
+        return new ItemTagBuilder(id);
+    }
+
+    public ItemTagBuilder uuid(String uuid) {
+        this.uuid = uuid;
+        return this;
+    }
+
+    public ItemTagBuilder name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public ItemTagBuilder lore(String... lines) {
+        this.lore = lines;
+        return this;
+    }
+
+    /**
+     * @return a new tag compound, the {@code display} tag is left out if there's no name or lore
+     */
+    public NBTTagCompound build() {
+        NBTTagCompound extraAttributes = new NBTTagCompound();
+        extraAttributes.setString("id", id);
+        if (uuid != null) {
+            extraAttributes.setString("uuid", uuid);
+        }
+
+        NBTTagCompound tagCompound = new NBTTagCompound();
+        if (name != null || lore != null) {
+            NBTTagCompound display = new NBTTagCompound();
+            if (name != null) {
+                display.setString("Name", name);
+            }
+            if (lore != null) {
+                display.setTag("Lore", newLore(lore));
+            }
+            tagCompound.setTag("display", display);
+        }
+        tagCompound.setTag("ExtraAttributes", extraAttributes);
+        return tagCompound;
+    }
+
+    /**
+     * @return a {@code Lore} tag with the given lines
+     */
+    public static NBTTagList newLore(String... lines) {
+        NBTTagList lore = new NBTTagList();
+        for (String line : lines) {
+            lore.appendTag(new NBTTagString(line));
+        }
+        return lore;
+    }
+}
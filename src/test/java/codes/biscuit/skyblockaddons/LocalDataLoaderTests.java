@@ -0,0 +1,144 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.utils.data.LocalDataLoader;
+import codes.biscuit.skyblockaddons.utils.data.LocalDataset;
+import com.google.gson.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LocalDataLoader}
+ */
+public class LocalDataLoaderTests {
+
+    private static final Gson GSON = SkyblockAddons.getGson();
+
+    @DisplayName("Concurrent Loading Matches Sequential Loading")
+    @Test
+    void testConcurrentMatchesSequential() throws IOException {
+        List<LocalDataset<?>> datasets = new ArrayList<>(LocalDataLoader.getBundledDatasets());
+        datasets.add(LocalDataset.<JsonObject>of("/lang/en_US.json", JsonObject.class, languageConfig -> {}));
+
+        List<LocalDataLoader.ParseResult> results = LocalDataLoader.parseAll(GSON, datasets);
+        assertEquals(datasets.size(), results.size());
+
+        for (int i = 0; i < datasets.size(); i++) {
+            LocalDataset<?> dataset = datasets.get(i);
+            LocalDataLoader.ParseResult result = results.get(i);
+            assertSame(dataset, result.getDataset());
+            assertNull(result.getException(), dataset.getPath());
+
+            Object data;
+            if (dataset.isDeferred()) {
+                assertNull(result.getData());
+                data = deferAndGet(dataset);
+            } else {
+                data = result.getData();
+            }
+
+            assertNotNull(data, dataset.getPath());
+            assertEquals(canonicalize(GSON.toJsonTree(parseSequentially(dataset))), canonicalize(GSON.toJsonTree(data)),
+                    dataset.getPath());
+            assertTrue(LocalDataLoader.getLoadTimes().containsKey(dataset.getPath()), dataset.getPath());
+        }
+    }
+
+    @DisplayName("Deferred Datasets Are Parsed Once")
+    @Test
+    void testDeferredParsedOnce() {
+        for (LocalDataset<?> dataset : LocalDataLoader.getBundledDatasets()) {
+            if (dataset.isDeferred()) {
+                Supplier<?> supplier = LocalDataLoader.defer(GSON, dataset);
+                assertSame(supplier.get(), supplier.get(), dataset.getPath());
+            }
+        }
+    }
+
+    @DisplayName("Errors Are Handled Once")
+    @Test
+    void testErrorsHandledOnce() {
+        List<String> errors = new ArrayList<>();
+        LocalDataLoader.load(GSON, Arrays.asList(
+                LocalDataset.<String>ofParser("parseError", gson -> {
+                    throw new IOException("Corrupt file");
+                }, data -> fail("Loaded a file that couldn't be parsed")),
+                LocalDataset.<String>ofParser("loadError", gson -> "data", data -> {
+                    throw new IllegalStateException("Couldn't load");
+                }),
+                LocalDataset.<String>ofParser("loaded", gson -> "data", data -> {})
+        ), (path, ex) -> errors.add(path + ": " + ex.getMessage()));
+
+        assertEquals(Arrays.asList("parseError: Corrupt file", "loadError: Couldn't load"), errors);
+
+        // The error handler used in-game throws to stop loading
+        errors.clear();
+        assertThrows(IllegalStateException.class, () -> LocalDataLoader.load(GSON, Collections.singletonList(
+                LocalDataset.<String>ofParser("parseError", gson -> {
+                    throw new IOException("Corrupt file");
+                }, data -> {})), (path, ex) -> {
+            errors.add(path + ": " + ex.getMessage());
+            throw new IllegalStateException(path, ex);
+        }));
+        assertEquals(Collections.singletonList("parseError: Corrupt file"), errors);
+    }
+
+    @DisplayName("Deferred Datasets That Can't Be Parsed Use Their Fallback")
+    @Test
+    void testDeferredFallback() {
+        List<Supplier<Map<String, Integer>>> suppliers = new ArrayList<>();
+        LocalDataLoader.load(GSON, Collections.singletonList(LocalDataset.<Map<String, Integer>>deferred("/missing.json",
+                Map.class, Collections::emptyMap, suppliers::add)), (path, ex) -> fail(path, ex));
+
+        assertEquals(1, suppliers.size());
+        assertEquals(Collections.emptyMap(), suppliers.get(0).get());
+        assertSame(suppliers.get(0).get(), suppliers.get(0).get());
+    }
+
+    private static <T> T deferAndGet(LocalDataset<T> dataset) {
+        return LocalDataLoader.defer(GSON, dataset).get();
+    }
+
+    /**
+     * The loader used before data files were loaded concurrently.
+     */
+    private static Object parseSequentially(LocalDataset<?> dataset) throws IOException {
+        try (InputStream inputStream = LocalDataLoaderTests.class.getResourceAsStream(dataset.getPath());
+             InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream),
+                     StandardCharsets.UTF_8)) {
+            return GSON.fromJson(inputStreamReader, dataset.getType());
+        }
+    }
+
+    /**
+     * Sorts arrays so that sets with identity hash codes (such as sets of {@code Pattern}) compare equal.
+     */
+    private static JsonElement canonicalize(JsonElement element) {
+        if (element.isJsonArray()) {
+            List<JsonElement> elements = new ArrayList<>();
+            for (JsonElement child : element.getAsJsonArray()) {
+                elements.add(canonicalize(child));
+            }
+            elements.sort(Comparator.comparing(JsonElement::toString));
+
+            JsonArray array = new JsonArray();
+            elements.forEach(array::add);
+            return array;
+        } else if (element.isJsonObject()) {
+            JsonObject object = new JsonObject();
+            for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                object.add(entry.getKey(), canonicalize(entry.getValue()));
+            }
+            return object;
+        }
+        return element;
+    }
+}
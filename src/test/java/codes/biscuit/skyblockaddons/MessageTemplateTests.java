@@ -0,0 +1,82 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.core.Language;
+import codes.biscuit.skyblockaddons.core.MessageTemplate;
+import codes.biscuit.skyblockaddons.utils.data.CompiledStringTable;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MessageTemplate}
+ */
+public class MessageTemplateTests {
+
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("%[A-Za-z-]+%");
+
+    @DisplayName("Templates Match Regex Substitution For Every Language")
+    @Test
+    void testBundledLanguageParity() throws IOException {
+        for (Language language : Language.values()) {
+            String path = "/lang/" + language.getPath() + ".json";
+            CompiledStringTable strings;
+            try (InputStream inputStream = getClass().getResourceAsStream(path);
+                 InputStreamReader inputStreamReader = new InputStreamReader(Objects.requireNonNull(inputStream, path),
+                         StandardCharsets.UTF_8)) {
+                strings = CompiledStringTable.fromJson(SkyblockAddons.getGson().fromJson(inputStreamReader, JsonObject.class));
+            }
+
+            for (String key : strings.getKeys()) {
+                String message = strings.get(key);
+                MessageTemplate template = MessageTemplate.compile(message);
+
+                // Fewer, exactly as many, and more variables than there are placeholders
+                for (int variableCount = 0; variableCount <= template.getPlaceholderCount() + 1; variableCount++) {
+                    Object[] variables = new Object[variableCount];
+                    for (int i = 0; i < variableCount; i++) {
+                        variables[i] = i % 2 == 0 ? "value " + i : i;
+                    }
+                    assertEquals(regexSubstitute(message, variables), template.format(variables),
+                            language.name() + " " + key + " with " + variableCount + " variables");
+                }
+            }
+        }
+    }
+
+    @DisplayName("Placeholders")
+    @Test
+    void testPlaceholders() {
+        assertEquals(0, MessageTemplate.compile("No placeholders, 100% sure").getPlaceholderCount());
+        assertEquals(0, MessageTemplate.compile("%% %1% % a%").getPlaceholderCount());
+        assertEquals(2, MessageTemplate.compile("%%a% %b-c%%").getPlaceholderCount());
+
+        MessageTemplate template = MessageTemplate.compile("Set %feature% to %value%!");
+        assertEquals("Set Zealot Counter to 5!", template.format("Zealot Counter", 5));
+        assertEquals("Set Zealot Counter to %value%!", template.format("Zealot Counter"));
+        assertEquals("Set a to b!", template.format("a", "b", "c"));
+    }
+
+    /**
+     * The substitution {@code Translations} used before messages were compiled.
+     */
+    private static String regexSubstitute(String text, Object... variables) {
+        Matcher matcher = VARIABLE_PATTERN.matcher(text);
+        Deque<Object> variablesDeque = new ArrayDeque<>(Arrays.asList(variables));
+
+        while (matcher.find() && !variablesDeque.isEmpty()) {
+            text = matcher.replaceFirst(Matcher.quoteReplacement(variablesDeque.pollFirst().toString()));
+            matcher = VARIABLE_PATTERN.matcher(text);
+        }
+        return text;
+    }
+}
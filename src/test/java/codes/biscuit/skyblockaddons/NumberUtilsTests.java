@@ -0,0 +1,133 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.utils.NumberUtils;
+import codes.biscuit.skyblockaddons.utils.TextUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.ParsePosition;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for {@link NumberUtils}
+ */
+public class NumberUtilsTests {
+
+    private static final double[] NUMBERS = {0, -0.0, 0.001, -0.001, 0.005, 0.015, 0.125, 0.375, 1.005, 2.675, 9.995,
+            99.995, 999.999, 1_000, 1_234.5, 1_006_789.5, 123_456_789.125, 999_999_999_999.99, 1.5e12, 1e18, -42.42,
+            Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+    private static final String[] TEXTS = {"", "-", "0", "12", "1,234", "1,234.5", "-1,234.56", "1.2.3", "1,2,3", "1.2,3",
+            ",5", ".5", "5.", "12a", "a12", "+5", "--5", "0.000000000000000000000000001", "12345678901234567890.5",
+            "000001", "1,000,000", "18.5k"};
+
+    @DisplayName("Formatting Matches NumberFormat And BigDecimal")
+    @Test
+    void testFormatting() {
+        Random random = new Random(0);
+        for (int i = 0; i < 100_000; i++) {
+            double number = i < NUMBERS.length ? NUMBERS[i] : randomNumber(random);
+
+            assertEquals(TextUtils.NUMBER_FORMAT.format(number), format(number), "Formatting " + number);
+            if (!Double.isNaN(number) && !Double.isInfinite(number)) {
+                for (int decimalPlaces = 0; decimalPlaces <= 3; decimalPlaces++) {
+                    assertEquals(new BigDecimal(number).setScale(decimalPlaces, RoundingMode.HALF_UP).toString(),
+                            NumberUtils.appendFixed(new StringBuilder(), number, decimalPlaces).toString(),
+                            "Formatting " + number + " with " + decimalPlaces + " decimal places");
+                }
+            }
+        }
+    }
+
+    @DisplayName("Parsing Matches NumberFormat")
+    @Test
+    void testParsing() {
+        Random random = new Random(0);
+        for (int i = 0; i < 100_000; i++) {
+            String text = i < TEXTS.length ? TEXTS[i] : TextUtils.NUMBER_FORMAT.format(randomNumber(random));
+
+            Number expected = TextUtils.NUMBER_FORMAT.parse(text, new ParsePosition(0));
+            double parsed = NumberUtils.parseDecimal(text, 0, text.length(), -1);
+            if (expected == null || Double.isNaN(expected.doubleValue()) || Double.isInfinite(expected.doubleValue())) {
+                assertEquals(-1, parsed, "Parsing \"" + text + "\"");
+            } else {
+                // NumberFormat parses -0 as 0 of type Long
+                assertEquals(expected.doubleValue() + 0.0, parsed + 0.0, "Parsing \"" + text + "\"");
+            }
+        }
+
+        assertEquals(12, NumberUtils.parseDecimal("Purse: 12 (+3)", 7, 9, 0));
+        assertEquals(1_234, NumberUtils.parseDigits("Wave 1,234", 0));
+        assertEquals(0, NumberUtils.parseDigits("Wave 99999999999", 0));
+        assertEquals(-1, NumberUtils.parseDigits("No wave", -1));
+    }
+
+    @DisplayName("Abbreviating Numbers")
+    @Test
+    void testAbbreviating() {
+        int[] numbers = {0, 999, 1_000, 1_050, 1_100, 9_999, 10_000, 15_500, 999_999, 1_000_000, 2_500_000,
+                25_000_000, 1_000_000_000, Integer.MAX_VALUE, -1_500, Integer.MIN_VALUE};
+        String[] expected = {"0", "999", "1k", "1k", "1.1k", "9.9k", "10k", "15k", "999k", "1M", "2.5M", "25M", "1B",
+                "2.1B", "-1.5k", "-2.1B"};
+        for (int i = 0; i < numbers.length; i++) {
+            assertEquals(expected[i], NumberUtils.appendAbbreviated(new StringBuilder(), numbers[i]).toString());
+        }
+    }
+
+    @DisplayName("Parsing And Formatting Don't Allocate")
+    @Test
+    void testNoAllocations() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocationTracker = (com.sun.management.ThreadMXBean) threadMXBean;
+        assumeTrue(allocationTracker.isThreadAllocatedMemorySupported() && allocationTracker.isThreadAllocatedMemoryEnabled());
+
+        StringBuilder builder = new StringBuilder(256);
+        String actionBar = "§3+10.9 Combat (313,937.1/600k)";
+        long threadId = Thread.currentThread().getId();
+
+        // Twice, so the first run loads and compiles everything the second one uses
+        long allocatedBytes = 0;
+        for (int run = 0; run < 2; run++) {
+            long startAllocatedBytes = allocationTracker.getThreadAllocatedBytes(threadId);
+            double sum = 0;
+            for (int i = 0; i < 10_000; i++) {
+                builder.setLength(0);
+                NumberUtils.appendConvertedMagnitudes(builder, actionBar);
+                NumberUtils.appendFormatted(builder, i * 1.37);
+                NumberUtils.appendFixed(builder, i / 7.0, 1);
+                NumberUtils.appendAbbreviated(builder, i * 1_234);
+                sum += NumberUtils.parseDecimal(actionBar, 16, 25, 0) + NumberUtils.parseDigits(actionBar, 0);
+            }
+            allocatedBytes = allocationTracker.getThreadAllocatedBytes(threadId) - startAllocatedBytes;
+            assertTrue(sum > 0);
+        }
+
+        // A single allocation per iteration would be at least 160 kB
+        assertTrue(allocatedBytes < 16_384, allocatedBytes + " bytes were allocated");
+    }
+
+    private static String format(double number) {
+        return NumberUtils.appendFormatted(new StringBuilder(), number).toString();
+    }
+
+    private static double randomNumber(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return random.nextInt(1_000_000) / 1_000.0;
+            case 1:
+                return (random.nextInt(2_000_000) - 1_000_000) / 200.0;
+            case 2:
+                return Double.longBitsToDouble(random.nextLong());
+            default:
+                return random.nextFloat() * random.nextInt(1_000_000);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.features.BaitManager;
+import codes.biscuit.skyblockaddons.features.SlayerArmorProgress;
+import codes.biscuit.skyblockaddons.utils.InventoryObserver;
+import codes.biscuit.skyblockaddons.utils.InventoryUtils;
+import codes.biscuit.skyblockaddons.utils.PlayerInventoryProperties;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link PlayerInventoryProperties}, against an inventory of items that only have the tags the properties
+ * read.
+ */
+public class PlayerInventoryPropertiesTests {
+
+    private static final int SKYBLOCK_MENU_SLOT = 8;
+    private static final int BOOTS_SLOT = 36;
+    private static final int HELMET_SLOT = 39;
+
+    private final ItemStack[] inventory = new ItemStack[InventoryUtils.PLAYER_INVENTORY_SIZE];
+    private final InventoryObserver<ItemStack> observer = new InventoryObserver<>(InventoryUtils.PLAYER_INVENTORY_SIZE);
+    private final Gates gates = new Gates();
+    private PlayerInventoryProperties properties;
+
+    @BeforeEach
+    void declareProperties() {
+        properties = PlayerInventoryProperties.declare(observer, () -> gates.onSkyblock, () -> gates.fullInventoryWarning,
+                () -> gates.skeletonBar, () -> gates.toxicArrowPoison, () -> gates.slayerIndicator, () -> gates.baitList);
+    }
+
+    @DisplayName("The Inventory Is Full Without Counting The SkyBlock Menu Slot")
+    @Test
+    void testInventoryFull() {
+        for (int i = 0; i < InventoryUtils.MAIN_INVENTORY_SIZE; i++) {
+            if (i != SKYBLOCK_MENU_SLOT) {
+                inventory[i] = newItem("ENCHANTED_COBBLESTONE", 64);
+            }
+        }
+        update();
+        assertTrue(properties.getInventoryFull().get());
+
+        // Filling the menu slot changes nothing, emptying any other slot makes it not full
+        setSlot(SKYBLOCK_MENU_SLOT, newItem("SKYBLOCK_MENU", 1));
+        assertTrue(properties.getInventoryFull().get());
+        assertEquals(1, properties.getInventoryFull().getComputations());
+        setSlot(20, null);
+        assertFalse(properties.getInventoryFull().get());
+
+        // It isn't computed while the warning is off, it doesn't need to be on Skyblock
+        gates.fullInventoryWarning = false;
+        setSlot(20, newItem("ENCHANTED_COBBLESTONE", 64));
+        assertFalse(properties.getInventoryFull().get());
+        assertTrue(properties.getInventoryFull().isStale());
+        gates.fullInventoryWarning = true;
+        gates.onSkyblock = false;
+        update();
+        assertTrue(properties.getInventoryFull().get());
+    }
+
+    @DisplayName("Only A Skeleton Helmet In The Helmet Slot Counts")
+    @Test
+    void testWearingSkeletonHelmet() {
+        setSlot(0, newItem("SKELETON_HELMET", 1));
+        assertFalse(properties.getWearingSkeletonHelmet().get());
+        setSlot(HELMET_SLOT, newItem("SKELETON_HELMET", 1));
+        assertTrue(properties.getWearingSkeletonHelmet().get());
+
+        gates.onSkyblock = false;
+        setSlot(HELMET_SLOT, null);
+        assertTrue(properties.getWearingSkeletonHelmet().get());
+        gates.onSkyblock = true;
+        gates.skeletonBar = false;
+        update();
+        assertTrue(properties.getWearingSkeletonHelmet().get());
+        gates.skeletonBar = true;
+        update();
+        assertFalse(properties.getWearingSkeletonHelmet().get());
+    }
+
+    @DisplayName("Toxic Arrow Poison Is Found Anywhere In The Main Inventory")
+    @Test
+    void testUsingToxicArrowPoison() {
+        setSlot(HELMET_SLOT, newItem("TOXIC_ARROW_POISON", 1));
+        assertFalse(properties.getUsingToxicArrowPoison().get());
+        setSlot(35, newItem("TOXIC_ARROW_POISON", 64));
+        assertTrue(properties.getUsingToxicArrowPoison().get());
+
+        gates.toxicArrowPoison = false;
+        setSlot(35, null);
+        assertTrue(properties.getUsingToxicArrowPoison().get());
+        gates.toxicArrowPoison = true;
+        update();
+        assertFalse(properties.getUsingToxicArrowPoison().get());
+    }
+
+    @DisplayName("Slayer Armor Progress Is Read From The Armor's Lore")
+    @Test
+    void testSlayerArmorProgress() {
+        ItemStack helmet = newItem("REVENANT_HELMET", 1, "§7Health: §a+120", "§5§o§7Next Upgrade: §a+240❈ §8(§a14,418§7/§c15,000§8)");
+        setSlot(HELMET_SLOT, helmet);
+        setSlot(BOOTS_SLOT, newItem("DIAMOND_BOOTS", 1));
+
+        SlayerArmorProgress progress = properties.getSlayerArmorProgresses().get(3).get();
+        assertSame(helmet, progress.getItemStack());
+        assertEquals("96", progress.getPercent());
+        assertTrue(progress.getDefence().endsWith("240❈"), progress.getDefence());
+        assertNull(properties.getSlayerArmorProgresses().get(0).get());
+
+        // The same helmet keeps its progress object, which is updated
+        setLore(helmet, "§5§o§7Next Upgrade: §a+240❈ §8(§a7,500§7/§c15,000§8)");
+        setSlot(HELMET_SLOT, helmet);
+        assertSame(progress, properties.getSlayerArmorProgresses().get(3).get());
+        assertEquals("50", progress.getPercent());
+
+        // Another helmet gets a new one
+        setSlot(HELMET_SLOT, newItem("TARANTULA_HELMET", 1, "§5§o§7Next Upgrade: §a+20❈ §8(§a1§7/§c4§8)"));
+        assertNotSame(progress, properties.getSlayerArmorProgresses().get(3).get());
+        assertEquals("25", properties.getSlayerArmorProgresses().get(3).get().getPercent());
+
+        setSlot(HELMET_SLOT, null);
+        assertNull(properties.getSlayerArmorProgresses().get(3).get());
+    }
+
+    @DisplayName("Baits Are Counted By Stack Size")
+    @Test
+    void testBaits() {
+        setSlot(0, newItem("WHALE_BAIT", 5));
+        setSlot(12, newItem("WHALE_BAIT", 3));
+        setSlot(30, newItem("FISH_BAIT", 1));
+        setSlot(HELMET_SLOT, newItem("CARROT_BAIT", 1));
+
+        Map<BaitManager.BaitType, Integer> expected = new HashMap<>();
+        expected.put(BaitManager.BaitType.WHALE, 8);
+        expected.put(BaitManager.BaitType.FISH, 1);
+        assertEquals(expected, properties.getBaits().get());
+
+        // Baits are counted off Skyblock too, but not while the bait list is off
+        gates.onSkyblock = false;
+        gates.baitList = false;
+        setSlot(30, null);
+        assertEquals(expected, properties.getBaits().get());
+        gates.baitList = true;
+        update();
+        assertEquals(Collections.singletonMap(BaitManager.BaitType.WHALE, 8), properties.getBaits().get());
+    }
+
+    private void setSlot(int slot, ItemStack item) {
+        inventory[slot] = item;
+        observer.markChanged(slot);
+        update();
+    }
+
+    private void update() {
+        observer.update(slot -> inventory[slot]);
+    }
+
+    /**
+     * @return an item with the given Skyblock ID and lore, and no vanilla item since the properties only read its tags
+     */
+    private static ItemStack newItem(String id, int stackSize, String... loreLines) {
+        ItemStack item = new ItemStack((Item) null, stackSize, 0);
+        item.setTagCompound(ItemTagBuilder.item(id).lore(loreLines).build());
+        return item;
+    }
+
+    private static void setLore(ItemStack item, String... loreLines) {
+        item.getTagCompound().getCompoundTag("display").setTag("Lore", ItemTagBuilder.newLore(loreLines));
+    }
+
+    /**
+     * Whether the player is on Skyblock and each feature that turns on a property is enabled
+     */
+    private static class Gates {
+        private boolean onSkyblock = true;
+        private boolean fullInventoryWarning = true;
+        private boolean skeletonBar = true;
+        private boolean toxicArrowPoison = true;
+        private boolean slayerIndicator = true;
+        private boolean baitList = true;
+    }
+}
@@ -0,0 +1,197 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.utils.ScoreboardManager;
+import codes.biscuit.skyblockaddons.utils.SidebarSnapshot;
+import codes.biscuit.skyblockaddons.utils.TextUtils;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import net.minecraft.scoreboard.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ScoreboardManager}
+ */
+public class ScoreboardManagerTests {
+
+    private static final String TITLE = "§e§lSKYBLOCK";
+
+    /**
+     * Recorded sidebars, in the order they were shown. Consecutive frames repeat the same sidebar like the game does
+     * between updates.
+     */
+    private static final String[][] HUB_SEQUENCE = {
+            {"§77/14/23 §8m12C", "", " Late Winter 7th", " §77:10pm §e☀", " §7⏣ §bVillage", "", "Purse: §61,234,567", "Bits: §b1,024", "", "§ewww.hypixel.net"},
+            {"§77/14/23 §8m12C", "", " Late Winter 7th", " §77:10pm §e☀", " §7⏣ §bVillage", "", "Purse: §61,234,567", "Bits: §b1,024", "", "§ewww.hypixel.net"},
+            {"§77/14/23 §8m12C", "", " Late Winter 7th", " §77:20pm §e☀", " §7⏣ §bVillage", "", "Purse: §61,234,567", "Bits: §b1,024", "", "§ewww.hypixel.net"},
+            {"§77/14/23 §8m12C", "", " Late Winter 7th", " §77:20pm §e☀", " §7⏣ §bVillage", "", "Purse: §61,234,600 §e(+33)", "Bits: §b1,024", "", "Slayer Quest", "§4Revenant Horror IV", "§e(123/1,500) Combat XP", "", "§ewww.hypixel.net"},
+            {"§77/14/23 §8m12C", "", " Late Winter 7th", " §77:20pm §e☀", " §7⏣ §bVillage", "", "Purse: §61,234,600", "Bits: §b1,024", "", "Slayer Quest", "§4Revenant Horror IV", "§cSlay the boss!", "", "§ewww.hypixel.net"},
+            {"§77/14/23 §8m12C", "", " Late Winter 7th", " §77:20pm §e☀", " §7⏣ §bVillage", "", "Purse: §61,234,600", "Bits: §b1,024", "", "§ewww.hypixel.net"},
+    };
+
+    /**
+     * A dungeon sidebar with emojis in the lines, like Hypixel sends to keep lines unique.
+     */
+    private static final String[][] DUNGEON_SEQUENCE = {
+            {"§77/14/23 §8m4F", "", " §7⏣ §cThe Catacombs §7(F7)", "", "Time Elapsed: §a01s", "Cleared: §c0% §8(0)", "", "§e[M] §bPlayer🍫 §a20,000§c❤", "§e[A] §bOther👽 §a18,123§c❤", "", "§ewww.hypixel.net"},
+            {"§77/14/23 §8m4F", "", " §7⏣ §cThe Catacombs §7(F7)", "", "Time Elapsed: §a02s", "Cleared: §c0% §8(0)", "", "§e[M] §bPlayer🍫 §a20,000§c❤", "§e[A] §bOther👽 §cDEAD", "", "§ewww.hypixel.net"},
+            {"§77/14/23 §8m4F", "", " §7⏣ §cThe Catacombs §7(F7)", "", "Time Elapsed: §a02s", "Cleared: §c0% §8(0)", "", "§e[M] §bPlayer🍫 §a20,000§c❤", "§e[A] §bOther👽 §cDEAD", "", "§ewww.hypixel.net"},
+    };
+
+    private final List<BitSet> notifications = new ArrayList<>();
+    private final ScoreboardManager.SidebarListener listener = (previous, current, changedLines) -> notifications.add(changedLines);
+
+    @AfterEach
+    void tearDown() {
+        ScoreboardManager.removeListener(listener);
+    }
+
+    @DisplayName("Replayed Sidebars Match The Previous Parser")
+    @Test
+    void testReplayMatchesLegacyParser() {
+        for (String[][] sequence : new String[][][]{HUB_SEQUENCE, DUNGEON_SEQUENCE}) {
+            Scoreboard scoreboard = new Scoreboard();
+            ScoreObjective objective = createSidebar(scoreboard);
+
+            for (String[] frame : sequence) {
+                showLines(scoreboard, objective, frame);
+                SidebarSnapshot snapshot = ScoreboardManager.update(scoreboard);
+                LegacySidebar legacy = new LegacySidebar(scoreboard);
+
+                assertEquals(legacy.title, snapshot.getTitle());
+                assertEquals(legacy.strippedTitle, snapshot.getStrippedTitle());
+                assertEquals(legacy.lines, snapshot.getLines());
+                assertEquals(legacy.strippedLines, snapshot.getStrippedLines());
+            }
+        }
+    }
+
+    @DisplayName("Snapshots Are Only Made When The Sidebar Changes")
+    @Test
+    void testChangeNotifications() {
+        ScoreboardManager.addListener(listener);
+        Scoreboard scoreboard = new Scoreboard();
+        ScoreObjective objective = createSidebar(scoreboard);
+
+        showLines(scoreboard, objective, HUB_SEQUENCE[0]);
+        SidebarSnapshot first = ScoreboardManager.update(scoreboard);
+        assertEquals(1, notifications.size());
+
+        // The same sidebar again
+        showLines(scoreboard, objective, HUB_SEQUENCE[1]);
+        assertSame(first, ScoreboardManager.update(scoreboard));
+        assertEquals(1, notifications.size());
+
+        // Only the time changed
+        showLines(scoreboard, objective, HUB_SEQUENCE[2]);
+        SidebarSnapshot second = ScoreboardManager.update(scoreboard);
+        assertNotSame(first, second);
+        assertEquals(2, notifications.size());
+        assertEquals(Collections.singletonList(3), toList(notifications.get(1)));
+
+        // Lines were added below the purse
+        showLines(scoreboard, objective, HUB_SEQUENCE[3]);
+        ScoreboardManager.update(scoreboard);
+        assertEquals(Arrays.asList(6, 9, 10, 11, 12, 13), toList(notifications.get(2)));
+
+        // The sidebar went away
+        scoreboard.setObjectiveInDisplaySlot(1, null);
+        assertTrue(ScoreboardManager.update(scoreboard).isEmpty());
+        assertFalse(ScoreboardManager.hasScoreboard());
+        assertNull(ScoreboardManager.getScoreboardTitle());
+        assertNull(ScoreboardManager.getScoreboardLines());
+        assertNull(ScoreboardManager.getStrippedScoreboardLines());
+        assertEquals(4, notifications.size());
+    }
+
+    @DisplayName("Snapshots Can't Be Modified")
+    @Test
+    void testSnapshotIsImmutable() {
+        SidebarSnapshot snapshot = SidebarSnapshot.create(TITLE, Arrays.asList("a", "b"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getLines().add("c"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getStrippedLines().clear());
+    }
+
+    private static ScoreObjective createSidebar(Scoreboard scoreboard) {
+        ScoreObjective objective = scoreboard.addScoreObjective("SBScoreboard", IScoreObjectiveCriteria.DUMMY);
+        objective.setDisplayName(TITLE);
+        scoreboard.setObjectiveInDisplaySlot(1, objective);
+        return objective;
+    }
+
+    /**
+     * Shows the lines the way Hypixel does, with a fake player per line whose team holds the text, and the top line
+     * having the highest score.
+     */
+    private static void showLines(Scoreboard scoreboard, ScoreObjective objective, String[] lines) {
+        for (int i = 0; i < 15; i++) {
+            String playerName = "§" + Integer.toHexString(i) + "§r";
+            if (i >= lines.length) {
+                scoreboard.removeObjectiveFromEntity(playerName, objective);
+                continue;
+            }
+
+            ScorePlayerTeam team = scoreboard.getTeam("team_" + i);
+            if (team == null) {
+                team = scoreboard.createTeam("team_" + i);
+                scoreboard.addPlayerToTeam(playerName, team.getRegisteredName());
+            }
+            String line = lines[i];
+            String prefix = line.substring(0, Math.min(16, line.length()));
+            String suffix = line.substring(prefix.length());
+            if (!prefix.equals(team.getColorPrefix())) {
+                team.setNamePrefix(prefix);
+            }
+            if (!suffix.equals(team.getColorSuffix())) {
+                team.setNameSuffix(suffix);
+            }
+            scoreboard.getValueFromObjective(playerName, objective).setScorePoints(lines.length - i);
+        }
+    }
+
+    private static List<Integer> toList(BitSet bitSet) {
+        return bitSet.stream().boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * The sidebar parsing before snapshots, which rebuilt the lines every tick.
+     */
+    private static class LegacySidebar {
+        private final String title;
+        private final String strippedTitle;
+        private final List<String> lines = new ArrayList<>();
+        private final List<String> strippedLines = new ArrayList<>();
+
+        private LegacySidebar(Scoreboard scoreboard) {
+            ScoreObjective sidebarObjective = scoreboard.getObjectiveInDisplaySlot(1);
+            title = sidebarObjective.getDisplayName();
+            strippedTitle = TextUtils.stripColor(title);
+
+            Collection<Score> scores = scoreboard.getSortedScores(sidebarObjective);
+            List<Score> filteredScores = scores.stream().filter(p_apply_1_ -> p_apply_1_.getPlayerName() != null && !p_apply_1_.getPlayerName().startsWith("#")).collect(Collectors.toList());
+            if (filteredScores.size() > 15) {
+                scores = Lists.newArrayList(Iterables.skip(filteredScores, scores.size() - 15));
+            } else {
+                scores = filteredScores;
+            }
+
+            Collections.reverse(filteredScores);
+
+            for (Score line : scores) {
+                ScorePlayerTeam team = scoreboard.getPlayersTeam(line.getPlayerName());
+                String scoreboardLine = ScorePlayerTeam.formatPlayerName(team, line.getPlayerName()).trim();
+                String cleansedScoreboardLine = ScoreboardManager.SIDEBAR_EMOJI_PATTERN.matcher(scoreboardLine).replaceAll("");
+                String strippedCleansedScoreboardLine = TextUtils.stripColor(cleansedScoreboardLine);
+
+                lines.add(cleansedScoreboardLine);
+                strippedLines.add(strippedCleansedScoreboardLine);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.core.Location;
+import codes.biscuit.skyblockaddons.utils.EnumUtils;
+import codes.biscuit.skyblockaddons.utils.SidebarLine;
+import codes.biscuit.skyblockaddons.utils.SidebarLineClassifier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SidebarLineClassifier} and {@link Location#fromSidebarLine(String)}
+ */
+public class SidebarLineClassifierTests {
+
+    /**
+     * Location lines as they're shown on the sidebar, for locations that aren't shown as just their name
+     */
+    private static final Object[][] SPECIAL_LOCATION_LINES = {
+            {"⏣ Biscuit's Island", Location.GUEST_ISLAND},
+            {"⏣ The Catacombs (F7)", Location.THE_CATACOMBS},
+            {"⏣ The Catacombs (E)", Location.THE_CATACOMBS},
+            // Locations whose names end with the name of another location
+            {"⏣ Dwarven Village", Location.DWARVEN_VILLAGE},
+            {"⏣ Village", Location.VILLAGE},
+            {"⏣ Dragontail Bank", Location.DRAGONTAIL_BANK},
+            {"⏣ Scarleton Bank", Location.SCARLETON_BANK},
+            {"⏣ Bank", Location.BANK},
+            {"⏣ Grand Library", Location.GRAND_LIBRARY},
+            {"⏣ Scarleton Minion Shop", Location.SCARLETON_MINION_SHOP},
+            {"⏣ Nowhere", null},
+            {"", null},
+    };
+
+    /**
+     * Real sidebar lines with the kind they should be classified as
+     */
+    private static final Object[][] SIDEBAR_LINES = {
+            {"07/14/23 m12C", SidebarLine.Kind.SERVER},
+            {"07/14/23 M4F", SidebarLine.Kind.SERVER},
+            {"", SidebarLine.Kind.OTHER},
+            {"Late Winter 7th", SidebarLine.Kind.OTHER},
+            {"7:10pm ☀", SidebarLine.Kind.OTHER},
+            {"⏣ Village", SidebarLine.Kind.LOCATION},
+            {"Purse: 1,234,567", SidebarLine.Kind.PURSE},
+            {"Purse: 1,234,600 (+33)", SidebarLine.Kind.PURSE},
+            {"Piggy: 50.5", SidebarLine.Kind.PURSE},
+            {"Bits: 1,024", SidebarLine.Kind.BITS},
+            {"Flight Duration: 1h", SidebarLine.Kind.OTHER},
+            {"Slayer Quest", SidebarLine.Kind.OTHER},
+            {"Revenant Horror IV", SidebarLine.Kind.SLAYER_QUEST},
+            {"Voidgloom Seraph II", SidebarLine.Kind.SLAYER_QUEST},
+            {"Unknown Horror IV", SidebarLine.Kind.OTHER},
+            {"123/1.5k Combat XP", SidebarLine.Kind.SLAYER_PROGRESS},
+            {"12/40 Kills", SidebarLine.Kind.SLAYER_PROGRESS},
+            {"Slay the boss!", SidebarLine.Kind.SLAYER_BOSS_ALIVE},
+            {"Wave 3", SidebarLine.Kind.JERRY_WAVE},
+            {"Time Elapsed: 01s", SidebarLine.Kind.OTHER},
+            {"Cleared: 45% (12)", SidebarLine.Kind.DUNGEON_CLEARED},
+            {"alpha.hypixel.net", SidebarLine.Kind.ALPHA_IP},
+            {"www.hypixel.net", SidebarLine.Kind.OTHER},
+    };
+
+    @DisplayName("Every Location Is Found On Its Sidebar Line")
+    @Test
+    void testEveryLocationResolves() {
+        for (Location location : Location.values()) {
+            if (location == Location.GUEST_ISLAND || location == Location.THE_CATACOMBS) {
+                continue;
+            }
+            assertEquals(location, Location.fromSidebarLine("⏣ " + location.getScoreboardName()), location.name());
+            assertEquals(location, Location.fromSidebarLine(location.getScoreboardName()), location.name());
+        }
+
+        for (Object[] row : SPECIAL_LOCATION_LINES) {
+            assertEquals(row[1], Location.fromSidebarLine((String) row[0]), (String) row[0]);
+        }
+    }
+
+    @DisplayName("Location Lines Are Classified With Their Location")
+    @Test
+    void testLocationLines() {
+        for (Location location : Location.values()) {
+            SidebarLine line = SidebarLineClassifier.classify("⏣ " + location.getScoreboardName());
+            assertEquals(SidebarLine.Kind.LOCATION, line.getKind(), location.name());
+        }
+
+        for (Object[] row : SPECIAL_LOCATION_LINES) {
+            String text = (String) row[0];
+            if (!text.isEmpty()) {
+                assertEquals(row[1], SidebarLineClassifier.classify(text).getLocation(), text);
+            }
+        }
+    }
+
+    @DisplayName("Sidebar Lines Are Classified By Kind")
+    @Test
+    void testLineKinds() {
+        for (Object[] row : SIDEBAR_LINES) {
+            assertEquals(row[1], SidebarLineClassifier.classify((String) row[0]).getKind(), (String) row[0]);
+        }
+    }
+
+    @DisplayName("Values Are Parsed From Classified Lines")
+    @Test
+    void testParsedValues() {
+        assertEquals("mini12C", SidebarLineClassifier.classify("07/14/23 m12C").getServerID());
+        assertEquals("mega4F", SidebarLineClassifier.classify("07/14/23 M4F").getServerID());
+        assertEquals(1234567, SidebarLineClassifier.classify("Purse: 1,234,567").getNumber());
+        assertEquals(1234600, SidebarLineClassifier.classify("Purse: 1,234,600 (+33)").getNumber());
+        assertEquals(50.5, SidebarLineClassifier.classify("Piggy: 50.5").getNumber());
+        assertEquals(1024, SidebarLineClassifier.classify("Bits: 1,024").getNumber());
+        // The purse is kept when it can't be parsed, but the bits are 0 like before
+        assertTrue(Double.isNaN(SidebarLineClassifier.classify("Purse: ").getNumber()));
+        assertTrue(Double.isNaN(SidebarLineClassifier.classify("Purse: ??? (+5)").getNumber()));
+        assertEquals(0, SidebarLineClassifier.classify("Bits: ").getNumber());
+        assertEquals(3, SidebarLineClassifier.classify("Wave 3").getNumber());
+
+        SidebarLine slayerQuest = SidebarLineClassifier.classify("Revenant Horror IV");
+        assertEquals(EnumUtils.SlayerQuest.REVENANT_HORROR, slayerQuest.getSlayerQuest());
+        assertEquals(4, slayerQuest.getSlayerQuestLevel());
+
+        SidebarLine slayerProgress = SidebarLineClassifier.classify("123/1.5k Combat XP");
+        assertEquals(123, slayerProgress.getSlayerProgress());
+        assertEquals(1500, slayerProgress.getSlayerProgressTotal());
+    }
+
+    @DisplayName("Lines Are Only Classified Again When They Change")
+    @Test
+    void testLinesAreCached() {
+        SidebarLineClassifier classifier = new SidebarLineClassifier();
+        SidebarLine purse = classifier.classify(6, "Purse: 100");
+
+        assertSame(purse, classifier.classify(6, new String("Purse: 100")));
+        assertNotSame(purse, classifier.classify(7, "Purse: 100"));
+
+        SidebarLine changedPurse = classifier.classify(6, "Purse: 200");
+        assertNotSame(purse, changedPurse);
+        assertEquals(200, changedPurse.getNumber());
+
+        // Line numbers past the usual sidebar size work too
+        assertEquals(SidebarLine.Kind.BITS, classifier.classify(40, "Bits: 1").getKind());
+    }
+}
@@ -0,0 +1,53 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.utils.StartupProfiler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link StartupProfiler}
+ */
+public class StartupProfilerTests {
+
+    @DisplayName("Nested Phases Come After Their Parent")
+    @Test
+    void testNestedPhaseOrder() {
+        try (StartupProfiler.Section ignored = StartupProfiler.section("testPreInit")) {
+            try (StartupProfiler.Section ignored1 = StartupProfiler.section("testPreInit/config")) {
+                assertEquals(0, getTestPhaseNames().size(), "Unfinished phases aren't reported");
+            }
+            try (StartupProfiler.Section ignored1 = StartupProfiler.section("testPreInit/data")) {
+                try (StartupProfiler.Section ignored2 = StartupProfiler.section("testPreInit/data/enchants")) {
+                    assertEquals(Arrays.asList("testPreInit/config"), getTestPhaseNames());
+                }
+            }
+        }
+        try (StartupProfiler.Section ignored = StartupProfiler.section("testInit")) {
+            try (StartupProfiler.Section ignored1 = StartupProfiler.section("testInit/listeners")) {
+                assertEquals(4, getTestPhaseNames().size());
+            }
+        }
+
+        assertEquals(Arrays.asList("testPreInit", "testPreInit/config", "testPreInit/data", "testPreInit/data/enchants",
+                "testInit", "testInit/listeners"), getTestPhaseNames());
+    }
+
+    /**
+     * @return the names of the finished phases of this test, leaving out phases recorded by anything else
+     */
+    private static List<String> getTestPhaseNames() {
+        List<String> names = new ArrayList<>();
+        for (StartupProfiler.Phase phase : StartupProfiler.getPhases()) {
+            if (phase.getName().startsWith("test")) {
+                names.add(phase.getName());
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,149 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.features.backpacks.CompressedStorage;
+import codes.biscuit.skyblockaddons.features.backpacks.StoragePreviewStore;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link StoragePreviewStore}
+ */
+public class StoragePreviewStoreTests {
+
+    private static final String[] STORAGE_KEYS = {"BackpackStorage1", "BackpackStorage18", "EnderChest3", "Odd Key/ä*%"};
+
+    @DisplayName("Storage Records Round Trip")
+    @Test
+    void testRoundTrip(@TempDir Path tempDir) throws IOException {
+        File directory = tempDir.toFile();
+        StoragePreviewStore store = new StoragePreviewStore(directory);
+        store.load();
+
+        Map<String, byte[]> expected = new HashMap<>();
+        for (int i = 0; i < STORAGE_KEYS.length; i++) {
+            byte[] storage = createSyntheticStorage(i * 9 + 1);
+            expected.put(STORAGE_KEYS[i], storage);
+            store.put(STORAGE_KEYS[i], storage);
+        }
+        store.flush();
+
+        StoragePreviewStore reloadedStore = new StoragePreviewStore(directory);
+        reloadedStore.load();
+        for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+            assertTrue(reloadedStore.contains(entry.getKey()));
+            byte[] storage = reloadedStore.get(entry.getKey());
+            assertArrayEquals(entry.getValue(), storage);
+            assertEquals(CompressedStreamTools.readCompressed(new ByteArrayInputStream(entry.getValue())),
+                    CompressedStreamTools.readCompressed(new ByteArrayInputStream(storage)));
+        }
+        assertNull(reloadedStore.get("EnderChest9"));
+    }
+
+    @DisplayName("Saving One Record Only Writes That Record")
+    @Test
+    void testSingleRecordWrite(@TempDir Path tempDir) throws IOException {
+        File directory = tempDir.toFile();
+        StoragePreviewStore store = new StoragePreviewStore(directory);
+        store.load();
+        store.put(STORAGE_KEYS[0], createSyntheticStorage(5));
+        store.put(STORAGE_KEYS[1], createSyntheticStorage(6));
+        store.flush();
+
+        File[] records = directory.listFiles();
+        assertNotNull(records);
+        long[] lastModified = new long[records.length];
+        for (int i = 0; i < records.length; i++) {
+            assertTrue(records[i].setLastModified(1000L));
+            lastModified[i] = records[i].lastModified();
+        }
+
+        store.put(STORAGE_KEYS[1], createSyntheticStorage(7));
+        store.flush();
+
+        int changedRecords = 0;
+        for (int i = 0; i < records.length; i++) {
+            if (records[i].lastModified() != lastModified[i]) {
+                changedRecords++;
+            }
+        }
+        assertEquals(1, changedRecords);
+    }
+
+    @DisplayName("Legacy Storage Cache Migration")
+    @Test
+    void testMigration(@TempDir Path tempDir) throws IOException {
+        byte[] storage = createSyntheticStorage(27);
+        // Go through the old JSON format to make sure the comma separated byte string is read correctly
+        String json = SkyblockAddons.getGson().toJson(new CompressedStorage(storage));
+        CompressedStorage legacyStorage = SkyblockAddons.getGson().fromJson(json, CompressedStorage.class);
+
+        Map<String, CompressedStorage> legacyCache = new HashMap<>();
+        legacyCache.put(STORAGE_KEYS[2], legacyStorage);
+
+        StoragePreviewStore store = new StoragePreviewStore(tempDir.toFile());
+        store.load();
+        assertTrue(store.migrate(legacyCache));
+        assertFalse(store.migrate(new HashMap<>()));
+
+        StoragePreviewStore reloadedStore = new StoragePreviewStore(tempDir.toFile());
+        reloadedStore.load();
+        assertArrayEquals(storage, reloadedStore.get(STORAGE_KEYS[2]));
+    }
+
+    @DisplayName("Failed Migration Keeps The Legacy Storage Cache")
+    @Test
+    void testFailedMigration(@TempDir Path tempDir) throws IOException {
+        // A file where the store's directory should be, so no record can be written
+        File directory = tempDir.resolve("storage").toFile();
+        assertTrue(directory.createNewFile());
+
+        Map<String, CompressedStorage> legacyCache = new HashMap<>();
+        legacyCache.put(STORAGE_KEYS[2], new CompressedStorage(createSyntheticStorage(27)));
+
+        StoragePreviewStore store = new StoragePreviewStore(directory);
+        store.load();
+        assertFalse(store.migrate(legacyCache));
+        // The previews can still be shown in this session
+        assertTrue(store.contains(STORAGE_KEYS[2]));
+    }
+
+    private static byte[] createSyntheticStorage(int itemCount) throws IOException {
+        NBTTagList items = new NBTTagList();
+        for (int i = 0; i < itemCount; i++) {
+            NBTTagCompound item = new NBTTagCompound();
+            item.setShort("id", (short) (256 + i));
+            item.setByte("Count", (byte) (i % 64 + 1));
+            item.setShort("Damage", (short) 0);
+
+            NBTTagCompound extraAttributes = new NBTTagCompound();
+            extraAttributes.setString("id", "SYNTHETIC_ITEM_" + i);
+            extraAttributes.setString("uuid", "00000000-0000-0000-0000-" + String.format("%012d", i));
+            NBTTagCompound tag = new NBTTagCompound();
+            tag.setTag("ExtraAttributes", extraAttributes);
+            item.setTag("tag", tag);
+
+            items.appendTag(item);
+        }
+
+        NBTTagCompound root = new NBTTagCompound();
+        root.setTag("i", items);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        CompressedStreamTools.writeCompressed(root, outputStream);
+        return outputStream.toByteArray();
+    }
+}
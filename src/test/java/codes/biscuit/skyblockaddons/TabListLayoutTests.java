@@ -0,0 +1,326 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.features.tablist.RenderColumn;
+import codes.biscuit.skyblockaddons.features.tablist.TabLine;
+import codes.biscuit.skyblockaddons.features.tablist.TabListLayout;
+import codes.biscuit.skyblockaddons.features.tablist.TabListParser;
+import codes.biscuit.skyblockaddons.features.tablist.TabStringType;
+import codes.biscuit.skyblockaddons.utils.TextUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TabListLayout}
+ */
+public class TabListLayoutTests {
+
+    private static final String HEADER = "§bYou are playing on §e§lMC.HYPIXEL.NET§r";
+    private static final String FOOTER = "§aActive Effects\n§7No effects active.\n\n§d§lSTORE.HYPIXEL.NET§r";
+
+    /**
+     * Compact tab lists as they were rendered on Skyblock, one column per array
+     */
+    private static final String[][][] RECORDED_TAB_LISTS = {
+            {
+                    {"§a§lPlayers §r§f(3)", "§b[MVP§c+§b] Biscuit", "§a[VIP] Throwpo", "§7Phoube", "", "§e§lSkills:",
+                            " Farming 50: §r§a100%", " Mining 45: §r§a12.3%"},
+                    {"§3§lInfo", "§b§lArea: §r§7Private Island", " Server: §r§8mini12C", " Gems: §r§a0", "",
+                            "§6§lEvent:", " §r§eSpooky Festival", " Starts In: §r§e2d 4h"},
+                    {"§2§lOther", " Active Effects: §r§e0", " Cookie Buff", " §r§7Not Active"}
+            },
+            {
+                    {"§a§lPlayers §r§f(1)", "§7Phoube"},
+                    {"§3§lInfo", "§b§lArea: §r§7Hub", " Rain: §r§a2m 10s"}
+            }
+    };
+
+    @DisplayName("The Layout Matches The Old Renderer")
+    @Test
+    void testLayoutMatchesOldRenderer() {
+        CountingStringWidth stringWidth = new CountingStringWidth(true);
+
+        for (String[][] recordedTabList : RECORDED_TAB_LISTS) {
+            List<RenderColumn> columns = toRenderColumns(recordedTabList);
+            for (int scaledWidth : new int[]{427, 640, 961}) {
+                for (String header : new String[]{HEADER, null}) {
+                    for (String footer : new String[]{FOOTER, null}) {
+                        TabListLayout layout = new TabListLayout(columns, header, footer, scaledWidth, stringWidth);
+                        LegacyRenderer legacy = new LegacyRenderer(columns, header, footer, scaledWidth, stringWidth);
+
+                        assertEquals(legacy.rectangles.get(0), layout.getBackground());
+                        assertEquals(legacy.rectangles.subList(1, legacy.rectangles.size()), layout.getColumnBackgrounds());
+                        assertEquals(legacy.playerHeads, layout.getPlayerHeads());
+                        assertEquals(legacy.texts, layout.getTexts());
+                    }
+                }
+            }
+        }
+    }
+
+    @DisplayName("A Cache Hit Gives The Same Layout As A New One")
+    @Test
+    void testCacheHitMatchesNewLayout() {
+        CountingStringWidth stringWidth = new CountingStringWidth(true);
+        TabListLayout.Cache cache = new TabListLayout.Cache();
+        int headerFooterVersion = 0;
+
+        for (String[][] recordedTabList : RECORDED_TAB_LISTS) {
+            List<RenderColumn> columns = toRenderColumns(recordedTabList);
+            for (String footer : new String[]{FOOTER, null}) {
+                headerFooterVersion++;
+                for (int scaledWidth : new int[]{427, 640, 961}) {
+                    TabListLayout built = cache.get(columns, headerFooterVersion, HEADER, footer, scaledWidth, false, stringWidth);
+                    int measured = stringWidth.calls;
+                    TabListLayout hit = cache.get(columns, headerFooterVersion, HEADER, footer, scaledWidth, false, stringWidth);
+                    assertSame(built, hit);
+                    assertEquals(measured, stringWidth.calls);
+
+                    TabListLayout fresh = new TabListLayout(columns, HEADER, footer, scaledWidth, stringWidth);
+                    assertEquals(fresh.getBackground(), hit.getBackground());
+                    assertEquals(fresh.getColumnBackgrounds(), hit.getColumnBackgrounds());
+                    assertEquals(fresh.getPlayerHeads(), hit.getPlayerHeads());
+                    assertEquals(fresh.getTexts(), hit.getTexts());
+                }
+            }
+        }
+    }
+
+    @DisplayName("Holding Tab Doesn't Measure Anything")
+    @Test
+    void testLayoutIsReused() {
+        CountingStringWidth stringWidth = new CountingStringWidth();
+        TabListLayout.Cache cache = new TabListLayout.Cache();
+        List<RenderColumn> columns = toRenderColumns(RECORDED_TAB_LISTS[0]);
+
+        TabListLayout layout = cache.get(columns, 1, HEADER, FOOTER, 640, false, stringWidth);
+        int measured = stringWidth.calls;
+        for (int frame = 0; frame < 100; frame++) {
+            assertSame(layout, cache.get(columns, 1, HEADER, FOOTER, 640, false, stringWidth));
+        }
+        assertEquals(measured, stringWidth.calls);
+
+        // A new layout is made when the tab list, the header and footer, the screen or the font change
+        assertNotSame(layout, layout = cache.get(toRenderColumns(RECORDED_TAB_LISTS[0]), 1, HEADER, FOOTER, 640, false, stringWidth));
+        assertNotSame(layout, layout = cache.get(columns, 2, HEADER, FOOTER, 640, false, stringWidth));
+        assertNotSame(layout, layout = cache.get(columns, 2, HEADER, FOOTER, 427, false, stringWidth));
+        assertNotSame(layout, cache.get(columns, 2, HEADER, FOOTER, 427, true, stringWidth));
+    }
+
+    @DisplayName("Lines Are Laid Out In Columns")
+    @Test
+    void testLayout() {
+        TabListLayout layout = new TabListLayout(toRenderColumns(RECORDED_TAB_LISTS[1]), HEADER, FOOTER, 640, new CountingStringWidth());
+
+        // Only the advertisements are kept from the header and footer, and the footer goes at the bottom
+        List<TabListLayout.Text> texts = layout.getTexts();
+        assertEquals(HEADER, texts.get(0).getText());
+        assertEquals("§d§lSTORE.HYPIXEL.NET§r", texts.get(texts.size() - 1).getText());
+        assertEquals(1 + 2 + 3 + 1, texts.size());
+
+        // Player heads go in front of the player's name
+        assertEquals(Arrays.asList(new TabListLayout.PlayerHead("Phoube", 320 - 75, 10 + 9 + 3 + 9)), layout.getPlayerHeads());
+        assertEquals(new TabListLayout.Text("§7Phoube", 320 - 75 + 10, 10 + 9 + 3 + 9), texts.get(2));
+
+        assertEquals(2, layout.getColumnBackgrounds().size());
+        assertEquals(new TabListLayout.Rectangle(320 - 75 - 6, 10 - 3, 320 + 75 + 6, 10 + 9 * 5 + 3 * 3), layout.getBackground());
+    }
+
+    private static List<RenderColumn> toRenderColumns(String[][] recordedColumns) {
+        List<RenderColumn> columns = new ArrayList<>();
+        for (String[] recordedColumn : recordedColumns) {
+            RenderColumn column = new RenderColumn();
+            column.addLine(new TabLine(recordedColumn[0], TabStringType.TITLE));
+            for (int i = 1; i < recordedColumn.length; i++) {
+                column.addLine(new TabLine(recordedColumn[i], TabStringType.fromLine(recordedColumn[i])));
+            }
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    /**
+     * The compact tab list renderer before layouts, which measured and drew everything on every frame. It keeps what it
+     * would have drawn instead of drawing it.
+     */
+    private static class LegacyRenderer {
+        private static final int LINE_HEIGHT = 8 + 1;
+        private static final int PADDING = 3;
+        private static final int COLUMN_SPACING = 6;
+
+        /** The large background, then the background of each column */
+        private final List<TabListLayout.Rectangle> rectangles = new ArrayList<>();
+        private final List<TabListLayout.PlayerHead> playerHeads = new ArrayList<>();
+        private final List<TabListLayout.Text> texts = new ArrayList<>();
+        private final ToIntFunction<String> stringWidth;
+
+        private LegacyRenderer(List<RenderColumn> columns, String tabListHeader, String tabListFooter, int scaledWidth,
+                               ToIntFunction<String> stringWidth) {
+            this.stringWidth = stringWidth;
+
+            // Calculate maximums...
+            int maxLines = 0;
+            for (RenderColumn column : columns) {
+                maxLines = Math.max(maxLines, column.getLines().size());
+            }
+            int totalWidth = 0;
+            for (RenderColumn renderColumn : columns) {
+                totalWidth += getMaxWidth(renderColumn) + COLUMN_SPACING;
+            }
+            totalWidth -= COLUMN_SPACING;
+            int totalHeight = maxLines * LINE_HEIGHT;
+
+            // Filter header and footer to only show hypixel advertisements...
+            List<String> header = null;
+            if (tabListHeader != null) {
+                header = new ArrayList<>(Arrays.asList(tabListHeader.split("\n")));
+                header.removeIf((line) -> !line.contains(TabListParser.HYPIXEL_ADVERTISEMENT_CONTAINS));
+
+                totalHeight += header.size() * LINE_HEIGHT + PADDING;
+            }
+            List<String> footer = null;
+            if (tabListFooter != null) {
+                footer = new ArrayList<>(Arrays.asList(tabListFooter.split("\n")));
+                footer.removeIf((line) -> !line.contains(TabListParser.HYPIXEL_ADVERTISEMENT_CONTAINS));
+
+                totalHeight += footer.size() * LINE_HEIGHT + PADDING;
+            }
+
+            // Starting x & y, using the player's GUI scale
+            int screenWidth = scaledWidth / 2;
+            int x = screenWidth - totalWidth/2;
+            int y = 10;
+
+            // Large background
+            rectangles.add(new TabListLayout.Rectangle(x - COLUMN_SPACING, y - PADDING, screenWidth + totalWidth/2 + COLUMN_SPACING, 10 + totalHeight + PADDING));
+
+            // Draw header
+            int headerY = y;
+            if (header != null) {
+                for (String line : header) {
+                    texts.add(new TabListLayout.Text(line, x + totalWidth / 2F - stringWidth.applyAsInt(line) / 2F, headerY));
+                    headerY += 8 + 1;
+                }
+                headerY += PADDING;
+            }
+
+            // Draw the middle lines
+            int middleX = x;
+            for (RenderColumn renderColumn : columns) {
+                int middleY = headerY;
+
+                // Column background
+                rectangles.add(new TabListLayout.Rectangle(middleX - PADDING + 1, middleY - PADDING + 1, middleX + getMaxWidth(renderColumn) + PADDING - 2,
+                        middleY + renderColumn.getLines().size() * LINE_HEIGHT + PADDING - 2));
+
+                for (TabLine tabLine : renderColumn.getLines()) {
+                    int savedX = middleX;
+
+                    if (tabLine.getType() == TabStringType.PLAYER) {
+                        playerHeads.add(new TabListLayout.PlayerHead(TextUtils.stripUsername(tabLine.getText()), middleX, middleY));
+                        middleX += 8 + 2;
+                    }
+
+                    if (tabLine.getType() == TabStringType.TITLE) {
+                        texts.add(new TabListLayout.Text(tabLine.getText(), (middleX + getMaxWidth(renderColumn) / 2F - getWidth(tabLine) / 2F), middleY));
+                    } else {
+                        texts.add(new TabListLayout.Text(tabLine.getText(), middleX, middleY));
+                    }
+                    middleY += LINE_HEIGHT;
+                    middleX = savedX;
+                }
+
+                middleX += getMaxWidth(renderColumn) + COLUMN_SPACING;
+            }
+
+            // Draw the footer
+            if (footer != null) {
+                int footerY = y + totalHeight - footer.size() * LINE_HEIGHT;
+                for (String line : footer) {
+                    texts.add(new TabListLayout.Text(line, x + totalWidth / 2F - stringWidth.applyAsInt(line) / 2F, footerY));
+                    footerY += LINE_HEIGHT;
+                }
+            }
+        }
+
+        /**
+         * {@code RenderColumn#getMaxWidth()}
+         */
+        private int getMaxWidth(RenderColumn column) {
+            int maxWidth = 0;
+
+            for (TabLine tabLine : column.getLines()) {
+                maxWidth = Math.max(maxWidth, getWidth(tabLine));
+            }
+
+            return maxWidth;
+        }
+
+        /**
+         * {@code TabLine#getWidth()}
+         */
+        private int getWidth(TabLine tabLine) {
+            int width = stringWidth.applyAsInt(tabLine.getText());
+
+            if (tabLine.getType() == TabStringType.PLAYER) {
+                width += 8 + 2; // Player head
+            }
+
+            if (tabLine.getType() == TabStringType.TEXT) {
+                width += 4; // Space is 4
+            }
+
+            return width;
+        }
+    }
+
+    /**
+     * Measures strings as 6 pixels per character, ignoring formatting codes, and counts how often it was called. With
+     * {@code narrowCharacters}, some characters are narrower like in the default font, so widths can be odd.
+     */
+    private static class CountingStringWidth implements ToIntFunction<String> {
+        private final boolean narrowCharacters;
+        private int calls;
+
+        private CountingStringWidth() {
+            this(false);
+        }
+
+        private CountingStringWidth(boolean narrowCharacters) {
+            this.narrowCharacters = narrowCharacters;
+        }
+
+        @Override
+        public int applyAsInt(String text) {
+            calls++;
+            String strippedText = TextUtils.stripColor(text);
+            if (!narrowCharacters) {
+                return strippedText.length() * 6;
+            }
+
+            int width = 0;
+            for (int i = 0; i < strippedText.length(); i++) {
+                switch (strippedText.charAt(i)) {
+                    case 'i': case '!': case ':': case '.': case ',':
+                        width += 2;
+                        break;
+                    case 'l':
+                        width += 3;
+                        break;
+                    case ' ':
+                        width += 4;
+                        break;
+                    default:
+                        width += 6;
+                }
+            }
+            return width;
+        }
+    }
+}
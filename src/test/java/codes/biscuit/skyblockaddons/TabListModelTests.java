@@ -0,0 +1,280 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.features.tablist.TabListModel;
+import codes.biscuit.skyblockaddons.features.tablist.TabListPacketHandler;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.*;
+import net.minecraft.scoreboard.ScorePlayerTeam;
+import net.minecraft.scoreboard.Scoreboard;
+import net.minecraft.util.ChatComponentText;
+import net.minecraft.util.IChatComponent;
+import net.minecraft.world.EnumDifficulty;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TabListModel}
+ */
+public class TabListModelTests {
+
+    private TabListModel model;
+    private Scoreboard scoreboard;
+
+    @BeforeEach
+    void setUp() {
+        model = new TabListModel();
+        scoreboard = new Scoreboard();
+    }
+
+    @DisplayName("Entries Are Sorted Like The Vanilla Tab List")
+    @Test
+    void testSortOrder() throws IOException {
+        // Hypixel orders the tab list with teams named like "!A-a", "!A-b"...
+        addTeam("!B-a", "", "", "bob");
+        addTeam("!A-b", "", "", "carl");
+        addTeam("!A-a", "", "", "dave");
+
+        model.handlePlayerListItem(playerListPacket(S38PacketPlayerListItem.Action.ADD_PLAYER,
+                player("bob", "Bob"), player("carl", "Carl"), player("dave", "Dave"), player("alice", "Alice"),
+                spectator("eve")));
+
+        // No team sorts before any team, and spectators go last
+        assertEquals(Arrays.asList("alice", "dave", "carl", "bob", "eve"), profileNames());
+        // Display names are formatted like chat components, and players without one show their name
+        assertEquals(Arrays.asList("Alice§r", "Dave§r", "Carl§r", "Bob§r", "eve"), texts());
+    }
+
+    @DisplayName("Only Changed Entries Are Updated")
+    @Test
+    void testIncrementalUpdates() throws IOException {
+        List<Object[]> players = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            String name = String.format("!%02d", i);
+            addTeam("team" + name, "", "", name);
+            players.add(player(name, "Line " + i));
+        }
+        model.handlePlayerListItem(playerListPacket(S38PacketPlayerListItem.Action.ADD_PLAYER, players.toArray(new Object[0][])));
+        List<TabListModel.Entry> before = new ArrayList<>(model.getEntries());
+        int version = model.getEntryVersion();
+
+        // Latency updates don't change anything that's shown
+        model.handlePlayerListItem(playerListPacket(S38PacketPlayerListItem.Action.UPDATE_LATENCY, player("!05", null)));
+        assertEquals(version, model.getEntryVersion());
+
+        // A display name update only changes that entry
+        model.handlePlayerListItem(playerListPacket(S38PacketPlayerListItem.Action.UPDATE_DISPLAY_NAME, player("!05", "Changed")));
+        assertNotEquals(version, model.getEntryVersion());
+        for (int i = 0; i < 80; i++) {
+            assertSame(before.get(i), model.getEntries().get(i));
+        }
+        assertEquals("Changed§r", model.getEntries().get(5).getText());
+        assertEquals("Line 6§r", model.getEntries().get(6).getText());
+
+        // Sending the same display name again isn't a change
+        version = model.getEntryVersion();
+        model.handlePlayerListItem(playerListPacket(S38PacketPlayerListItem.Action.UPDATE_DISPLAY_NAME, player("!05", "Changed")));
+        assertEquals(version, model.getEntryVersion());
+
+        model.handlePlayerListItem(playerListPacket(S38PacketPlayerListItem.Action.REMOVE_PLAYER, player("!00", null)));
+        assertEquals(79, model.getEntries().size());
+        assertEquals("Line 1§r", model.getEntries().get(0).getText());
+    }
+
+    @DisplayName("Team Changes Move Entries And Update Their Text")
+    @Test
+    void testTeamChanges() throws IOException {
+        ScorePlayerTeam team = addTeam("!B", "§a[VIP] ", "§f", "bob");
+        model.handlePlayerListItem(playerListPacket(S38PacketPlayerListItem.Action.ADD_PLAYER,
+                player("bob", null), player("alice", null)));
+        assertEquals(Arrays.asList("alice", "§a[VIP] bob§f"), texts());
+
+        // Players without a display name show their team's prefix and suffix
+        team.setNamePrefix("§b[MVP] ");
+        model.handleTeams(new S3EPacketTeams(team, 2));
+        assertEquals(Arrays.asList("alice", "§b[MVP] bob§f"), texts());
+
+        // Joining a team with an earlier name moves the entry
+        addTeam("!A", "", "", "alice");
+        assertEquals(Arrays.asList("§b[MVP] bob§f", "alice"), texts());
+
+        model.handleTeams(new S3EPacketTeams(team, Collections.singletonList("bob"), 4));
+        assertEquals(Arrays.asList("bob", "alice"), texts());
+
+        model.handleTeams(new S3EPacketTeams(scoreboard.getTeam("!A"), 1));
+        assertEquals(Arrays.asList("alice", "bob"), texts());
+    }
+
+    @DisplayName("Creating A Team Again Replaces It")
+    @Test
+    void testTeamCreatedAgain() throws IOException {
+        ScorePlayerTeam team = addTeam("!B", "§a[VIP] ", "", "bob");
+        addTeam("!A", "", "", "alice");
+        model.handlePlayerListItem(playerListPacket(S38PacketPlayerListItem.Action.ADD_PLAYER,
+                player("bob", null), player("alice", null)));
+        assertEquals(Arrays.asList("alice", "§a[VIP] bob"), texts());
+
+        // The new team doesn't keep the old team's players or prefix
+        Scoreboard otherScoreboard = new Scoreboard();
+        ScorePlayerTeam newTeam = otherScoreboard.createTeam(team.getRegisteredName());
+        newTeam.setNamePrefix("§b[MVP] ");
+        otherScoreboard.addPlayerToTeam("carl", newTeam.getRegisteredName());
+        model.handleTeams(new S3EPacketTeams(newTeam, 0));
+        model.handlePlayerListItem(playerListPacket(S38PacketPlayerListItem.Action.ADD_PLAYER, player("carl", null)));
+        assertEquals(Arrays.asList("bob", "alice", "§b[MVP] carl"), texts());
+    }
+
+    @DisplayName("Switching Servers Clears The Teams")
+    @Test
+    void testServerSwitch() throws IOException {
+        EmbeddedChannel channel = new EmbeddedChannel(new TabListPacketHandler(model, Runnable::run));
+
+        // The lobby puts players in teams that sort them in reverse
+        ScorePlayerTeam first = scoreboard.createTeam("!A");
+        first.setNamePrefix("§7[Lobby] ");
+        ScorePlayerTeam second = scoreboard.createTeam("!B");
+        channel.writeInbound(new S3EPacketTeams(first, 0), new S3EPacketTeams(second, 0),
+                new S3EPacketTeams(first, Collections.singletonList("bob"), 3),
+                new S3EPacketTeams(second, Collections.singletonList("alice"), 3),
+                playerListPacket(S38PacketPlayerListItem.Action.ADD_PLAYER, player("alice", null), player("bob", null)));
+        assertEquals(Arrays.asList("§7[Lobby] bob", "alice"), texts());
+
+        // Hypixel moves the player to another server, which only sends its own teams. Vanilla starts over with a new
+        // scoreboard, so the entries lose their teams until then.
+        channel.writeInbound(new S07PacketRespawn(-1, EnumDifficulty.NORMAL, WorldType.DEFAULT, WorldSettings.GameType.SURVIVAL),
+                new S07PacketRespawn(0, EnumDifficulty.NORMAL, WorldType.DEFAULT, WorldSettings.GameType.SURVIVAL));
+        assertEquals(Arrays.asList("alice", "bob"), texts());
+
+        Scoreboard newScoreboard = new Scoreboard();
+        ScorePlayerTeam newTeam = newScoreboard.createTeam("!A");
+        newScoreboard.addPlayerToTeam("alice", "!A");
+        channel.writeInbound(new S3EPacketTeams(newTeam, 0));
+        assertEquals(Arrays.asList("bob", "alice"), texts());
+
+        // Joining a game starts over the same way
+        channel.writeInbound(new S01PacketJoinGame(1, WorldSettings.GameType.SURVIVAL, false, 0, EnumDifficulty.NORMAL,
+                100, WorldType.DEFAULT, false));
+        assertEquals(Arrays.asList("alice", "bob"), profileNames());
+
+        // Every packet is passed on to the vanilla handler
+        assertEquals(9, channel.inboundMessages().size());
+    }
+
+    @DisplayName("Header And Footer Are Formatted Once")
+    @Test
+    void testHeaderFooter() throws IOException {
+        assertNull(model.getFooter());
+
+        int version = model.getHeaderFooterVersion();
+        model.handlePlayerListHeaderFooter(headerFooterPacket("§bYou are playing on §eMC.HYPIXEL.NET",
+                "§aActive Effects\n§7You have 3 active effects."));
+        assertNotEquals(version, model.getHeaderFooterVersion());
+        assertEquals("§bYou are playing on §eMC.HYPIXEL.NET§r", model.getHeader());
+        assertEquals("Active Effects\nYou have 3 active effects.", model.getStrippedFooter());
+
+        // A new connection starts over
+        version = model.getHeaderFooterVersion();
+        model.clear();
+        assertNotEquals(version, model.getHeaderFooterVersion());
+        assertNull(model.getHeader());
+        assertNull(model.getFooter());
+        assertTrue(model.getEntries().isEmpty());
+    }
+
+    private ScorePlayerTeam addTeam(String name, String prefix, String suffix, String player) {
+        ScorePlayerTeam team = scoreboard.createTeam(name);
+        team.setNamePrefix(prefix);
+        team.setNameSuffix(suffix);
+        model.handleTeams(new S3EPacketTeams(team, 0));
+        model.handleTeams(new S3EPacketTeams(team, Collections.singletonList(player), 3));
+        return team;
+    }
+
+    private List<String> profileNames() {
+        return model.getEntries().stream().map(TabListModel.Entry::getProfileName).collect(Collectors.toList());
+    }
+
+    private List<String> texts() {
+        return model.getEntries().stream().map(TabListModel.Entry::getText).collect(Collectors.toList());
+    }
+
+    private static Object[] player(String name, String displayName) {
+        return new Object[]{name, displayName, WorldSettings.GameType.SURVIVAL};
+    }
+
+    private static Object[] spectator(String name) {
+        return new Object[]{name, null, WorldSettings.GameType.SPECTATOR};
+    }
+
+    /**
+     * Makes a player list packet the way the server sends it. Players are given as their name, their display name or
+     * {@code null}, and their game mode, and each name always gets the same UUID.
+     */
+    private static S38PacketPlayerListItem playerListPacket(S38PacketPlayerListItem.Action action, Object[]... players) throws IOException {
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        buffer.writeEnumValue(action);
+        buffer.writeVarIntToBuffer(players.length);
+
+        for (Object[] player : players) {
+            String name = (String) player[0];
+            String displayName = (String) player[1];
+            buffer.writeUuid(UUID.nameUUIDFromBytes(name.getBytes()));
+
+            switch (action) {
+                case ADD_PLAYER:
+                    buffer.writeString(name);
+                    buffer.writeVarIntToBuffer(0); // No properties
+                    buffer.writeVarIntToBuffer(((WorldSettings.GameType) player[2]).getID());
+                    buffer.writeVarIntToBuffer(50);
+                    writeDisplayName(buffer, displayName);
+                    break;
+                case UPDATE_GAME_MODE:
+                    buffer.writeVarIntToBuffer(((WorldSettings.GameType) player[2]).getID());
+                    break;
+                case UPDATE_LATENCY:
+                    buffer.writeVarIntToBuffer(100);
+                    break;
+                case UPDATE_DISPLAY_NAME:
+                    writeDisplayName(buffer, displayName);
+                    break;
+                case REMOVE_PLAYER:
+                    break;
+            }
+        }
+
+        S38PacketPlayerListItem packet = new S38PacketPlayerListItem();
+        packet.readPacketData(buffer);
+        return packet;
+    }
+
+    private static void writeDisplayName(PacketBuffer buffer, String displayName) throws IOException {
+        buffer.writeBoolean(displayName != null);
+        if (displayName != null) {
+            buffer.writeChatComponent(new ChatComponentText(displayName));
+        }
+    }
+
+    private static S47PacketPlayerListHeaderFooter headerFooterPacket(String header, String footer) throws IOException {
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        buffer.writeChatComponent(component(header));
+        buffer.writeChatComponent(component(footer));
+
+        S47PacketPlayerListHeaderFooter packet = new S47PacketPlayerListHeaderFooter();
+        packet.readPacketData(buffer);
+        return packet;
+    }
+
+    private static IChatComponent component(String text) {
+        return new ChatComponentText(text);
+    }
+}
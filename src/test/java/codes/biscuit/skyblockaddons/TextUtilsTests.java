@@ -2,19 +2,35 @@ package codes.biscuit.skyblockaddons;
 
 import codes.biscuit.skyblockaddons.utils.TextUtils;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvFileSource;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Tests for {@link TextUtils}
  */
 public class TextUtilsTests {
 
+    /** The patterns the formatting code scanners replaced */
+    private static final Pattern STRIP_COLOR_PATTERN = Pattern.compile("(?i)§[0-9A-FK-ORZ]");
+    private static final Pattern REPEATED_COLOR_PATTERN = Pattern.compile("(?i)(§[0-9A-FK-ORZ])+");
+    private static final Pattern TRIM_WHITESPACE_RESETS = Pattern.compile("^(?:\\s|§r)*|(?:\\s|§r)*$");
+    private static final Pattern RESET_CODE_PATTERN = Pattern.compile("(?i)§R");
+
     @DisplayName("Action Bar Magnitude Conversion Tests")
     @ParameterizedTest()
     @CsvFileSource(resources = "/convert-magnitudes.csv", numLinesToSkip = 1)
@@ -25,4 +41,199 @@ public class TextUtilsTests {
             fail("Failed to parse number at offset " + e.getErrorOffset() + " in string \"" + e.getMessage() + "\".");
         }
     }
+
+    @DisplayName("Formatting Code Scanners Match The Patterns They Replaced")
+    @Test
+    void testFormattingCodeScanners() throws IOException {
+        for (String text : generateCorpus()) {
+            assertEquals(STRIP_COLOR_PATTERN.matcher(text).replaceAll(""), TextUtils.stripColor(text), text);
+            assertEquals(RESET_CODE_PATTERN.matcher(text).replaceAll(""), TextUtils.stripResets(text), text);
+            assertEquals(TRIM_WHITESPACE_RESETS.matcher(text).replaceAll(""), TextUtils.trimWhitespaceAndResets(text), text);
+            assertEquals(text.length() == 0 || REPEATED_COLOR_PATTERN.matcher(text).matches(), TextUtils.isZeroLength(text), text);
+
+            // Nothing to strip
+            String stripped = TextUtils.stripColor(text);
+            if (stripped.equals(text)) {
+                assertSame(text, stripped);
+            }
+        }
+    }
+
+    @DisplayName("Formatted Substrings Match The Previous Implementation")
+    @Test
+    void testFormattedSubstrings() throws IOException {
+        List<String> corpus = generateCorpus();
+        Random random = new Random(0);
+        for (String text : corpus) {
+            // Look for a part of the text itself most of the time, so there are matches to find
+            String unformatted = TextUtils.stripColor(text);
+            if (unformatted.length() > 0 && random.nextInt(4) != 0) {
+                int start = random.nextInt(unformatted.length());
+                unformatted = unformatted.substring(start, start + random.nextInt(unformatted.length() - start) + 1);
+            } else {
+                unformatted = corpus.get(random.nextInt(corpus.size()));
+            }
+
+            assertEquals(getFormattedStringReference(text, unformatted), TextUtils.getFormattedString(text, unformatted),
+                    text + " / " + unformatted);
+            assertEquals(mergeFormatsReference(unformatted, text), TextUtils.mergeFormats(unformatted, text));
+        }
+    }
+
+    /**
+     * Times the formatting code scanners against the patterns they replaced on the test corpus. This is left out of the
+     * tests and run with {@code gradlew benchmark}.
+     */
+    @DisplayName("Formatting Code Scanners Benchmark")
+    @Tag("benchmark")
+    @Test
+    void benchmarkFormattingCodeScanners() throws IOException {
+        List<String> corpus = generateCorpus();
+        // Let the JIT compile both before they're timed
+        for (int i = 0; i < 10; i++) {
+            assertEquals(stripWithPatterns(corpus), stripWithScanners(corpus));
+        }
+
+        long patternNanos = Long.MAX_VALUE;
+        long scannerNanos = Long.MAX_VALUE;
+        for (int round = 0; round < 20; round++) {
+            long startTime = System.nanoTime();
+            long patternLength = stripWithPatterns(corpus);
+            patternNanos = Math.min(patternNanos, System.nanoTime() - startTime);
+
+            startTime = System.nanoTime();
+            long scannerLength = stripWithScanners(corpus);
+            scannerNanos = Math.min(scannerNanos, System.nanoTime() - startTime);
+
+            assertEquals(patternLength, scannerLength);
+        }
+        System.out.printf(Locale.US, "Stripping %d texts: patterns %.2f ms, scanners %.2f ms (best of 20)%n", corpus.size(),
+                patternNanos / 1_000_000D, scannerNanos / 1_000_000D);
+    }
+
+    /**
+     * @return the total length of the corpus after removing formatting codes, resets and whitespace with the old patterns
+     */
+    private static long stripWithPatterns(List<String> corpus) {
+        long length = 0;
+        for (String text : corpus) {
+            length += STRIP_COLOR_PATTERN.matcher(text).replaceAll("").length();
+            length += RESET_CODE_PATTERN.matcher(text).replaceAll("").length();
+            length += TRIM_WHITESPACE_RESETS.matcher(text).replaceAll("").length();
+            length += text.length() == 0 || REPEATED_COLOR_PATTERN.matcher(text).matches() ? 1 : 0;
+        }
+        return length;
+    }
+
+    /**
+     * @return the same as {@link #stripWithPatterns(List)}, using the scanners in {@link TextUtils}
+     */
+    private static long stripWithScanners(List<String> corpus) {
+        long length = 0;
+        for (String text : corpus) {
+            length += TextUtils.stripColor(text).length();
+            length += TextUtils.stripResets(text).length();
+            length += TextUtils.trimWhitespaceAndResets(text).length();
+            length += TextUtils.isZeroLength(text) ? 1 : 0;
+        }
+        return length;
+    }
+
+    /**
+     * @return the chat messages and action bars from the test resources, and random texts made mostly of formatting
+     * codes, whitespace and edge cases like a § at the end
+     */
+    private static List<String> generateCorpus() throws IOException {
+        List<String> corpus = new ArrayList<>();
+        for (String resource : new String[]{"/chat-messages.txt", "/action-bar-sections.csv"}) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    TextUtilsTests.class.getResourceAsStream(resource), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    corpus.add(line);
+                }
+            }
+        }
+
+        String[] pieces = {"§", "§r", "§R", "§a", "§Z", "§z", "§l", "§K", "§g", "§§", " ", "\t", "\n", "\u000B", "a", "r",
+                "R", "Enchant", "IV", ", ", "❤"};
+        Random random = new Random(0);
+        for (int i = 0; i < 50_000; i++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                text.append(pieces[random.nextInt(pieces.length)]);
+            }
+            corpus.add(text.toString());
+        }
+        return corpus;
+    }
+
+    /**
+     * How {@link TextUtils#getFormattedString(String, String)} worked before it was made a single pass
+     */
+    private static String getFormattedStringReference(String formatted, String unformattedSubstring) {
+        if (unformattedSubstring.length() == 0) {
+            return "";
+        }
+        String styles = "kKlLmMnNoO";
+        StringBuilder preEnchantFormat = new StringBuilder();
+        StringBuilder formattedEnchant = new StringBuilder();
+
+        int i = -2;
+        int len = formatted.length();
+        int unformattedEnchantIdx = 0;
+        int k = 0;
+        while (true) {
+            i = formatted.indexOf('§', i + 2);
+            int segmentEnd = i == -1 ? len : i;
+            for (; k < segmentEnd; k++) {
+                if (formatted.charAt(k) == unformattedSubstring.charAt(unformattedEnchantIdx)) {
+                    formattedEnchant.append(formatted.charAt(k));
+                    unformattedEnchantIdx++;
+                    if (unformattedEnchantIdx == unformattedSubstring.length()) {
+                        return preEnchantFormat.append(formattedEnchant).toString();
+                    }
+                } else {
+                    unformattedEnchantIdx = 0;
+                    preEnchantFormat = new StringBuilder(mergeFormatsReference(preEnchantFormat.toString(), formattedEnchant.toString()));
+                    formattedEnchant = new StringBuilder();
+                }
+            }
+            if (i == -1) {
+                return null;
+            }
+            if (i + 1 < len) {
+                char formatChar = formatted.charAt(i + 1);
+                if (unformattedEnchantIdx == 0) {
+                    if (styles.indexOf(formatChar) == -1) {
+                        preEnchantFormat = new StringBuilder();
+                    }
+                    preEnchantFormat.append("§").append(formatChar);
+                } else {
+                    formattedEnchant.append("§").append(formatChar);
+                }
+                k = i + 2;
+            }
+        }
+    }
+
+    private static String mergeFormatsReference(String firstFormat, String secondFormat) {
+        if (secondFormat == null || secondFormat.length() == 0) {
+            return firstFormat;
+        }
+        String styles = "kKlLmMnNoO";
+        StringBuilder builder = new StringBuilder(firstFormat);
+        int i = -2;
+        while ((i = secondFormat.indexOf('§', i + 2)) != -1) {
+            if (i + 1 < secondFormat.length()) {
+                char c = secondFormat.charAt(i + 1);
+                if (styles.indexOf(c) == -1) {
+                    builder = new StringBuilder();
+                }
+                builder.append("§").append(c);
+            }
+        }
+        return builder.toString();
+    }
 }
@@ -0,0 +1,135 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.misc.scheduler.TickTask;
+import codes.biscuit.skyblockaddons.misc.scheduler.TickTaskRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TickTaskRegistry}
+ */
+public class TickTaskRegistryTests {
+
+    private static final long UNLIMITED_BUDGET = Long.MAX_VALUE / 1000;
+
+    @DisplayName("Tasks With The Same Period Are Spread Over Different Ticks")
+    @Test
+    void testSpreadSamePeriod() {
+        TickTaskRegistry registry = new TickTaskRegistry(UNLIMITED_BUDGET);
+        Set<Integer> offsets = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            offsets.add(registry.register(TickTask.every(5, "task" + i, () -> {})).getOffset());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(0, 1, 2, 3, 4)), offsets);
+    }
+
+    @DisplayName("Mixed Periods Keep The Busiest Tick Low")
+    @Test
+    void testSpreadMixedPeriods() {
+        TickTaskRegistry registry = new TickTaskRegistry(UNLIMITED_BUDGET);
+        List<Integer> ticksRun = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            registry.register(TickTask.every(5, "quarterSecond" + i, () -> ticksRun.add((int) registry.getTicks())));
+        }
+        for (int i = 0; i < 3; i++) {
+            registry.register(TickTask.every(20, "second" + i, () -> ticksRun.add((int) registry.getTicks())));
+        }
+
+        for (int tick = 0; tick < 20; tick++) {
+            registry.tick();
+        }
+
+        // 11 * 4 + 3 runs over 20 ticks, ideally at most 3 on any one tick
+        assertEquals(47, ticksRun.size());
+        Map<Integer, Integer> runsPerTick = new HashMap<>();
+        for (int tick : ticksRun) {
+            runsPerTick.merge(tick, 1, Integer::sum);
+        }
+        assertTrue(Collections.max(runsPerTick.values()) <= 3, runsPerTick.toString());
+    }
+
+    @DisplayName("Tasks Run On Their Offset Every Period")
+    @Test
+    void testExplicitOffset() {
+        TickTaskRegistry registry = new TickTaskRegistry(UNLIMITED_BUDGET);
+        List<Long> ticksRun = new ArrayList<>();
+        registry.register(TickTask.every(4, "task", () -> ticksRun.add(registry.getTicks() - 1)).offset(3));
+
+        for (int tick = 0; tick < 12; tick++) {
+            registry.tick();
+        }
+        assertEquals(Arrays.asList(3L, 7L, 11L), ticksRun);
+        assertThrows(IllegalArgumentException.class, () -> TickTask.every(4, "task", () -> {}).offset(4));
+    }
+
+    @DisplayName("Tasks Run In The Order They Were Registered")
+    @Test
+    void testRegistrationOrder() {
+        TickTaskRegistry registry = new TickTaskRegistry(UNLIMITED_BUDGET);
+        List<String> ran = new ArrayList<>();
+        registry.register(TickTask.every(5, "sidebar", () -> ran.add("sidebar")).offset(1));
+        registry.register(TickTask.every(1, "inventory", () -> ran.add("inventory")));
+        registry.register(TickTask.every(5, "fishing", () -> ran.add("fishing")).offset(1));
+        registry.register(TickTask.every(5, "fetchur", () -> ran.add("fetchur")).offset(2));
+
+        for (int tick = 0; tick < 3; tick++) {
+            registry.tick();
+        }
+        assertEquals(Arrays.asList("inventory", "sidebar", "inventory", "fishing", "inventory", "fetchur"), ran);
+    }
+
+    @DisplayName("Tasks Whose Conditions Aren't Met Are Skipped")
+    @Test
+    void testPreconditions() {
+        TickTaskRegistry registry = new TickTaskRegistry(UNLIMITED_BUDGET);
+        boolean[] enabled = {false};
+        int[] runs = {0};
+        TickTask task = registry.register(TickTask.every(1, "task", () -> runs[0]++).when(() -> enabled[0]));
+
+        registry.tick();
+        registry.tick();
+        enabled[0] = true;
+        registry.tick();
+
+        assertEquals(1, runs[0]);
+        assertEquals(1, task.getRuns());
+        assertEquals(2, task.getSkips());
+    }
+
+    @DisplayName("Tasks Over The Tick Budget Run On The Next Tick")
+    @Test
+    void testDeferral() {
+        TickTaskRegistry registry = new TickTaskRegistry(0);
+        List<String> order = new ArrayList<>();
+        TickTask first = registry.register(TickTask.every(2, "first", () -> order.add("first")).offset(0));
+        TickTask second = registry.register(TickTask.every(2, "second", () -> order.add("second")).offset(0));
+
+        registry.tick();
+        assertEquals(Collections.singletonList("first"), order);
+        registry.tick();
+        assertEquals(Arrays.asList("first", "second"), order);
+
+        assertEquals(0, first.getDeferrals());
+        assertEquals(1, second.getDeferrals());
+    }
+
+    @DisplayName("Failing Tasks Don't Stop Other Tasks")
+    @Test
+    void testFailure() {
+        TickTaskRegistry registry = new TickTaskRegistry(UNLIMITED_BUDGET);
+        int[] runs = {0};
+        TickTask failing = registry.register(TickTask.every(1, "failing", () -> {
+            throw new IllegalStateException("test");
+        }));
+        registry.register(TickTask.every(1, "working", () -> runs[0]++));
+
+        registry.tick();
+        registry.tick();
+        assertEquals(2, runs[0]);
+        assertEquals(2, failing.getFailures());
+    }
+}
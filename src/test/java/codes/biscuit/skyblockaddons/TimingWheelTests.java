@@ -0,0 +1,125 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.misc.scheduler.TimingWheel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TimingWheel}
+ */
+public class TimingWheelTests {
+
+    @DisplayName("Values Expire In Deadline Order, Then In Scheduling Order")
+    @Test
+    void testOrdering() {
+        TimingWheel<String> wheel = new TimingWheel<>(8, 0);
+        wheel.schedule("c", 3);
+        wheel.schedule("a1", 1);
+        wheel.schedule("b", 2);
+        wheel.schedule("a2", 1);
+        wheel.schedule("late", 11); // Same slot as 3
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(3, expired);
+        assertEquals(Arrays.asList("a1", "a2", "b", "c"), expired);
+        assertEquals(1, wheel.size());
+
+        expired.clear();
+        wheel.advance(10, expired);
+        assertTrue(expired.isEmpty());
+        wheel.advance(11, expired);
+        assertEquals(Arrays.asList("late"), expired);
+    }
+
+    @DisplayName("Past Deadlines Expire On The Next Tick")
+    @Test
+    void testPastDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(8, 100);
+        TimingWheel.Timeout<String> timeout = wheel.schedule("past", 50);
+        assertEquals(101, timeout.getDeadline());
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(101, expired);
+        assertEquals(Arrays.asList("past"), expired);
+    }
+
+    @DisplayName("Cancelled Values Don't Expire")
+    @Test
+    void testCancellation() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(4, 0);
+        TimingWheel.Timeout<Integer> first = wheel.schedule(1, 2);
+        TimingWheel.Timeout<Integer> middle = wheel.schedule(2, 2);
+        TimingWheel.Timeout<Integer> last = wheel.schedule(3, 2);
+
+        assertTrue(middle.cancel());
+        assertFalse(middle.cancel());
+        assertFalse(middle.isPending());
+        assertTrue(first.isPending());
+        assertEquals(2, wheel.size());
+
+        List<Integer> expired = new ArrayList<>();
+        wheel.advance(2, expired);
+        assertEquals(Arrays.asList(1, 3), expired);
+        assertFalse(last.isPending());
+        assertFalse(last.cancel());
+        assertEquals(0, wheel.size());
+    }
+
+    @DisplayName("Slot Count Is Rounded Up To A Power Of Two")
+    @Test
+    void testSlotCount() {
+        assertEquals(1, new TimingWheel<>(1, 0).getSlotCount());
+        assertEquals(64, new TimingWheel<>(33, 0).getSlotCount());
+        assertEquals(512, new TimingWheel<>(512, 0).getSlotCount());
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(0, 0));
+    }
+
+    @DisplayName("100k Values Across Many Turns Of The Wheel Expire On Their Deadline")
+    @Test
+    void testWrapAround() {
+        int count = 100_000;
+        int maxDelay = 5_000;
+        TimingWheel<Integer> wheel = new TimingWheel<>(64, 0);
+        Random random = new Random(42);
+
+        long[] deadlines = new long[count];
+        List<TimingWheel.Timeout<Integer>> timeouts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            deadlines[i] = 1 + random.nextInt(maxDelay);
+            timeouts.add(wheel.schedule(i, deadlines[i]));
+        }
+
+        // Cancel every tenth value
+        int cancelled = 0;
+        for (int i = 0; i < count; i += 10) {
+            assertTrue(timeouts.get(i).cancel());
+            cancelled++;
+        }
+        assertEquals(count - cancelled, wheel.size());
+
+        List<Integer> expired = new ArrayList<>();
+        int expiredCount = 0;
+        for (long tick = 1; tick <= maxDelay; tick++) {
+            expired.clear();
+            expiredCount += wheel.advance(tick, expired);
+
+            int previous = -1;
+            for (int value : expired) {
+                assertEquals(tick, deadlines[value]);
+                assertNotEquals(0, value % 10);
+                assertTrue(value > previous, "Values with the same deadline should expire in scheduling order");
+                previous = value;
+            }
+        }
+
+        assertEquals(count - cancelled, expiredCount);
+        assertEquals(0, wheel.size());
+    }
+}
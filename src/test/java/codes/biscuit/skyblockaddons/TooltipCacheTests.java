@@ -0,0 +1,155 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.core.InventoryType;
+import codes.biscuit.skyblockaddons.utils.TooltipCache;
+import net.minecraft.item.Item;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TooltipCache}
+ */
+public class TooltipCacheTests {
+
+    private static final long MAX_AGE = 1000;
+    private static final Item DIAMOND_SWORD = new Item();
+    private static final Item ENCHANTED_BOOK = new Item();
+
+    @DisplayName("Tooltips Are Built Once For The Same Item")
+    @Test
+    void testBuiltOnce() {
+        TooltipCache tooltipCache = new TooltipCache(64, MAX_AGE);
+        TooltipBuilder builder = new TooltipBuilder();
+        NBTTagCompound sword = ItemTagBuilder.item("HYPERION").name("§6Hyperion").lore("§7Damage: §c+260", "§d§l§ka§r §d§lMYTHIC DUNGEON SWORD").build();
+
+        List<String> tooltip = tooltipCache.get(key(DIAMOND_SWORD, sword, false, false), 0, 0, builder.of(sword));
+        assertEquals(1, builder.builds);
+        for (int frame = 1; frame < 60; frame++) {
+            assertEquals(tooltip, tooltipCache.get(key(DIAMOND_SWORD, sword, false, false), 0, frame * 16, builder.of(sword)));
+        }
+        assertEquals(1, builder.builds);
+
+        // The server sends a new copy of the same item
+        assertEquals(tooltip, tooltipCache.get(key(DIAMOND_SWORD, (NBTTagCompound) sword.copy(), false, false), 0, 1000,
+                builder.of(sword)));
+        assertEquals(1, builder.builds);
+        assertEquals(60, tooltipCache.getStats().getHits());
+        assertEquals(1, tooltipCache.getStats().getMisses());
+
+        // Changing the returned tooltip doesn't change the cached one, like when the lines are colored before drawing
+        tooltip.set(0, "§f" + tooltip.get(0));
+        assertNotEquals(tooltip, tooltipCache.get(key(DIAMOND_SWORD, sword, false, false), 0, 1000, builder.of(sword)));
+    }
+
+    @DisplayName("Tooltips Are Built Again When What They're Built From Changes")
+    @Test
+    void testBuiltAgainWhenChanged() {
+        TooltipCache tooltipCache = new TooltipCache(64, MAX_AGE);
+        TooltipBuilder builder = new TooltipBuilder();
+        NBTTagCompound book = ItemTagBuilder.item("ENCHANTED_BOOK").name("§fEnchanted Book").lore("§9Sharpness V", "§f§lCOMMON").build();
+
+        tooltipCache.get(key(ENCHANTED_BOOK, book, false, false), 0, 0, builder.of(book));
+        assertEquals(1, builder.builds);
+
+        // Advanced tooltips, shift or the open menu
+        tooltipCache.get(key(ENCHANTED_BOOK, book, true, false), 0, 0, builder.of(book));
+        tooltipCache.get(key(ENCHANTED_BOOK, book, false, true), 0, 0, builder.of(book));
+        tooltipCache.get(new TooltipCache.Key(ENCHANTED_BOOK, 0, 1, book, false, false, false, InventoryType.SUPERPAIRS), 0, 0,
+                builder.of(book));
+        assertEquals(4, builder.builds);
+
+        // Another stack size or another item with the same tag
+        tooltipCache.get(new TooltipCache.Key(ENCHANTED_BOOK, 0, 2, book, false, false, false, null), 0, 0, builder.of(book));
+        tooltipCache.get(key(DIAMOND_SWORD, book, false, false), 0, 0, builder.of(book));
+        assertEquals(6, builder.builds);
+
+        // The lore is replaced in place
+        book.getCompoundTag("display").setTag("Lore", ItemTagBuilder.newLore("§9Sharpness VI"));
+        assertEquals(Arrays.asList("§fEnchanted Book", "§9Sharpness VI"),
+                tooltipCache.get(key(ENCHANTED_BOOK, book, false, false), 0, 0, builder.of(book)));
+        assertEquals(7, builder.builds);
+
+        // The config changes
+        tooltipCache.get(key(ENCHANTED_BOOK, book, false, false), 1, 0, builder.of(book));
+        assertEquals(8, builder.builds);
+        assertEquals(1, tooltipCache.size());
+
+        // The tooltip gets too old
+        tooltipCache.get(key(ENCHANTED_BOOK, book, false, false), 1, MAX_AGE, builder.of(book));
+        assertEquals(8, builder.builds);
+        tooltipCache.get(key(ENCHANTED_BOOK, book, false, false), 1, MAX_AGE + 1, builder.of(book));
+        assertEquals(9, builder.builds);
+    }
+
+    @DisplayName("Tooltips Match Building Them Every Frame")
+    @Test
+    void testMatchesBuildingEveryFrame() {
+        Random random = new Random(0);
+        List<NBTTagCompound> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(i % 10 == 0 ? null : ItemTagBuilder.item("ITEM_" + i).name("§aItem " + i)
+                    .lore("§7Line " + random.nextInt(3), "§a§lUNCOMMON").build());
+        }
+
+        TooltipCache tooltipCache = new TooltipCache(16, MAX_AGE);
+        TooltipBuilder builder = new TooltipBuilder();
+        int configVersion = 0;
+        for (int frame = 0; frame < 5000; frame++) {
+            NBTTagCompound item = items.get(random.nextInt(items.size()));
+            if (item != null && random.nextInt(50) == 0) {
+                item.getCompoundTag("display").setString("Name", "§aRenamed " + random.nextInt(3));
+            }
+            if (random.nextInt(500) == 0) {
+                configVersion++;
+            }
+
+            boolean shiftDown = random.nextInt(10) == 0;
+            assertEquals(builder.build(item, shiftDown),
+                    tooltipCache.get(key(DIAMOND_SWORD, item, false, shiftDown), configVersion, frame * 16L,
+                            () -> builder.build(item, shiftDown)), "Frame " + frame);
+            assertTrue(tooltipCache.size() <= 16);
+        }
+        assertTrue(tooltipCache.getStats().getHits() > 0);
+    }
+
+    private static TooltipCache.Key key(Item item, NBTTagCompound tagCompound, boolean advanced, boolean shiftDown) {
+        return new TooltipCache.Key(item, 0, 1, tagCompound, advanced, shiftDown, false, null);
+    }
+
+    /**
+     * Builds tooltips from the name and lore of an item, like {@code ItemStack#getTooltip} does
+     */
+    private static class TooltipBuilder {
+        private int builds;
+
+        private Supplier<List<String>> of(NBTTagCompound tagCompound) {
+            return () -> build(tagCompound, false);
+        }
+
+        private List<String> build(NBTTagCompound tagCompound, boolean shiftDown) {
+            builds++;
+            List<String> tooltip = new ArrayList<>();
+            if (tagCompound == null) {
+                tooltip.add("Diamond Sword");
+                return tooltip;
+            }
+            NBTTagCompound display = tagCompound.getCompoundTag("display");
+            tooltip.add(display.getString("Name"));
+            NBTTagList lore = display.getTagList("Lore", 8);
+            for (int i = 0; i < lore.tagCount(); i++) {
+                tooltip.add(lore.getStringTagAt(i));
+            }
+            if (shiftDown) {
+                tooltip.add("§8" + tagCompound.getCompoundTag("ExtraAttributes").getString("id"));
+            }
+            return tooltip;
+        }
+    }
+}
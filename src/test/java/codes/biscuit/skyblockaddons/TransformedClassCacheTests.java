@@ -0,0 +1,111 @@
+package codes.biscuit.skyblockaddons;
+
+import codes.biscuit.skyblockaddons.tweaker.SkyblockAddonsTransformer;
+import codes.biscuit.skyblockaddons.tweaker.TransformedClassCache;
+import net.minecraft.launchwrapper.Launch;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for {@link TransformedClassCache}
+ */
+public class TransformedClassCacheTests {
+
+    private static final byte[] INPUT = {1, 2, 3, 4};
+    private static final byte[] OUTPUT = {5, 6, 7, 8, 9};
+
+    @BeforeAll
+    static void setUpBlackboard() {
+        if (Launch.blackboard == null) {
+            Launch.blackboard = new HashMap<>();
+        }
+        Launch.blackboard.putIfAbsent("fml.deobfuscatedEnvironment", true);
+    }
+
+    @DisplayName("Entries Are Only Used For The Same Input And Fingerprint")
+    @Test
+    void testCacheKey(@TempDir Path directory) throws IOException {
+        TransformedClassCache cache = new TransformedClassCache(directory.toFile(), "fingerprint");
+        assertNull(cache.get("a.B", INPUT));
+
+        cache.put("a.B", INPUT, OUTPUT);
+        assertArrayEquals(OUTPUT, cache.get("a.B", INPUT));
+        assertNull(cache.get("a.B", new byte[]{1, 2, 3}));
+        assertNull(cache.get("a.C", INPUT));
+        assertNull(new TransformedClassCache(directory.toFile(), "other fingerprint").get("a.B", INPUT));
+    }
+
+    @DisplayName("Corrupt Entries Fall Back To Live Transformation")
+    @Test
+    void testCorruptEntry(@TempDir Path directory) throws IOException {
+        TransformedClassCache cache = new TransformedClassCache(directory.toFile(), "fingerprint");
+        cache.put("a.B", INPUT, OUTPUT);
+
+        Path entry = directory.resolve("a.B.bin");
+        byte[] entryBytes = Files.readAllBytes(entry);
+        // Flip a bit in the last byte of the transformed class, just before the output hash
+        entryBytes[entryBytes.length - 33] ^= 1;
+        Files.write(entry, entryBytes);
+        assertNull(cache.get("a.B", INPUT));
+
+        Files.write(entry, new byte[]{1, 2});
+        assertNull(cache.get("a.B", INPUT));
+    }
+
+    @DisplayName("Cached Classes Match Live Transformation")
+    @Test
+    void testCachedMatchesLive(@TempDir Path directory) {
+        SkyblockAddonsTransformer liveTransformer = new SkyblockAddonsTransformer((File) null);
+        int testedClasses = 0;
+
+        for (String className : liveTransformer.getTransformedClassNames()) {
+            byte[] bytes = readClass(className);
+            if (bytes == null) {
+                continue;
+            }
+
+            byte[] live = liveTransformer.transformLive(className, bytes, liveTransformer.getTransformers(className));
+            assertNotNull(live, className);
+
+            // The first transformer fills the cache, the second one reads from it
+            byte[] firstLaunch = new SkyblockAddonsTransformer(directory.toFile()).transform(className, className, bytes);
+            assertTrue(Files.exists(directory.resolve(className + ".bin")), className);
+            byte[] secondLaunch = new SkyblockAddonsTransformer(directory.toFile()).transform(className, className, bytes);
+
+            assertArrayEquals(live, firstLaunch, className);
+            assertArrayEquals(live, secondLaunch, className);
+            testedClasses++;
+        }
+
+        assumeTrue(testedClasses > 0, "No transformed classes on the test classpath");
+    }
+
+    private static byte[] readClass(String className) {
+        try (InputStream inputStream = TransformedClassCacheTests.class.getClassLoader()
+                .getResourceAsStream(className.replace('.', '/') + ".class")) {
+            if (inputStream == null) {
+                return null;
+            }
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return outputStream.toByteArray();
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+}